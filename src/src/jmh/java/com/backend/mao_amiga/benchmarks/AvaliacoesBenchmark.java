@@ -0,0 +1,83 @@
+package com.backend.mao_amiga.benchmarks;
+
+import com.backend.mao_amiga.models.Evento;
+import com.backend.mao_amiga.models.Ong;
+import com.backend.mao_amiga.repositories.ArmazenamentoEventosMemoria;
+import com.backend.mao_amiga.repositories.ArmazenamentoMemoria;
+import com.backend.mao_amiga.repositories.ArmazenamentoOngsMemoria;
+import com.backend.mao_amiga.services.AvaliacaoService;
+import com.backend.mao_amiga.services.MetricasPlataforma;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Média de uma ONG com muitas avaliações e a recusa de uma avaliação
+ * repetida (a verificação de unicidade que antes era validarAvaliacaoUnica).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class AvaliacoesBenchmark {
+
+    @Param({"1000", "100000"})
+    private int quantidadeAvaliacoes;
+
+    private AvaliacaoService avaliacaoService;
+    private Ong ong;
+    private UUID voluntarioJaAvaliou;
+    private UUID eventoJaAvaliado;
+
+    @Setup(Level.Trial)
+    public void popular() {
+        avaliacaoService = new AvaliacaoService(new MetricasPlataforma(), new ArmazenamentoMemoria<>(), new ArmazenamentoEventosMemoria());
+        ong = new Ong("contato@ong.org", "senha123", "ONG Benchmark", "12.345.678/0001-90");
+        ArmazenamentoOngsMemoria ongs = new ArmazenamentoOngsMemoria();
+        ongs.salvar(ong);
+        avaliacaoService.registrarOuvinteNota((usuarioId, media) ->
+            ongs.buscar(usuarioId).ifPresent(ongSalva -> ongs.salvarNota(ongSalva, media)));
+
+        for (int i = 0; i < quantidadeAvaliacoes; i++) {
+            UUID voluntarioId = UUID.randomUUID();
+            Evento evento = criarEventoComParticipante(voluntarioId);
+            avaliacaoService.voluntarioAvaliarOng(voluntarioId, ong.getId(), evento.getId(), 1.0f + i % 5, null);
+            voluntarioJaAvaliou = voluntarioId;
+            eventoJaAvaliado = evento.getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        avaliacaoService.encerrar();
+    }
+
+    @Benchmark
+    public Float calcularNotaMedia() {
+        return avaliacaoService.calcularNotaMedia(ong.getId(), "ONG");
+    }
+
+    // Passa pelas validações de participação e organização e para na chave repetida
+    @Benchmark
+    public Object recusarAvaliacaoRepetida() {
+        try {
+            return avaliacaoService.voluntarioAvaliarOng(voluntarioJaAvaliou, ong.getId(), eventoJaAvaliado, 5.0f, null);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    private Evento criarEventoComParticipante(UUID voluntarioId) {
+        LocalDateTime inicio = LocalDateTime.now().plusDays(1);
+        Evento evento = new Evento("Mutirão", "Mutirão no bairro", inicio, inicio.plusHours(2), ong.getId(), "Praça", 10);
+        evento.abrirInscricoes();
+        evento.solicitarInscricao(voluntarioId);
+        evento.confirmarParticipacao(voluntarioId);
+        avaliacaoService.adicionarEvento(evento);
+        return evento;
+    }
+}
@@ -0,0 +1,73 @@
+package com.backend.mao_amiga.benchmarks;
+
+import com.backend.mao_amiga.controllers.PostController;
+import com.backend.mao_amiga.dto.PostResposta;
+import com.backend.mao_amiga.repositories.ArmazenamentoPostsMemoria;
+import com.backend.mao_amiga.services.FeedService;
+import com.backend.mao_amiga.services.MetricasPlataforma;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Primeira página dos feeds de posts (populares e recentes) direto no
+ * controller, sem HTTP, com curtidas distribuídas de forma desigual.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FeedPostsBenchmark {
+
+    private static final int LIMITE = 20;
+
+    @Param({"1000", "10000", "100000"})
+    private int quantidadePosts;
+
+    private PostController controller;
+
+    @Setup(Level.Trial)
+    public void popular() {
+        controller = new PostController(new FeedService(), new MetricasPlataforma(), new ArmazenamentoPostsMemoria());
+        Random aleatorio = new Random(42);
+        List<UUID> curtidores = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            curtidores.add(UUID.randomUUID());
+        }
+
+        for (int i = 0; i < quantidadePosts; i++) {
+            UUID postId = controller.criarPost(Map.of(
+                    "autorId", UUID.randomUUID().toString(),
+                    "tipoAutor", "ONG",
+                    "conteudo", "Post " + i)).getBody().id();
+            // Poucos posts concentram a maioria das curtidas
+            int curtidas = (int) (curtidores.size() * Math.pow(aleatorio.nextDouble(), 4));
+            for (int j = 0; j < curtidas; j++) {
+                controller.curtirPost(postId, curtidores.get(j));
+            }
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<List<PostResposta>> feedPopularPorCurtidas() {
+        return controller.feedPopular(LIMITE, "curtidas");
+    }
+
+    @Benchmark
+    public ResponseEntity<List<PostResposta>> feedPopularPorRelevancia() {
+        return controller.feedPopular(LIMITE, "relevancia");
+    }
+
+    @Benchmark
+    public ResponseEntity<List<PostResposta>> feedRecente() {
+        return controller.feedRecente(null, LIMITE);
+    }
+}
@@ -0,0 +1,68 @@
+package com.backend.mao_amiga.benchmarks;
+
+import com.backend.mao_amiga.models.Evento;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inscrição e cancelamento no mesmo evento por várias threads ao mesmo
+ * tempo: mede a reserva de vaga (CAS no contador) e o conjunto de inscritos
+ * sob contenção. Cada operação inscreve e cancela, então o evento não lota
+ * e o conjunto não cresce entre as iterações.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InscricaoEventoBenchmark {
+
+    private Evento evento;
+
+    @State(Scope.Thread)
+    public static class Voluntarios {
+
+        // IDs gerados antes: UUID.randomUUID() disputa o SecureRandom e dominaria a medição
+        private final UUID[] ids = new UUID[1024];
+        private int proximo;
+
+        @Setup
+        public void gerar() {
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = UUID.randomUUID();
+            }
+        }
+
+        UUID proximo() {
+            return ids[proximo++ & (ids.length - 1)];
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void criarEvento() {
+        LocalDateTime inicio = LocalDateTime.now().plusDays(7);
+        evento = new Evento("Mutirão", "Benchmark de inscrições", inicio, inicio.plusHours(4),
+                UUID.randomUUID(), "Centro", 1_000_000);
+        evento.abrirInscricoes();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean inscreverECancelarSemDisputa(Voluntarios voluntarios) {
+        return inscreverECancelar(voluntarios.proximo());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean inscreverECancelarComDisputa(Voluntarios voluntarios) {
+        return inscreverECancelar(voluntarios.proximo());
+    }
+
+    private boolean inscreverECancelar(UUID voluntarioId) {
+        return evento.inscreverVoluntario(voluntarioId) & evento.cancelarInscricao(voluntarioId);
+    }
+}
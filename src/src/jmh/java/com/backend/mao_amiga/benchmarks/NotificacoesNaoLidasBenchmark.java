@@ -0,0 +1,65 @@
+package com.backend.mao_amiga.benchmarks;
+
+import com.backend.mao_amiga.models.Notificacao;
+import com.backend.mao_amiga.repositories.ArmazenamentoMemoria;
+import com.backend.mao_amiga.services.MetricasPlataforma;
+import com.backend.mao_amiga.services.NotificacaoService;
+import com.backend.mao_amiga.services.NotificacaoTempoRealService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leitura das não lidas de um usuário com 100 notificações, enquanto o
+ * total da plataforma varia: com as caixas de entrada por usuário o tempo
+ * não deve acompanhar o total.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class NotificacoesNaoLidasBenchmark {
+
+    private static final int NOTIFICACOES_DO_USUARIO = 100;
+    private static final int DESTINATARIOS_POR_LOTE = 10_000;
+
+    @Param({"10000", "100000", "1000000"})
+    private int quantidade;
+
+    private NotificacaoService notificacaoService;
+    private UUID usuarioId;
+
+    @Setup(Level.Trial)
+    public void popular() {
+        notificacaoService = new NotificacaoService(
+                new NotificacaoTempoRealService(), new MetricasPlataforma(), new ArmazenamentoMemoria<>());
+        usuarioId = UUID.randomUUID();
+        UUID ongId = UUID.randomUUID();
+
+        for (int i = 0; i < NOTIFICACOES_DO_USUARIO; i++) {
+            notificacaoService.criarNotificacoesNovoPost(UUID.randomUUID(), ongId, List.of(usuarioId));
+        }
+        for (int restantes = quantidade - NOTIFICACOES_DO_USUARIO; restantes > 0; restantes -= DESTINATARIOS_POR_LOTE) {
+            List<UUID> lote = new ArrayList<>(DESTINATARIOS_POR_LOTE);
+            for (int i = 0; i < Math.min(restantes, DESTINATARIOS_POR_LOTE); i++) {
+                lote.add(UUID.randomUUID());
+            }
+            notificacaoService.criarNotificacoesNovoPost(UUID.randomUUID(), ongId, lote);
+        }
+    }
+
+    @Benchmark
+    public List<Notificacao> buscarNaoLidas() {
+        return notificacaoService.buscarNotificacoesNaoLidas(usuarioId);
+    }
+
+    @Benchmark
+    public long contarNaoLidas() {
+        return notificacaoService.contarNotificacoesNaoLidas(usuarioId);
+    }
+}
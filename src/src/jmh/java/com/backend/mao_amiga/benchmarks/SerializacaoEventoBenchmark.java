@@ -0,0 +1,57 @@
+package com.backend.mao_amiga.benchmarks;
+
+import com.backend.mao_amiga.dto.EventoResposta;
+import com.backend.mao_amiga.models.Evento;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização Jackson de um evento lotado: a entidade inteira (como a API
+ * respondia antes), a resposta compacta e a resposta com ?expand=inscritos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializacaoEventoBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    private int inscritos;
+
+    private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+    private Evento evento;
+
+    @Setup(Level.Trial)
+    public void popular() {
+        LocalDateTime inicio = LocalDateTime.now().plusDays(7);
+        evento = new Evento("Mutirão", "Benchmark de serialização", inicio, inicio.plusHours(4),
+                UUID.randomUUID(), "Centro", inscritos);
+        evento.abrirInscricoes();
+        for (int i = 0; i < inscritos; i++) {
+            evento.inscreverVoluntario(UUID.randomUUID());
+        }
+    }
+
+    @Benchmark
+    public byte[] entidade() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(evento);
+    }
+
+    @Benchmark
+    public byte[] respostaCompacta() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(EventoResposta.de(evento));
+    }
+
+    @Benchmark
+    public byte[] respostaComInscritos() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(EventoResposta.de(evento, Set.of("inscritos")));
+    }
+}
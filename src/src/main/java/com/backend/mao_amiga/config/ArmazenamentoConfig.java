@@ -0,0 +1,108 @@
+package com.backend.mao_amiga.config;
+
+import com.backend.mao_amiga.models.*;
+import com.backend.mao_amiga.repositories.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Escolhe o motor de armazenamento de cada agregado pelo perfil ativo.
+ *
+ * Com o perfil "memoria" (incluído pelo perfil "test") nada vai ao banco e
+ * a aplicação sobe sem PostgreSQL; sem ele, os agregados são gravados via
+ * JPA. Controllers e services só conhecem a interface Armazenamento.
+ *
+ * Os controllers mantêm uma cópia em memória de cada agregado, montada com
+ * listarTodos na subida; no motor JPA essa cópia é limitada por
+ * mao-amiga.armazenamento.limite-carga, e a subida falha acima dele.
+ */
+@Configuration
+public class ArmazenamentoConfig {
+
+    @Configuration
+    @Profile("!memoria")
+    static class MotorJpa {
+
+        // Máximo de linhas por agregado que os controllers copiam para a memória na subida
+        @Value("${mao-amiga.armazenamento.limite-carga:500000}")
+        private long limiteCarga;
+
+        @Bean
+        public ArmazenamentoVoluntarios armazenamentoVoluntarios(VoluntarioRepository repositorio) {
+            return new ArmazenamentoVoluntariosJpa(repositorio, limiteCarga);
+        }
+
+        @Bean
+        public ArmazenamentoOngs armazenamentoOngs(OngRepository repositorio) {
+            return new ArmazenamentoOngsJpa(repositorio, limiteCarga);
+        }
+
+        @Bean
+        public ArmazenamentoEventos armazenamentoEventos(EventoRepository repositorio) {
+            return new ArmazenamentoEventosJpa(repositorio, limiteCarga);
+        }
+
+        @Bean
+        public ArmazenamentoPosts armazenamentoPosts(PostRepository repositorio) {
+            return new ArmazenamentoPostsJpa(repositorio, limiteCarga);
+        }
+
+        @Bean
+        public Armazenamento<Comentario> armazenamentoComentarios(ComentarioRepository repositorio) {
+            return new ArmazenamentoJpa<>(repositorio, limiteCarga);
+        }
+
+        @Bean
+        public Armazenamento<Avaliacao> armazenamentoAvaliacoes(AvaliacaoRepository repositorio) {
+            return new ArmazenamentoJpa<>(repositorio, limiteCarga);
+        }
+
+        @Bean
+        public Armazenamento<Notificacao> armazenamentoNotificacoes(NotificacaoRepository repositorio) {
+            // Notificações não têm coleções: a limpeza periódica exclui em lote
+            return new ArmazenamentoJpa<>(repositorio, limiteCarga, true);
+        }
+    }
+
+    @Configuration
+    @Profile("memoria")
+    static class MotorMemoria {
+
+        @Bean
+        public ArmazenamentoVoluntarios armazenamentoVoluntarios() {
+            return new ArmazenamentoVoluntariosMemoria();
+        }
+
+        @Bean
+        public ArmazenamentoOngs armazenamentoOngs() {
+            return new ArmazenamentoOngsMemoria();
+        }
+
+        @Bean
+        public ArmazenamentoEventos armazenamentoEventos() {
+            return new ArmazenamentoEventosMemoria();
+        }
+
+        @Bean
+        public ArmazenamentoPosts armazenamentoPosts() {
+            return new ArmazenamentoPostsMemoria();
+        }
+
+        @Bean
+        public Armazenamento<Comentario> armazenamentoComentarios() {
+            return new ArmazenamentoMemoria<>();
+        }
+
+        @Bean
+        public Armazenamento<Avaliacao> armazenamentoAvaliacoes() {
+            return new ArmazenamentoMemoria<>();
+        }
+
+        @Bean
+        public Armazenamento<Notificacao> armazenamentoNotificacoes() {
+            return new ArmazenamentoMemoria<>();
+        }
+    }
+}
@@ -2,7 +2,8 @@ package com.backend.mao_amiga.controllers;
 
 import com.backend.mao_amiga.models.Avaliacao;
 import com.backend.mao_amiga.services.AvaliacaoService;
-import org.springframework.beans.factory.annotation.Autowired;
+import com.backend.mao_amiga.services.PaginaAvaliacoes;
+import com.backend.mao_amiga.services.ResumoAvaliacoes;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -10,13 +11,19 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/avaliacoes")
 public class AvaliacaoController {
 
-    @Autowired
-    private AvaliacaoService avaliacaoService;
+    private static final int LIMITE_MAXIMO_PAGINA = 100;
+
+    private final AvaliacaoService avaliacaoService;
+
+    public AvaliacaoController(AvaliacaoService avaliacaoService) {
+        this.avaliacaoService = avaliacaoService;
+    }
 
     @PostMapping("/voluntario-avaliar-ong")
     public ResponseEntity<Avaliacao> voluntarioAvaliarOng(@RequestBody Map<String, Object> dados) {
@@ -102,6 +109,19 @@ public class AvaliacaoController {
         return ResponseEntity.ok(resposta);
     }
 
+    @GetMapping("/resumo/{usuarioId}")
+    public ResponseEntity<Map<String, Object>> obterResumo(@PathVariable UUID usuarioId) {
+        ResumoAvaliacoes resumo = avaliacaoService.obterResumo(usuarioId);
+        
+        Map<String, Object> resposta = new HashMap<>();
+        resposta.put("usuarioId", usuarioId);
+        resposta.put("quantidade", resumo.quantidade());
+        resposta.put("notaMedia", resumo.media());
+        resposta.put("histograma", resumo.histograma());
+        
+        return ResponseEntity.ok(resposta);
+    }
+
     @DeleteMapping("/{avaliacaoId}/remover/{usuarioId}")
     public ResponseEntity<Map<String, String>> removerAvaliacao(
             @PathVariable UUID avaliacaoId,
@@ -136,40 +156,33 @@ public class AvaliacaoController {
         }
     }
 
+    // Os endpoints abaixo são paginados: "after" é o ID da última avaliação da
+    // página anterior e o cursor da próxima página vai no header X-Proximo-Cursor
     @GetMapping("/do-evento/{eventoId}")
-    public ResponseEntity<List<Avaliacao>> listarAvaliacoesDoEvento(@PathVariable UUID eventoId) {
-        Map<UUID, Avaliacao> todasAvaliacoes = avaliacaoService.getAvaliacoes();
-        
-        List<Avaliacao> avaliacoesDoEvento = todasAvaliacoes.values().stream()
-                .filter(avaliacao -> avaliacao.getEventoRelacionadoId().equals(eventoId))
-                .filter(Avaliacao::getAtiva)
-                .toList();
+    public ResponseEntity<List<Avaliacao>> listarAvaliacoesDoEvento(
+            @PathVariable UUID eventoId,
+            @RequestParam(required = false) UUID after,
+            @RequestParam(defaultValue = "50") int limite) {
         
-        return ResponseEntity.ok(avaliacoesDoEvento);
+        return responderPagina(() -> avaliacaoService.listarAvaliacoesDoEvento(eventoId, after, limitar(limite)));
     }
 
     @GetMapping("/entre-usuarios")
     public ResponseEntity<List<Avaliacao>> listarAvaliacoesEntreUsuarios(
             @RequestParam UUID usuario1Id,
-            @RequestParam UUID usuario2Id) {
-        
-        Map<UUID, Avaliacao> todasAvaliacoes = avaliacaoService.getAvaliacoes();
+            @RequestParam UUID usuario2Id,
+            @RequestParam(required = false) UUID after,
+            @RequestParam(defaultValue = "50") int limite) {
         
-        List<Avaliacao> avaliacoesEntreUsuarios = todasAvaliacoes.values().stream()
-                .filter(avaliacao -> 
-                    (avaliacao.getAvaliadorId().equals(usuario1Id) && avaliacao.getAvaliadoId().equals(usuario2Id)) ||
-                    (avaliacao.getAvaliadorId().equals(usuario2Id) && avaliacao.getAvaliadoId().equals(usuario1Id))
-                )
-                .filter(Avaliacao::getAtiva)
-                .toList();
-        
-        return ResponseEntity.ok(avaliacoesEntreUsuarios);
+        return responderPagina(() -> avaliacaoService.listarAvaliacoesEntreUsuarios(usuario1Id, usuario2Id, after, limitar(limite)));
     }
 
     @GetMapping("/por-nota")
     public ResponseEntity<List<Avaliacao>> listarAvaliacoesPorNota(
             @RequestParam Float notaMinima,
-            @RequestParam(required = false) Float notaMaxima) {
+            @RequestParam(required = false) Float notaMaxima,
+            @RequestParam(required = false) UUID after,
+            @RequestParam(defaultValue = "50") int limite) {
         
         if (notaMinima < 1.0f || notaMinima > 5.0f) {
             return ResponseEntity.badRequest().build();
@@ -180,55 +193,13 @@ public class AvaliacaoController {
             return ResponseEntity.badRequest().build();
         }
         
-        Map<UUID, Avaliacao> todasAvaliacoes = avaliacaoService.getAvaliacoes();
-        
-        List<Avaliacao> avaliacoesPorNota = todasAvaliacoes.values().stream()
-                .filter(avaliacao -> avaliacao.getNota() >= notaMinima && avaliacao.getNota() <= notaMax)
-                .filter(Avaliacao::getAtiva)
-                .toList();
-        
-        return ResponseEntity.ok(avaliacoesPorNota);
+        return responderPagina(() -> avaliacaoService.listarAvaliacoesPorNota(notaMinima, notaMax, after, limitar(limite)));
     }
 
     @GetMapping("/estatisticas/gerais")
     public ResponseEntity<Map<String, Object>> obterEstatisticasGerais() {
-        Map<UUID, Avaliacao> todasAvaliacoes = avaliacaoService.getAvaliacoes();
-        
-        long totalAvaliacoes = todasAvaliacoes.size();
-        long avaliacoesAtivas = todasAvaliacoes.values().stream()
-                .filter(Avaliacao::getAtiva)
-                .count();
-        
-        double notaMediaGeral = todasAvaliacoes.values().stream()
-                .filter(Avaliacao::getAtiva)
-                .mapToDouble(Avaliacao::getNota)
-                .average()
-                .orElse(0.0);
-        
-        long avaliacoesComComentario = todasAvaliacoes.values().stream()
-                .filter(Avaliacao::getAtiva)
-                .filter(Avaliacao::temComentario)
-                .count();
-        
-        long avaliacoesVoluntarioParaOng = todasAvaliacoes.values().stream()
-                .filter(Avaliacao::getAtiva)
-                .filter(Avaliacao::isVoluntarioAvaliandoOng)
-                .count();
-        
-        long avaliacoesOngParaVoluntario = todasAvaliacoes.values().stream()
-                .filter(Avaliacao::getAtiva)
-                .filter(Avaliacao::isOngAvaliandoVoluntario)
-                .count();
-        
-        Map<String, Object> estatisticas = new HashMap<>();
-        estatisticas.put("totalAvaliacoes", totalAvaliacoes);
-        estatisticas.put("avaliacoesAtivas", avaliacoesAtivas);
-        estatisticas.put("notaMediaGeral", Math.round(notaMediaGeral * 10.0) / 10.0);
-        estatisticas.put("avaliacoesComComentario", avaliacoesComComentario);
-        estatisticas.put("avaliacoesVoluntarioParaOng", avaliacoesVoluntarioParaOng);
-        estatisticas.put("avaliacoesOngParaVoluntario", avaliacoesOngParaVoluntario);
-        
-        return ResponseEntity.ok(estatisticas);
+        // Contadores mantidos a cada avaliação criada ou removida
+        return ResponseEntity.ok(avaliacaoService.obterEstatisticasGerais());
     }
 
     @GetMapping("/estatisticas/usuario/{usuarioId}")
@@ -255,4 +226,25 @@ public class AvaliacaoController {
         
         return ResponseEntity.ok(estatisticas);
     }
+
+    // Métodos auxiliares privados
+
+    private int limitar(int limite) {
+        return Math.min(limite, LIMITE_MAXIMO_PAGINA);
+    }
+
+    private ResponseEntity<List<Avaliacao>> responderPagina(Supplier<PaginaAvaliacoes> consulta) {
+        PaginaAvaliacoes pagina;
+        try {
+            pagina = consulta.get();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        if (pagina.proximoCursor() != null) {
+            resposta.header("X-Proximo-Cursor", pagina.proximoCursor().toString());
+        }
+        return resposta.body(pagina.avaliacoes());
+    }
 }
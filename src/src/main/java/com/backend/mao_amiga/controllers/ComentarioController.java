@@ -1,30 +1,65 @@
 package com.backend.mao_amiga.controllers;
 
+import com.backend.mao_amiga.dto.ComentarioResposta;
 import com.backend.mao_amiga.models.Comentario;
 import com.backend.mao_amiga.models.Post;
+import com.backend.mao_amiga.repositories.Armazenamento;
+import com.backend.mao_amiga.repositories.ArmazenamentoPosts;
+import com.backend.mao_amiga.services.MetricasPlataforma;
+import jakarta.annotation.PostConstruct;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/comentarios")
 public class ComentarioController {
 
-    // Simulação de banco em memória
+    // Cópia em memória dos dados salvos, base dos índices e das estatísticas
     private final Map<UUID, Comentario> comentarios = new ConcurrentHashMap<>();
     private final Map<UUID, Post> posts = new ConcurrentHashMap<>(); // Referência aos posts
+    private final EstatisticasComentarios estatisticasGerais = new EstatisticasComentarios();
+    private final IndiceComentarios indice = new IndiceComentarios(estatisticasGerais);
+    private static final int LIMITE_MAXIMO_PAGINA = 100;
+
+    private final MetricasPlataforma metricas;
+
+    // Motores escolhidos pelo perfil ativo (ver ArmazenamentoConfig)
+    private final Armazenamento<Comentario> armazenamento;
+    private final ArmazenamentoPosts armazenamentoPosts;
+
+    public ComentarioController(MetricasPlataforma metricas, Armazenamento<Comentario> armazenamento,
+                                ArmazenamentoPosts armazenamentoPosts) {
+        this.metricas = metricas;
+        this.armazenamento = armazenamento;
+        this.armazenamentoPosts = armazenamentoPosts;
+    }
+
+    @PostConstruct
+    public void carregarSalvos() {
+        List<Comentario> salvos = armazenamento.listarTodos();
+        for (Comentario comentario : salvos) {
+            Post post = comentario.getPost();
+            posts.putIfAbsent(post.getId(), post);
+            comentarios.put(comentario.getId(), comentario);
+            indice.atualizar(comentario, post.getId());
+        }
+        metricas.registrarExistentes(MetricasPlataforma.Entidade.COMENTARIO, salvos.size());
+        metricas.monitorarStore(MetricasPlataforma.Entidade.COMENTARIO, comentarios);
+    }
 
     @PostMapping
-    public ResponseEntity<Comentario> criarComentario(@RequestBody Map<String, Object> dados) {
+    public ResponseEntity<ComentarioResposta> criarComentario(@RequestBody Map<String, Object> dados) {
         try {
             UUID autorId = UUID.fromString((String) dados.get("autorId"));
             String tipoAutor = (String) dados.get("tipoAutor"); // "VOLUNTARIO" ou "ONG"
             String conteudo = (String) dados.get("conteudo");
             UUID postId = UUID.fromString((String) dados.get("postId"));
             
-            Post post = posts.get(postId);
+            Post post = buscarPost(postId);
             if (post == null) {
                 return ResponseEntity.badRequest().build();
             }
@@ -38,24 +73,31 @@ public class ComentarioController {
                 return ResponseEntity.badRequest().build();
             }
             
-            // Adicionar comentário ao post
-            post.adicionarComentario(comentario);
+            // Adicionar comentário ao post; post inativo não recebe comentários,
+            // para o contador valer sempre o número de comentários ativos
+            if (!post.adicionarComentario(comentario)) {
+                return ResponseEntity.badRequest().build();
+            }
             
+            armazenamento.salvar(comentario);
+            armazenamentoPosts.salvarQuantidadeComentarios(post, 1);
             comentarios.put(comentario.getId(), comentario);
-            return ResponseEntity.ok(comentario);
+            indice.atualizar(comentario, postId);
+            metricas.registrarCriacao(MetricasPlataforma.Entidade.COMENTARIO);
+            return ResponseEntity.ok(ComentarioResposta.de(comentario));
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Comentario> buscarComentario(@PathVariable UUID id) {
+    public ResponseEntity<ComentarioResposta> buscarComentario(@PathVariable UUID id) {
         Comentario comentario = comentarios.get(id);
-        return comentario != null ? ResponseEntity.ok(comentario) : ResponseEntity.notFound().build();
+        return comentario != null ? ResponseEntity.ok(ComentarioResposta.de(comentario)) : ResponseEntity.notFound().build();
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Comentario> editarComentario(
+    public ResponseEntity<ComentarioResposta> editarComentario(
             @PathVariable UUID id,
             @RequestBody Map<String, String> dados) {
         
@@ -67,9 +109,10 @@ public class ComentarioController {
         String novoConteudo = dados.get("conteudo");
         if (novoConteudo != null) {
             comentario.editarConteudo(novoConteudo);
+            armazenamento.salvar(comentario);
         }
 
-        return ResponseEntity.ok(comentario);
+        return ResponseEntity.ok(ComentarioResposta.de(comentario));
     }
 
     @DeleteMapping("/{id}")
@@ -79,91 +122,109 @@ public class ComentarioController {
             return ResponseEntity.notFound().build();
         }
         
-        comentario.desativarComentario();
+        boolean desativado = comentario.desativarComentario();
+        armazenamento.salvar(comentario);
+        indice.atualizar(comentario, null);
         
         // Remover comentário do post
         Post post = comentario.getPost();
-        if (post != null) {
-            post.removerComentario(comentario);
+        if (desativado && post != null && post.removerComentario(comentario)) {
+            armazenamentoPosts.salvarQuantidadeComentarios(post, -1);
         }
         
         return ResponseEntity.noContent().build();
     }
 
+    // Paginado por cursor: o cursor da próxima página vai no header X-Proximo-Cursor
     @GetMapping("/do-post/{postId}")
-    public ResponseEntity<List<Comentario>> listarComentariosDoPost(@PathVariable UUID postId) {
+    public ResponseEntity<List<ComentarioResposta>> listarComentariosDoPost(
+            @PathVariable UUID postId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limite) {
+        
         Post post = posts.get(postId);
         if (post == null) {
             return ResponseEntity.notFound().build();
         }
 
-        List<Comentario> comentariosDoPost = comentarios.values().stream()
-                .filter(comentario -> comentario.getPost() != null && 
-                                    comentario.getPost().getId().equals(postId) && 
-                                    comentario.getAtivo())
-                .sorted((c1, c2) -> c1.getCriadoEm().compareTo(c2.getCriadoEm())) // Mais antigos primeiro
-                .toList();
-        
-        return ResponseEntity.ok(comentariosDoPost);
+        // Mais antigos primeiro
+        return responderPagina(() -> indice.listarDoPost(postId, after, limitar(limite)));
+    }
+
+    @GetMapping("/do-post/{postId}/quantidade")
+    public ResponseEntity<Map<String, Integer>> contarComentariosDoPost(@PathVariable UUID postId) {
+        if (!posts.containsKey(postId)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.ok(Map.of("quantidadeAtivos", indice.contarAtivosDoPost(postId)));
     }
 
     @GetMapping("/do-autor/{autorId}")
-    public ResponseEntity<List<Comentario>> listarComentariosDoAutor(@PathVariable UUID autorId) {
-        List<Comentario> comentariosDoAutor = comentarios.values().stream()
-                .filter(comentario -> comentario.getAutorId().equals(autorId) && comentario.getAtivo())
-                .sorted((c1, c2) -> c2.getCriadoEm().compareTo(c1.getCriadoEm())) // Mais recentes primeiro
-                .toList();
+    public ResponseEntity<List<ComentarioResposta>> listarComentariosDoAutor(
+            @PathVariable UUID autorId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limite) {
         
-        return ResponseEntity.ok(comentariosDoAutor);
+        // Mais recentes primeiro
+        return responderPagina(() -> indice.listarDoAutor(autorId, after, limitar(limite)));
     }
 
     @GetMapping("/tipo/{tipo}")
-    public ResponseEntity<List<Comentario>> listarComentariosPorTipo(@PathVariable String tipo) {
+    public ResponseEntity<List<ComentarioResposta>> listarComentariosPorTipo(@PathVariable String tipo) {
         if (!"VOLUNTARIO".equals(tipo) && !"ONG".equals(tipo)) {
             return ResponseEntity.badRequest().build();
         }
         
-        List<Comentario> comentariosPorTipo = comentarios.values().stream()
+        List<ComentarioResposta> comentariosPorTipo = comentarios.values().stream()
                 .filter(comentario -> comentario.getAtivo())
                 .filter(comentario -> tipo.equals("VOLUNTARIO") ? 
                                     comentario.isAutorVoluntario() : 
                                     comentario.isAutorOng())
                 .sorted((c1, c2) -> c2.getCriadoEm().compareTo(c1.getCriadoEm()))
+                .map(ComentarioResposta::de)
                 .toList();
         
         return ResponseEntity.ok(comentariosPorTipo);
     }
 
     @GetMapping("/recentes")
-    public ResponseEntity<List<Comentario>> listarComentariosRecentes(
+    public ResponseEntity<List<ComentarioResposta>> listarComentariosRecentes(
             @RequestParam(defaultValue = "50") int limite) {
         
-        List<Comentario> comentariosRecentes = comentarios.values().stream()
+        List<ComentarioResposta> comentariosRecentes = comentarios.values().stream()
                 .filter(comentario -> comentario.getAtivo())
                 .filter(Comentario::isComentarioRecente) // Últimas 24 horas
                 .sorted((c1, c2) -> c2.getCriadoEm().compareTo(c1.getCriadoEm()))
                 .limit(limite)
+                .map(ComentarioResposta::de)
                 .toList();
         
         return ResponseEntity.ok(comentariosRecentes);
     }
 
     @PostMapping("/{id}/reativar")
-    public ResponseEntity<Comentario> reativarComentario(@PathVariable UUID id) {
+    public ResponseEntity<ComentarioResposta> reativarComentario(@PathVariable UUID id) {
         Comentario comentario = comentarios.get(id);
         if (comentario == null) {
             return ResponseEntity.notFound().build();
         }
         
-        comentario.reativarComentario();
-        
-        // Re-adicionar comentário ao post se necessário
         Post post = comentario.getPost();
-        if (post != null && !post.getComentarios().contains(comentario)) {
-            post.adicionarComentario(comentario);
+        if (post != null && !post.getAtivo()) {
+            return ResponseEntity.badRequest().build();
         }
         
-        return ResponseEntity.ok(comentario);
+        boolean reativado = comentario.reativarComentario();
+        armazenamento.salvar(comentario);
+        indice.atualizar(comentario, null);
+        
+        // Re-adicionar comentário ao post se ele estava inativo
+        if (reativado && post != null && post.adicionarComentario(comentario)) {
+            armazenamentoPosts.salvarQuantidadeComentarios(post, 1);
+        }
+        
+        return ResponseEntity.ok(ComentarioResposta.de(comentario));
     }
 
     @GetMapping("/{id}/estatisticas")
@@ -191,27 +252,47 @@ public class ComentarioController {
     // Método para obter estatísticas gerais
     @GetMapping("/estatisticas/gerais")
     public ResponseEntity<Map<String, Object>> obterEstatisticasGerais() {
-        long totalComentarios = comentarios.size();
-        long comentariosAtivos = comentarios.values().stream()
-                .filter(Comentario::getAtivo)
-                .count();
-        long comentariosRecentes = comentarios.values().stream()
-                .filter(comentario -> comentario.getAtivo() && comentario.isComentarioRecente())
-                .count();
-        long comentariosVoluntarios = comentarios.values().stream()
-                .filter(comentario -> comentario.getAtivo() && comentario.isAutorVoluntario())
-                .count();
-        long comentariosOngs = comentarios.values().stream()
-                .filter(comentario -> comentario.getAtivo() && comentario.isAutorOng())
-                .count();
+        // Contadores mantidos pelo índice a cada comentário criado, desativado ou reativado
+        return ResponseEntity.ok(estatisticasGerais.obterEstatisticas());
+    }
 
-        Map<String, Object> estatisticas = new HashMap<>();
-        estatisticas.put("totalComentarios", totalComentarios);
-        estatisticas.put("comentariosAtivos", comentariosAtivos);
-        estatisticas.put("comentariosRecentes", comentariosRecentes);
-        estatisticas.put("comentariosVoluntarios", comentariosVoluntarios);
-        estatisticas.put("comentariosOngs", comentariosOngs);
-        
-        return ResponseEntity.ok(estatisticas);
+    // Métodos auxiliares privados
+
+    // Posts ainda não sincronizados vêm do armazenamento
+    private Post buscarPost(UUID postId) {
+        Post post = posts.get(postId);
+        if (post == null) {
+            post = armazenamentoPosts.buscar(postId)
+                    .map(carregado -> Objects.requireNonNullElse(posts.putIfAbsent(postId, carregado), carregado))
+                    .orElse(null);
+        }
+        return post;
+    }
+
+    private int limitar(int limite) {
+        return Math.min(limite, LIMITE_MAXIMO_PAGINA);
+    }
+
+    private ResponseEntity<List<ComentarioResposta>> responderPagina(Supplier<PaginaIds> consulta) {
+        PaginaIds pagina;
+        try {
+            pagina = consulta.get();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<ComentarioResposta> comentariosDaPagina = new ArrayList<>(pagina.ids().size());
+        for (UUID id : pagina.ids()) {
+            Comentario comentario = comentarios.get(id);
+            if (comentario != null) {
+                comentariosDaPagina.add(ComentarioResposta.de(comentario));
+            }
+        }
+
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        if (pagina.proximoCursor() != null) {
+            resposta.header("X-Proximo-Cursor", pagina.proximoCursor());
+        }
+        return resposta.body(comentariosDaPagina);
     }
 }
@@ -0,0 +1,30 @@
+package com.backend.mao_amiga.controllers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Cursor opaco das listagens paginadas: a posição (data, id) do último item
+ * entregue, codificada em Base64 URL-safe.
+ */
+record CursorPaginacao(LocalDateTime data, UUID id) {
+
+    String codificar() {
+        String conteudo = data + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static CursorPaginacao decodificar(String cursor) {
+        try {
+            String conteudo = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = conteudo.indexOf('|');
+            return new CursorPaginacao(
+                    LocalDateTime.parse(conteudo.substring(0, separador)),
+                    UUID.fromString(conteudo.substring(separador + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.backend.mao_amiga.controllers;
+
+import com.backend.mao_amiga.models.Comentario;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores globais dos comentários, atualizados pelo {@link IndiceComentarios}
+ * sempre que um comentário entra ou sai do índice.
+ *
+ * Os comentários recentes (últimas 24 horas) são contados em baldes por
+ * minuto de criação; a leitura soma no máximo 1440 baldes e descarta os que
+ * já saíram da janela. A janela tem resolução de um minuto: comentários do
+ * minuto de corte não entram na contagem.
+ */
+class EstatisticasComentarios {
+
+    private static final int HORAS_RECENTES = 24;
+
+    private final LongAdder total = new LongAdder();
+    private final LongAdder ativos = new LongAdder();
+    private final LongAdder ativosVoluntarios = new LongAdder();
+    private final LongAdder ativosOngs = new LongAdder();
+    private final NavigableMap<Long, LongAdder> recentesPorMinuto = new ConcurrentSkipListMap<>();
+
+    void registrarCriacao() {
+        total.increment();
+    }
+
+    void registrarAtivacao(Comentario comentario) {
+        contar(comentario, 1);
+    }
+
+    void registrarDesativacao(Comentario comentario) {
+        contar(comentario, -1);
+    }
+
+    Map<String, Object> obterEstatisticas() {
+        long minutoCorte = minuto(LocalDateTime.now().minusHours(HORAS_RECENTES));
+        recentesPorMinuto.headMap(minutoCorte, true).clear();
+
+        long recentes = 0;
+        for (LongAdder balde : recentesPorMinuto.values()) {
+            recentes += balde.sum();
+        }
+
+        Map<String, Object> estatisticas = new HashMap<>();
+        estatisticas.put("totalComentarios", total.sum());
+        estatisticas.put("comentariosAtivos", ativos.sum());
+        estatisticas.put("comentariosRecentes", recentes);
+        estatisticas.put("comentariosVoluntarios", ativosVoluntarios.sum());
+        estatisticas.put("comentariosOngs", ativosOngs.sum());
+        return estatisticas;
+    }
+
+    // Métodos auxiliares privados
+
+    private void contar(Comentario comentario, int delta) {
+        ativos.add(delta);
+        if (comentario.isAutorVoluntario()) {
+            ativosVoluntarios.add(delta);
+        } else if (comentario.isAutorOng()) {
+            ativosOngs.add(delta);
+        }
+
+        long minutoCriacao = minuto(comentario.getCriadoEm());
+        if (minutoCriacao <= minuto(LocalDateTime.now().minusHours(HORAS_RECENTES))) {
+            return;
+        }
+        if (delta > 0) {
+            recentesPorMinuto.computeIfAbsent(minutoCriacao, m -> new LongAdder()).increment();
+        } else {
+            LongAdder balde = recentesPorMinuto.get(minutoCriacao);
+            if (balde != null) {
+                balde.decrement();
+            }
+        }
+    }
+
+    private static long minuto(LocalDateTime instante) {
+        return instante.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+}
@@ -1,8 +1,18 @@
 package com.backend.mao_amiga.controllers;
 
+import com.backend.mao_amiga.dto.EventoResposta;
+import com.backend.mao_amiga.dto.Expansoes;
 import com.backend.mao_amiga.models.Evento;
 import com.backend.mao_amiga.models.enums.AreaInteresse;
+import com.backend.mao_amiga.models.enums.ResultadoInscricao;
 import com.backend.mao_amiga.models.enums.StatusEvento;
+import com.backend.mao_amiga.repositories.ArmazenamentoEventos;
+import com.backend.mao_amiga.services.CicloVidaEventos;
+import com.backend.mao_amiga.services.DistribuicaoNotificacoesService;
+import com.backend.mao_amiga.services.FeedService;
+import com.backend.mao_amiga.services.MetricasPlataforma;
+import com.backend.mao_amiga.services.NotificacaoService;
+import jakarta.annotation.PostConstruct;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -15,12 +25,50 @@ import java.util.concurrent.ConcurrentHashMap;
 @RequestMapping("/api/eventos")
 public class EventoController {
 
-    // Simulação de banco em memória
+    // Cópia em memória dos dados salvos, base dos índices
     private final Map<UUID, Evento> eventos = new ConcurrentHashMap<>();
+    private final IndiceEventos indice = new IndiceEventos();
     private static final DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 
+    private final NotificacaoService notificacaoService;
+    private final DistribuicaoNotificacoesService distribuicaoNotificacoes;
+    private final FeedService feedService;
+    private final MetricasPlataforma metricas;
+    private final CicloVidaEventos cicloVida;
+
+    // Motor escolhido pelo perfil ativo (ver ArmazenamentoConfig)
+    private final ArmazenamentoEventos armazenamento;
+
+    public EventoController(NotificacaoService notificacaoService,
+                            DistribuicaoNotificacoesService distribuicaoNotificacoes, FeedService feedService,
+                            MetricasPlataforma metricas, CicloVidaEventos cicloVida,
+                            ArmazenamentoEventos armazenamento) {
+        this.notificacaoService = notificacaoService;
+        this.distribuicaoNotificacoes = distribuicaoNotificacoes;
+        this.feedService = feedService;
+        this.metricas = metricas;
+        this.cicloVida = cicloVida;
+        this.armazenamento = armazenamento;
+    }
+
+    @PostConstruct
+    public void carregarSalvos() {
+        cicloVida.registrarOuvinte(this::aplicarDisparo);
+        List<Evento> salvos = armazenamento.listarTodos();
+        for (Evento evento : salvos) {
+            eventos.put(evento.getId(), evento);
+            indice.atualizar(evento);
+            cicloVida.agendar(evento);
+            if (evento.getStatus() != StatusEvento.CANCELADO) {
+                feedService.publicarEvento(evento);
+            }
+        }
+        metricas.registrarExistentes(MetricasPlataforma.Entidade.EVENTO, salvos.size());
+        metricas.monitorarStore(MetricasPlataforma.Entidade.EVENTO, eventos);
+    }
+
     @PostMapping
-    public ResponseEntity<Evento> criarEvento(@RequestBody Map<String, Object> dados) {
+    public ResponseEntity<EventoResposta> criarEvento(@RequestBody Map<String, Object> dados) {
         try {
             Evento evento = new Evento(
                 (String) dados.get("titulo"),
@@ -36,26 +84,43 @@ public class EventoController {
                 evento.setImagemCapa((String) dados.get("imagemCapa"));
             }
             
+            armazenamento.salvar(evento);
             eventos.put(evento.getId(), evento);
-            return ResponseEntity.ok(evento);
+            indice.atualizar(evento);
+            cicloVida.agendar(evento);
+            metricas.registrarCriacao(MetricasPlataforma.Entidade.EVENTO);
+            feedService.publicarEvento(evento);
+            return ResponseEntity.ok(EventoResposta.de(evento));
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    // expand=inscritos,participantes,lista-espera inclui as coleções na resposta
     @GetMapping("/{id}")
-    public ResponseEntity<Evento> buscarEvento(@PathVariable UUID id) {
+    public ResponseEntity<EventoResposta> buscarEvento(
+            @PathVariable UUID id,
+            @RequestParam(required = false) String expand) {
+        
         Evento evento = eventos.get(id);
-        return evento != null ? ResponseEntity.ok(evento) : ResponseEntity.notFound().build();
+        if (evento == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        try {
+            return ResponseEntity.ok(EventoResposta.de(evento, Expansoes.ler(expand, EventoResposta.EXPANSOES)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping
-    public ResponseEntity<List<Evento>> listarEventos() {
-        return ResponseEntity.ok(new ArrayList<>(eventos.values()));
+    public ResponseEntity<List<EventoResposta>> listarEventos() {
+        return ResponseEntity.ok(eventos.values().stream().map(EventoResposta::de).toList());
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Evento> atualizarEvento(
+    public ResponseEntity<EventoResposta> atualizarEvento(
             @PathVariable UUID id, 
             @RequestBody Map<String, Object> dados) {
         
@@ -69,13 +134,16 @@ public class EventoController {
                 LocalDateTime novaDataInicio = LocalDateTime.parse((String) dados.get("dataHoraInicio"), formatter);
                 LocalDateTime novaDataFim = LocalDateTime.parse((String) dados.get("dataHoraFim"), formatter);
                 evento.alterarDataHora(novaDataInicio, novaDataFim);
+                indice.atualizar(evento);
+                cicloVida.agendar(evento);
             }
             
             if (dados.containsKey("imagemCapa")) {
                 evento.setImagemCapa((String) dados.get("imagemCapa"));
             }
 
-            return ResponseEntity.ok(evento);
+            armazenamento.salvar(evento);
+            return ResponseEntity.ok(EventoResposta.de(evento));
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -89,55 +157,67 @@ public class EventoController {
         }
         
         evento.cancelarEvento();
+        armazenamento.salvar(evento);
+        indice.atualizar(evento);
+        cicloVida.cancelar(id);
+        feedService.removerPublicacao(id);
         return ResponseEntity.noContent().build();
     }
 
     @PostMapping("/{id}/abrir-inscricoes")
-    public ResponseEntity<Evento> abrirInscricoes(@PathVariable UUID id) {
+    public ResponseEntity<EventoResposta> abrirInscricoes(@PathVariable UUID id) {
         Evento evento = eventos.get(id);
         if (evento == null) {
             return ResponseEntity.notFound().build();
         }
 
         evento.abrirInscricoes();
-        return ResponseEntity.ok(evento);
+        armazenamento.salvar(evento);
+        indice.atualizar(evento);
+        return ResponseEntity.ok(EventoResposta.de(evento));
     }
 
     @PostMapping("/{id}/fechar-inscricoes")
-    public ResponseEntity<Evento> fecharInscricoes(@PathVariable UUID id) {
+    public ResponseEntity<EventoResposta> fecharInscricoes(@PathVariable UUID id) {
         Evento evento = eventos.get(id);
         if (evento == null) {
             return ResponseEntity.notFound().build();
         }
 
         evento.fecharInscricoes();
-        return ResponseEntity.ok(evento);
+        armazenamento.salvar(evento);
+        indice.atualizar(evento);
+        return ResponseEntity.ok(EventoResposta.de(evento));
     }
 
     @PostMapping("/{id}/iniciar")
-    public ResponseEntity<Evento> iniciarEvento(@PathVariable UUID id) {
+    public ResponseEntity<EventoResposta> iniciarEvento(@PathVariable UUID id) {
         Evento evento = eventos.get(id);
         if (evento == null) {
             return ResponseEntity.notFound().build();
         }
 
         evento.iniciarEvento();
-        return ResponseEntity.ok(evento);
+        armazenamento.salvar(evento);
+        indice.atualizar(evento);
+        return ResponseEntity.ok(EventoResposta.de(evento));
     }
 
     @PostMapping("/{id}/finalizar")
-    public ResponseEntity<Evento> finalizarEvento(@PathVariable UUID id) {
+    public ResponseEntity<EventoResposta> finalizarEvento(@PathVariable UUID id) {
         Evento evento = eventos.get(id);
         if (evento == null) {
             return ResponseEntity.notFound().build();
         }
 
         evento.finalizarEvento();
-        return ResponseEntity.ok(evento);
+        armazenamento.salvar(evento);
+        indice.atualizar(evento);
+        return ResponseEntity.ok(EventoResposta.de(evento));
     }
 
     @PostMapping("/{eventoId}/inscrever-voluntario/{voluntarioId}")
-    public ResponseEntity<Evento> inscreverVoluntario(
+    public ResponseEntity<EventoResposta> inscreverVoluntario(
             @PathVariable UUID eventoId,
             @PathVariable UUID voluntarioId) {
         
@@ -146,16 +226,54 @@ public class EventoController {
             return ResponseEntity.notFound().build();
         }
 
-        boolean sucesso = evento.inscreverVoluntario(voluntarioId);
+        // Evento lotado: o voluntário entra na lista de espera (202) em vez de receber erro
+        ResultadoInscricao resultado = evento.solicitarInscricao(voluntarioId);
+        if (resultado == ResultadoInscricao.INSCRITO) {
+            armazenamento.salvarInscricao(evento, voluntarioId);
+        } else if (resultado == ResultadoInscricao.LISTA_ESPERA) {
+            armazenamento.salvar(evento);
+        }
+        metricas.registrarInscricao(resultado);
+        return switch (resultado) {
+            case INSCRITO -> ResponseEntity.ok(EventoResposta.de(evento));
+            case LISTA_ESPERA -> ResponseEntity.accepted().body(EventoResposta.de(evento));
+            case RECUSADO -> ResponseEntity.badRequest().build();
+        };
+    }
+
+    @DeleteMapping("/{eventoId}/cancelar-inscricao/{voluntarioId}")
+    public ResponseEntity<EventoResposta> cancelarInscricao(
+            @PathVariable UUID eventoId,
+            @PathVariable UUID voluntarioId) {
+        
+        Evento evento = eventos.get(eventoId);
+        if (evento == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        boolean sucesso = evento.cancelarInscricao(voluntarioId, promovido -> 
+            notificacaoService.criarNotificacaoPromocaoListaEspera(promovido, evento.getOngResponsavelId(), eventoId)
+        );
         if (!sucesso) {
             return ResponseEntity.badRequest().build();
         }
 
-        return ResponseEntity.ok(evento);
+        armazenamento.salvar(evento);
+        return ResponseEntity.ok(EventoResposta.de(evento));
     }
 
-    @DeleteMapping("/{eventoId}/cancelar-inscricao/{voluntarioId}")
-    public ResponseEntity<Evento> cancelarInscricao(
+    @GetMapping("/{id}/lista-espera")
+    public ResponseEntity<List<UUID>> obterListaEspera(@PathVariable UUID id) {
+        Evento evento = eventos.get(id);
+        if (evento == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.ok(evento.getListaEspera());
+    }
+
+    @GetMapping("/{eventoId}/lista-espera/{voluntarioId}")
+    public ResponseEntity<Map<String, Object>> obterPosicaoListaEspera(
             @PathVariable UUID eventoId,
             @PathVariable UUID voluntarioId) {
         
@@ -164,16 +282,34 @@ public class EventoController {
             return ResponseEntity.notFound().build();
         }
 
-        boolean sucesso = evento.cancelarInscricao(voluntarioId);
-        if (!sucesso) {
+        int posicao = evento.getPosicaoListaEspera(voluntarioId);
+        if (posicao == 0) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.ok(Map.of("posicao", posicao));
+    }
+
+    @DeleteMapping("/{eventoId}/lista-espera/{voluntarioId}")
+    public ResponseEntity<Void> sairDaListaEspera(
+            @PathVariable UUID eventoId,
+            @PathVariable UUID voluntarioId) {
+        
+        Evento evento = eventos.get(eventoId);
+        if (evento == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        if (!evento.sairDaListaEspera(voluntarioId)) {
             return ResponseEntity.badRequest().build();
         }
 
-        return ResponseEntity.ok(evento);
+        armazenamento.salvar(evento);
+        return ResponseEntity.noContent().build();
     }
 
     @PostMapping("/{eventoId}/confirmar-participacao/{voluntarioId}")
-    public ResponseEntity<Evento> confirmarParticipacao(
+    public ResponseEntity<EventoResposta> confirmarParticipacao(
             @PathVariable UUID eventoId,
             @PathVariable UUID voluntarioId) {
         
@@ -183,11 +319,12 @@ public class EventoController {
         }
 
         evento.confirmarParticipacao(voluntarioId);
-        return ResponseEntity.ok(evento);
+        armazenamento.salvar(evento);
+        return ResponseEntity.ok(EventoResposta.de(evento));
     }
 
     @PostMapping("/{id}/adicionar-area")
-    public ResponseEntity<Evento> adicionarAreaRelacionada(
+    public ResponseEntity<EventoResposta> adicionarAreaRelacionada(
             @PathVariable UUID id,
             @RequestBody Map<String, String> dados) {
         
@@ -199,7 +336,11 @@ public class EventoController {
         try {
             AreaInteresse area = AreaInteresse.valueOf(dados.get("area"));
             evento.adicionarAreaRelacionada(area);
-            return ResponseEntity.ok(evento);
+            armazenamento.salvar(evento);
+            indice.atualizar(evento);
+            // Sem republicar: o item do feed guarda o próprio evento, e
+            // publicar de novo traria de volta um evento já cancelado
+            return ResponseEntity.ok(EventoResposta.de(evento));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -215,6 +356,8 @@ public class EventoController {
         try {
             AreaInteresse areaEnum = AreaInteresse.valueOf(area);
             evento.adicionarAreaDeInteresse(areaEnum);
+            armazenamento.salvar(evento);
+            indice.atualizar(evento);
             return ResponseEntity.ok().build();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
@@ -242,40 +385,28 @@ public class EventoController {
     }
 
     @GetMapping("/por-status/{status}")
-    public ResponseEntity<List<Evento>> listarEventosPorStatus(@PathVariable String status) {
+    public ResponseEntity<List<EventoResposta>> listarEventosPorStatus(@PathVariable String status) {
         try {
             StatusEvento statusEnum = StatusEvento.valueOf(status);
-            List<Evento> eventosPorStatus = eventos.values().stream()
-                    .filter(evento -> evento.getStatus() == statusEnum)
-                    .toList();
-            
-            return ResponseEntity.ok(eventosPorStatus);
+            return ResponseEntity.ok(carregar(indice.buscarPorStatus(statusEnum)));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
     @GetMapping("/por-area/{area}")
-    public ResponseEntity<List<Evento>> listarEventosPorArea(@PathVariable String area) {
+    public ResponseEntity<List<EventoResposta>> listarEventosPorArea(@PathVariable String area) {
         try {
             AreaInteresse areaEnum = AreaInteresse.valueOf(area);
-            List<Evento> eventosPorArea = eventos.values().stream()
-                    .filter(evento -> evento.getAreasRelacionadas().contains(areaEnum))
-                    .toList();
-            
-            return ResponseEntity.ok(eventosPorArea);
+            return ResponseEntity.ok(carregar(indice.buscarPorArea(areaEnum)));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
     @GetMapping("/da-ong/{ongId}")
-    public ResponseEntity<List<Evento>> listarEventosDaOng(@PathVariable UUID ongId) {
-        List<Evento> eventosDaOng = eventos.values().stream()
-                .filter(evento -> evento.getOngResponsavelId().equals(ongId))
-                .toList();
-        
-        return ResponseEntity.ok(eventosDaOng);
+    public ResponseEntity<List<EventoResposta>> listarEventosDaOng(@PathVariable UUID ongId) {
+        return ResponseEntity.ok(carregar(indice.buscarPorOng(ongId)));
     }
 
     @GetMapping("/{id}/estatisticas")
@@ -289,8 +420,10 @@ public class EventoController {
         estatisticas.put("vagasDisponiveis", evento.getVagasDisponiveis());
         estatisticas.put("vagasOcupadas", evento.getVagasOcupadas());
         estatisticas.put("vagasRestantes", evento.getVagasRestantes());
-        estatisticas.put("quantidadeInscritos", evento.getVoluntariosInscritos().size());
+        // Cada inscrito ocupa uma vaga: o contador dispensa percorrer o conjunto
+        estatisticas.put("quantidadeInscritos", evento.getVagasOcupadas());
         estatisticas.put("quantidadeParticiparam", evento.getVoluntariosParticiparam().size());
+        estatisticas.put("quantidadeListaEspera", evento.getQuantidadeListaEspera());
         estatisticas.put("status", evento.getStatus());
         estatisticas.put("areasRelacionadas", evento.getAreasRelacionadas());
 
@@ -298,20 +431,17 @@ public class EventoController {
     }
 
     @GetMapping("/buscar-por-area/{area}")
-    public ResponseEntity<List<Evento>> buscarEventosPorArea(@PathVariable String area) {
+    public ResponseEntity<List<EventoResposta>> buscarEventosPorArea(@PathVariable String area) {
         try {
             AreaInteresse areaEnum = AreaInteresse.valueOf(area);
-            List<Evento> eventosPorArea = eventos.values().stream()
-                    .filter(evento -> evento.getAreasDeInteresse().contains(areaEnum))
-                    .toList();
-            return ResponseEntity.ok(eventosPorArea);
+            return ResponseEntity.ok(carregar(indice.buscarPorArea(areaEnum)));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
     @PostMapping("/{eventoId}/marcar-presenca/{voluntarioId}")
-    public ResponseEntity<Evento> marcarPresenca(
+    public ResponseEntity<EventoResposta> marcarPresenca(
             @PathVariable UUID eventoId,
             @PathVariable UUID voluntarioId) {
         
@@ -325,24 +455,59 @@ public class EventoController {
             return ResponseEntity.badRequest().build();
         }
 
-        return ResponseEntity.ok(evento);
+        armazenamento.salvar(evento);
+        return ResponseEntity.ok(EventoResposta.de(evento));
     }
 
     @GetMapping("/futuros")
-    public ResponseEntity<List<Evento>> listarEventosFuturos() {
-        List<Evento> eventosFuturos = eventos.values().stream()
-                .filter(evento -> evento.estaNoFuturo())
-                .toList();
-        
-        return ResponseEntity.ok(eventosFuturos);
+    public ResponseEntity<List<EventoResposta>> listarEventosFuturos() {
+        // Já vêm em ordem cronológica pelo índice de data de início
+        return ResponseEntity.ok(carregar(indice.buscarComInicioApos(LocalDateTime.now())));
     }
 
     @GetMapping("/por-ong/{ongId}")
-    public ResponseEntity<List<Evento>> buscarEventosPorOng(@PathVariable UUID ongId) {
-        List<Evento> eventosDaOng = eventos.values().stream()
-                .filter(evento -> evento.getOngResponsavelId().equals(ongId))
-                .toList();
-        
-        return ResponseEntity.ok(eventosDaOng);
+    public ResponseEntity<List<EventoResposta>> buscarEventosPorOng(@PathVariable UUID ongId) {
+        return ResponseEntity.ok(carregar(indice.buscarPorOng(ongId)));
+    }
+
+    // Chamado pelo CicloVidaEventos quando chega a hora do lembrete, do início
+    // ou do fim; as transições do modelo só avançam eventos com inscrições
+    // abertas ou fechadas, então rascunhos (PLANEJADO) ficam como estão
+    void aplicarDisparo(CicloVidaEventos.Disparo disparo) {
+        Evento evento = eventos.get(disparo.eventoId());
+        if (evento == null) {
+            return;
+        }
+
+        switch (disparo.momento()) {
+            case LEMBRETE -> {
+                // Só enfileira: o tick da roda não espera a gravação das notificações
+                if (evento.getStatus() != StatusEvento.CANCELADO) {
+                    distribuicaoNotificacoes.agendarNotificacoesLembreteEvento(
+                        evento.getId(), evento.getOngResponsavelId(), new ArrayList<>(evento.getVoluntariosInscritos()));
+                }
+                return;
+            }
+            case INICIO -> {
+                evento.fecharInscricoes();
+                evento.iniciarEvento();
+            }
+            case FIM -> evento.finalizarEvento();
+        }
+        armazenamento.salvar(evento);
+        indice.atualizar(evento);
+    }
+
+    // Métodos auxiliares privados
+
+    private List<EventoResposta> carregar(Collection<UUID> ids) {
+        List<EventoResposta> resultado = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            Evento evento = eventos.get(id);
+            if (evento != null) {
+                resultado.add(EventoResposta.de(evento));
+            }
+        }
+        return resultado;
     }
 }
@@ -0,0 +1,42 @@
+package com.backend.mao_amiga.controllers;
+
+import com.backend.mao_amiga.services.FeedService;
+import com.backend.mao_amiga.services.ItemFeed;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/feed")
+public class FeedController {
+
+    private static final int LIMITE_MAXIMO = 100;
+
+    private final FeedService feedService;
+
+    public FeedController(FeedService feedService) {
+        this.feedService = feedService;
+    }
+
+    // Posts e eventos das ONGs seguidas, do mais recente para o mais antigo
+    @GetMapping("/{voluntarioId}")
+    public ResponseEntity<List<ItemFeed>> obterFeed(
+            @PathVariable UUID voluntarioId,
+            @RequestParam(defaultValue = "20") int limite) {
+        
+        try {
+            List<ItemFeed> feed = feedService.montarFeed(voluntarioId, Math.min(limite, LIMITE_MAXIMO));
+            return ResponseEntity.ok(feed.stream().map(ItemFeed::comConteudoResumido).toList());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/estatisticas")
+    public ResponseEntity<Map<String, Object>> obterEstatisticas() {
+        return ResponseEntity.ok(feedService.obterEstatisticas());
+    }
+}
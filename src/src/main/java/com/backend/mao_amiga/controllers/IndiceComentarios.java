@@ -0,0 +1,163 @@
+package com.backend.mao_amiga.controllers;
+
+import com.backend.mao_amiga.models.Comentario;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Comentários ativos indexados por post e por autor, em ordem de criação.
+ *
+ * Cada post guarda também um contador de comentários ativos, então a
+ * contagem é O(1) mesmo em posts com milhares de comentários. O controller
+ * chama {@link #atualizar(Comentario, UUID)} ao criar, desativar ou reativar
+ * um comentário; a atualização é serializada por comentário. As entradas e
+ * saídas do índice também alimentam as {@link EstatisticasComentarios}.
+ */
+class IndiceComentarios {
+
+    private static final Comparator<EntradaComentario> MAIS_ANTIGOS_PRIMEIRO = Comparator
+            .comparing(EntradaComentario::criadoEm)
+            .thenComparing(EntradaComentario::comentarioId);
+
+    private final Map<UUID, ComentariosDoPost> porPost = new ConcurrentHashMap<>();
+    private final Map<UUID, NavigableSet<EntradaComentario>> porAutor = new ConcurrentHashMap<>();
+
+    // Todos os comentários conhecidos, ativos ou não, com o post de origem
+    private final Map<UUID, EntradaComentario> entradas = new ConcurrentHashMap<>();
+
+    private final EstatisticasComentarios estatisticas;
+
+    IndiceComentarios() {
+        this(new EstatisticasComentarios());
+    }
+
+    IndiceComentarios(EstatisticasComentarios estatisticas) {
+        this.estatisticas = estatisticas;
+    }
+
+    // postId só é necessário na primeira chamada para o comentário
+    void atualizar(Comentario comentario, UUID postId) {
+        entradas.compute(comentario.getId(), (id, anterior) -> {
+            EntradaComentario entrada = anterior;
+            if (entrada == null) {
+                entrada = new EntradaComentario(comentario.getCriadoEm(), id, postId, comentario.getAutorId());
+                estatisticas.registrarCriacao();
+            }
+            if (comentario.getAtivo()) {
+                if (indexar(entrada)) {
+                    estatisticas.registrarAtivacao(comentario);
+                }
+            } else if (desindexar(entrada)) {
+                estatisticas.registrarDesativacao(comentario);
+            }
+            return entrada;
+        });
+    }
+
+    UUID buscarPostId(UUID comentarioId) {
+        EntradaComentario entrada = entradas.get(comentarioId);
+        return entrada != null ? entrada.postId() : null;
+    }
+
+    // Mais antigos primeiro, como em uma conversa
+    PaginaIds listarDoPost(UUID postId, String cursor, int limite) {
+        ComentariosDoPost doPost = porPost.get(postId);
+        return paginar(doPost != null ? doPost.comentarios : null, cursor, limite);
+    }
+
+    // Mais recentes primeiro
+    PaginaIds listarDoAutor(UUID autorId, String cursor, int limite) {
+        NavigableSet<EntradaComentario> linha = porAutor.get(autorId);
+        return paginar(linha != null ? linha.descendingSet() : null, cursor, limite);
+    }
+
+    int contarAtivosDoPost(UUID postId) {
+        ComentariosDoPost doPost = porPost.get(postId);
+        return doPost != null ? doPost.quantidadeAtivos.get() : 0;
+    }
+
+    // Métodos auxiliares privados
+
+    // Inclusão e remoção são idempotentes: os contadores só mudam quando o
+    // comentário de fato entra ou sai do conjunto do post
+    private boolean indexar(EntradaComentario entrada) {
+        boolean incluido = porPost.computeIfAbsent(entrada.postId(), post -> new ComentariosDoPost()).adicionar(entrada);
+        porAutor.compute(entrada.autorId(), (autor, linha) -> {
+            NavigableSet<EntradaComentario> destino = linha != null ? linha : new ConcurrentSkipListSet<>(MAIS_ANTIGOS_PRIMEIRO);
+            destino.add(entrada);
+            return destino;
+        });
+        return incluido;
+    }
+
+    private boolean desindexar(EntradaComentario entrada) {
+        ComentariosDoPost doPost = porPost.get(entrada.postId());
+        boolean removido = doPost != null && doPost.remover(entrada);
+        porAutor.computeIfPresent(entrada.autorId(), (autor, linha) -> {
+            linha.remove(entrada);
+            return linha.isEmpty() ? null : linha;
+        });
+        return removido;
+    }
+
+    private PaginaIds paginar(NavigableSet<EntradaComentario> linha, String cursor, int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("Limite deve ser maior que zero");
+        }
+        if (linha == null) {
+            return new PaginaIds(List.of(), null);
+        }
+
+        NavigableSet<EntradaComentario> restantes = linha;
+        if (cursor != null && !cursor.isBlank()) {
+            CursorPaginacao posicao = CursorPaginacao.decodificar(cursor);
+            // Só a data e o id participam da ordenação
+            restantes = linha.tailSet(new EntradaComentario(posicao.data(), posicao.id(), null, null), false);
+        }
+
+        List<UUID> ids = new ArrayList<>(Math.min(limite, 64));
+        EntradaComentario ultima = null;
+        for (EntradaComentario entrada : restantes) {
+            if (ids.size() == limite) {
+                return new PaginaIds(ids, new CursorPaginacao(ultima.criadoEm(), ultima.comentarioId()).codificar());
+            }
+            ids.add(entrada.comentarioId());
+            ultima = entrada;
+        }
+        return new PaginaIds(ids, null);
+    }
+
+    private static class ComentariosDoPost {
+
+        private final NavigableSet<EntradaComentario> comentarios = new ConcurrentSkipListSet<>(MAIS_ANTIGOS_PRIMEIRO);
+        private final AtomicInteger quantidadeAtivos = new AtomicInteger();
+
+        boolean adicionar(EntradaComentario entrada) {
+            if (comentarios.add(entrada)) {
+                quantidadeAtivos.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        boolean remover(EntradaComentario entrada) {
+            if (comentarios.remove(entrada)) {
+                quantidadeAtivos.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private record EntradaComentario(LocalDateTime criadoEm, UUID comentarioId, UUID postId, UUID autorId) {
+    }
+}
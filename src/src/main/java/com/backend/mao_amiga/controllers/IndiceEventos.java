@@ -0,0 +1,133 @@
+package com.backend.mao_amiga.controllers;
+
+import com.backend.mao_amiga.models.Evento;
+import com.backend.mao_amiga.models.enums.AreaInteresse;
+import com.backend.mao_amiga.models.enums.StatusEvento;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Índices secundários dos eventos em memória: por status, por área, por ONG
+ * e por data de início.
+ *
+ * As consultas devolvem apenas os IDs do resultado, sem percorrer o catálogo
+ * inteiro. Sempre que um evento muda (status, áreas ou datas), o controller
+ * chama {@link #atualizar(Evento)}, que reindexa a partir do estado atual do
+ * evento. A reindexação é serializada por evento, então duas mudanças
+ * simultâneas no mesmo evento não deixam entradas órfãs.
+ */
+class IndiceEventos {
+
+    private static final Comparator<EntradaTemporal> POR_INICIO = Comparator
+            .comparing(EntradaTemporal::dataHoraInicio)
+            .thenComparing(EntradaTemporal::eventoId);
+
+    // Maior UUID segundo UUID.compareTo, usado como limite nas buscas por data
+    private static final UUID ULTIMO_ID = new UUID(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    // Os EnumMaps são preenchidos no construtor e nunca mais alterados;
+    // só os conjuntos internos mudam, e esses são concorrentes
+    private final Map<StatusEvento, Set<UUID>> porStatus = new EnumMap<>(StatusEvento.class);
+    private final Map<AreaInteresse, Set<UUID>> porArea = new EnumMap<>(AreaInteresse.class);
+    private final Map<UUID, Set<UUID>> porOng = new ConcurrentHashMap<>();
+    private final NavigableSet<EntradaTemporal> porDataInicio = new ConcurrentSkipListSet<>(POR_INICIO);
+
+    // Último estado indexado de cada evento, para saber o que remover na reindexação
+    private final Map<UUID, EntradaIndice> indexados = new ConcurrentHashMap<>();
+
+    IndiceEventos() {
+        for (StatusEvento status : StatusEvento.values()) {
+            porStatus.put(status, ConcurrentHashMap.newKeySet());
+        }
+        for (AreaInteresse area : AreaInteresse.values()) {
+            porArea.put(area, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    void atualizar(Evento evento) {
+        indexados.compute(evento.getId(), (id, anterior) -> {
+            EntradaIndice atual = EntradaIndice.de(evento);
+            if (anterior != null) {
+                desindexar(id, anterior);
+            }
+            indexar(id, atual);
+            return atual;
+        });
+    }
+
+    void remover(UUID eventoId) {
+        indexados.computeIfPresent(eventoId, (id, anterior) -> {
+            desindexar(id, anterior);
+            return null;
+        });
+    }
+
+    Collection<UUID> buscarPorStatus(StatusEvento status) {
+        return porStatus.get(status);
+    }
+
+    Collection<UUID> buscarPorArea(AreaInteresse area) {
+        return porArea.get(area);
+    }
+
+    Collection<UUID> buscarPorOng(UUID ongId) {
+        return porOng.getOrDefault(ongId, Set.of());
+    }
+
+    // Eventos com início estritamente depois do instante, em ordem cronológica
+    List<UUID> buscarComInicioApos(LocalDateTime instante) {
+        List<UUID> resultado = new ArrayList<>();
+        for (EntradaTemporal entrada : porDataInicio.tailSet(new EntradaTemporal(instante, ULTIMO_ID), false)) {
+            resultado.add(entrada.eventoId());
+        }
+        return resultado;
+    }
+
+    // Métodos auxiliares privados
+
+    private void indexar(UUID id, EntradaIndice entrada) {
+        porStatus.get(entrada.status()).add(id);
+        entrada.areas().forEach(area -> porArea.get(area).add(id));
+        porOng.compute(entrada.ongId(), (ong, ids) -> {
+            Set<UUID> destino = ids != null ? ids : ConcurrentHashMap.newKeySet();
+            destino.add(id);
+            return destino;
+        });
+        porDataInicio.add(new EntradaTemporal(entrada.dataHoraInicio(), id));
+    }
+
+    private void desindexar(UUID id, EntradaIndice entrada) {
+        porStatus.get(entrada.status()).remove(id);
+        entrada.areas().forEach(area -> porArea.get(area).remove(id));
+        porOng.computeIfPresent(entrada.ongId(), (ong, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+        porDataInicio.remove(new EntradaTemporal(entrada.dataHoraInicio(), id));
+    }
+
+    private record EntradaIndice(StatusEvento status, Set<AreaInteresse> areas, UUID ongId, LocalDateTime dataHoraInicio) {
+
+        static EntradaIndice de(Evento evento) {
+            return new EntradaIndice(
+                    evento.getStatus(),
+                    Set.copyOf(evento.getAreasRelacionadas()),
+                    evento.getOngResponsavelId(),
+                    evento.getDataHoraInicio());
+        }
+    }
+
+    private record EntradaTemporal(LocalDateTime dataHoraInicio, UUID eventoId) {
+    }
+}
@@ -1,10 +1,15 @@
 package com.backend.mao_amiga.controllers;
 
 import com.backend.mao_amiga.models.Notificacao;
+import com.backend.mao_amiga.services.DistribuicaoNotificacoesService;
 import com.backend.mao_amiga.services.NotificacaoService;
-import org.springframework.beans.factory.annotation.Autowired;
+import com.backend.mao_amiga.services.NotificacaoTempoRealService;
+import com.backend.mao_amiga.services.TarefaDistribuicao;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -14,8 +19,17 @@ import java.util.UUID;
 @RequestMapping("/api/notificacoes")
 public class NotificacaoController {
 
-    @Autowired
-    private NotificacaoService notificacaoService;
+    private final NotificacaoService notificacaoService;
+    private final NotificacaoTempoRealService notificacaoTempoRealService;
+    private final DistribuicaoNotificacoesService distribuicaoNotificacoesService;
+
+    public NotificacaoController(NotificacaoService notificacaoService,
+                                 NotificacaoTempoRealService notificacaoTempoRealService,
+                                 DistribuicaoNotificacoesService distribuicaoNotificacoesService) {
+        this.notificacaoService = notificacaoService;
+        this.notificacaoTempoRealService = notificacaoTempoRealService;
+        this.distribuicaoNotificacoesService = distribuicaoNotificacoesService;
+    }
 
     @GetMapping("/usuario/{usuarioId}")
     public ResponseEntity<List<Notificacao>> listarNotificacoesDoUsuario(
@@ -96,30 +110,54 @@ public class NotificacaoController {
         }
     }
 
+    // Fan-out assíncrono: apenas enfileira e responde 202, os workers gravam em lotes
     @PostMapping("/novo-evento")
-    public ResponseEntity<List<Notificacao>> criarNotificacoesNovoEvento(
+    public ResponseEntity<Map<String, Object>> criarNotificacoesNovoEvento(
             @RequestBody Map<String, Object> dados) {
         
         try {
             UUID eventoId = UUID.fromString((String) dados.get("eventoId"));
             UUID ongId = UUID.fromString((String) dados.get("ongId"));
+            List<UUID> seguidores = lerSeguidores(dados);
             
-            @SuppressWarnings("unchecked")
-            List<String> seguidoresStr = (List<String>) dados.get("seguidores");
-            List<UUID> seguidores = seguidoresStr.stream()
-                    .map(UUID::fromString)
-                    .toList();
-            
-            List<Notificacao> notificacoes = notificacaoService.criarNotificacoesNovoEvento(
+            TarefaDistribuicao tarefa = distribuicaoNotificacoesService.agendarNotificacoesNovoEvento(
                 eventoId, ongId, seguidores
             );
             
-            return ResponseEntity.ok(notificacoes);
+            return respostaTarefaAgendada(tarefa);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("erro", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    @PostMapping("/novo-post")
+    public ResponseEntity<Map<String, Object>> criarNotificacoesNovoPost(
+            @RequestBody Map<String, Object> dados) {
+        
+        try {
+            UUID postId = UUID.fromString((String) dados.get("postId"));
+            UUID autorId = UUID.fromString((String) dados.get("autorId"));
+            List<UUID> seguidores = lerSeguidores(dados);
+            
+            TarefaDistribuicao tarefa = distribuicaoNotificacoesService.agendarNotificacoesNovoPost(
+                postId, autorId, seguidores
+            );
+            
+            return respostaTarefaAgendada(tarefa);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("erro", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/distribuicao/estatisticas")
+    public ResponseEntity<Map<String, Object>> obterEstatisticasDistribuicao() {
+        return ResponseEntity.ok(distribuicaoNotificacoesService.obterEstatisticas());
+    }
+
     @PostMapping("/inscricao-evento")
     public ResponseEntity<Notificacao> criarNotificacaoInscricaoEvento(
             @RequestBody Map<String, Object> dados) {
@@ -178,7 +216,14 @@ public class NotificacaoController {
         return ResponseEntity.ok(tipos);
     }
 
-    // Endpoint para notificações em tempo real (polling simples)
+    // Endpoint para notificações em tempo real (Server-Sent Events)
+    @GetMapping(path = "/usuario/{usuarioId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter transmitirNotificacoes(@PathVariable UUID usuarioId) {
+        long quantidade = notificacaoService.contarNotificacoesNaoLidas(usuarioId);
+        return notificacaoTempoRealService.conectar(usuarioId, quantidade);
+    }
+
+    // Polling simples, mantido para clientes que não suportam SSE
     @GetMapping("/usuario/{usuarioId}/polling")
     public ResponseEntity<Map<String, Object>> pollingNotificacoes(@PathVariable UUID usuarioId) {
         List<Notificacao> naoLidas = notificacaoService.buscarNotificacoesNaoLidas(usuarioId);
@@ -190,4 +235,22 @@ public class NotificacaoController {
             "temNovas", quantidade > 0
         ));
     }
+
+    // Métodos auxiliares privados
+
+    private List<UUID> lerSeguidores(Map<String, Object> dados) {
+        @SuppressWarnings("unchecked")
+        List<String> seguidoresStr = (List<String>) dados.get("seguidores");
+        return seguidoresStr.stream()
+                .map(UUID::fromString)
+                .toList();
+    }
+
+    private ResponseEntity<Map<String, Object>> respostaTarefaAgendada(TarefaDistribuicao tarefa) {
+        return ResponseEntity.accepted().body(Map.of(
+            "tarefaId", tarefa.id(),
+            "destinatarios", tarefa.destinatarios().size(),
+            "mensagem", "Notificações agendadas para envio"
+        ));
+    }
 }
@@ -1,7 +1,14 @@
 package com.backend.mao_amiga.controllers;
 
+import com.backend.mao_amiga.dto.Expansoes;
+import com.backend.mao_amiga.dto.OngResposta;
 import com.backend.mao_amiga.models.Ong;
 import com.backend.mao_amiga.models.enums.AreaInteresse;
+import com.backend.mao_amiga.repositories.ArmazenamentoOngs;
+import com.backend.mao_amiga.repositories.ContadoresOng;
+import com.backend.mao_amiga.services.AvaliacaoService;
+import com.backend.mao_amiga.services.MetricasPlataforma;
+import jakarta.annotation.PostConstruct;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -12,11 +19,33 @@ import java.util.concurrent.ConcurrentHashMap;
 @RequestMapping("/api/ongs")
 public class OngController {
 
-    // Simulação de banco em memória
+    // Cópia em memória dos dados salvos
     private final Map<UUID, Ong> ongs = new ConcurrentHashMap<>();
 
+    private final MetricasPlataforma metricas;
+    private final AvaliacaoService avaliacaoService;
+
+    // Motor escolhido pelo perfil ativo (ver ArmazenamentoConfig)
+    private final ArmazenamentoOngs armazenamento;
+
+    public OngController(MetricasPlataforma metricas, AvaliacaoService avaliacaoService,
+                         ArmazenamentoOngs armazenamento) {
+        this.metricas = metricas;
+        this.avaliacaoService = avaliacaoService;
+        this.armazenamento = armazenamento;
+    }
+
+    @PostConstruct
+    public void carregarSalvos() {
+        avaliacaoService.registrarOuvinteNota(this::aplicarNota);
+        List<Ong> salvas = armazenamento.listarTodos();
+        salvas.forEach(ong -> ongs.put(ong.getId(), ong));
+        metricas.registrarExistentes(MetricasPlataforma.Entidade.ONG, salvas.size());
+        metricas.monitorarStore(MetricasPlataforma.Entidade.ONG, ongs);
+    }
+
     @PostMapping
-    public ResponseEntity<Ong> criarOng(@RequestBody Map<String, String> dados) {
+    public ResponseEntity<OngResposta> criarOng(@RequestBody Map<String, String> dados) {
         try {
             Ong ong = new Ong(
                 dados.get("email"),
@@ -35,26 +64,46 @@ public class OngController {
                 ong.setMaisSobre(dados.get("maisSobre"));
             }
             
+            armazenamento.salvar(ong);
             ongs.put(ong.getId(), ong);
-            return ResponseEntity.ok(ong);
+            metricas.registrarCriacao(MetricasPlataforma.Entidade.ONG);
+            return ResponseEntity.ok(OngResposta.de(ong));
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    // expand=seguidores,eventos inclui as listas de IDs na resposta
     @GetMapping("/{id}")
-    public ResponseEntity<Ong> buscarOng(@PathVariable UUID id) {
+    public ResponseEntity<OngResposta> buscarOng(
+            @PathVariable UUID id,
+            @RequestParam(required = false) String expand) {
+        
         Ong ong = ongs.get(id);
-        return ong != null ? ResponseEntity.ok(ong) : ResponseEntity.notFound().build();
+        if (ong == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Set<String> expansoes;
+        try {
+            expansoes = Expansoes.ler(expand, OngResposta.EXPANSOES);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // Contadores pela projeção da linha da ONG; os seguidores só com expand
+        ContadoresOng contadores = armazenamento.buscarContadores(id).orElseGet(() -> ContadoresOng.de(ong));
+        Set<UUID> seguidores = expansoes.contains("seguidores") ? armazenamento.listarSeguidores(ong) : null;
+        return ResponseEntity.ok(OngResposta.de(ong, contadores, expansoes, seguidores));
     }
 
     @GetMapping
-    public ResponseEntity<List<Ong>> listarOngs() {
-        return ResponseEntity.ok(new ArrayList<>(ongs.values()));
+    public ResponseEntity<List<OngResposta>> listarOngs() {
+        return ResponseEntity.ok(ongs.values().stream().map(OngResposta::de).toList());
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Ong> atualizarOng(
+    public ResponseEntity<OngResposta> atualizarOng(
             @PathVariable UUID id, 
             @RequestBody Map<String, String> dados) {
         
@@ -76,7 +125,8 @@ public class OngController {
             ong.setFotoDePerfil(dados.get("fotoDePerfil"));
         }
 
-        return ResponseEntity.ok(ong);
+        armazenamento.salvar(ong);
+        return ResponseEntity.ok(OngResposta.de(ong));
     }
 
     @DeleteMapping("/{id}")
@@ -87,11 +137,12 @@ public class OngController {
         }
         
         ong.desativarConta();
+        armazenamento.salvar(ong);
         return ResponseEntity.noContent().build();
     }
 
     @PostMapping("/{id}/areas-atuacao")
-    public ResponseEntity<Ong> adicionarAreaAtuacao(
+    public ResponseEntity<OngResposta> adicionarAreaAtuacao(
             @PathVariable UUID id, 
             @RequestBody Map<String, String> dados) {
         
@@ -103,14 +154,15 @@ public class OngController {
         try {
             AreaInteresse area = AreaInteresse.valueOf(dados.get("area"));
             ong.adicionarAreaAtuacao(area);
-            return ResponseEntity.ok(ong);
+            armazenamento.salvar(ong);
+            return ResponseEntity.ok(OngResposta.de(ong));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
     @DeleteMapping("/{id}/areas-atuacao/{area}")
-    public ResponseEntity<Ong> removerAreaAtuacao(
+    public ResponseEntity<OngResposta> removerAreaAtuacao(
             @PathVariable UUID id, 
             @PathVariable String area) {
         
@@ -122,7 +174,8 @@ public class OngController {
         try {
             AreaInteresse areaEnum = AreaInteresse.valueOf(area);
             ong.removerAreaAtuacao(areaEnum);
-            return ResponseEntity.ok(ong);
+            armazenamento.salvar(ong);
+            return ResponseEntity.ok(OngResposta.de(ong));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -135,7 +188,7 @@ public class OngController {
             return ResponseEntity.notFound().build();
         }
 
-        return ResponseEntity.ok(ong.getSeguidores());
+        return ResponseEntity.ok(armazenamento.listarSeguidores(ong));
     }
 
     @GetMapping("/{id}/eventos-organizados")
@@ -149,31 +202,34 @@ public class OngController {
     }
 
     @PostMapping("/{id}/verificar")
-    public ResponseEntity<Ong> verificarOng(@PathVariable UUID id) {
+    public ResponseEntity<OngResposta> verificarOng(@PathVariable UUID id) {
         Ong ong = ongs.get(id);
         if (ong == null) {
             return ResponseEntity.notFound().build();
         }
 
         ong.verificarOng();
-        return ResponseEntity.ok(ong);
+        armazenamento.salvar(ong);
+        return ResponseEntity.ok(OngResposta.de(ong));
     }
 
     @GetMapping("/verificadas")
-    public ResponseEntity<List<Ong>> listarOngsVerificadas() {
-        List<Ong> ongsVerificadas = ongs.values().stream()
+    public ResponseEntity<List<OngResposta>> listarOngsVerificadas() {
+        List<OngResposta> ongsVerificadas = ongs.values().stream()
                 .filter(ong -> ong.getVerificada())
+                .map(OngResposta::de)
                 .toList();
         
         return ResponseEntity.ok(ongsVerificadas);
     }
 
     @GetMapping("/por-area/{area}")
-    public ResponseEntity<List<Ong>> buscarOngsPorArea(@PathVariable String area) {
+    public ResponseEntity<List<OngResposta>> buscarOngsPorArea(@PathVariable String area) {
         try {
             AreaInteresse areaEnum = AreaInteresse.valueOf(area);
-            List<Ong> ongsPorArea = ongs.values().stream()
+            List<OngResposta> ongsPorArea = ongs.values().stream()
                     .filter(ong -> ong.atuaNaArea(areaEnum))
+                    .map(OngResposta::de)
                     .toList();
             
             return ResponseEntity.ok(ongsPorArea);
@@ -189,9 +245,11 @@ public class OngController {
             return ResponseEntity.notFound().build();
         }
 
+        ContadoresOng contadores = armazenamento.buscarContadores(id).orElseGet(() -> ContadoresOng.de(ong));
+
         Map<String, Object> estatisticas = new HashMap<>();
-        estatisticas.put("quantidadeSeguidores", ong.getQuantidadeSeguidores());
-        estatisticas.put("quantidadeEventosOrganizados", ong.getQuantidadeEventosOrganizados());
+        estatisticas.put("quantidadeSeguidores", contadores.quantidadeSeguidores());
+        estatisticas.put("quantidadeEventosOrganizados", contadores.quantidadeEventosOrganizados());
         estatisticas.put("verificada", ong.getVerificada());
         estatisticas.put("areasAtuacao", ong.getAreasDeAtuacao());
         estatisticas.put("nota", ong.getNota());
@@ -200,7 +258,7 @@ public class OngController {
     }
 
     @PostMapping("/{ongId}/adicionar-seguidor/{voluntarioId}")
-    public ResponseEntity<Ong> adicionarSeguidor(
+    public ResponseEntity<OngResposta> adicionarSeguidor(
             @PathVariable UUID ongId,
             @PathVariable UUID voluntarioId) {
         
@@ -209,7 +267,15 @@ public class OngController {
             return ResponseEntity.notFound().build();
         }
 
-        ong.adicionarSeguidor(voluntarioId);
-        return ResponseEntity.ok(ong);
+        armazenamento.adicionarSeguidor(ong, voluntarioId);
+        return ResponseEntity.ok(OngResposta.de(ong));
+    }
+
+    // Chamado pelo AvaliacaoService com a nova média; IDs de voluntários são ignorados
+    private void aplicarNota(UUID usuarioId, Float media) {
+        Ong ong = ongs.get(usuarioId);
+        if (ong != null) {
+            armazenamento.salvarNota(ong, media);
+        }
     }
 }
@@ -0,0 +1,11 @@
+package com.backend.mao_amiga.controllers;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Página de IDs de uma listagem paginada por cursor e o cursor da página
+ * seguinte (null quando não há mais itens).
+ */
+record PaginaIds(List<UUID> ids, String proximoCursor) {
+}
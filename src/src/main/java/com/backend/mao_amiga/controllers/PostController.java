@@ -1,21 +1,59 @@
 package com.backend.mao_amiga.controllers;
 
+import com.backend.mao_amiga.dto.Expansoes;
+import com.backend.mao_amiga.dto.PostResposta;
 import com.backend.mao_amiga.models.Post;
+import com.backend.mao_amiga.repositories.ArmazenamentoPosts;
+import com.backend.mao_amiga.repositories.ContadoresPost;
+import com.backend.mao_amiga.services.FeedService;
+import com.backend.mao_amiga.services.MetricasPlataforma;
+import jakarta.annotation.PostConstruct;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/posts")
 public class PostController {
 
-    // Simulação de banco em memória
+    // Cópia em memória dos dados salvos, base dos rankings e da linha do tempo
     private final Map<UUID, Post> posts = new ConcurrentHashMap<>();
+    private final RankingPosts rankingCurtidas = RankingPosts.porCurtidas();
+    private final RankingPosts rankingRelevancia = RankingPosts.porRelevancia();
+    private final TimelinePosts timeline = new TimelinePosts();
+    private static final int LIMITE_MAXIMO_PAGINA = 100;
+
+    private final FeedService feedService;
+    private final MetricasPlataforma metricas;
+
+    // Motor escolhido pelo perfil ativo (ver ArmazenamentoConfig)
+    private final ArmazenamentoPosts armazenamento;
+
+    public PostController(FeedService feedService, MetricasPlataforma metricas, ArmazenamentoPosts armazenamento) {
+        this.feedService = feedService;
+        this.metricas = metricas;
+        this.armazenamento = armazenamento;
+    }
+
+    @PostConstruct
+    public void carregarSalvos() {
+        List<Post> salvos = armazenamento.listarTodos();
+        for (Post post : salvos) {
+            posts.put(post.getId(), post);
+            atualizarIndices(post);
+            if (post.getAtivo()) {
+                feedService.publicarPost(post);
+            }
+        }
+        metricas.registrarExistentes(MetricasPlataforma.Entidade.POST, salvos.size());
+        metricas.monitorarStore(MetricasPlataforma.Entidade.POST, posts);
+    }
 
     @PostMapping
-    public ResponseEntity<Post> criarPost(@RequestBody Map<String, Object> dados) {
+    public ResponseEntity<PostResposta> criarPost(@RequestBody Map<String, Object> dados) {
         try {
             UUID autorId = UUID.fromString((String) dados.get("autorId"));
             String tipoAutor = (String) dados.get("tipoAutor"); // "VOLUNTARIO" ou "ONG"
@@ -30,31 +68,52 @@ public class PostController {
                 return ResponseEntity.badRequest().build();
             }
             
+            armazenamento.salvar(post);
             posts.put(post.getId(), post);
-            return ResponseEntity.ok(post);
+            atualizarIndices(post);
+            metricas.registrarCriacao(MetricasPlataforma.Entidade.POST);
+            feedService.publicarPost(post);
+            return ResponseEntity.ok(PostResposta.de(post));
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    // expand=curtidas inclui os IDs de quem curtiu na resposta
     @GetMapping("/{id}")
-    public ResponseEntity<Post> buscarPost(@PathVariable UUID id) {
+    public ResponseEntity<PostResposta> buscarPost(
+            @PathVariable UUID id,
+            @RequestParam(required = false) String expand) {
+        
         Post post = posts.get(id);
-        return post != null ? ResponseEntity.ok(post) : ResponseEntity.notFound().build();
+        if (post == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Set<String> expansoes;
+        try {
+            expansoes = Expansoes.ler(expand, PostResposta.EXPANSOES);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // Contadores pela projeção da linha do post; a lista de curtidas só com expand
+        ContadoresPost contadores = armazenamento.buscarContadores(id).orElseGet(() -> ContadoresPost.de(post));
+        Set<UUID> curtidas = expansoes.contains("curtidas") ? armazenamento.listarCurtidas(post) : null;
+        return ResponseEntity.ok(PostResposta.de(post, contadores, curtidas));
     }
 
+    // Paginado por cursor: o cursor da próxima página vai no header X-Proximo-Cursor
     @GetMapping
-    public ResponseEntity<List<Post>> listarPosts() {
-        List<Post> postsList = posts.values().stream()
-                .filter(post -> post.getAtivo())
-                .sorted((p1, p2) -> p2.getCriadoEm().compareTo(p1.getCriadoEm())) // Mais recentes primeiro
-                .toList();
+    public ResponseEntity<List<PostResposta>> listarPosts(
+            @RequestParam(required = false) String after,
+            @RequestParam(name = "limit", defaultValue = "20") int limite) {
         
-        return ResponseEntity.ok(postsList);
+        return responderPagina(() -> timeline.listar(after, limitar(limite)));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Post> editarPost(
+    public ResponseEntity<PostResposta> editarPost(
             @PathVariable UUID id,
             @RequestBody Map<String, String> dados) {
         
@@ -66,9 +125,10 @@ public class PostController {
         String novoConteudo = dados.get("conteudo");
         if (novoConteudo != null) {
             post.editarConteudo(novoConteudo);
+            armazenamento.salvarEdicao(post);
         }
 
-        return ResponseEntity.ok(post);
+        return ResponseEntity.ok(PostResposta.de(post));
     }
 
     @DeleteMapping("/{id}")
@@ -79,6 +139,9 @@ public class PostController {
         }
         
         post.desativarPost();
+        armazenamento.salvarEdicao(post);
+        atualizarIndices(post);
+        feedService.removerPublicacao(id);
         return ResponseEntity.noContent().build();
     }
 
@@ -92,7 +155,11 @@ public class PostController {
             return ResponseEntity.notFound().build();
         }
 
-        boolean sucesso = post.adicionarCurtida(usuarioId);
+        boolean sucesso = armazenamento.curtir(post, usuarioId);
+        if (sucesso) {
+            atualizarIndices(post);
+            metricas.registrarCurtida(true);
+        }
         
         Map<String, Object> resposta = new HashMap<>();
         resposta.put("curtido", sucesso);
@@ -111,7 +178,11 @@ public class PostController {
             return ResponseEntity.notFound().build();
         }
 
-        boolean sucesso = post.removerCurtida(usuarioId);
+        boolean sucesso = armazenamento.descurtir(post, usuarioId);
+        if (sucesso) {
+            atualizarIndices(post);
+            metricas.registrarCurtida(false);
+        }
         
         Map<String, Object> resposta = new HashMap<>();
         resposta.put("descurtido", sucesso);
@@ -127,7 +198,7 @@ public class PostController {
             return ResponseEntity.notFound().build();
         }
 
-        return ResponseEntity.ok(post.getCurtidas());
+        return ResponseEntity.ok(armazenamento.listarCurtidas(post));
     }
 
     @GetMapping("/{postId}/usuario-curtiu/{usuarioId}")
@@ -141,34 +212,31 @@ public class PostController {
         }
 
         Map<String, Boolean> resposta = new HashMap<>();
-        resposta.put("curtiu", post.usuarioCurtiu(usuarioId));
+        resposta.put("curtiu", armazenamento.usuarioCurtiu(post, usuarioId));
         
         return ResponseEntity.ok(resposta);
     }
 
     @GetMapping("/do-autor/{autorId}")
-    public ResponseEntity<List<Post>> listarPostsDoAutor(@PathVariable UUID autorId) {
-        List<Post> postsDoAutor = posts.values().stream()
-                .filter(post -> post.getAutorId().equals(autorId) && post.getAtivo())
-                .sorted((p1, p2) -> p2.getCriadoEm().compareTo(p1.getCriadoEm()))
-                .toList();
+    public ResponseEntity<List<PostResposta>> listarPostsDoAutor(
+            @PathVariable UUID autorId,
+            @RequestParam(required = false) String after,
+            @RequestParam(name = "limit", defaultValue = "20") int limite) {
         
-        return ResponseEntity.ok(postsDoAutor);
+        return responderPagina(() -> timeline.listarDoAutor(autorId, after, limitar(limite)));
     }
 
     @GetMapping("/tipo/{tipo}")
-    public ResponseEntity<List<Post>> listarPostsPorTipo(@PathVariable String tipo) {
+    public ResponseEntity<List<PostResposta>> listarPostsPorTipo(
+            @PathVariable String tipo,
+            @RequestParam(required = false) String after,
+            @RequestParam(name = "limit", defaultValue = "20") int limite) {
+        
         if (!"VOLUNTARIO".equals(tipo) && !"ONG".equals(tipo)) {
             return ResponseEntity.badRequest().build();
         }
         
-        List<Post> postsPorTipo = posts.values().stream()
-                .filter(post -> post.getAtivo())
-                .filter(post -> tipo.equals("VOLUNTARIO") ? post.isAutorVoluntario() : post.isAutorOng())
-                .sorted((p1, p2) -> p2.getCriadoEm().compareTo(p1.getCriadoEm()))
-                .toList();
-        
-        return ResponseEntity.ok(postsPorTipo);
+        return responderPagina(() -> timeline.listarPorTipoAutor(tipo, after, limitar(limite)));
     }
 
     @GetMapping("/{id}/estatisticas")
@@ -178,9 +246,11 @@ public class PostController {
             return ResponseEntity.notFound().build();
         }
 
+        ContadoresPost contadores = armazenamento.buscarContadores(id).orElseGet(() -> ContadoresPost.de(post));
+
         Map<String, Object> estatisticas = new HashMap<>();
-        estatisticas.put("quantidadeCurtidas", post.getQuantidadeCurtidas());
-        estatisticas.put("quantidadeComentarios", post.getQuantidadeComentarios());
+        estatisticas.put("quantidadeCurtidas", contadores.quantidadeCurtidas());
+        estatisticas.put("quantidadeComentarios", contadores.quantidadeComentarios());
         estatisticas.put("isAutorVoluntario", post.isAutorVoluntario());
         estatisticas.put("isAutorOng", post.isAutorOng());
         estatisticas.put("temImagem", post.temImagem());
@@ -190,24 +260,72 @@ public class PostController {
     }
 
     @GetMapping("/feed/recentes")
-    public ResponseEntity<List<Post>> feedRecente(@RequestParam(defaultValue = "20") int limite) {
-        List<Post> feedRecente = posts.values().stream()
-                .filter(post -> post.getAtivo())
-                .sorted((p1, p2) -> p2.getCriadoEm().compareTo(p1.getCriadoEm()))
-                .limit(limite)
-                .toList();
+    public ResponseEntity<List<PostResposta>> feedRecente(
+            @RequestParam(required = false) String after,
+            @RequestParam(name = "limit", defaultValue = "20") int limite) {
         
-        return ResponseEntity.ok(feedRecente);
+        return responderPagina(() -> timeline.listar(after, limitar(limite)));
     }
 
+    // criterio=curtidas ordena só pelo total de curtidas; criterio=relevancia
+    // pondera as curtidas pela data de criação, favorecendo posts recentes
     @GetMapping("/feed/populares")
-    public ResponseEntity<List<Post>> feedPopular(@RequestParam(defaultValue = "20") int limite) {
-        List<Post> feedPopular = posts.values().stream()
-                .filter(post -> post.getAtivo())
-                .sorted((p1, p2) -> Integer.compare(p2.getQuantidadeCurtidas(), p1.getQuantidadeCurtidas()))
-                .limit(limite)
-                .toList();
+    public ResponseEntity<List<PostResposta>> feedPopular(
+            @RequestParam(defaultValue = "20") int limite,
+            @RequestParam(defaultValue = "curtidas") String criterio) {
+        
+        RankingPosts ranking = switch (criterio) {
+            case "curtidas" -> rankingCurtidas;
+            case "relevancia" -> rankingRelevancia;
+            default -> null;
+        };
+        if (ranking == null || limite <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<PostResposta> feedPopular = new ArrayList<>();
+        for (UUID id : ranking.listarPrimeiros(limitar(limite))) {
+            Post post = posts.get(id);
+            if (post != null && post.getAtivo()) {
+                feedPopular.add(PostResposta.de(post));
+            }
+        }
         
         return ResponseEntity.ok(feedPopular);
     }
+
+    // Métodos auxiliares privados
+
+    private void atualizarIndices(Post post) {
+        rankingCurtidas.atualizar(post);
+        rankingRelevancia.atualizar(post);
+        timeline.atualizar(post);
+    }
+
+    private int limitar(int limite) {
+        return Math.min(limite, LIMITE_MAXIMO_PAGINA);
+    }
+
+    private ResponseEntity<List<PostResposta>> responderPagina(Supplier<PaginaIds> consulta) {
+        PaginaIds pagina;
+        try {
+            pagina = consulta.get();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<PostResposta> postsDaPagina = new ArrayList<>(pagina.ids().size());
+        for (UUID id : pagina.ids()) {
+            Post post = posts.get(id);
+            if (post != null) {
+                postsDaPagina.add(PostResposta.de(post));
+            }
+        }
+
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        if (pagina.proximoCursor() != null) {
+            resposta.header("X-Proximo-Cursor", pagina.proximoCursor());
+        }
+        return resposta.body(postsDaPagina);
+    }
 }
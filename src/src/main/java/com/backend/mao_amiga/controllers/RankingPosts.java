@@ -0,0 +1,89 @@
+package com.backend.mao_amiga.controllers;
+
+import com.backend.mao_amiga.models.Post;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Ranking dos posts ativos mantido em ordem decrescente de pontuação.
+ *
+ * O ranking é atualizado a cada curtida, descurtida ou desativação, então
+ * o feed só lê os K primeiros em vez de ordenar todos os posts por requisição.
+ * A pontuação é recalculada a partir do estado atual do post, serializada
+ * por post, como em {@link IndiceEventos}.
+ */
+class RankingPosts {
+
+    // Com a pontuação de relevância, cada 12,5 horas de idade equivalem a
+    // 10x menos curtidas. Como o peso vem da data de criação e não da idade,
+    // a ordem entre dois posts não muda com o passar do tempo e o ranking
+    // não precisa ser recalculado periodicamente.
+    private static final double SEGUNDOS_POR_ORDEM_DE_GRANDEZA = 45_000.0;
+
+    private static final Comparator<EntradaRanking> MAIOR_PONTUACAO_PRIMEIRO = Comparator
+            .comparingDouble(EntradaRanking::pontuacao).reversed()
+            .thenComparing(EntradaRanking::postId);
+
+    private final ToDoubleFunction<Post> pontuacao;
+    private final NavigableSet<EntradaRanking> ranking = new ConcurrentSkipListSet<>(MAIOR_PONTUACAO_PRIMEIRO);
+    private final Map<UUID, EntradaRanking> entradas = new ConcurrentHashMap<>();
+
+    RankingPosts(ToDoubleFunction<Post> pontuacao) {
+        this.pontuacao = pontuacao;
+    }
+
+    static RankingPosts porCurtidas() {
+        return new RankingPosts(Post::getQuantidadeCurtidas);
+    }
+
+    static RankingPosts porRelevancia() {
+        return new RankingPosts(RankingPosts::pontuacaoRelevancia);
+    }
+
+    // Reposiciona o post; posts desativados saem do ranking
+    void atualizar(Post post) {
+        entradas.compute(post.getId(), (id, anterior) -> {
+            if (anterior != null) {
+                ranking.remove(anterior);
+            }
+            if (!post.getAtivo()) {
+                return null;
+            }
+            EntradaRanking atual = new EntradaRanking(pontuacao.applyAsDouble(post), id);
+            ranking.add(atual);
+            return atual;
+        });
+    }
+
+    List<UUID> listarPrimeiros(int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("Limite deve ser maior que zero");
+        }
+        List<UUID> resultado = new ArrayList<>(Math.min(limite, 64));
+        for (EntradaRanking entrada : ranking) {
+            if (resultado.size() >= limite) {
+                break;
+            }
+            resultado.add(entrada.postId());
+        }
+        return resultado;
+    }
+
+    static double pontuacaoRelevancia(Post post) {
+        double curtidas = Math.log10(Math.max(post.getQuantidadeCurtidas(), 1));
+        double segundos = post.getCriadoEm().toEpochSecond(ZoneOffset.UTC) + post.getCriadoEm().getNano() / 1e9;
+        return curtidas + segundos / SEGUNDOS_POR_ORDEM_DE_GRANDEZA;
+    }
+
+    private record EntradaRanking(double pontuacao, UUID postId) {
+    }
+}
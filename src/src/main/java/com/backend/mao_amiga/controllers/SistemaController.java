@@ -4,6 +4,7 @@ import com.backend.mao_amiga.models.enums.AreaInteresse;
 import com.backend.mao_amiga.models.enums.PreferenciaTema;
 import com.backend.mao_amiga.models.enums.StatusEvento;
 import com.backend.mao_amiga.models.enums.TipoNotificacao;
+import com.backend.mao_amiga.services.MetricasPlataforma;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -16,6 +17,12 @@ import java.util.Map;
 @RequestMapping("/api/sistema")
 public class SistemaController {
 
+    private final MetricasPlataforma metricas;
+
+    public SistemaController(MetricasPlataforma metricas) {
+        this.metricas = metricas;
+    }
+
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> verificarSaude() {
         Map<String, Object> status = new HashMap<>();
@@ -104,16 +111,8 @@ public class SistemaController {
 
     @GetMapping("/estatisticas/dashboard")
     public ResponseEntity<Map<String, Object>> obterDashboard() {
-        // Em uma implementação real, estes dados viriam dos services
-        Map<String, Object> dashboard = new HashMap<>();
-        dashboard.put("totalUsuarios", 0);
-        dashboard.put("totalVoluntarios", 0);
-        dashboard.put("totalOngs", 0);
-        dashboard.put("totalEventos", 0);
-        dashboard.put("totalPosts", 0);
-        dashboard.put("totalComentarios", 0);
-        dashboard.put("totalAvaliacoes", 0);
-        dashboard.put("totalNotificacoes", 0);
+        // Quantidades e taxas mantidas pelos stores a cada gravação
+        Map<String, Object> dashboard = metricas.obterDashboard();
         dashboard.put("areasInteresseDisponiveis", AreaInteresse.values().length);
         dashboard.put("statusEventoDisponiveis", StatusEvento.values().length);
         dashboard.put("tiposNotificacaoDisponiveis", TipoNotificacao.values().length);
@@ -5,7 +5,6 @@ import com.backend.mao_amiga.models.enums.AreaInteresse;
 import com.backend.mao_amiga.models.enums.PreferenciaTema;
 import com.backend.mao_amiga.services.AvaliacaoService;
 import com.backend.mao_amiga.services.NotificacaoService;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
@@ -35,11 +34,13 @@ import java.util.UUID;
 @RequestMapping("/api/test")
 public class TestController {
 
-    @Autowired
-    private AvaliacaoService avaliacaoService;
-    
-    @Autowired
-    private NotificacaoService notificacaoService;
+    private final AvaliacaoService avaliacaoService;
+    private final NotificacaoService notificacaoService;
+
+    public TestController(AvaliacaoService avaliacaoService, NotificacaoService notificacaoService) {
+        this.avaliacaoService = avaliacaoService;
+        this.notificacaoService = notificacaoService;
+    }
 
     @GetMapping("/hello")
     public String hello() {
@@ -0,0 +1,119 @@
+package com.backend.mao_amiga.controllers;
+
+import com.backend.mao_amiga.models.Post;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Linha do tempo dos posts ativos, do mais recente para o mais antigo,
+ * com sub-índices por autor e por tipo de autor.
+ *
+ * A paginação é por cursor: o cursor guarda a posição (criadoEm, id) do
+ * último post entregue, e a próxima página começa logo depois dele no
+ * skip list. Assim, rolar até páginas profundas custa O(log N + limite),
+ * e posts novos não deslocam o que o cliente já viu.
+ */
+class TimelinePosts {
+
+    private static final Comparator<EntradaTimeline> MAIS_RECENTES_PRIMEIRO = Comparator
+            .comparing(EntradaTimeline::criadoEm, Comparator.reverseOrder())
+            .thenComparing(EntradaTimeline::postId);
+
+    private final NavigableSet<EntradaTimeline> todos = new ConcurrentSkipListSet<>(MAIS_RECENTES_PRIMEIRO);
+    private final Map<UUID, NavigableSet<EntradaTimeline>> porAutor = new ConcurrentHashMap<>();
+    private final Map<String, NavigableSet<EntradaTimeline>> porTipoAutor = new ConcurrentHashMap<>();
+
+    // Posts atualmente na linha do tempo, para serializar inclusão e remoção por post
+    private final Map<UUID, EntradaTimeline> entradas = new ConcurrentHashMap<>();
+
+    void atualizar(Post post) {
+        entradas.compute(post.getId(), (id, anterior) -> {
+            if (anterior != null && !post.getAtivo()) {
+                remover(anterior, post);
+                return null;
+            }
+            if (anterior == null && post.getAtivo()) {
+                EntradaTimeline entrada = new EntradaTimeline(post.getCriadoEm(), id);
+                todos.add(entrada);
+                adicionar(porAutor, post.getAutorId(), entrada);
+                adicionar(porTipoAutor, post.getTipoAutor(), entrada);
+                return entrada;
+            }
+            return anterior;
+        });
+    }
+
+    PaginaIds listar(String cursor, int limite) {
+        return paginar(todos, cursor, limite);
+    }
+
+    PaginaIds listarDoAutor(UUID autorId, String cursor, int limite) {
+        return paginar(porAutor.get(autorId), cursor, limite);
+    }
+
+    PaginaIds listarPorTipoAutor(String tipoAutor, String cursor, int limite) {
+        return paginar(porTipoAutor.get(tipoAutor), cursor, limite);
+    }
+
+    // Métodos auxiliares privados
+
+    private PaginaIds paginar(NavigableSet<EntradaTimeline> linha, String cursor, int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("Limite deve ser maior que zero");
+        }
+        if (linha == null) {
+            return new PaginaIds(List.of(), null);
+        }
+
+        NavigableSet<EntradaTimeline> restantes = cursor == null || cursor.isBlank()
+                ? linha
+                : linha.tailSet(posicao(CursorPaginacao.decodificar(cursor)), false);
+
+        List<UUID> ids = new ArrayList<>(Math.min(limite, 64));
+        EntradaTimeline ultima = null;
+        for (EntradaTimeline entrada : restantes) {
+            if (ids.size() == limite) {
+                return new PaginaIds(ids, new CursorPaginacao(ultima.criadoEm(), ultima.postId()).codificar());
+            }
+            ids.add(entrada.postId());
+            ultima = entrada;
+        }
+        return new PaginaIds(ids, null);
+    }
+
+    private static EntradaTimeline posicao(CursorPaginacao cursor) {
+        return new EntradaTimeline(cursor.data(), cursor.id());
+    }
+
+    private static <K> void adicionar(Map<K, NavigableSet<EntradaTimeline>> indice, K chave, EntradaTimeline entrada) {
+        indice.compute(chave, (k, linha) -> {
+            NavigableSet<EntradaTimeline> destino = linha != null ? linha : new ConcurrentSkipListSet<>(MAIS_RECENTES_PRIMEIRO);
+            destino.add(entrada);
+            return destino;
+        });
+    }
+
+    private void remover(EntradaTimeline entrada, Post post) {
+        todos.remove(entrada);
+        removerDe(porAutor, post.getAutorId(), entrada);
+        removerDe(porTipoAutor, post.getTipoAutor(), entrada);
+    }
+
+    private static <K> void removerDe(Map<K, NavigableSet<EntradaTimeline>> indice, K chave, EntradaTimeline entrada) {
+        indice.computeIfPresent(chave, (k, linha) -> {
+            linha.remove(entrada);
+            return linha.isEmpty() ? null : linha;
+        });
+    }
+
+    private record EntradaTimeline(LocalDateTime criadoEm, UUID postId) {
+    }
+}
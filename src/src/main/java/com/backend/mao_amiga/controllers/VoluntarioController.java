@@ -1,7 +1,14 @@
 package com.backend.mao_amiga.controllers;
 
+import com.backend.mao_amiga.dto.Expansoes;
+import com.backend.mao_amiga.dto.VoluntarioResposta;
 import com.backend.mao_amiga.models.Voluntario;
 import com.backend.mao_amiga.models.enums.AreaInteresse;
+import com.backend.mao_amiga.repositories.ArmazenamentoVoluntarios;
+import com.backend.mao_amiga.services.AvaliacaoService;
+import com.backend.mao_amiga.services.FeedService;
+import com.backend.mao_amiga.services.MetricasPlataforma;
+import jakarta.annotation.PostConstruct;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -12,11 +19,38 @@ import java.util.concurrent.ConcurrentHashMap;
 @RequestMapping("/api/voluntarios")
 public class VoluntarioController {
 
-    // Simulação de banco em memória
+    // Cópia em memória dos dados salvos
     private final Map<UUID, Voluntario> voluntarios = new ConcurrentHashMap<>();
 
+    private final FeedService feedService;
+    private final MetricasPlataforma metricas;
+    private final AvaliacaoService avaliacaoService;
+
+    // Motor escolhido pelo perfil ativo (ver ArmazenamentoConfig)
+    private final ArmazenamentoVoluntarios armazenamento;
+
+    public VoluntarioController(FeedService feedService, MetricasPlataforma metricas,
+                                AvaliacaoService avaliacaoService, ArmazenamentoVoluntarios armazenamento) {
+        this.feedService = feedService;
+        this.metricas = metricas;
+        this.avaliacaoService = avaliacaoService;
+        this.armazenamento = armazenamento;
+    }
+
+    @PostConstruct
+    public void carregarSalvos() {
+        avaliacaoService.registrarOuvinteNota(this::aplicarNota);
+        List<Voluntario> salvos = armazenamento.listarTodos();
+        for (Voluntario voluntario : salvos) {
+            voluntarios.put(voluntario.getId(), voluntario);
+            voluntario.getOngsSeguidas().forEach(ongId -> feedService.registrarSeguimento(voluntario.getId(), ongId));
+        }
+        metricas.registrarExistentes(MetricasPlataforma.Entidade.VOLUNTARIO, salvos.size());
+        metricas.monitorarStore(MetricasPlataforma.Entidade.VOLUNTARIO, voluntarios);
+    }
+
     @PostMapping
-    public ResponseEntity<Voluntario> criarVoluntario(@RequestBody Map<String, String> dados) {
+    public ResponseEntity<VoluntarioResposta> criarVoluntario(@RequestBody Map<String, String> dados) {
         try {
             Voluntario voluntario = new Voluntario(
                 dados.get("email"),
@@ -28,26 +62,40 @@ public class VoluntarioController {
                 voluntario.setMaisSobre(dados.get("maisSobre"));
             }
             
+            armazenamento.salvar(voluntario);
             voluntarios.put(voluntario.getId(), voluntario);
-            return ResponseEntity.ok(voluntario);
+            metricas.registrarCriacao(MetricasPlataforma.Entidade.VOLUNTARIO);
+            return ResponseEntity.ok(VoluntarioResposta.de(voluntario));
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    // expand=historico,ongs-seguidas,favoritos inclui as coleções na resposta
     @GetMapping("/{id}")
-    public ResponseEntity<Voluntario> buscarVoluntario(@PathVariable UUID id) {
+    public ResponseEntity<VoluntarioResposta> buscarVoluntario(
+            @PathVariable UUID id,
+            @RequestParam(required = false) String expand) {
+        
         Voluntario voluntario = voluntarios.get(id);
-        return voluntario != null ? ResponseEntity.ok(voluntario) : ResponseEntity.notFound().build();
+        if (voluntario == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        try {
+            return ResponseEntity.ok(VoluntarioResposta.de(voluntario, Expansoes.ler(expand, VoluntarioResposta.EXPANSOES)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping
-    public ResponseEntity<List<Voluntario>> listarVoluntarios() {
-        return ResponseEntity.ok(new ArrayList<>(voluntarios.values()));
+    public ResponseEntity<List<VoluntarioResposta>> listarVoluntarios() {
+        return ResponseEntity.ok(voluntarios.values().stream().map(VoluntarioResposta::de).toList());
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Voluntario> atualizarVoluntario(
+    public ResponseEntity<VoluntarioResposta> atualizarVoluntario(
             @PathVariable UUID id, 
             @RequestBody Map<String, String> dados) {
         
@@ -67,7 +115,8 @@ public class VoluntarioController {
             voluntario.setFotoDePerfil(dados.get("fotoDePerfil"));
         }
 
-        return ResponseEntity.ok(voluntario);
+        armazenamento.salvar(voluntario);
+        return ResponseEntity.ok(VoluntarioResposta.de(voluntario));
     }
 
     @DeleteMapping("/{id}")
@@ -78,11 +127,12 @@ public class VoluntarioController {
         }
         
         voluntario.desativarConta();
+        armazenamento.salvar(voluntario);
         return ResponseEntity.noContent().build();
     }
 
     @PostMapping("/{id}/areas-interesse")
-    public ResponseEntity<Voluntario> adicionarAreaInteresse(
+    public ResponseEntity<VoluntarioResposta> adicionarAreaInteresse(
             @PathVariable UUID id, 
             @RequestBody Map<String, String> dados) {
         
@@ -94,14 +144,15 @@ public class VoluntarioController {
         try {
             AreaInteresse area = AreaInteresse.valueOf(dados.get("area"));
             voluntario.adicionarAreaInteresse(area);
-            return ResponseEntity.ok(voluntario);
+            armazenamento.salvar(voluntario);
+            return ResponseEntity.ok(VoluntarioResposta.de(voluntario));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
     @DeleteMapping("/{id}/areas-interesse/{area}")
-    public ResponseEntity<Voluntario> removerAreaInteresse(
+    public ResponseEntity<VoluntarioResposta> removerAreaInteresse(
             @PathVariable UUID id, 
             @PathVariable String area) {
         
@@ -113,14 +164,15 @@ public class VoluntarioController {
         try {
             AreaInteresse areaEnum = AreaInteresse.valueOf(area);
             voluntario.removerAreaInteresse(areaEnum);
-            return ResponseEntity.ok(voluntario);
+            armazenamento.salvar(voluntario);
+            return ResponseEntity.ok(VoluntarioResposta.de(voluntario));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
     @PostMapping("/{voluntarioId}/seguir-ong/{ongId}")
-    public ResponseEntity<Voluntario> seguirOng(
+    public ResponseEntity<VoluntarioResposta> seguirOng(
             @PathVariable UUID voluntarioId, 
             @PathVariable UUID ongId) {
         
@@ -129,12 +181,13 @@ public class VoluntarioController {
             return ResponseEntity.notFound().build();
         }
 
-        voluntario.seguirOng(ongId);
-        return ResponseEntity.ok(voluntario);
+        armazenamento.seguirOng(voluntario, ongId);
+        feedService.registrarSeguimento(voluntarioId, ongId);
+        return ResponseEntity.ok(VoluntarioResposta.de(voluntario));
     }
 
     @DeleteMapping("/{voluntarioId}/deixar-seguir-ong/{ongId}")
-    public ResponseEntity<Voluntario> deixarDeSeguirOng(
+    public ResponseEntity<VoluntarioResposta> deixarDeSeguirOng(
             @PathVariable UUID voluntarioId, 
             @PathVariable UUID ongId) {
         
@@ -143,8 +196,9 @@ public class VoluntarioController {
             return ResponseEntity.notFound().build();
         }
 
-        voluntario.deixarDeSeguirOng(ongId);
-        return ResponseEntity.ok(voluntario);
+        armazenamento.deixarDeSeguirOng(voluntario, ongId);
+        feedService.removerSeguimento(voluntarioId, ongId);
+        return ResponseEntity.ok(VoluntarioResposta.de(voluntario));
     }
 
     @GetMapping("/{id}/ongs-seguidas")
@@ -158,11 +212,12 @@ public class VoluntarioController {
     }
 
     @GetMapping("/buscar-por-area/{area}")
-    public ResponseEntity<List<Voluntario>> buscarVoluntariosPorArea(@PathVariable String area) {
+    public ResponseEntity<List<VoluntarioResposta>> buscarVoluntariosPorArea(@PathVariable String area) {
         try {
             AreaInteresse areaEnum = AreaInteresse.valueOf(area);
-            List<Voluntario> voluntariosPorArea = voluntarios.values().stream()
+            List<VoluntarioResposta> voluntariosPorArea = voluntarios.values().stream()
                     .filter(voluntario -> voluntario.temInteresseNaArea(areaEnum))
+                    .map(VoluntarioResposta::de)
                     .toList();
             
             return ResponseEntity.ok(voluntariosPorArea);
@@ -180,9 +235,8 @@ public class VoluntarioController {
 
         Map<String, Object> estatisticas = new HashMap<>();
         estatisticas.put("quantidadeEventosParticipados", voluntario.getQuantidadeEventosParticipados());
-        estatisticas.put("quantidadeAreasDeInteresse", voluntario.getAreasDeInteresse().size());
-        estatisticas.put("quantidadeOngsSeguidas", voluntario.getOngsSeguidas().size());
-        estatisticas.put("quantidadeEventosFavoritos", voluntario.getEventosFavoritos().size());
+        estatisticas.put("quantidadeOngsSeguidas", voluntario.getQuantidadeOngsSeguidas());
+        estatisticas.put("quantidadeEventosFavoritos", voluntario.getQuantidadeEventosFavoritos());
         estatisticas.put("areasDeInteresse", voluntario.getAreasDeInteresse());
         estatisticas.put("nota", voluntario.getNota());
 
@@ -190,7 +244,7 @@ public class VoluntarioController {
     }
 
     @PostMapping("/{voluntarioId}/favoritar-evento/{eventoId}")
-    public ResponseEntity<Voluntario> favoritarEvento(
+    public ResponseEntity<VoluntarioResposta> favoritarEvento(
             @PathVariable UUID voluntarioId, 
             @PathVariable UUID eventoId) {
         
@@ -200,11 +254,12 @@ public class VoluntarioController {
         }
 
         voluntario.favoritarEvento(eventoId);
-        return ResponseEntity.ok(voluntario);
+        armazenamento.salvar(voluntario);
+        return ResponseEntity.ok(VoluntarioResposta.de(voluntario));
     }
 
     @DeleteMapping("/{voluntarioId}/desfavoritar-evento/{eventoId}")
-    public ResponseEntity<Voluntario> desfavoritarEvento(
+    public ResponseEntity<VoluntarioResposta> desfavoritarEvento(
             @PathVariable UUID voluntarioId, 
             @PathVariable UUID eventoId) {
         
@@ -214,7 +269,8 @@ public class VoluntarioController {
         }
 
         voluntario.desfavoritarEvento(eventoId);
-        return ResponseEntity.ok(voluntario);
+        armazenamento.salvar(voluntario);
+        return ResponseEntity.ok(VoluntarioResposta.de(voluntario));
     }
 
     @GetMapping("/{id}/historico-eventos")
@@ -226,4 +282,12 @@ public class VoluntarioController {
 
         return ResponseEntity.ok(voluntario.getHistoricoDeEventos());
     }
+
+    // Chamado pelo AvaliacaoService com a nova média; IDs de ONGs são ignorados
+    private void aplicarNota(UUID usuarioId, Float media) {
+        Voluntario voluntario = voluntarios.get(usuarioId);
+        if (voluntario != null) {
+            armazenamento.salvarNota(voluntario, media);
+        }
+    }
 }
@@ -0,0 +1,31 @@
+package com.backend.mao_amiga.dto;
+
+import com.backend.mao_amiga.models.Comentario;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Comentário como devolvido pela API: o post vai só pelo ID, o que corta o
+ * ciclo post → comentários → post da serialização da entidade.
+ */
+public record ComentarioResposta(
+        UUID id,
+        UUID autorId,
+        String tipoAutor,
+        String conteudo,
+        UUID postId,
+        Boolean ativo,
+        LocalDateTime criadoEm) {
+
+    public static ComentarioResposta de(Comentario comentario) {
+        return new ComentarioResposta(
+                comentario.getId(),
+                comentario.getAutorId(),
+                comentario.getTipoAutor(),
+                comentario.getConteudo(),
+                comentario.getPost().getId(),
+                comentario.getAtivo(),
+                comentario.getCriadoEm());
+    }
+}
@@ -0,0 +1,66 @@
+package com.backend.mao_amiga.dto;
+
+import com.backend.mao_amiga.models.Evento;
+import com.backend.mao_amiga.models.enums.AreaInteresse;
+import com.backend.mao_amiga.models.enums.StatusEvento;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Evento como devolvido pela API. Inscritos, participantes e lista de espera
+ * só vêm quando pedidos em {@code ?expand=}; sem eles a resposta tem
+ * tamanho fixo, qualquer que seja a lotação do evento.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EventoResposta(
+        UUID id,
+        String titulo,
+        String descricao,
+        LocalDateTime dataHoraInicio,
+        LocalDateTime dataHoraFim,
+        UUID ongResponsavelId,
+        String local,
+        Integer vagasDisponiveis,
+        int vagasOcupadas,
+        int vagasRestantes,
+        int quantidadeListaEspera,
+        StatusEvento status,
+        Set<AreaInteresse> areasRelacionadas,
+        String imagemCapa,
+        LocalDateTime criadoEm,
+        Set<UUID> inscritos,
+        Set<UUID> participantes,
+        List<UUID> listaEspera) {
+
+    public static final Set<String> EXPANSOES = Set.of("inscritos", "participantes", "lista-espera");
+
+    public static EventoResposta de(Evento evento) {
+        return de(evento, Expansoes.NENHUMA);
+    }
+
+    public static EventoResposta de(Evento evento, Set<String> expandir) {
+        return new EventoResposta(
+                evento.getId(),
+                evento.getTitulo(),
+                evento.getDescricao(),
+                evento.getDataHoraInicio(),
+                evento.getDataHoraFim(),
+                evento.getOngResponsavelId(),
+                evento.getLocal(),
+                evento.getVagasDisponiveis(),
+                evento.getVagasOcupadas(),
+                evento.getVagasRestantes(),
+                evento.getQuantidadeListaEspera(),
+                evento.getStatus(),
+                Set.copyOf(evento.getAreasRelacionadas()),
+                evento.getImagemCapa(),
+                evento.getCriadoEm(),
+                expandir.contains("inscritos") ? Set.copyOf(evento.getVoluntariosInscritos()) : null,
+                expandir.contains("participantes") ? Set.copyOf(evento.getVoluntariosParticiparam()) : null,
+                expandir.contains("lista-espera") ? evento.getListaEspera() : null);
+    }
+}
@@ -0,0 +1,31 @@
+package com.backend.mao_amiga.dto;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Leitura do parâmetro {@code ?expand=}: nomes separados por vírgula das
+ * coleções que a resposta deve trazer além dos campos compactos.
+ */
+public final class Expansoes {
+
+    public static final Set<String> NENHUMA = Set.of();
+
+    private Expansoes() {
+    }
+
+    public static Set<String> ler(String expand, Set<String> permitidas) {
+        if (expand == null || expand.isBlank()) {
+            return NENHUMA;
+        }
+        Set<String> expansoes = new HashSet<>();
+        for (String nome : expand.split(",")) {
+            String expansao = nome.trim();
+            if (!permitidas.contains(expansao)) {
+                throw new IllegalArgumentException("Expansão desconhecida: " + expansao);
+            }
+            expansoes.add(expansao);
+        }
+        return expansoes;
+    }
+}
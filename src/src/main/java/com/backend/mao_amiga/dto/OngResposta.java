@@ -0,0 +1,65 @@
+package com.backend.mao_amiga.dto;
+
+import com.backend.mao_amiga.models.Ong;
+import com.backend.mao_amiga.models.enums.AreaInteresse;
+import com.backend.mao_amiga.repositories.ContadoresOng;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * ONG como devolvida pela API: seguidores e eventos organizados vêm como
+ * contadores, e as listas de IDs só com {@code ?expand=}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OngResposta(
+        UUID id,
+        String email,
+        String nomeCompleto,
+        String fotoDePerfil,
+        Float nota,
+        String maisSobre,
+        String cnpj,
+        String endereco,
+        String telefone,
+        Set<AreaInteresse> areasDeAtuacao,
+        Boolean verificada,
+        Boolean ativo,
+        LocalDateTime criadoEm,
+        int quantidadeSeguidores,
+        int quantidadeEventosOrganizados,
+        Set<UUID> seguidores,
+        List<UUID> eventosOrganizados) {
+
+    public static final Set<String> EXPANSOES = Set.of("seguidores", "eventos");
+
+    public static OngResposta de(Ong ong) {
+        return de(ong, ContadoresOng.de(ong), Expansoes.NENHUMA, null);
+    }
+
+    // Os seguidores só são lidos com expand=seguidores, e vêm do armazenamento:
+    // a ONG em memória não os carrega
+    public static OngResposta de(Ong ong, ContadoresOng contadores, Set<String> expandir, Set<UUID> seguidores) {
+        return new OngResposta(
+                ong.getId(),
+                ong.getEmail(),
+                ong.getNomeCompleto(),
+                ong.getFotoDePerfil(),
+                ong.getNota(),
+                ong.getMaisSobre(),
+                ong.getCnpj(),
+                ong.getEndereco(),
+                ong.getTelefone(),
+                Set.copyOf(ong.getAreasDeAtuacao()),
+                ong.getVerificada(),
+                ong.getAtivo(),
+                ong.getCriadoEm(),
+                contadores.quantidadeSeguidores(),
+                contadores.quantidadeEventosOrganizados(),
+                expandir.contains("seguidores") ? Set.copyOf(seguidores) : null,
+                expandir.contains("eventos") ? List.copyOf(ong.getEventosOrganizados()) : null);
+    }
+}
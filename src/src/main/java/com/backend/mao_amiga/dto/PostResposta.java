@@ -0,0 +1,48 @@
+package com.backend.mao_amiga.dto;
+
+import com.backend.mao_amiga.models.Post;
+import com.backend.mao_amiga.repositories.ContadoresPost;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Post como devolvido pela API. Os comentários não vêm junto (têm endpoint
+ * próprio, paginado) e as curtidas só com {@code ?expand=curtidas}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PostResposta(
+        UUID id,
+        UUID autorId,
+        String tipoAutor,
+        String conteudo,
+        String imagemUrl,
+        Boolean ativo,
+        LocalDateTime criadoEm,
+        int quantidadeCurtidas,
+        int quantidadeComentarios,
+        Set<UUID> curtidas) {
+
+    public static final Set<String> EXPANSOES = Set.of("curtidas");
+
+    public static PostResposta de(Post post) {
+        return de(post, ContadoresPost.de(post), null);
+    }
+
+    // curtidas vem do armazenamento só com expand=curtidas; null omite o campo
+    public static PostResposta de(Post post, ContadoresPost contadores, Set<UUID> curtidas) {
+        return new PostResposta(
+                post.getId(),
+                post.getAutorId(),
+                post.getTipoAutor(),
+                post.getConteudo(),
+                post.getImagemUrl(),
+                post.getAtivo(),
+                post.getCriadoEm(),
+                contadores.quantidadeCurtidas(),
+                contadores.quantidadeComentarios(),
+                curtidas != null ? Set.copyOf(curtidas) : null);
+    }
+}
@@ -0,0 +1,59 @@
+package com.backend.mao_amiga.dto;
+
+import com.backend.mao_amiga.models.Voluntario;
+import com.backend.mao_amiga.models.enums.AreaInteresse;
+import com.backend.mao_amiga.models.enums.PreferenciaTema;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Voluntário como devolvido pela API. Histórico, ONGs seguidas e favoritos
+ * crescem com o uso e só vêm com {@code ?expand=}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record VoluntarioResposta(
+        UUID id,
+        String email,
+        String nomeCompleto,
+        String fotoDePerfil,
+        Float nota,
+        String maisSobre,
+        PreferenciaTema preferenciaTema,
+        Set<AreaInteresse> areasDeInteresse,
+        Boolean ativo,
+        LocalDateTime criadoEm,
+        int quantidadeEventosParticipados,
+        int quantidadeOngsSeguidas,
+        List<UUID> historicoDeEventos,
+        Set<UUID> ongsSeguidas,
+        Set<UUID> eventosFavoritos) {
+
+    public static final Set<String> EXPANSOES = Set.of("historico", "ongs-seguidas", "favoritos");
+
+    public static VoluntarioResposta de(Voluntario voluntario) {
+        return de(voluntario, Expansoes.NENHUMA);
+    }
+
+    public static VoluntarioResposta de(Voluntario voluntario, Set<String> expandir) {
+        return new VoluntarioResposta(
+                voluntario.getId(),
+                voluntario.getEmail(),
+                voluntario.getNomeCompleto(),
+                voluntario.getFotoDePerfil(),
+                voluntario.getNota(),
+                voluntario.getMaisSobre(),
+                voluntario.getPreferenciaTema(),
+                Set.copyOf(voluntario.getAreasDeInteresse()),
+                voluntario.getAtivo(),
+                voluntario.getCriadoEm(),
+                voluntario.getQuantidadeEventosParticipados(),
+                voluntario.getQuantidadeOngsSeguidas(),
+                expandir.contains("historico") ? List.copyOf(voluntario.getHistoricoDeEventos()) : null,
+                expandir.contains("ongs-seguidas") ? Set.copyOf(voluntario.getOngsSeguidas()) : null,
+                expandir.contains("favoritos") ? Set.copyOf(voluntario.getEventosFavoritos()) : null);
+    }
+}
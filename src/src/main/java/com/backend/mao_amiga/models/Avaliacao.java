@@ -7,10 +7,9 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "avaliacoes")
-public class Avaliacao {
+public class Avaliacao extends EntidadePersistivel {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
     
     @Column(nullable = false)
@@ -42,6 +41,7 @@ public class Avaliacao {
 
     // Construtores
     public Avaliacao() {
+        this.id = UUID.randomUUID();
         this.criadaEm = LocalDateTime.now();
         this.ativa = true;
     }
@@ -1,16 +1,16 @@
 package com.backend.mao_amiga.models;
 
 import jakarta.persistence.*;
+import org.hibernate.Hibernate;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
 @Table(name = "comentarios")
-public class Comentario {
+public class Comentario extends EntidadePersistivel {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
     
     @Column(nullable = false)
@@ -34,6 +34,7 @@ public class Comentario {
 
     // Construtores
     public Comentario() {
+        this.id = UUID.randomUUID();
         this.criadoEm = LocalDateTime.now();
         this.ativo = true;
     }
@@ -53,12 +54,22 @@ public class Comentario {
         }
     }
 
-    public void desativarComentario() {
+    // Devolvem false se o comentário já estava na situação pedida, para o
+    // contador do post mudar só uma vez
+    public boolean desativarComentario() {
+        if (!this.ativo) {
+            return false;
+        }
         this.ativo = false;
+        return true;
     }
 
-    public void reativarComentario() {
+    public boolean reativarComentario() {
+        if (this.ativo) {
+            return false;
+        }
         this.ativo = true;
+        return true;
     }
 
     public boolean isAutorVoluntario() {
@@ -82,6 +93,13 @@ public class Comentario {
         return new Comentario(ongId, "ONG", conteudo, post);
     }
 
+    // O post vem junto, só com a própria linha (as curtidas ficam no banco)
+    @Override
+    public void prepararParaMemoria() {
+        this.post = (Post) Hibernate.unproxy(this.post);
+        this.post.prepararParaMemoria();
+    }
+
     // Getters essenciais
     public UUID getId() {
         return id;
@@ -91,6 +109,10 @@ public class Comentario {
         return autorId;
     }
 
+    public String getTipoAutor() {
+        return tipoAutor;
+    }
+
     public String getConteudo() {
         return conteudo;
     }
@@ -0,0 +1,43 @@
+package com.backend.mao_amiga.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+
+import java.util.UUID;
+
+/**
+ * Base das entidades com ID gerado no construtor.
+ *
+ * Como o ID nunca é nulo, o Spring Data não consegue saber sozinho se a
+ * entidade é nova e faria um SELECT (merge) antes de cada INSERT, o que
+ * também impede o envio de INSERTs em lote. A entidade nasce nova e deixa de
+ * ser ao ser gravada ou lida do banco.
+ */
+@MappedSuperclass
+public abstract class EntidadePersistivel implements Persistable<UUID> {
+
+    @Transient
+    private boolean nova = true;
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return nova;
+    }
+
+    // Chamado dentro da transação de leitura, antes de a entidade ir para a
+    // memória: inicializa as coleções lazy e troca as coleções do Hibernate
+    // pelas usadas em memória
+    public void prepararParaMemoria() {
+    }
+
+    @PostPersist
+    @PostLoad
+    void marcarPersistida() {
+        this.nova = false;
+    }
+}
@@ -1,20 +1,29 @@
 package com.backend.mao_amiga.models;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import com.backend.mao_amiga.models.enums.AreaInteresse;
+import com.backend.mao_amiga.models.enums.ResultadoInscricao;
 import com.backend.mao_amiga.models.enums.StatusEvento;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 @Entity
 @Table(name = "eventos")
-public class Evento {
+public class Evento extends EntidadePersistivel {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
     
     @Column(nullable = false, length = 200)
@@ -38,14 +47,19 @@ public class Evento {
     @Column(nullable = false)
     private Integer vagasDisponiveis;
     
-    @Column(nullable = false)
-    private Integer vagasOcupadas;
+    // Contador atômico das vagas ocupadas: a reserva é feita com CAS, sem lock,
+    // e persistido pela propriedade vagasOcupadasPersistidas
+    @Transient
+    private final AtomicInteger vagasOcupadas = new AtomicInteger();
     
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private StatusEvento status;
     
+    // As coleções são buscadas por subselect: carregar N eventos custa uma
+    // consulta por coleção, e não uma por evento
     @ElementCollection(targetClass = AreaInteresse.class)
+    @Fetch(FetchMode.SUBSELECT)
     @Enumerated(EnumType.STRING)
     @CollectionTable(name = "evento_areas_interesse", 
                     joinColumns = @JoinColumn(name = "evento_id"))
@@ -53,17 +67,38 @@ public class Evento {
     private Set<AreaInteresse> areasRelacionadas;
     
     @ElementCollection
+    @Fetch(FetchMode.SUBSELECT)
     @CollectionTable(name = "evento_inscritos", 
                     joinColumns = @JoinColumn(name = "evento_id"))
     @Column(name = "voluntario_id")
     private Set<UUID> voluntariosInscritos;
     
     @ElementCollection
+    @Fetch(FetchMode.SUBSELECT)
     @CollectionTable(name = "evento_participantes", 
                     joinColumns = @JoinColumn(name = "evento_id"))
     @Column(name = "voluntario_id")
     private Set<UUID> voluntariosParticiparam;
     
+    // Fila FIFO de quem tentou se inscrever com o evento lotado. LinkedList:
+    // a promoção tira da cabeça em O(1), e o mapeamento com @OrderColumn
+    // precisa de uma List
+    @ElementCollection
+    @Fetch(FetchMode.SUBSELECT)
+    @CollectionTable(name = "evento_lista_espera", 
+                    joinColumns = @JoinColumn(name = "evento_id"))
+    @OrderColumn(name = "posicao")
+    @Column(name = "voluntario_id")
+    private List<UUID> listaEspera;
+
+    // Quem está na fila, para responder "já está na lista?" sem percorrê-la
+    @Transient
+    private final Set<UUID> membrosListaEspera = new HashSet<>();
+    
+    // Protege a lista de espera e a passagem de vaga para o próximo da fila
+    @Transient
+    private final ReentrantLock travaListaEspera = new ReentrantLock();
+    
     @Column(nullable = false)
     private LocalDateTime criadoEm;
     
@@ -72,12 +107,13 @@ public class Evento {
 
     // Construtores
     public Evento() {
+        this.id = UUID.randomUUID();
         this.status = StatusEvento.PLANEJADO;
-        this.vagasOcupadas = 0;
         this.criadoEm = LocalDateTime.now();
-        this.areasRelacionadas = new HashSet<>();
-        this.voluntariosInscritos = new HashSet<>();
-        this.voluntariosParticiparam = new HashSet<>();
+        this.areasRelacionadas = ConcurrentHashMap.newKeySet();
+        this.voluntariosInscritos = ConcurrentHashMap.newKeySet();
+        this.voluntariosParticiparam = ConcurrentHashMap.newKeySet();
+        this.listaEspera = new LinkedList<>();
     }
 
     public Evento(String titulo, String descricao, LocalDateTime dataHoraInicio, 
@@ -101,24 +137,102 @@ public class Evento {
 
     // Métodos de negócio
     public boolean inscreverVoluntario(UUID voluntarioId) {
-        if (podeReceberInscricoes() && temVagasDisponiveis() && voluntarioId != null) {
-            boolean inscrito = this.voluntariosInscritos.add(voluntarioId);
-            if (inscrito) {
-                this.vagasOcupadas++;
+        if (!podeReceberInscricoes() || voluntarioId == null) {
+            return false;
+        }
+        // Reserva a vaga antes de inscrever: o contador nunca passa do limite,
+        // mesmo com várias inscrições simultâneas no mesmo evento
+        if (!reservarVaga()) {
+            return false;
+        }
+        if (!this.voluntariosInscritos.add(voluntarioId)) {
+            liberarVaga();
+            return false;
+        }
+        return true;
+    }
+
+    // Inscreve se houver vaga; com o evento lotado, entra na lista de espera
+    public ResultadoInscricao solicitarInscricao(UUID voluntarioId) {
+        if (inscreverVoluntario(voluntarioId)) {
+            return ResultadoInscricao.INSCRITO;
+        }
+        if (!podeReceberInscricoes() || voluntarioId == null) {
+            return ResultadoInscricao.RECUSADO;
+        }
+
+        travaListaEspera.lock();
+        try {
+            if (voluntarioEstaInscrito(voluntarioId)) {
+                return ResultadoInscricao.RECUSADO;
             }
-            return inscrito;
+            // Uma vaga pode ter sido liberada enquanto aguardávamos a trava
+            if (reservarVaga()) {
+                if (this.voluntariosInscritos.add(voluntarioId)) {
+                    return ResultadoInscricao.INSCRITO;
+                }
+                liberarVaga();
+                return ResultadoInscricao.RECUSADO;
+            }
+            if (this.membrosListaEspera.add(voluntarioId)) {
+                this.listaEspera.add(voluntarioId);
+            }
+            return ResultadoInscricao.LISTA_ESPERA;
+        } finally {
+            travaListaEspera.unlock();
         }
-        return false;
     }
 
     public boolean cancelarInscricao(UUID voluntarioId) {
-        boolean removido = this.voluntariosInscritos.remove(voluntarioId);
-        if (removido && this.vagasOcupadas > 0) {
-            this.vagasOcupadas--;
+        return cancelarInscricao(voluntarioId, promovido -> { });
+    }
+
+    // Cancela a inscrição (ou a posição na lista de espera). Se havia alguém
+    // na fila, a vaga passa direto para ele, sem voltar a ficar livre
+    public boolean cancelarInscricao(UUID voluntarioId, Consumer<UUID> aoPromover) {
+        UUID promovido = null;
+        boolean removido;
+
+        travaListaEspera.lock();
+        try {
+            removido = this.voluntariosInscritos.remove(voluntarioId);
+            if (removido) {
+                promovido = promoverProximoDaListaEspera();
+            } else {
+                removido = removerDaListaEspera(voluntarioId);
+            }
+        } finally {
+            travaListaEspera.unlock();
+        }
+
+        if (promovido != null) {
+            aoPromover.accept(promovido);
         }
         return removido;
     }
 
+    public boolean sairDaListaEspera(UUID voluntarioId) {
+        travaListaEspera.lock();
+        try {
+            return removerDaListaEspera(voluntarioId);
+        } finally {
+            travaListaEspera.unlock();
+        }
+    }
+
+    // Posição na lista de espera começando em 1, ou 0 se não estiver na fila
+    public int getPosicaoListaEspera(UUID voluntarioId) {
+        travaListaEspera.lock();
+        try {
+            if (!this.membrosListaEspera.contains(voluntarioId)) {
+                return 0;
+            }
+            return this.listaEspera.indexOf(voluntarioId) + 1;
+        } finally {
+            travaListaEspera.unlock();
+        }
+    }
+
     public void confirmarParticipacao(UUID voluntarioId) {
         if (this.voluntariosInscritos.contains(voluntarioId)) {
             this.voluntariosParticiparam.add(voluntarioId);
@@ -169,11 +283,11 @@ public class Evento {
     }
 
     public boolean temVagasDisponiveis() {
-        return this.vagasOcupadas < this.vagasDisponiveis;
+        return this.vagasOcupadas.get() < this.vagasDisponiveis;
     }
 
     public int getVagasRestantes() {
-        return this.vagasDisponiveis - this.vagasOcupadas;
+        return this.vagasDisponiveis - this.vagasOcupadas.get();
     }
 
     public boolean voluntarioEstaInscrito(UUID voluntarioId) {
@@ -210,7 +324,7 @@ public class Evento {
         if (this.vagasDisponiveis == 0) {
             return 0.0;
         }
-        return (double) this.vagasOcupadas / this.vagasDisponiveis;
+        return (double) this.vagasOcupadas.get() / this.vagasDisponiveis;
     }
 
     // Métodos para compatibilidade com testes e funcionalidades específicas
@@ -223,11 +337,11 @@ public class Evento {
     }
 
     public boolean cancelarInscricaoVoluntario(UUID voluntarioId) {
-        boolean removido = this.voluntariosInscritos.remove(voluntarioId);
-        if (removido && this.vagasOcupadas > 0) {
-            this.vagasOcupadas--;
-        }
-        return removido;
+        return cancelarInscricao(voluntarioId);
+    }
+
+    public boolean cancelarInscricaoVoluntario(UUID voluntarioId, Consumer<UUID> aoPromover) {
+        return cancelarInscricao(voluntarioId, aoPromover);
     }
 
     public boolean marcarPresenca(UUID voluntarioId) {
@@ -246,6 +360,76 @@ public class Evento {
         this.status = status;
     }
 
+    // Controle de vagas (compare-and-set, sem lock global)
+    private boolean reservarVaga() {
+        while (true) {
+            int ocupadas = this.vagasOcupadas.get();
+            if (ocupadas >= this.vagasDisponiveis) {
+                return false;
+            }
+            if (this.vagasOcupadas.compareAndSet(ocupadas, ocupadas + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void liberarVaga() {
+        this.vagasOcupadas.updateAndGet(ocupadas -> ocupadas > 0 ? ocupadas - 1 : 0);
+    }
+
+    // Chamado com a trava da lista de espera: transfere a vaga liberada
+    private UUID promoverProximoDaListaEspera() {
+        boolean aceitaPromocao = this.status == StatusEvento.ABERTO_INSCRICOES
+                || this.status == StatusEvento.INSCRICOES_FECHADAS;
+        while (aceitaPromocao && !this.listaEspera.isEmpty()) {
+            UUID proximo = this.listaEspera.remove(0);
+            this.membrosListaEspera.remove(proximo);
+            if (this.voluntariosInscritos.add(proximo)) {
+                return proximo;
+            }
+        }
+        liberarVaga();
+        return null;
+    }
+
+    // Chamado com a trava da lista de espera
+    private boolean removerDaListaEspera(UUID voluntarioId) {
+        if (!this.membrosListaEspera.remove(voluntarioId)) {
+            return false;
+        }
+        this.listaEspera.remove(voluntarioId);
+        return true;
+    }
+
+    // Acesso usado pelo JPA para gravar/ler o contador na coluna vagas_ocupadas
+    @Access(AccessType.PROPERTY)
+    @Column(name = "vagas_ocupadas", nullable = false)
+    protected Integer getVagasOcupadasPersistidas() {
+        return this.vagasOcupadas.get();
+    }
+
+    protected void setVagasOcupadasPersistidas(Integer vagasOcupadas) {
+        this.vagasOcupadas.set(vagasOcupadas != null ? vagasOcupadas : 0);
+    }
+
+    // Coleções concorrentes, como as criadas no construtor
+    @Override
+    public void prepararParaMemoria() {
+        Set<AreaInteresse> areas = ConcurrentHashMap.newKeySet();
+        areas.addAll(this.areasRelacionadas);
+        Set<UUID> inscritos = ConcurrentHashMap.newKeySet();
+        inscritos.addAll(this.voluntariosInscritos);
+        Set<UUID> participaram = ConcurrentHashMap.newKeySet();
+        participaram.addAll(this.voluntariosParticiparam);
+
+        this.areasRelacionadas = areas;
+        this.voluntariosInscritos = inscritos;
+        this.voluntariosParticiparam = participaram;
+        this.listaEspera = new LinkedList<>(this.listaEspera);
+        this.membrosListaEspera.clear();
+        this.membrosListaEspera.addAll(this.listaEspera);
+    }
+
     // Getters essenciais
     public UUID getId() {
         return id;
@@ -280,7 +464,7 @@ public class Evento {
     }
 
     public Integer getVagasOcupadas() {
-        return vagasOcupadas;
+        return vagasOcupadas.get();
     }
 
     public StatusEvento getStatus() {
@@ -299,6 +483,24 @@ public class Evento {
         return voluntariosParticiparam;
     }
 
+    public List<UUID> getListaEspera() {
+        travaListaEspera.lock();
+        try {
+            return new ArrayList<>(listaEspera);
+        } finally {
+            travaListaEspera.unlock();
+        }
+    }
+
+    public int getQuantidadeListaEspera() {
+        travaListaEspera.lock();
+        try {
+            return listaEspera.size();
+        } finally {
+            travaListaEspera.unlock();
+        }
+    }
+
     public LocalDateTime getCriadoEm() {
         return criadoEm;
     }
@@ -8,10 +8,9 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "notificacoes")
-public class Notificacao {
+public class Notificacao extends EntidadePersistivel {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
     
     @Enumerated(EnumType.STRING)
@@ -35,6 +34,7 @@ public class Notificacao {
 
     // Construtores
     public Notificacao() {
+        this.id = UUID.randomUUID();
         this.criadaEm = LocalDateTime.now();
         this.lida = false;
     }
@@ -1,6 +1,9 @@
 package com.backend.mao_amiga.models;
 
 import jakarta.persistence.*;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import com.backend.mao_amiga.models.enums.AreaInteresse;
 
 import java.util.ArrayList;
@@ -8,6 +11,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Entity
 @Table(name = "ongs")
@@ -23,17 +29,22 @@ public class Ong extends Usuario {
   private String telefone;
 
   @ElementCollection(targetClass = AreaInteresse.class)
+  @Fetch(FetchMode.SUBSELECT)
   @Enumerated(EnumType.STRING)
   @CollectionTable(name = "ong_areas_atuacao", joinColumns = @JoinColumn(name = "ong_id"))
   @Column(name = "area_atuacao")
   private Set<AreaInteresse> areasDeAtuacao;
 
+  // Lista indexada: incluir um evento grava uma linha em vez de regravar a tabela
   @ElementCollection
+  @Fetch(FetchMode.SUBSELECT)
   @CollectionTable(name = "ong_eventos_criados", joinColumns = @JoinColumn(name = "ong_id"))
+  @OrderColumn(name = "posicao")
   @Column(name = "evento_id")
   private List<UUID> eventosOrganizados;
 
   @ElementCollection
+  @Fetch(FetchMode.SUBSELECT)
   @CollectionTable(name = "ong_seguidores", joinColumns = @JoinColumn(name = "ong_id"))
   @Column(name = "voluntario_id")
   private Set<UUID> seguidores;
@@ -41,12 +52,25 @@ public class Ong extends Usuario {
   @Column(nullable = false)
   private Boolean verificada;
 
+  // Contadores desnormalizados, gravados junto com as coleções: perfil e
+  // estatísticas leem o número sem percorrer os seguidores. Como os do Post,
+  // são atômicos em memória e gravados pelas propriedades *Persistida
+  @Transient
+  private final AtomicInteger quantidadeSeguidores = new AtomicInteger();
+
+  @Transient
+  private final AtomicInteger quantidadeEventosOrganizados = new AtomicInteger();
+
+  // Protege o "contém, então inclui" da lista de eventos organizados
+  @Transient
+  private final ReentrantLock travaEventosOrganizados = new ReentrantLock();
+
   // Construtores
   public Ong() {
     super();
     this.areasDeAtuacao = new HashSet<>();
     this.eventosOrganizados = new ArrayList<>();
-    this.seguidores = new HashSet<>();
+    this.seguidores = ConcurrentHashMap.newKeySet();
     this.verificada = false;
   }
 
@@ -55,7 +79,7 @@ public class Ong extends Usuario {
     this.cnpj = cnpj;
     this.areasDeAtuacao = new HashSet<>();
     this.eventosOrganizados = new ArrayList<>();
-    this.seguidores = new HashSet<>();
+    this.seguidores = ConcurrentHashMap.newKeySet();
     this.verificada = false;
   }
 
@@ -79,19 +103,41 @@ public class Ong extends Usuario {
   }
 
   public void adicionarEventoOrganizado(UUID eventoId) {
-    if (eventoId != null && !this.eventosOrganizados.contains(eventoId)) {
-      this.eventosOrganizados.add(eventoId);
+    if (eventoId == null) {
+      return;
+    }
+    travaEventosOrganizados.lock();
+    try {
+      if (!this.eventosOrganizados.contains(eventoId)) {
+        this.eventosOrganizados.add(eventoId);
+        this.quantidadeEventosOrganizados.incrementAndGet();
+      }
+    } finally {
+      travaEventosOrganizados.unlock();
     }
   }
 
   public void adicionarSeguidor(UUID voluntarioId) {
-    if (voluntarioId != null) {
-      this.seguidores.add(voluntarioId);
+    if (voluntarioId != null && this.seguidores.add(voluntarioId)) {
+      this.quantidadeSeguidores.incrementAndGet();
+    }
+  }
+
+  // Seguidor já gravado como linha pelo armazenamento. Os seguidores de uma
+  // ONG lida do banco não vêm para a memória (ver prepararParaMemoria), e aí
+  // só o contador acompanha
+  public void registrarSeguidorGravado(UUID voluntarioId) {
+    if (Hibernate.isInitialized(this.seguidores)) {
+      adicionarSeguidor(voluntarioId);
+    } else {
+      this.quantidadeSeguidores.incrementAndGet();
     }
   }
 
   public void removerSeguidor(UUID voluntarioId) {
-    this.seguidores.remove(voluntarioId);
+    if (voluntarioId != null && this.seguidores.remove(voluntarioId)) {
+      this.quantidadeSeguidores.decrementAndGet();
+    }
   }
 
   public boolean temSeguidor(UUID voluntarioId) {
@@ -107,11 +153,11 @@ public class Ong extends Usuario {
   }
 
   public int getQuantidadeSeguidores() {
-    return this.seguidores.size();
+    return this.quantidadeSeguidores.get();
   }
 
   public int getQuantidadeEventosOrganizados() {
-    return this.eventosOrganizados.size();
+    return this.quantidadeEventosOrganizados.get();
   }
 
   public boolean atuaNaArea(AreaInteresse area) {
@@ -119,7 +165,41 @@ public class Ong extends Usuario {
   }
 
   public boolean jaOrganizouEvento(UUID eventoId) {
-    return this.eventosOrganizados.contains(eventoId);
+    travaEventosOrganizados.lock();
+    try {
+      return this.eventosOrganizados.contains(eventoId);
+    } finally {
+      travaEventosOrganizados.unlock();
+    }
+  }
+
+  @Access(AccessType.PROPERTY)
+  @Column(name = "quantidade_seguidores", nullable = false)
+  protected Integer getQuantidadeSeguidoresPersistida() {
+    return this.quantidadeSeguidores.get();
+  }
+
+  protected void setQuantidadeSeguidoresPersistida(Integer quantidade) {
+    this.quantidadeSeguidores.set(quantidade != null ? quantidade : 0);
+  }
+
+  @Access(AccessType.PROPERTY)
+  @Column(name = "quantidade_eventos_organizados", nullable = false)
+  protected Integer getQuantidadeEventosOrganizadosPersistida() {
+    return this.quantidadeEventosOrganizados.get();
+  }
+
+  protected void setQuantidadeEventosOrganizadosPersistida(Integer quantidade) {
+    this.quantidadeEventosOrganizados.set(quantidade != null ? quantidade : 0);
+  }
+
+  // Os seguidores ficam de fora: podem ser centenas de milhares por ONG, e o
+  // perfil só precisa do contador. Quem precisa da lista consulta o
+  // armazenamento (ArmazenamentoOngs.listarSeguidores)
+  @Override
+  public void prepararParaMemoria() {
+    this.areasDeAtuacao = new HashSet<>(this.areasDeAtuacao);
+    this.eventosOrganizados = new ArrayList<>(this.eventosOrganizados);
   }
 
   // Getters essenciais
@@ -147,10 +227,17 @@ public class Ong extends Usuario {
     return areasDeAtuacao;
   }
 
+  // Cópia tirada sob a trava: a lista pode receber um evento durante a leitura
   public List<UUID> getEventosOrganizados() {
-    return eventosOrganizados;
+    travaEventosOrganizados.lock();
+    try {
+      return List.copyOf(eventosOrganizados);
+    } finally {
+      travaEventosOrganizados.unlock();
+    }
   }
 
+  // Só com os seguidores em memória: ONG nova ou motor em memória
   public Set<UUID> getSeguidores() {
     return seguidores;
   }
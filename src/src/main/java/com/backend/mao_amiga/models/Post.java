@@ -1,20 +1,21 @@
 package com.backend.mao_amiga.models;
 
 import jakarta.persistence.*;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Entity
 @Table(name = "posts")
-public class Post {
+public class Post extends EntidadePersistivel {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
     
     @Column(nullable = false)
@@ -29,14 +30,25 @@ public class Post {
     @Column(length = 500)
     private String imagemUrl;
     
+    // Num post lido do banco as curtidas não são carregadas: o feed e o perfil
+    // só precisam do contador, e quem precisa da lista consulta o
+    // armazenamento (ArmazenamentoPosts.listarCurtidas)
     @ElementCollection
+    @Fetch(FetchMode.SUBSELECT)
     @CollectionTable(name = "post_curtidas", 
                     joinColumns = @JoinColumn(name = "post_id"))
     @Column(name = "usuario_id")
     private Set<UUID> curtidas;
-    
-    @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private List<Comentario> comentarios;
+
+    // Contadores desnormalizados das curtidas e dos comentários ativos, como as
+    // vagas ocupadas do Evento: atômicos em memória e gravados pelas
+    // propriedades quantidadeCurtidasPersistida e quantidadeComentariosPersistida.
+    // Os comentários não são coleção do post: cada um aponta para o seu
+    @Transient
+    private final AtomicInteger quantidadeCurtidas = new AtomicInteger();
+
+    @Transient
+    private final AtomicInteger quantidadeComentarios = new AtomicInteger();
     
     @Column(nullable = false)
     private LocalDateTime criadoEm;
@@ -46,10 +58,10 @@ public class Post {
 
     // Construtores
     public Post() {
+        this.id = UUID.randomUUID();
         this.criadoEm = LocalDateTime.now();
         this.ativo = true;
-        this.curtidas = new HashSet<>();
-        this.comentarios = new ArrayList<>();
+        this.curtidas = ConcurrentHashMap.newKeySet();
     }
 
     public Post(UUID autorId, String tipoAutor, String conteudo) {
@@ -61,40 +73,71 @@ public class Post {
 
     // Métodos de negócio
     public boolean adicionarCurtida(UUID usuarioId) {
-        if (usuarioId != null && this.ativo) {
-            return this.curtidas.add(usuarioId);
+        if (usuarioId != null && this.ativo && this.curtidas.add(usuarioId)) {
+            this.quantidadeCurtidas.incrementAndGet();
+            return true;
         }
         return false;
     }
 
     public boolean removerCurtida(UUID usuarioId) {
-        return this.curtidas.remove(usuarioId);
+        if (this.curtidas.remove(usuarioId)) {
+            this.quantidadeCurtidas.decrementAndGet();
+            return true;
+        }
+        return false;
     }
 
+    // Curtida já gravada como linha pelo armazenamento; num post lido do banco
+    // as curtidas não estão em memória, e aí só o contador acompanha
+    public void registrarCurtidaGravada(UUID usuarioId) {
+        if (Hibernate.isInitialized(this.curtidas)) {
+            adicionarCurtida(usuarioId);
+        } else {
+            this.quantidadeCurtidas.incrementAndGet();
+        }
+    }
+
+    public void registrarDescurtidaGravada(UUID usuarioId) {
+        if (Hibernate.isInitialized(this.curtidas)) {
+            removerCurtida(usuarioId);
+        } else {
+            this.quantidadeCurtidas.decrementAndGet();
+        }
+    }
+
+    // Só com as curtidas em memória: post novo ou motor em memória
     public boolean usuarioCurtiu(UUID usuarioId) {
         return this.curtidas.contains(usuarioId);
     }
 
     public int getQuantidadeCurtidas() {
-        return this.curtidas.size();
+        return this.quantidadeCurtidas.get();
     }
 
     public int getQuantidadeComentarios() {
-        return this.comentarios.size();
+        return this.quantidadeComentarios.get();
     }
 
-    public void adicionarComentario(Comentario comentario) {
+    // Chamados quando o comentário é criado, ou quando passa de inativo para
+    // ativo e vice-versa: quem chama garante que cada mudança conta uma vez
+    public boolean adicionarComentario(Comentario comentario) {
         if (comentario != null && this.ativo) {
             comentario.setPost(this);
-            this.comentarios.add(comentario);
+            this.quantidadeComentarios.incrementAndGet();
+            return true;
         }
+        return false;
     }
 
-    public void removerComentario(Comentario comentario) {
+    public boolean removerComentario(Comentario comentario) {
+        // O comentário continua apontando para o post: post_id é obrigatório
+        // e o comentário removido só fica inativo
         if (comentario != null) {
-            this.comentarios.remove(comentario);
-            comentario.setPost(null);
+            this.quantidadeComentarios.decrementAndGet();
+            return true;
         }
+        return false;
     }
 
     public void editarConteudo(String novoConteudo) {
@@ -136,6 +179,27 @@ public class Post {
         return new Post(ongId, "ONG", conteudo);
     }
 
+    // Acesso usado pelo JPA para gravar/ler os contadores
+    @Access(AccessType.PROPERTY)
+    @Column(name = "quantidade_curtidas", nullable = false)
+    protected Integer getQuantidadeCurtidasPersistida() {
+        return this.quantidadeCurtidas.get();
+    }
+
+    protected void setQuantidadeCurtidasPersistida(Integer quantidade) {
+        this.quantidadeCurtidas.set(quantidade != null ? quantidade : 0);
+    }
+
+    @Access(AccessType.PROPERTY)
+    @Column(name = "quantidade_comentarios", nullable = false)
+    protected Integer getQuantidadeComentariosPersistida() {
+        return this.quantidadeComentarios.get();
+    }
+
+    protected void setQuantidadeComentariosPersistida(Integer quantidade) {
+        this.quantidadeComentarios.set(quantidade != null ? quantidade : 0);
+    }
+
     // Getters essenciais
     public UUID getId() {
         return id;
@@ -145,6 +209,10 @@ public class Post {
         return autorId;
     }
 
+    public String getTipoAutor() {
+        return tipoAutor;
+    }
+
     public String getConteudo() {
         return conteudo;
     }
@@ -157,10 +225,6 @@ public class Post {
         return curtidas;
     }
 
-    public List<Comentario> getComentarios() {
-        return comentarios;
-    }
-
     public LocalDateTime getCriadoEm() {
         return criadoEm;
     }
@@ -9,10 +9,9 @@ import java.util.UUID;
 @Entity
 @Table(name = "usuarios")
 @Inheritance(strategy = InheritanceType.JOINED)
-public abstract class Usuario {
+public abstract class Usuario extends EntidadePersistivel {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     protected UUID id;
     
     @Column(nullable = false, unique = true, length = 100)
@@ -45,6 +44,7 @@ public abstract class Usuario {
 
     // Construtores
     public Usuario() {
+        this.id = UUID.randomUUID();
         this.nota = 0.0f;
         this.preferenciaTema = PreferenciaTema.CLARO;
         this.criadoEm = LocalDateTime.now();
@@ -67,6 +67,20 @@ public abstract class Usuario {
         }
     }
 
+    // Volta ao estado de quem ainda não foi avaliado
+    public void zerarNota() {
+        this.nota = 0.0f;
+    }
+
+    // Média das avaliações ativas; 0 quando não sobrou nenhuma
+    public void definirNotaMedia(Float media) {
+        if (media == 0.0f) {
+            zerarNota();
+        } else {
+            atualizarNota(media);
+        }
+    }
+
     public void desativarConta() {
         this.ativo = false;
     }
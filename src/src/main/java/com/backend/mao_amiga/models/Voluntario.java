@@ -1,6 +1,8 @@
 package com.backend.mao_amiga.models;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import com.backend.mao_amiga.models.enums.AreaInteresse;
 
 import java.util.ArrayList;
@@ -8,36 +10,55 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Entity
 @Table(name = "voluntarios")
 public class Voluntario extends Usuario {
     
     @ElementCollection(targetClass = AreaInteresse.class)
+    @Fetch(FetchMode.SUBSELECT)
     @Enumerated(EnumType.STRING)
     @CollectionTable(name = "voluntario_areas_interesse", 
                     joinColumns = @JoinColumn(name = "voluntario_id"))
     @Column(name = "area_interesse")
     private Set<AreaInteresse> areasDeInteresse;
     
+    // Com a posição gravada, cada evento novo no histórico é uma única linha
+    // inserida (sem ela a lista vira um bag e é regravada inteira)
     @ElementCollection
+    @Fetch(FetchMode.SUBSELECT)
     @CollectionTable(name = "voluntario_historico_eventos", 
                     joinColumns = @JoinColumn(name = "voluntario_id"))
+    @OrderColumn(name = "posicao")
     @Column(name = "evento_id")
     private List<UUID> historicoDeEventos;
     
     @ElementCollection
+    @Fetch(FetchMode.SUBSELECT)
     @CollectionTable(name = "voluntario_ongs_seguidas", 
                     joinColumns = @JoinColumn(name = "voluntario_id"))
     @Column(name = "ong_id")
     private Set<UUID> ongsSeguidas;
     
     @ElementCollection
+    @Fetch(FetchMode.SUBSELECT)
     @CollectionTable(name = "voluntario_eventos_favoritos", 
                     joinColumns = @JoinColumn(name = "voluntario_id"))
     @Column(name = "evento_id")
     private Set<UUID> eventosFavoritos;
 
+    // Contadores desnormalizados das coleções que crescem com o uso, como os
+    // da Ong: estatísticas e perfil leem o número sem percorrer as coleções
+    @Transient
+    private final AtomicInteger quantidadeEventosParticipados = new AtomicInteger();
+
+    @Transient
+    private final AtomicInteger quantidadeOngsSeguidas = new AtomicInteger();
+
+    @Transient
+    private final AtomicInteger quantidadeEventosFavoritos = new AtomicInteger();
+
     // Construtores
     public Voluntario() {
         super();
@@ -77,17 +98,20 @@ public class Voluntario extends Usuario {
     public void adicionarEventoAoHistorico(UUID eventoId) {
         if (eventoId != null && !this.historicoDeEventos.contains(eventoId)) {
             this.historicoDeEventos.add(eventoId);
+            this.quantidadeEventosParticipados.incrementAndGet();
         }
     }
 
     public void seguirOng(UUID ongId) {
-        if (ongId != null) {
-            this.ongsSeguidas.add(ongId);
+        if (ongId != null && this.ongsSeguidas.add(ongId)) {
+            this.quantidadeOngsSeguidas.incrementAndGet();
         }
     }
 
     public void deixarDeSeguirOng(UUID ongId) {
-        this.ongsSeguidas.remove(ongId);
+        if (this.ongsSeguidas.remove(ongId)) {
+            this.quantidadeOngsSeguidas.decrementAndGet();
+        }
     }
 
     public boolean estaSeguindoOng(UUID ongId) {
@@ -95,13 +119,15 @@ public class Voluntario extends Usuario {
     }
 
     public void favoritarEvento(UUID eventoId) {
-        if (eventoId != null) {
-            this.eventosFavoritos.add(eventoId);
+        if (eventoId != null && this.eventosFavoritos.add(eventoId)) {
+            this.quantidadeEventosFavoritos.incrementAndGet();
         }
     }
 
     public void desfavoritarEvento(UUID eventoId) {
-        this.eventosFavoritos.remove(eventoId);
+        if (this.eventosFavoritos.remove(eventoId)) {
+            this.quantidadeEventosFavoritos.decrementAndGet();
+        }
     }
 
     public boolean temInteresseNaArea(AreaInteresse area) {
@@ -121,7 +147,54 @@ public class Voluntario extends Usuario {
     }
 
     public int getQuantidadeEventosParticipados() {
-        return this.historicoDeEventos.size();
+        return this.quantidadeEventosParticipados.get();
+    }
+
+    public int getQuantidadeOngsSeguidas() {
+        return this.quantidadeOngsSeguidas.get();
+    }
+
+    public int getQuantidadeEventosFavoritos() {
+        return this.quantidadeEventosFavoritos.get();
+    }
+
+    // Acesso usado pelo JPA para gravar/ler os contadores
+    @Access(AccessType.PROPERTY)
+    @Column(name = "quantidade_eventos_participados", nullable = false)
+    protected Integer getQuantidadeEventosParticipadosPersistida() {
+        return this.quantidadeEventosParticipados.get();
+    }
+
+    protected void setQuantidadeEventosParticipadosPersistida(Integer quantidade) {
+        this.quantidadeEventosParticipados.set(quantidade != null ? quantidade : 0);
+    }
+
+    @Access(AccessType.PROPERTY)
+    @Column(name = "quantidade_ongs_seguidas", nullable = false)
+    protected Integer getQuantidadeOngsSeguidasPersistida() {
+        return this.quantidadeOngsSeguidas.get();
+    }
+
+    protected void setQuantidadeOngsSeguidasPersistida(Integer quantidade) {
+        this.quantidadeOngsSeguidas.set(quantidade != null ? quantidade : 0);
+    }
+
+    @Access(AccessType.PROPERTY)
+    @Column(name = "quantidade_eventos_favoritos", nullable = false)
+    protected Integer getQuantidadeEventosFavoritosPersistida() {
+        return this.quantidadeEventosFavoritos.get();
+    }
+
+    protected void setQuantidadeEventosFavoritosPersistida(Integer quantidade) {
+        this.quantidadeEventosFavoritos.set(quantidade != null ? quantidade : 0);
+    }
+
+    @Override
+    public void prepararParaMemoria() {
+        this.areasDeInteresse = new HashSet<>(this.areasDeInteresse);
+        this.historicoDeEventos = new ArrayList<>(this.historicoDeEventos);
+        this.ongsSeguidas = new HashSet<>(this.ongsSeguidas);
+        this.eventosFavoritos = new HashSet<>(this.eventosFavoritos);
     }
 
     // Getters essenciais
@@ -0,0 +1,17 @@
+package com.backend.mao_amiga.models.enums;
+
+public enum ResultadoInscricao {
+    INSCRITO("Inscrição confirmada"),
+    LISTA_ESPERA("Adicionado à lista de espera"),
+    RECUSADO("Inscrição não permitida");
+
+    private final String descricao;
+
+    ResultadoInscricao(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+}
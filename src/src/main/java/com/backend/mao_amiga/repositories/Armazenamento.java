@@ -0,0 +1,37 @@
+package com.backend.mao_amiga.repositories;
+
+import com.backend.mao_amiga.models.EntidadePersistivel;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Onde um agregado fica guardado entre reinícios da aplicação.
+ *
+ * O motor é escolhido pelo perfil do Spring (ver ArmazenamentoConfig): em
+ * memória nos testes e em nós de borda, JPA/PostgreSQL em produção. Os dois
+ * seguem o mesmo contrato, verificado pela mesma suíte de testes. As
+ * entidades devolvidas já estão prontas para uso fora de uma sessão.
+ */
+public interface Armazenamento<T extends EntidadePersistivel> {
+
+    T salvar(T entidade);
+
+    // Grava a coleção inteira de uma vez (em lotes JDBC no motor JPA)
+    void salvarTodos(Collection<T> entidades);
+
+    Optional<T> buscar(UUID id);
+
+    // Usado na subida para montar a cópia em memória dos controllers; o motor
+    // JPA recusa agregados acima de mao-amiga.armazenamento.limite-carga
+    List<T> listarTodos();
+
+    // Remover um ID inexistente não é erro
+    void remover(UUID id);
+
+    void removerTodos(Collection<UUID> ids);
+
+    long contar();
+}
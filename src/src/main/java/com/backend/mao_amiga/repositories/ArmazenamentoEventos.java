@@ -0,0 +1,22 @@
+package com.backend.mao_amiga.repositories;
+
+import com.backend.mao_amiga.models.Evento;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Armazenamento dos eventos, com a gravação da inscrição separada do
+ * salvamento do evento inteiro: é a escrita mais frequente sobre um evento.
+ */
+public interface ArmazenamentoEventos extends Armazenamento<Evento> {
+
+    // Chamado depois que o voluntário já foi inscrito no evento em memória
+    void salvarInscricao(Evento evento, UUID voluntarioId);
+
+    // Consultas pontuais para quem não guarda uma cópia do evento (ex.: as
+    // avaliações): respondem com o estado gravado no momento da chamada
+    boolean voluntarioParticipou(UUID eventoId, UUID voluntarioId);
+
+    Optional<UUID> buscarOngResponsavel(UUID eventoId);
+}
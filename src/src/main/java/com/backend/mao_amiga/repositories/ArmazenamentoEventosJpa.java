@@ -0,0 +1,54 @@
+package com.backend.mao_amiga.repositories;
+
+import com.backend.mao_amiga.models.Evento;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class ArmazenamentoEventosJpa extends ArmazenamentoJpa<Evento> implements ArmazenamentoEventos {
+
+    private final EventoRepository repositorio;
+
+    public ArmazenamentoEventosJpa(EventoRepository repositorio, long limiteCarga) {
+        super(repositorio, limiteCarga);
+        this.repositorio = repositorio;
+    }
+
+    @Override
+    public void salvarInscricao(Evento evento, UUID voluntarioId) {
+        if (evento.isNew()) {
+            // Evento ainda não gravado: vai inteiro, já com a inscrição
+            salvar(evento);
+            return;
+        }
+
+        // Mesma trava do salvar: sem ela, o merge completo de uma entrada na
+        // lista de espera ou de um cancelamento pode gravar o novo inscrito
+        // entre a alteração em memória e o INSERT da inscrição
+        ReentrantLock trava = travaDe(evento.getId());
+        trava.lock();
+        try {
+            // O contador é lido dentro da trava e gravado como valor absoluto,
+            // então a última escrita do evento sempre leva o estado mais novo
+            if (evento.voluntarioEstaInscrito(voluntarioId)) {
+                repositorio.registrarInscricao(evento.getId(), voluntarioId, evento.getVagasOcupadas());
+            } else {
+                // Cancelou antes da gravação: o merge do cancelamento cuida da linha
+                repositorio.atualizarVagasOcupadas(evento.getId(), evento.getVagasOcupadas());
+            }
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    @Override
+    public boolean voluntarioParticipou(UUID eventoId, UUID voluntarioId) {
+        return repositorio.existeParticipacao(eventoId, voluntarioId);
+    }
+
+    @Override
+    public Optional<UUID> buscarOngResponsavel(UUID eventoId) {
+        return repositorio.buscarOngResponsavel(eventoId);
+    }
+}
@@ -0,0 +1,25 @@
+package com.backend.mao_amiga.repositories;
+
+import com.backend.mao_amiga.models.Evento;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public class ArmazenamentoEventosMemoria extends ArmazenamentoMemoria<Evento> implements ArmazenamentoEventos {
+
+    // O evento guardado é a própria instância já alterada
+    @Override
+    public void salvarInscricao(Evento evento, UUID voluntarioId) {
+        salvar(evento);
+    }
+
+    @Override
+    public boolean voluntarioParticipou(UUID eventoId, UUID voluntarioId) {
+        return buscar(eventoId).map(evento -> evento.voluntarioParticipou(voluntarioId)).orElse(false);
+    }
+
+    @Override
+    public Optional<UUID> buscarOngResponsavel(UUID eventoId) {
+        return buscar(eventoId).map(Evento::getOngResponsavelId);
+    }
+}
@@ -0,0 +1,124 @@
+package com.backend.mao_amiga.repositories;
+
+import com.backend.mao_amiga.models.EntidadePersistivel;
+
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Motor JPA: delega ao repositório do agregado. As leituras passam por
+ * carregar/carregarPorIds, que preparam as entidades dentro da transação.
+ *
+ * listarTodos recusa tabelas com mais linhas que o limite de carga: os
+ * controllers copiam o resultado para a memória na subida, então o limite
+ * é o teto de heap que a aplicação aceita gastar com cada agregado.
+ *
+ * As escritas de uma mesma entidade são serializadas: dois merges
+ * simultâneos comparam a mesma coleção com o banco e inserem a mesma linha
+ * da tabela da coleção, violando a chave primária.
+ */
+public class ArmazenamentoJpa<T extends EntidadePersistivel> implements Armazenamento<T> {
+
+    static final int TAMANHO_PAGINA_CARGA = 1000;
+
+    // Travas por faixa de ID: quantidade fixa, sem uma trava por entidade a limpar
+    private static final int QUANTIDADE_TRAVAS = 256;
+
+    private final RepositorioEntidades<T> repositorio;
+    private final long limiteCarga;
+    private final boolean exclusaoEmLote;
+    private final ReentrantLock[] travas = new ReentrantLock[QUANTIDADE_TRAVAS];
+
+    public ArmazenamentoJpa(RepositorioEntidades<T> repositorio, long limiteCarga) {
+        this(repositorio, limiteCarga, false);
+    }
+
+    // A exclusão em lote é um único DELETE por ID, sem carregar as entidades:
+    // só serve para agregados sem coleções, cujas tabelas ela não limparia
+    public ArmazenamentoJpa(RepositorioEntidades<T> repositorio, long limiteCarga, boolean exclusaoEmLote) {
+        this.repositorio = repositorio;
+        this.limiteCarga = limiteCarga;
+        this.exclusaoEmLote = exclusaoEmLote;
+        for (int i = 0; i < travas.length; i++) {
+            travas[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public T salvar(T entidade) {
+        ReentrantLock trava = travaDe(entidade.getId());
+        trava.lock();
+        try {
+            return repositorio.save(entidade);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    @Override
+    public void salvarTodos(Collection<T> entidades) {
+        if (!entidades.isEmpty()) {
+            repositorio.saveAll(entidades);
+        }
+    }
+
+    @Override
+    public Optional<T> buscar(UUID id) {
+        return repositorio.carregar(id);
+    }
+
+    @Override
+    public List<T> listarTodos() {
+        long total = repositorio.count();
+        if (total > limiteCarga) {
+            throw new IllegalStateException("Tabela com " + total + " linhas excede o limite de carga em memória ("
+                    + limiteCarga + "); ajuste mao-amiga.armazenamento.limite-carga");
+        }
+
+        List<T> entidades = new ArrayList<>((int) total);
+        PageRequest pagina = PageRequest.ofSize(TAMANHO_PAGINA_CARGA);
+        List<UUID> ids = repositorio.buscarIds(pagina);
+        while (!ids.isEmpty()) {
+            entidades.addAll(repositorio.carregarPorIds(ids));
+            if (ids.size() < TAMANHO_PAGINA_CARGA) {
+                break;
+            }
+            ids = repositorio.buscarIdsDepoisDe(ids.get(ids.size() - 1), pagina);
+        }
+        return entidades;
+    }
+
+    @Override
+    public void remover(UUID id) {
+        repositorio.deleteById(id);
+    }
+
+    @Override
+    public void removerTodos(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        if (exclusaoEmLote) {
+            repositorio.deleteAllByIdInBatch(ids);
+        } else {
+            repositorio.deleteAllById(ids);
+        }
+    }
+
+    @Override
+    public long contar() {
+        return repositorio.count();
+    }
+
+    // Usada também pelas escritas pontuais das subclasses, que precisam
+    // enxergar o estado em memória sem um merge correndo ao mesmo tempo
+    protected ReentrantLock travaDe(UUID id) {
+        return travas[Math.floorMod(id.hashCode(), travas.length)];
+    }
+}
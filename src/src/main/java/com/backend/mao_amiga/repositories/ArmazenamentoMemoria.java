@@ -0,0 +1,60 @@
+package com.backend.mao_amiga.repositories;
+
+import com.backend.mao_amiga.models.EntidadePersistivel;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Motor em memória: um ConcurrentHashMap por agregado, sem cópias nem
+ * serialização. Os dados somem quando o processo termina.
+ */
+public class ArmazenamentoMemoria<T extends EntidadePersistivel> implements Armazenamento<T> {
+
+    private final Map<UUID, T> entidades = new ConcurrentHashMap<>();
+
+    @Override
+    public T salvar(T entidade) {
+        entidades.put(entidade.getId(), entidade);
+        return entidade;
+    }
+
+    @Override
+    public void salvarTodos(Collection<T> novas) {
+        for (T entidade : novas) {
+            entidades.put(entidade.getId(), entidade);
+        }
+    }
+
+    @Override
+    public Optional<T> buscar(UUID id) {
+        return Optional.ofNullable(entidades.get(id));
+    }
+
+    @Override
+    public List<T> listarTodos() {
+        return new ArrayList<>(entidades.values());
+    }
+
+    @Override
+    public void remover(UUID id) {
+        entidades.remove(id);
+    }
+
+    @Override
+    public void removerTodos(Collection<UUID> ids) {
+        for (UUID id : ids) {
+            entidades.remove(id);
+        }
+    }
+
+    @Override
+    public long contar() {
+        return entidades.size();
+    }
+}
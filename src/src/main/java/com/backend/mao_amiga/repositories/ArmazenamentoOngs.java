@@ -0,0 +1,26 @@
+package com.backend.mao_amiga.repositories;
+
+import com.backend.mao_amiga.models.Ong;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Armazenamento das ONGs, com o seguidor gravado como uma linha: seguir é
+ * a escrita mais frequente sobre uma ONG e não precisa do merge dela inteira.
+ * Os seguidores de uma ONG lida do banco não ficam em memória; perfil e
+ * estatísticas leem os contadores, e a lista vem de listarSeguidores.
+ */
+public interface ArmazenamentoOngs extends Armazenamento<Ong> {
+
+    // Aplica o seguidor na ONG e o grava; seguir de novo não muda nada
+    void adicionarSeguidor(Ong ong, UUID voluntarioId);
+
+    // Aplica a média das avaliações na ONG e grava só a nota
+    void salvarNota(Ong ong, Float media);
+
+    Optional<ContadoresOng> buscarContadores(UUID ongId);
+
+    Set<UUID> listarSeguidores(Ong ong);
+}
@@ -0,0 +1,72 @@
+package com.backend.mao_amiga.repositories;
+
+import com.backend.mao_amiga.models.Ong;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class ArmazenamentoOngsJpa extends ArmazenamentoJpa<Ong> implements ArmazenamentoOngs {
+
+    private final OngRepository repositorio;
+
+    public ArmazenamentoOngsJpa(OngRepository repositorio, long limiteCarga) {
+        super(repositorio, limiteCarga);
+        this.repositorio = repositorio;
+    }
+
+    @Override
+    public void adicionarSeguidor(Ong ong, UUID voluntarioId) {
+        if (voluntarioId == null) {
+            return;
+        }
+        if (ong.isNew()) {
+            // ONG ainda não gravada: vai inteira, já com o seguidor
+            ong.adicionarSeguidor(voluntarioId);
+            salvar(ong);
+            return;
+        }
+
+        // A linha decide se o seguidor é novo; a trava mantém a cópia em
+        // memória na mesma ordem das escritas no banco
+        ReentrantLock trava = travaDe(ong.getId());
+        trava.lock();
+        try {
+            if (repositorio.registrarSeguidor(ong.getId(), voluntarioId)) {
+                ong.registrarSeguidorGravado(voluntarioId);
+            }
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    @Override
+    public void salvarNota(Ong ong, Float media) {
+        if (ong.isNew()) {
+            ong.definirNotaMedia(media);
+            salvar(ong);
+            return;
+        }
+
+        ReentrantLock trava = travaDe(ong.getId());
+        trava.lock();
+        try {
+            repositorio.gravarNota(ong.getId(), media);
+            ong.definirNotaMedia(media);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    @Override
+    public Optional<ContadoresOng> buscarContadores(UUID ongId) {
+        return repositorio.buscarContadores(ongId);
+    }
+
+    // ONG nova ainda tem os seguidores em memória; as demais, só o contador
+    @Override
+    public Set<UUID> listarSeguidores(Ong ong) {
+        return ong.isNew() ? Set.copyOf(ong.getSeguidores()) : repositorio.buscarSeguidores(ong.getId());
+    }
+}
@@ -0,0 +1,33 @@
+package com.backend.mao_amiga.repositories;
+
+import com.backend.mao_amiga.models.Ong;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+public class ArmazenamentoOngsMemoria extends ArmazenamentoMemoria<Ong> implements ArmazenamentoOngs {
+
+    // A ONG guardada é a própria instância alterada
+    @Override
+    public void adicionarSeguidor(Ong ong, UUID voluntarioId) {
+        ong.adicionarSeguidor(voluntarioId);
+        salvar(ong);
+    }
+
+    @Override
+    public void salvarNota(Ong ong, Float media) {
+        ong.definirNotaMedia(media);
+        salvar(ong);
+    }
+
+    @Override
+    public Optional<ContadoresOng> buscarContadores(UUID ongId) {
+        return buscar(ongId).map(ContadoresOng::de);
+    }
+
+    @Override
+    public Set<UUID> listarSeguidores(Ong ong) {
+        return Set.copyOf(ong.getSeguidores());
+    }
+}
@@ -0,0 +1,36 @@
+package com.backend.mao_amiga.repositories;
+
+import com.backend.mao_amiga.models.Post;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Armazenamento dos posts. Depois de criado, o post nunca é salvo inteiro:
+ * PostController e ComentarioController guardam cópias diferentes dele, e o
+ * merge de uma cópia sobrescreveria o que a outra gravou. Cada alteração
+ * tem sua própria escrita, restrita às colunas e linhas que ela muda.
+ * As curtidas de um post lido do banco também não ficam em memória: o post
+ * guarda o contador, e a lista vem de listarCurtidas.
+ */
+public interface ArmazenamentoPosts extends Armazenamento<Post> {
+
+    // Chamado depois que o contador do post já foi ajustado em memória
+    void salvarQuantidadeComentarios(Post post, int variacao);
+
+    // Aplicam a curtida no post e a gravam; devolvem false se nada mudou
+    // (usuário já tinha curtido, ou não tinha curtido, ou post inativo)
+    boolean curtir(Post post, UUID usuarioId);
+
+    boolean descurtir(Post post, UUID usuarioId);
+
+    // Conteúdo, imagem e situação (ativo) do post, já alterados em memória
+    void salvarEdicao(Post post);
+
+    Optional<ContadoresPost> buscarContadores(UUID postId);
+
+    Set<UUID> listarCurtidas(Post post);
+
+    boolean usuarioCurtiu(Post post, UUID usuarioId);
+}
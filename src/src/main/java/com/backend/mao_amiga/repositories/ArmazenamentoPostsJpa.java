@@ -0,0 +1,108 @@
+package com.backend.mao_amiga.repositories;
+
+import com.backend.mao_amiga.models.Post;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class ArmazenamentoPostsJpa extends ArmazenamentoJpa<Post> implements ArmazenamentoPosts {
+
+    private final PostRepository repositorio;
+
+    public ArmazenamentoPostsJpa(PostRepository repositorio, long limiteCarga) {
+        super(repositorio, limiteCarga);
+        this.repositorio = repositorio;
+    }
+
+    @Override
+    public void salvarQuantidadeComentarios(Post post, int variacao) {
+        if (post.isNew()) {
+            // Post ainda não gravado: vai inteiro, já com o contador
+            salvar(post);
+        } else {
+            repositorio.ajustarQuantidadeComentarios(post.getId(), variacao);
+        }
+    }
+
+    @Override
+    public boolean curtir(Post post, UUID usuarioId) {
+        if (usuarioId == null || !post.getAtivo()) {
+            return false;
+        }
+        if (post.isNew()) {
+            // Post ainda não gravado: vai inteiro, já com a curtida
+            if (!post.adicionarCurtida(usuarioId)) {
+                return false;
+            }
+            salvar(post);
+            return true;
+        }
+
+        // A linha decide se a curtida é nova; a trava mantém a cópia em
+        // memória na mesma ordem das escritas no banco
+        ReentrantLock trava = travaDe(post.getId());
+        trava.lock();
+        try {
+            if (!repositorio.registrarCurtida(post.getId(), usuarioId)) {
+                return false;
+            }
+            post.registrarCurtidaGravada(usuarioId);
+            return true;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    @Override
+    public boolean descurtir(Post post, UUID usuarioId) {
+        if (usuarioId == null) {
+            return false;
+        }
+        if (post.isNew()) {
+            if (!post.removerCurtida(usuarioId)) {
+                return false;
+            }
+            salvar(post);
+            return true;
+        }
+
+        ReentrantLock trava = travaDe(post.getId());
+        trava.lock();
+        try {
+            if (!repositorio.removerCurtida(post.getId(), usuarioId)) {
+                return false;
+            }
+            post.registrarDescurtidaGravada(usuarioId);
+            return true;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    @Override
+    public void salvarEdicao(Post post) {
+        if (post.isNew()) {
+            salvar(post);
+        } else {
+            repositorio.atualizarEdicao(post.getId(), post.getConteudo(), post.getImagemUrl(), post.getAtivo());
+        }
+    }
+
+    @Override
+    public Optional<ContadoresPost> buscarContadores(UUID postId) {
+        return repositorio.buscarContadores(postId);
+    }
+
+    // Post novo ainda tem as curtidas em memória; os demais, só o contador
+    @Override
+    public Set<UUID> listarCurtidas(Post post) {
+        return post.isNew() ? Set.copyOf(post.getCurtidas()) : repositorio.buscarCurtidas(post.getId());
+    }
+
+    @Override
+    public boolean usuarioCurtiu(Post post, UUID usuarioId) {
+        return post.isNew() ? post.usuarioCurtiu(usuarioId) : repositorio.existeCurtida(post.getId(), usuarioId);
+    }
+}
@@ -0,0 +1,54 @@
+package com.backend.mao_amiga.repositories;
+
+import com.backend.mao_amiga.models.Post;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+public class ArmazenamentoPostsMemoria extends ArmazenamentoMemoria<Post> implements ArmazenamentoPosts {
+
+    // O post guardado é a própria instância já alterada
+    @Override
+    public void salvarQuantidadeComentarios(Post post, int variacao) {
+        salvar(post);
+    }
+
+    @Override
+    public boolean curtir(Post post, UUID usuarioId) {
+        if (!post.adicionarCurtida(usuarioId)) {
+            return false;
+        }
+        salvar(post);
+        return true;
+    }
+
+    @Override
+    public boolean descurtir(Post post, UUID usuarioId) {
+        if (!post.removerCurtida(usuarioId)) {
+            return false;
+        }
+        salvar(post);
+        return true;
+    }
+
+    @Override
+    public void salvarEdicao(Post post) {
+        salvar(post);
+    }
+
+    @Override
+    public Optional<ContadoresPost> buscarContadores(UUID postId) {
+        return buscar(postId).map(ContadoresPost::de);
+    }
+
+    @Override
+    public Set<UUID> listarCurtidas(Post post) {
+        return Set.copyOf(post.getCurtidas());
+    }
+
+    @Override
+    public boolean usuarioCurtiu(Post post, UUID usuarioId) {
+        return post.usuarioCurtiu(usuarioId);
+    }
+}
@@ -0,0 +1,20 @@
+package com.backend.mao_amiga.repositories;
+
+import com.backend.mao_amiga.models.Voluntario;
+
+import java.util.UUID;
+
+/**
+ * Armazenamento dos voluntários, com as ONGs seguidas gravadas uma linha por
+ * vez em vez do merge do voluntário com todas as coleções.
+ */
+public interface ArmazenamentoVoluntarios extends Armazenamento<Voluntario> {
+
+    // Aplicam a mudança no voluntário e a gravam; repetir não muda nada
+    void seguirOng(Voluntario voluntario, UUID ongId);
+
+    void deixarDeSeguirOng(Voluntario voluntario, UUID ongId);
+
+    // Aplica a média das avaliações no voluntário e grava só a nota
+    void salvarNota(Voluntario voluntario, Float media);
+}
@@ -0,0 +1,76 @@
+package com.backend.mao_amiga.repositories;
+
+import com.backend.mao_amiga.models.Voluntario;
+
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class ArmazenamentoVoluntariosJpa extends ArmazenamentoJpa<Voluntario> implements ArmazenamentoVoluntarios {
+
+    private final VoluntarioRepository repositorio;
+
+    public ArmazenamentoVoluntariosJpa(VoluntarioRepository repositorio, long limiteCarga) {
+        super(repositorio, limiteCarga);
+        this.repositorio = repositorio;
+    }
+
+    @Override
+    public void seguirOng(Voluntario voluntario, UUID ongId) {
+        if (ongId == null) {
+            return;
+        }
+        if (voluntario.isNew()) {
+            // Voluntário ainda não gravado: vai inteiro, já seguindo a ONG
+            voluntario.seguirOng(ongId);
+            salvar(voluntario);
+            return;
+        }
+
+        ReentrantLock trava = travaDe(voluntario.getId());
+        trava.lock();
+        try {
+            if (repositorio.registrarOngSeguida(voluntario.getId(), ongId)) {
+                voluntario.seguirOng(ongId);
+            }
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    @Override
+    public void deixarDeSeguirOng(Voluntario voluntario, UUID ongId) {
+        if (voluntario.isNew()) {
+            voluntario.deixarDeSeguirOng(ongId);
+            salvar(voluntario);
+            return;
+        }
+
+        ReentrantLock trava = travaDe(voluntario.getId());
+        trava.lock();
+        try {
+            if (repositorio.removerOngSeguida(voluntario.getId(), ongId)) {
+                voluntario.deixarDeSeguirOng(ongId);
+            }
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    @Override
+    public void salvarNota(Voluntario voluntario, Float media) {
+        if (voluntario.isNew()) {
+            voluntario.definirNotaMedia(media);
+            salvar(voluntario);
+            return;
+        }
+
+        ReentrantLock trava = travaDe(voluntario.getId());
+        trava.lock();
+        try {
+            repositorio.gravarNota(voluntario.getId(), media);
+            voluntario.definirNotaMedia(media);
+        } finally {
+            trava.unlock();
+        }
+    }
+}
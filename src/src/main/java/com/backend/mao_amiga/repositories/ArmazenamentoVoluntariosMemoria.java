@@ -0,0 +1,27 @@
+package com.backend.mao_amiga.repositories;
+
+import com.backend.mao_amiga.models.Voluntario;
+
+import java.util.UUID;
+
+public class ArmazenamentoVoluntariosMemoria extends ArmazenamentoMemoria<Voluntario> implements ArmazenamentoVoluntarios {
+
+    // O voluntário guardado é a própria instância alterada
+    @Override
+    public void seguirOng(Voluntario voluntario, UUID ongId) {
+        voluntario.seguirOng(ongId);
+        salvar(voluntario);
+    }
+
+    @Override
+    public void deixarDeSeguirOng(Voluntario voluntario, UUID ongId) {
+        voluntario.deixarDeSeguirOng(ongId);
+        salvar(voluntario);
+    }
+
+    @Override
+    public void salvarNota(Voluntario voluntario, Float media) {
+        voluntario.definirNotaMedia(media);
+        salvar(voluntario);
+    }
+}
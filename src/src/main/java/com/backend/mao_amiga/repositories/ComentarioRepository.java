@@ -0,0 +1,6 @@
+package com.backend.mao_amiga.repositories;
+
+import com.backend.mao_amiga.models.Comentario;
+
+public interface ComentarioRepository extends RepositorioEntidades<Comentario> {
+}
@@ -0,0 +1,13 @@
+package com.backend.mao_amiga.repositories;
+
+import com.backend.mao_amiga.models.Ong;
+
+import java.util.UUID;
+
+// Projeção só com os contadores da ONG, lida da própria linha em ongs
+public record ContadoresOng(UUID ongId, int quantidadeSeguidores, int quantidadeEventosOrganizados) {
+
+    public static ContadoresOng de(Ong ong) {
+        return new ContadoresOng(ong.getId(), ong.getQuantidadeSeguidores(), ong.getQuantidadeEventosOrganizados());
+    }
+}
@@ -0,0 +1,13 @@
+package com.backend.mao_amiga.repositories;
+
+import com.backend.mao_amiga.models.Post;
+
+import java.util.UUID;
+
+// Projeção só com os contadores do post, lida da própria linha em posts
+public record ContadoresPost(UUID postId, int quantidadeCurtidas, int quantidadeComentarios) {
+
+    public static ContadoresPost de(Post post) {
+        return new ContadoresPost(post.getId(), post.getQuantidadeCurtidas(), post.getQuantidadeComentarios());
+    }
+}
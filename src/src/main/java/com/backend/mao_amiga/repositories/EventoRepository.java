@@ -0,0 +1,42 @@
+package com.backend.mao_amiga.repositories;
+
+import com.backend.mao_amiga.models.Evento;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface EventoRepository extends RepositorioEntidades<Evento> {
+
+    // Grava uma inscrição sem carregar o evento: uma linha em evento_inscritos
+    // e o contador de vagas, em vez do merge do evento com todas as coleções
+    @Transactional
+    default void registrarInscricao(UUID eventoId, UUID voluntarioId, int vagasOcupadas) {
+        inserirInscritoSeAusente(eventoId, voluntarioId);
+        atualizarVagasOcupadas(eventoId, vagasOcupadas);
+    }
+
+    // Um merge do evento inteiro pode já ter gravado a linha do inscrito
+    @Modifying
+    @Query(value = "insert into evento_inscritos (evento_id, voluntario_id) "
+                 + "select :eventoId, :voluntarioId where not exists ("
+                 + "select 1 from evento_inscritos where evento_id = :eventoId and voluntario_id = :voluntarioId)",
+           nativeQuery = true)
+    void inserirInscritoSeAusente(@Param("eventoId") UUID eventoId, @Param("voluntarioId") UUID voluntarioId);
+
+    @Modifying
+    @Transactional
+    @Query("update Evento e set e.vagasOcupadasPersistidas = :vagasOcupadas where e.id = :eventoId")
+    void atualizarVagasOcupadas(@Param("eventoId") UUID eventoId, @Param("vagasOcupadas") int vagasOcupadas);
+
+    // Uma linha de evento_participantes, sem carregar o evento
+    @Query("select count(e) > 0 from Evento e join e.voluntariosParticiparam v "
+         + "where e.id = :eventoId and v = :voluntarioId")
+    boolean existeParticipacao(@Param("eventoId") UUID eventoId, @Param("voluntarioId") UUID voluntarioId);
+
+    @Query("select e.ongResponsavelId from Evento e where e.id = :eventoId")
+    Optional<UUID> buscarOngResponsavel(@Param("eventoId") UUID eventoId);
+}
@@ -0,0 +1,6 @@
+package com.backend.mao_amiga.repositories;
+
+import com.backend.mao_amiga.models.Notificacao;
+
+public interface NotificacaoRepository extends RepositorioEntidades<Notificacao> {
+}
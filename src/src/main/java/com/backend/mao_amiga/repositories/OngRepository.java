@@ -0,0 +1,53 @@
+package com.backend.mao_amiga.repositories;
+
+import com.backend.mao_amiga.models.Ong;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+public interface OngRepository extends RepositorioEntidades<Ong> {
+
+    // Um seguidor é uma linha em ong_seguidores; o contador só muda se a linha
+    // foi inserida, então seguir de novo não conta duas vezes
+    @Transactional
+    default boolean registrarSeguidor(UUID ongId, UUID voluntarioId) {
+        if (inserirSeguidorSeAusente(ongId, voluntarioId) == 0) {
+            return false;
+        }
+        ajustarQuantidadeSeguidores(ongId, 1);
+        return true;
+    }
+
+    @Modifying
+    @Query(value = "insert into ong_seguidores (ong_id, voluntario_id) "
+                 + "select :ongId, :voluntarioId where not exists ("
+                 + "select 1 from ong_seguidores where ong_id = :ongId and voluntario_id = :voluntarioId)",
+           nativeQuery = true)
+    int inserirSeguidorSeAusente(@Param("ongId") UUID ongId, @Param("voluntarioId") UUID voluntarioId);
+
+    // Nativo: em JPQL a herança JOINED de Usuario faria o update passar por tabela temporária
+    @Modifying
+    @Query(value = "update ongs set quantidade_seguidores = quantidade_seguidores + :variacao where id = :ongId",
+           nativeQuery = true)
+    void ajustarQuantidadeSeguidores(@Param("ongId") UUID ongId, @Param("variacao") int variacao);
+
+    // A nota fica na tabela da superclasse Usuario
+    @Transactional
+    @Modifying
+    @Query(value = "update usuarios set nota = :nota where id = :ongId", nativeQuery = true)
+    void gravarNota(@Param("ongId") UUID ongId, @Param("nota") Float nota);
+
+    // Uma linha da ONG, sem tocar em ong_seguidores
+    @Query("select new com.backend.mao_amiga.repositories.ContadoresOng("
+         + "o.id, o.quantidadeSeguidoresPersistida, o.quantidadeEventosOrganizadosPersistida) "
+         + "from Ong o where o.id = :ongId")
+    Optional<ContadoresOng> buscarContadores(@Param("ongId") UUID ongId);
+
+    @Query("select s from Ong o join o.seguidores s where o.id = :ongId")
+    Set<UUID> buscarSeguidores(@Param("ongId") UUID ongId);
+}
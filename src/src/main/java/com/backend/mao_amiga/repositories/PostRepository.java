@@ -0,0 +1,79 @@
+package com.backend.mao_amiga.repositories;
+
+import com.backend.mao_amiga.models.Post;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+public interface PostRepository extends RepositorioEntidades<Post> {
+
+    // Variação relativa: comentários simultâneos no mesmo post não se sobrescrevem
+    @Transactional
+    @Modifying
+    @Query("update Post p set p.quantidadeComentariosPersistida = p.quantidadeComentariosPersistida + :variacao "
+         + "where p.id = :postId")
+    void ajustarQuantidadeComentarios(@Param("postId") UUID postId, @Param("variacao") int variacao);
+
+    // Uma curtida é uma linha em post_curtidas; o contador só muda se a linha
+    // mudou, então repetir a curtida (ou a remoção) não conta duas vezes
+    @Transactional
+    default boolean registrarCurtida(UUID postId, UUID usuarioId) {
+        if (inserirCurtidaSeAusente(postId, usuarioId) == 0) {
+            return false;
+        }
+        ajustarQuantidadeCurtidas(postId, 1);
+        return true;
+    }
+
+    @Transactional
+    default boolean removerCurtida(UUID postId, UUID usuarioId) {
+        if (excluirCurtida(postId, usuarioId) == 0) {
+            return false;
+        }
+        ajustarQuantidadeCurtidas(postId, -1);
+        return true;
+    }
+
+    @Modifying
+    @Query(value = "insert into post_curtidas (post_id, usuario_id) "
+                 + "select :postId, :usuarioId where not exists ("
+                 + "select 1 from post_curtidas where post_id = :postId and usuario_id = :usuarioId)",
+           nativeQuery = true)
+    int inserirCurtidaSeAusente(@Param("postId") UUID postId, @Param("usuarioId") UUID usuarioId);
+
+    @Modifying
+    @Query(value = "delete from post_curtidas where post_id = :postId and usuario_id = :usuarioId",
+           nativeQuery = true)
+    int excluirCurtida(@Param("postId") UUID postId, @Param("usuarioId") UUID usuarioId);
+
+    @Modifying
+    @Query("update Post p set p.quantidadeCurtidasPersistida = p.quantidadeCurtidasPersistida + :variacao "
+         + "where p.id = :postId")
+    void ajustarQuantidadeCurtidas(@Param("postId") UUID postId, @Param("variacao") int variacao);
+
+    // Só os campos que o autor altera: o contador de comentários e as
+    // curtidas têm escritas próprias e não podem ser sobrescritos por aqui
+    @Transactional
+    @Modifying
+    @Query("update Post p set p.conteudo = :conteudo, p.imagemUrl = :imagemUrl, p.ativo = :ativo "
+         + "where p.id = :postId")
+    void atualizarEdicao(@Param("postId") UUID postId, @Param("conteudo") String conteudo,
+                         @Param("imagemUrl") String imagemUrl, @Param("ativo") Boolean ativo);
+
+    // Uma linha do post, sem tocar em post_curtidas
+    @Query("select new com.backend.mao_amiga.repositories.ContadoresPost("
+         + "p.id, p.quantidadeCurtidasPersistida, p.quantidadeComentariosPersistida) "
+         + "from Post p where p.id = :postId")
+    Optional<ContadoresPost> buscarContadores(@Param("postId") UUID postId);
+
+    @Query("select c from Post p join p.curtidas c where p.id = :postId")
+    Set<UUID> buscarCurtidas(@Param("postId") UUID postId);
+
+    @Query("select count(c) > 0 from Post p join p.curtidas c where p.id = :postId and c = :usuarioId")
+    boolean existeCurtida(@Param("postId") UUID postId, @Param("usuarioId") UUID usuarioId);
+}
@@ -0,0 +1,49 @@
+package com.backend.mao_amiga.repositories;
+
+import com.backend.mao_amiga.models.EntidadePersistivel;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repositório base dos agregados mantidos em memória pelos controllers.
+ *
+ * Os stores trabalham com entidades destacadas (fora da sessão), então as
+ * leituras usadas para montar a memória preparam cada entidade ainda dentro
+ * da transação; depois disso nenhuma coleção lazy é acessada sem sessão.
+ * A carga completa anda por páginas de IDs (keyset), uma transação por
+ * página, para que a sessão do Hibernate não segure a tabela inteira. As
+ * coleções são mapeadas com subselect, então preparar as entidades de uma
+ * página não gera uma consulta por entidade.
+ */
+@NoRepositoryBean
+public interface RepositorioEntidades<T extends EntidadePersistivel> extends JpaRepository<T, UUID> {
+
+    @Query("select e.id from #{#entityName} e order by e.id")
+    List<UUID> buscarIds(Pageable pagina);
+
+    @Query("select e.id from #{#entityName} e where e.id > :depoisDe order by e.id")
+    List<UUID> buscarIdsDepoisDe(@Param("depoisDe") UUID depoisDe, Pageable pagina);
+
+    @Transactional(readOnly = true)
+    default List<T> carregarPorIds(Collection<UUID> ids) {
+        List<T> entidades = findAllById(ids);
+        entidades.forEach(EntidadePersistivel::prepararParaMemoria);
+        return entidades;
+    }
+
+    @Transactional(readOnly = true)
+    default Optional<T> carregar(UUID id) {
+        Optional<T> entidade = findById(id);
+        entidade.ifPresent(EntidadePersistivel::prepararParaMemoria);
+        return entidade;
+    }
+}
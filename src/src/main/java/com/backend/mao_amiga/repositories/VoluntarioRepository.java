@@ -0,0 +1,56 @@
+package com.backend.mao_amiga.repositories;
+
+import com.backend.mao_amiga.models.Voluntario;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+public interface VoluntarioRepository extends RepositorioEntidades<Voluntario> {
+
+    // Seguir e deixar de seguir mexem só na linha da ONG em voluntario_ongs_seguidas;
+    // o contador só muda se a linha mudou
+    @Transactional
+    default boolean registrarOngSeguida(UUID voluntarioId, UUID ongId) {
+        if (inserirOngSeguidaSeAusente(voluntarioId, ongId) == 0) {
+            return false;
+        }
+        ajustarQuantidadeOngsSeguidas(voluntarioId, 1);
+        return true;
+    }
+
+    @Transactional
+    default boolean removerOngSeguida(UUID voluntarioId, UUID ongId) {
+        if (excluirOngSeguida(voluntarioId, ongId) == 0) {
+            return false;
+        }
+        ajustarQuantidadeOngsSeguidas(voluntarioId, -1);
+        return true;
+    }
+
+    @Modifying
+    @Query(value = "insert into voluntario_ongs_seguidas (voluntario_id, ong_id) "
+                 + "select :voluntarioId, :ongId where not exists ("
+                 + "select 1 from voluntario_ongs_seguidas where voluntario_id = :voluntarioId and ong_id = :ongId)",
+           nativeQuery = true)
+    int inserirOngSeguidaSeAusente(@Param("voluntarioId") UUID voluntarioId, @Param("ongId") UUID ongId);
+
+    @Modifying
+    @Query(value = "delete from voluntario_ongs_seguidas where voluntario_id = :voluntarioId and ong_id = :ongId",
+           nativeQuery = true)
+    int excluirOngSeguida(@Param("voluntarioId") UUID voluntarioId, @Param("ongId") UUID ongId);
+
+    // Nativo pelo mesmo motivo de OngRepository.ajustarQuantidadeSeguidores
+    @Modifying
+    @Query(value = "update voluntarios set quantidade_ongs_seguidas = quantidade_ongs_seguidas + :variacao "
+                 + "where id = :voluntarioId",
+           nativeQuery = true)
+    void ajustarQuantidadeOngsSeguidas(@Param("voluntarioId") UUID voluntarioId, @Param("variacao") int variacao);
+
+    @Transactional
+    @Modifying
+    @Query(value = "update usuarios set nota = :nota where id = :voluntarioId", nativeQuery = true)
+    void gravarNota(@Param("voluntarioId") UUID voluntarioId, @Param("nota") Float nota);
+}
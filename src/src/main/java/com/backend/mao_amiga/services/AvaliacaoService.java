@@ -1,45 +1,128 @@
 package com.backend.mao_amiga.services;
 
 import com.backend.mao_amiga.models.*;
+import com.backend.mao_amiga.repositories.Armazenamento;
+import com.backend.mao_amiga.repositories.ArmazenamentoEventos;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 @Service
 public class AvaliacaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(AvaliacaoService.class);
     
-    private final Map<UUID, Avaliacao> avaliacoes = new HashMap<>();
-    private final Map<UUID, Evento> eventos = new HashMap<>();
-    private final Map<UUID, Usuario> usuarios = new HashMap<>();
+    private static final Comparator<Avaliacao> MAIS_RECENTES_PRIMEIRO = Comparator
+        .comparing(Avaliacao::getCriadaEm, Comparator.reverseOrder())
+        .thenComparing(Avaliacao::getId);
+
+    private final Map<UUID, Avaliacao> avaliacoes = new ConcurrentHashMap<>();
+
+    // Índices das avaliações por quem avaliou e por quem foi avaliado
+    private final Map<UUID, Set<UUID>> avaliacoesPorAvaliador = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<UUID>> avaliacoesPorAvaliado = new ConcurrentHashMap<>();
+
+    // Avaliações ativas por evento, por par de usuários e por nota, das mais
+    // recentes para as mais antigas dentro de cada grupo
+    private final Map<UUID, NavigableSet<Avaliacao>> avaliacoesPorEvento = new ConcurrentHashMap<>();
+    private final Map<ParUsuarios, NavigableSet<Avaliacao>> avaliacoesPorPar = new ConcurrentHashMap<>();
+    private final NavigableMap<Float, NavigableSet<Avaliacao>> avaliacoesPorNota = new ConcurrentSkipListMap<>();
+
+    // Uma chave por avaliação ativa, para barrar avaliações duplicadas em O(1)
+    private final Set<ChaveAvaliacao> chavesAvaliacoesAtivas = ConcurrentHashMap.newKeySet();
+
+    // Resumo (quantidade, soma, histograma) das avaliações ativas de cada avaliado,
+    // atualizado a cada avaliação criada ou removida
+    private final Map<UUID, ResumoAvaliacoes> resumos = new ConcurrentHashMap<>();
+
+    // Totais globais para o painel administrativo
+    private final EstatisticasAvaliacoes estatisticas = new EstatisticasAvaliacoes();
+
+    private final MetricasPlataforma metricas;
+
+    // Motores escolhidos pelo perfil ativo (ver ArmazenamentoConfig)
+    private final Armazenamento<Avaliacao> armazenamento;
+    // Participação e organização são consultadas a cada avaliação, sem cópia
+    // local: a participação é confirmada depois, pelo EventoController
+    private final ArmazenamentoEventos armazenamentoEventos;
+
+    // A nova média vai em segundo plano para os ouvintes (OngController e
+    // VoluntarioController), que gravam Usuario.nota; várias avaliações seguidas
+    // para o mesmo usuário geram uma única atualização pendente
+    private final Set<UUID> notasPendentes = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, ReentrantLock> travasNota = new ConcurrentHashMap<>();
+    private final List<BiConsumer<UUID, Float>> ouvintesNota = new CopyOnWriteArrayList<>();
+    private final ExecutorService atualizacoesNota = Executors.newVirtualThreadPerTaskExecutor();
+
+    public AvaliacaoService(MetricasPlataforma metricas, Armazenamento<Avaliacao> armazenamento,
+                            ArmazenamentoEventos armazenamentoEventos) {
+        this.metricas = metricas;
+        this.armazenamento = armazenamento;
+        this.armazenamentoEventos = armazenamentoEventos;
+    }
+
+    // Reconstrói índices, resumos e chaves a partir do armazenamento, sem regravar nada
+    @PostConstruct
+    public void carregarSalvos() {
+        List<Avaliacao> salvas = armazenamento.listarTodos();
+        for (Avaliacao avaliacao : salvas) {
+            if (avaliacao.getAtiva()) {
+                chavesAvaliacoesAtivas.add(ChaveAvaliacao.de(avaliacao));
+                registrar(avaliacao);
+            } else {
+                avaliacoes.put(avaliacao.getId(), avaliacao);
+                estatisticas.registrarCriacao(avaliacao);
+                estatisticas.registrarRemocao(avaliacao);
+                adicionarAosIndicesPorUsuario(avaliacao);
+            }
+        }
+        metricas.registrarExistentes(MetricasPlataforma.Entidade.AVALIACAO, salvas.size());
+        metricas.monitorarStore(MetricasPlataforma.Entidade.AVALIACAO, avaliacoes);
+    }
 
     public Avaliacao voluntarioAvaliarOng(UUID voluntarioId, UUID ongId, UUID eventoId, 
                                         Float nota, String comentario) {
         
-        validarDados(nota);
-        validarParticipacao(voluntarioId, eventoId);
-        validarOrganizacao(ongId, eventoId);
-        validarAvaliacaoUnica(voluntarioId, ongId, eventoId);
-        
-        Avaliacao avaliacao = Avaliacao.criarAvaliacaoVoluntarioParaOng(
-            voluntarioId, ongId, nota, comentario, eventoId
-        );
-        
-        return salvarAvaliacao(avaliacao);
+        return contarEnvio(() -> {
+            validarDados(nota);
+            validarParticipacao(voluntarioId, eventoId);
+            validarOrganizacao(ongId, eventoId);
+            
+            Avaliacao avaliacao = Avaliacao.criarAvaliacaoVoluntarioParaOng(
+                voluntarioId, ongId, nota, comentario, eventoId
+            );
+            
+            return salvarAvaliacao(avaliacao);
+        });
     }
 
     public Avaliacao ongAvaliarVoluntario(UUID ongId, UUID voluntarioId, UUID eventoId, 
                                         Float nota, String comentario) {
         
-        validarDados(nota);
-        validarOrganizacao(ongId, eventoId);
-        validarParticipacao(voluntarioId, eventoId);
-        validarAvaliacaoUnica(ongId, voluntarioId, eventoId);
-        
-        Avaliacao avaliacao = Avaliacao.criarAvaliacaoOngParaVoluntario(
-            ongId, voluntarioId, nota, comentario, eventoId
-        );
-        
-        return salvarAvaliacao(avaliacao);
+        return contarEnvio(() -> {
+            validarDados(nota);
+            validarOrganizacao(ongId, eventoId);
+            validarParticipacao(voluntarioId, eventoId);
+            
+            Avaliacao avaliacao = Avaliacao.criarAvaliacaoOngParaVoluntario(
+                ongId, voluntarioId, nota, comentario, eventoId
+            );
+            
+            return salvarAvaliacao(avaliacao);
+        });
     }
 
     public void removerAvaliacao(UUID avaliacaoId, UUID usuarioId) {
@@ -49,35 +132,88 @@ public class AvaliacaoService {
             throw new IllegalArgumentException("Apenas o autor pode remover a avaliação");
         }
         
-        avaliacao.desativarAvaliacao();
+        // Serializa a desativação por avaliação para o resumo não descontar duas vezes
+        avaliacoes.computeIfPresent(avaliacaoId, (id, atual) -> {
+            if (atual.getAtiva()) {
+                atual.desativarAvaliacao();
+                armazenamento.salvar(atual);
+                // Liberada a chave, o avaliador pode avaliar de novo, como antes
+                chavesAvaliacoesAtivas.remove(ChaveAvaliacao.de(atual));
+                desindexar(atual);
+                estatisticas.registrarRemocao(atual);
+                resumos.computeIfPresent(atual.getAvaliadoId(), (avaliadoId, resumo) -> resumo.semNota(atual.getNota()));
+                agendarAtualizacaoNota(atual.getAvaliadoId());
+            }
+            return atual;
+        });
     }
 
     public List<Avaliacao> listarAvaliacoesRecebidas(UUID usuarioId, String tipoUsuario) {
-        return avaliacoes.values().stream()
-            .filter(a -> a.getAvaliadoId().equals(usuarioId))
-            .filter(a -> a.getAtiva())
-            .toList();
+        return carregarAtivas(avaliacoesPorAvaliado.get(usuarioId));
     }
 
     public List<Avaliacao> listarAvaliacoesFeitas(UUID usuarioId, String tipoUsuario) {
-        return avaliacoes.values().stream()
-            .filter(a -> a.getAvaliadorId().equals(usuarioId))
-            .filter(a -> a.getAtiva())
-            .toList();
+        return carregarAtivas(avaliacoesPorAvaliador.get(usuarioId));
     }
 
-    public Float calcularNotaMedia(UUID usuarioId, String tipoUsuario) {
-        List<Avaliacao> avaliacoesRecebidas = listarAvaliacoesRecebidas(usuarioId, tipoUsuario);
-        
-        if (avaliacoesRecebidas.isEmpty()) {
-            return 0.0f;
+    // As listagens abaixo são paginadas: "apos" é o ID da última avaliação da
+    // página anterior (null na primeira página)
+
+    public PaginaAvaliacoes listarAvaliacoesDoEvento(UUID eventoId, UUID apos, int limite) {
+        return paginar(avaliacoesPorEvento.get(eventoId), apos, limite);
+    }
+
+    public PaginaAvaliacoes listarAvaliacoesEntreUsuarios(UUID usuario1Id, UUID usuario2Id, UUID apos, int limite) {
+        return paginar(avaliacoesPorPar.get(ParUsuarios.de(usuario1Id, usuario2Id)), apos, limite);
+    }
+
+    // Da menor para a maior nota dentro da faixa; percorre só as notas da faixa
+    public PaginaAvaliacoes listarAvaliacoesPorNota(float notaMinima, float notaMaxima, UUID apos, int limite) {
+        validarLimite(limite);
+        NavigableMap<Float, NavigableSet<Avaliacao>> faixa = avaliacoesPorNota.subMap(notaMinima, true, notaMaxima, true);
+
+        Avaliacao cursor = buscarCursor(apos);
+        if (cursor != null) {
+            faixa = faixa.tailMap(cursor.getNota(), true);
         }
-        
-        double soma = avaliacoesRecebidas.stream()
-            .mapToDouble(Avaliacao::getNota)
-            .sum();
-            
-        return (float) (soma / avaliacoesRecebidas.size());
+
+        List<Avaliacao> pagina = new ArrayList<>(Math.min(limite, 64));
+        for (Map.Entry<Float, NavigableSet<Avaliacao>> mesmaNota : faixa.entrySet()) {
+            // Pela nota, e não por contains: o cursor pode ter sido desativado
+            // (e saído do índice) entre uma página e outra
+            NavigableSet<Avaliacao> restantes = cursor != null && mesmaNota.getKey().equals(cursor.getNota())
+                ? mesmaNota.getValue().tailSet(cursor, false)
+                : mesmaNota.getValue();
+            for (Avaliacao avaliacao : restantes) {
+                if (pagina.size() == limite) {
+                    return new PaginaAvaliacoes(pagina, pagina.get(limite - 1).getId());
+                }
+                pagina.add(avaliacao);
+            }
+        }
+        return new PaginaAvaliacoes(pagina, null);
+    }
+
+    public Map<String, Object> obterEstatisticasGerais() {
+        return estatisticas.obterEstatisticas();
+    }
+
+    public Float calcularNotaMedia(UUID usuarioId, String tipoUsuario) {
+        return obterResumo(usuarioId).media();
+    }
+
+    public ResumoAvaliacoes obterResumo(UUID usuarioId) {
+        return resumos.getOrDefault(usuarioId, ResumoAvaliacoes.VAZIO);
+    }
+
+    // Recebe o ID do avaliado e a média atual (0 sem avaliações ativas)
+    public void registrarOuvinteNota(BiConsumer<UUID, Float> ouvinte) {
+        ouvintesNota.add(ouvinte);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        atualizacoesNota.shutdown();
     }
 
     // Métodos auxiliares
@@ -88,45 +224,174 @@ public class AvaliacaoService {
     }
 
     private void validarParticipacao(UUID voluntarioId, UUID eventoId) {
-        Evento evento = eventos.get(eventoId);
-        if (evento == null) {
-            throw new IllegalArgumentException("Evento não encontrado");
-        }
-        
-        if (!evento.voluntarioParticipou(voluntarioId)) {
+        if (!armazenamentoEventos.voluntarioParticipou(eventoId, voluntarioId)) {
+            buscarOngResponsavel(eventoId);
             throw new IllegalArgumentException("Voluntário não participou deste evento");
         }
     }
 
     private void validarOrganizacao(UUID ongId, UUID eventoId) {
-        Evento evento = eventos.get(eventoId);
-        if (evento == null) {
-            throw new IllegalArgumentException("Evento não encontrado");
-        }
-        
-        if (!evento.getOngResponsavelId().equals(ongId)) {
+        if (!buscarOngResponsavel(eventoId).equals(ongId)) {
             throw new IllegalArgumentException("ONG não organizou este evento");
         }
     }
 
-    private void validarAvaliacaoUnica(UUID avaliadorId, UUID avaliadoId, UUID eventoId) {
-        boolean jaAvaliou = avaliacoes.values().stream()
-            .anyMatch(a -> a.getAvaliadorId().equals(avaliadorId) 
-                        && a.getAvaliadoId().equals(avaliadoId)
-                        && a.getEventoRelacionadoId().equals(eventoId)
-                        && a.getAtiva());
-                        
-        if (jaAvaliou) {
+    // Verifica e reserva a chave no mesmo passo: entre duas requisições simultâneas
+    // do mesmo avaliador, só uma consegue inserir a chave
+    private void reservarAvaliacaoUnica(Avaliacao avaliacao) {
+        if (!chavesAvaliacoesAtivas.add(ChaveAvaliacao.de(avaliacao))) {
             throw new IllegalArgumentException("Você já avaliou este usuário para este evento");
         }
     }
 
+    private UUID buscarOngResponsavel(UUID eventoId) {
+        return armazenamentoEventos.buscarOngResponsavel(eventoId)
+            .orElseThrow(() -> new IllegalArgumentException("Evento não encontrado"));
+    }
+
+    // Toda tentativa entra na métrica de envios, aceita ou recusada pelas validações
+    private Avaliacao contarEnvio(Supplier<Avaliacao> envio) {
+        try {
+            Avaliacao avaliacao = envio.get();
+            metricas.registrarAvaliacao(true);
+            return avaliacao;
+        } catch (RuntimeException e) {
+            metricas.registrarAvaliacao(false);
+            throw e;
+        }
+    }
+
     private Avaliacao salvarAvaliacao(Avaliacao avaliacao) {
-        UUID id = UUID.randomUUID();
-        avaliacoes.put(id, avaliacao);
+        reservarAvaliacaoUnica(avaliacao);
+        try {
+            armazenamento.salvar(avaliacao);
+        } catch (RuntimeException e) {
+            // Sem a gravação a avaliação não existe: devolve a chave
+            chavesAvaliacoesAtivas.remove(ChaveAvaliacao.de(avaliacao));
+            throw e;
+        }
+        registrar(avaliacao);
+        agendarAtualizacaoNota(avaliacao.getAvaliadoId());
+        metricas.registrarCriacao(MetricasPlataforma.Entidade.AVALIACAO);
         return avaliacao;
     }
 
+    private void registrar(Avaliacao avaliacao) {
+        // Indexa dentro do compute para não intercalar com uma remoção da mesma avaliação
+        avaliacoes.compute(avaliacao.getId(), (id, anterior) -> {
+            indexar(avaliacao);
+            estatisticas.registrarCriacao(avaliacao);
+            return avaliacao;
+        });
+        adicionarAosIndicesPorUsuario(avaliacao);
+        resumos.merge(avaliacao.getAvaliadoId(), ResumoAvaliacoes.VAZIO.comNota(avaliacao.getNota()),
+            (resumo, novo) -> resumo.comNota(avaliacao.getNota()));
+    }
+
+    private void adicionarAosIndicesPorUsuario(Avaliacao avaliacao) {
+        avaliacoesPorAvaliador.computeIfAbsent(avaliacao.getAvaliadorId(), id -> ConcurrentHashMap.newKeySet()).add(avaliacao.getId());
+        avaliacoesPorAvaliado.computeIfAbsent(avaliacao.getAvaliadoId(), id -> ConcurrentHashMap.newKeySet()).add(avaliacao.getId());
+    }
+
+    private void indexar(Avaliacao avaliacao) {
+        avaliacoesPorEvento.computeIfAbsent(avaliacao.getEventoRelacionadoId(), id -> novoIndice()).add(avaliacao);
+        avaliacoesPorPar.computeIfAbsent(ParUsuarios.de(avaliacao.getAvaliadorId(), avaliacao.getAvaliadoId()), par -> novoIndice()).add(avaliacao);
+        avaliacoesPorNota.computeIfAbsent(avaliacao.getNota(), nota -> novoIndice()).add(avaliacao);
+    }
+
+    // Os conjuntos vazios ficam no mapa: são poucos (uma nota, um evento ou
+    // um par) e removê-los abriria corrida com uma inclusão simultânea
+    private void desindexar(Avaliacao avaliacao) {
+        removerDe(avaliacoesPorEvento.get(avaliacao.getEventoRelacionadoId()), avaliacao);
+        removerDe(avaliacoesPorPar.get(ParUsuarios.de(avaliacao.getAvaliadorId(), avaliacao.getAvaliadoId())), avaliacao);
+        removerDe(avaliacoesPorNota.get(avaliacao.getNota()), avaliacao);
+    }
+
+    private void removerDe(NavigableSet<Avaliacao> indice, Avaliacao avaliacao) {
+        if (indice != null) {
+            indice.remove(avaliacao);
+        }
+    }
+
+    private static NavigableSet<Avaliacao> novoIndice() {
+        return new ConcurrentSkipListSet<>(MAIS_RECENTES_PRIMEIRO);
+    }
+
+    private PaginaAvaliacoes paginar(NavigableSet<Avaliacao> indice, UUID apos, int limite) {
+        validarLimite(limite);
+        Avaliacao cursor = buscarCursor(apos);
+        if (indice == null) {
+            return new PaginaAvaliacoes(new ArrayList<>(), null);
+        }
+
+        NavigableSet<Avaliacao> restantes = cursor != null ? indice.tailSet(cursor, false) : indice;
+
+        List<Avaliacao> pagina = new ArrayList<>(Math.min(limite, 64));
+        for (Avaliacao avaliacao : restantes) {
+            if (pagina.size() == limite) {
+                return new PaginaAvaliacoes(pagina, pagina.get(limite - 1).getId());
+            }
+            pagina.add(avaliacao);
+        }
+        return new PaginaAvaliacoes(pagina, null);
+    }
+
+    private Avaliacao buscarCursor(UUID apos) {
+        if (apos == null) {
+            return null;
+        }
+        Avaliacao cursor = avaliacoes.get(apos);
+        if (cursor == null) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        return cursor;
+    }
+
+    private void validarLimite(int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("Limite deve ser maior que zero");
+        }
+    }
+
+    private List<Avaliacao> carregarAtivas(Set<UUID> ids) {
+        if (ids == null) {
+            return new ArrayList<>();
+        }
+        List<Avaliacao> resultado = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            Avaliacao avaliacao = avaliacoes.get(id);
+            if (avaliacao != null && avaliacao.getAtiva()) {
+                resultado.add(avaliacao);
+            }
+        }
+        return resultado;
+    }
+
+    private void agendarAtualizacaoNota(UUID usuarioId) {
+        if (ouvintesNota.isEmpty() || !notasPendentes.add(usuarioId)) {
+            return;
+        }
+        atualizacoesNota.execute(() -> {
+            // Sai da lista de pendentes antes de ler o resumo: uma avaliação que
+            // chegue durante a atualização agenda outra
+            notasPendentes.remove(usuarioId);
+            // Lê e entrega sob a trava do usuário, para uma média antiga não
+            // ser gravada depois da nova
+            ReentrantLock trava = travasNota.computeIfAbsent(usuarioId, id -> new ReentrantLock());
+            trava.lock();
+            try {
+                ResumoAvaliacoes resumo = obterResumo(usuarioId);
+                // Sem avaliações ativas a média anterior deixa de valer
+                Float media = resumo.quantidade() > 0 ? resumo.media() : 0.0f;
+                ouvintesNota.forEach(ouvinte -> ouvinte.accept(usuarioId, media));
+            } catch (RuntimeException e) {
+                log.warn("Falha ao atualizar a nota do usuário {}", usuarioId, e);
+            } finally {
+                trava.unlock();
+            }
+        });
+    }
+
     private Avaliacao buscarAvaliacao(UUID avaliacaoId) {
         Avaliacao avaliacao = avaliacoes.get(avaliacaoId);
         if (avaliacao == null) {
@@ -137,14 +402,27 @@ public class AvaliacaoService {
 
     // Métodos para testes - adicionar dados mock
     public void adicionarEvento(Evento evento) {
-        eventos.put(evento.getId(), evento);
-    }
-
-    public void adicionarUsuario(Usuario usuario) {
-        usuarios.put(usuario.getId(), usuario);
+        armazenamentoEventos.salvar(evento);
     }
 
     public Map<UUID, Avaliacao> getAvaliacoes() {
         return new HashMap<>(avaliacoes);
     }
+
+    private record ChaveAvaliacao(UUID avaliadorId, UUID avaliadoId, UUID eventoId) {
+
+        static ChaveAvaliacao de(Avaliacao avaliacao) {
+            return new ChaveAvaliacao(avaliacao.getAvaliadorId(), avaliacao.getAvaliadoId(), avaliacao.getEventoRelacionadoId());
+        }
+    }
+
+    // Par não ordenado: (a, b) e (b, a) caem na mesma chave
+    private record ParUsuarios(UUID menor, UUID maior) {
+
+        static ParUsuarios de(UUID usuario1Id, UUID usuario2Id) {
+            return usuario1Id.compareTo(usuario2Id) <= 0
+                ? new ParUsuarios(usuario1Id, usuario2Id)
+                : new ParUsuarios(usuario2Id, usuario1Id);
+        }
+    }
 }
@@ -0,0 +1,66 @@
+package com.backend.mao_amiga.services;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+
+/**
+ * Cache LRU das timelines materializadas dos voluntários.
+ *
+ * Toda leitura de feed passa por aqui e, em ordem de acesso, até o get
+ * altera o mapa. A trava é um ReentrantLock e não synchronized: no Java 21
+ * uma thread virtual que disputa um monitor prende a thread portadora.
+ */
+class CacheTimelines {
+
+    private final ReentrantLock trava = new ReentrantLock();
+    private final Map<UUID, TimelineMaterializada> timelines;
+
+    // Capacidade lida a cada inserção, já que vem de @Value depois da construção
+    CacheTimelines(IntSupplier capacidade) {
+        this.timelines = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, TimelineMaterializada> maisAntiga) {
+                return size() > capacidade.getAsInt();
+            }
+        };
+    }
+
+    TimelineMaterializada get(UUID voluntarioId) {
+        trava.lock();
+        try {
+            return timelines.get(voluntarioId);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    TimelineMaterializada putIfAbsent(UUID voluntarioId, TimelineMaterializada timeline) {
+        trava.lock();
+        try {
+            return timelines.putIfAbsent(voluntarioId, timeline);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    void remove(UUID voluntarioId) {
+        trava.lock();
+        try {
+            timelines.remove(voluntarioId);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    int size() {
+        trava.lock();
+        try {
+            return timelines.size();
+        } finally {
+            trava.unlock();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.backend.mao_amiga.services;
+
+import com.backend.mao_amiga.models.Notificacao;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Caixa de entrada de um único usuário, mantida em ordem cronológica
+ * (mais recentes primeiro) e com contador de não lidas.
+ *
+ * Leituras percorrem apenas as notificações do próprio usuário e o
+ * contador de não lidas é O(1). As escritas são serializadas por caixa,
+ * então usuários diferentes não disputam o mesmo lock.
+ */
+class CaixaEntradaNotificacoes {
+
+    private static final Comparator<Notificacao> MAIS_RECENTES_PRIMEIRO = Comparator
+            .comparing(Notificacao::getCriadaEm, Comparator.reverseOrder())
+            .thenComparing(Notificacao::getId);
+
+    private final NavigableSet<Notificacao> todas = new ConcurrentSkipListSet<>(MAIS_RECENTES_PRIMEIRO);
+    private final NavigableSet<Notificacao> naoLidas = new ConcurrentSkipListSet<>(MAIS_RECENTES_PRIMEIRO);
+    private final AtomicLong quantidadeNaoLidas = new AtomicLong();
+
+    // Serializa as escritas da caixa; as leituras vão direto aos skip lists
+    private final ReentrantLock travaEscrita = new ReentrantLock();
+
+    void adicionar(Notificacao notificacao) {
+        travaEscrita.lock();
+        try {
+            if (todas.add(notificacao) && !notificacao.isLida() && naoLidas.add(notificacao)) {
+                quantidadeNaoLidas.incrementAndGet();
+            }
+        } finally {
+            travaEscrita.unlock();
+        }
+    }
+
+    void marcarComoLida(Notificacao notificacao) {
+        travaEscrita.lock();
+        try {
+            notificacao.marcarComoLida();
+            if (naoLidas.remove(notificacao)) {
+                quantidadeNaoLidas.decrementAndGet();
+            }
+        } finally {
+            travaEscrita.unlock();
+        }
+    }
+
+    // Devolve as notificações marcadas, para serem gravadas de uma vez
+    List<Notificacao> marcarTodasComoLidas() {
+        travaEscrita.lock();
+        try {
+            List<Notificacao> marcadas = new ArrayList<>();
+            Notificacao notificacao;
+            while ((notificacao = naoLidas.pollFirst()) != null) {
+                notificacao.marcarComoLida();
+                marcadas.add(notificacao);
+            }
+            quantidadeNaoLidas.addAndGet(-marcadas.size());
+            return marcadas;
+        } finally {
+            travaEscrita.unlock();
+        }
+    }
+
+    void remover(Notificacao notificacao) {
+        travaEscrita.lock();
+        try {
+            todas.remove(notificacao);
+            if (naoLidas.remove(notificacao)) {
+                quantidadeNaoLidas.decrementAndGet();
+            }
+        } finally {
+            travaEscrita.unlock();
+        }
+    }
+
+    // Percorre a caixa a partir da notificação mais antiga e para assim que
+    // alcança a data limite, sem tocar nas notificações recentes
+    int removerLidasAnterioresA(LocalDateTime dataLimite, Consumer<UUID> aoRemover) {
+        travaEscrita.lock();
+        try {
+            int removidas = 0;
+            Iterator<Notificacao> maisAntigas = todas.descendingIterator();
+            while (maisAntigas.hasNext()) {
+                Notificacao notificacao = maisAntigas.next();
+                if (!notificacao.getCriadaEm().isBefore(dataLimite)) {
+                    break;
+                }
+                if (notificacao.isLida()) {
+                    maisAntigas.remove();
+                    aoRemover.accept(notificacao.getId());
+                    removidas++;
+                }
+            }
+            return removidas;
+        } finally {
+            travaEscrita.unlock();
+        }
+    }
+
+    List<Notificacao> listarNaoLidas() {
+        return new ArrayList<>(naoLidas);
+    }
+
+    List<Notificacao> listar(int limite) {
+        List<Notificacao> resultado = new ArrayList<>(Math.min(limite, 64));
+        for (Notificacao notificacao : todas) {
+            if (resultado.size() >= limite) {
+                break;
+            }
+            resultado.add(notificacao);
+        }
+        return resultado;
+    }
+
+    long contarNaoLidas() {
+        return quantidadeNaoLidas.get();
+    }
+
+    boolean estaVazia() {
+        return todas.isEmpty();
+    }
+}
@@ -0,0 +1,150 @@
+package com.backend.mao_amiga.services;
+
+import com.backend.mao_amiga.models.Evento;
+import com.backend.mao_amiga.models.enums.StatusEvento;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Agenda as mudanças de um evento no tempo: o lembrete aos inscritos, o
+ * início e o fim, a partir de dataHoraInicio e dataHoraFim.
+ *
+ * Os horários ficam numa roda de temporização com um tick por segundo, e a
+ * cada tick só os agendamentos vencidos são tocados, sem varrer os eventos.
+ * O que fazer em cada disparo fica com quem registrou o ouvinte (o
+ * EventoController, que mantém os índices e o armazenamento).
+ */
+@Service
+public class CicloVidaEventos {
+
+    private static final Logger log = LoggerFactory.getLogger(CicloVidaEventos.class);
+
+    public enum Momento { LEMBRETE, INICIO, FIM }
+
+    public record Disparo(UUID eventoId, Momento momento) {
+    }
+
+    // A geração identifica o agendamento vigente de cada evento; disparos de
+    // gerações antigas (evento remarcado ou cancelado) são descartados
+    private record Agendamento(UUID eventoId, Momento momento, long geracao) {
+    }
+
+    @Value("${mao-amiga.eventos.lembrete-antecedencia:PT24H}")
+    private Duration antecedenciaLembrete = Duration.ofHours(24);
+
+    private final Clock relogio;
+    private final RodaTemporizacao<Agendamento> roda;
+    private final ReentrantLock travaRoda = new ReentrantLock();
+    private final ReentrantLock travaAvanco = new ReentrantLock();
+    private final Map<UUID, Long> geracaoVigente = new ConcurrentHashMap<>();
+    private final AtomicLong proximaGeracao = new AtomicLong();
+    private volatile Consumer<Disparo> ouvinte = disparo -> { };
+
+    public CicloVidaEventos() {
+        this(Clock.systemDefaultZone());
+    }
+
+    CicloVidaEventos(Clock relogio) {
+        this.relogio = relogio;
+        this.roda = new RodaTemporizacao<>(relogio.instant().getEpochSecond());
+    }
+
+    public void registrarOuvinte(Consumer<Disparo> ouvinte) {
+        this.ouvinte = ouvinte;
+    }
+
+    // Substitui o que havia para o evento; horários já passados disparam no próximo tick
+    public void agendar(Evento evento) {
+        if (evento.getStatus() == StatusEvento.CANCELADO || evento.getStatus() == StatusEvento.FINALIZADO) {
+            cancelar(evento.getId());
+            return;
+        }
+
+        long geracao = proximaGeracao.incrementAndGet();
+        geracaoVigente.put(evento.getId(), geracao);
+
+        LocalDateTime lembrete = evento.getDataHoraInicio().minus(antecedenciaLembrete);
+        travaRoda.lock();
+        try {
+            // Evento criado em cima da hora não recebe lembrete atrasado
+            if (lembrete.isAfter(LocalDateTime.now(relogio))) {
+                roda.agendar(emSegundos(lembrete), new Agendamento(evento.getId(), Momento.LEMBRETE, geracao));
+            }
+            roda.agendar(emSegundos(evento.getDataHoraInicio()), new Agendamento(evento.getId(), Momento.INICIO, geracao));
+            roda.agendar(emSegundos(evento.getDataHoraFim()), new Agendamento(evento.getId(), Momento.FIM, geracao));
+        } finally {
+            travaRoda.unlock();
+        }
+    }
+
+    // Os agendamentos continuam na roda até vencer, mas são ignorados
+    public void cancelar(UUID eventoId) {
+        geracaoVigente.remove(eventoId);
+    }
+
+    // Com threads virtuais o agendador pode sobrepor execuções; um avanço em
+    // andamento já alcança o tick seguinte, então os disparos saem em ordem
+    @Scheduled(fixedRateString = "${mao-amiga.eventos.ciclo-vida.tick-ms:1000}")
+    public void avancar() {
+        if (!travaAvanco.tryLock()) {
+            return;
+        }
+        try {
+            List<Agendamento> vencidos;
+            travaRoda.lock();
+            try {
+                vencidos = roda.avancarAte(relogio.instant().getEpochSecond());
+            } finally {
+                travaRoda.unlock();
+            }
+
+            // Fora da trava da roda: o ouvinte grava o evento e cria notificações.
+            // Os vencidos já saíram da roda, então a falha de um disparo não
+            // pode interromper os demais do mesmo tick
+            for (Agendamento agendamento : vencidos) {
+                Long geracao = geracaoVigente.get(agendamento.eventoId());
+                if (geracao == null || geracao != agendamento.geracao()) {
+                    continue;
+                }
+                if (agendamento.momento() == Momento.FIM) {
+                    geracaoVigente.remove(agendamento.eventoId(), geracao);
+                }
+                Disparo disparo = new Disparo(agendamento.eventoId(), agendamento.momento());
+                try {
+                    ouvinte.accept(disparo);
+                } catch (RuntimeException e) {
+                    log.error("Falha ao aplicar o disparo {}", disparo, e);
+                }
+            }
+        } finally {
+            travaAvanco.unlock();
+        }
+    }
+
+    public int quantidadeAgendada() {
+        travaRoda.lock();
+        try {
+            return roda.tamanho();
+        } finally {
+            travaRoda.unlock();
+        }
+    }
+
+    private long emSegundos(LocalDateTime horario) {
+        return horario.atZone(relogio.getZone()).toEpochSecond();
+    }
+}
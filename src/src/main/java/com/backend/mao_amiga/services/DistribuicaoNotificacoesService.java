@@ -0,0 +1,236 @@
+package com.backend.mao_amiga.services;
+
+import com.backend.mao_amiga.models.Notificacao;
+import com.backend.mao_amiga.models.enums.TipoNotificacao;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fan-out assíncrono das notificações para seguidores.
+ *
+ * A requisição só enfileira uma tarefa e retorna. Workers em segundo plano
+ * gravam as notificações em lotes de tamanho fixo, com novas tentativas
+ * em caso de falha. A fila é limitada: quando enche, novas tarefas são
+ * recusadas (backpressure) em vez de acumular memória sem limite.
+ */
+@Service
+public class DistribuicaoNotificacoesService {
+
+    private static final Logger log = LoggerFactory.getLogger(DistribuicaoNotificacoesService.class);
+
+    private final NotificacaoService notificacaoService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${mao-amiga.notificacoes.distribuicao.capacidade-fila:1000}")
+    private int capacidadeFila = 1000;
+
+    @Value("${mao-amiga.notificacoes.distribuicao.tamanho-lote:500}")
+    private int tamanhoLote = 500;
+
+    @Value("${mao-amiga.notificacoes.distribuicao.workers:2}")
+    private int quantidadeWorkers = 2;
+
+    @Value("${mao-amiga.notificacoes.distribuicao.max-tentativas:3}")
+    private int maxTentativas = 3;
+
+    @Value("${mao-amiga.notificacoes.distribuicao.espera-enfileirar-ms:100}")
+    private long esperaEnfileirarMs = 100;
+
+    private BlockingQueue<TarefaDistribuicao> fila;
+    private ExecutorService workers;
+    private volatile boolean ativo;
+
+    private final AtomicInteger lotesEmProcessamento = new AtomicInteger();
+    private Counter notificacoesGravadas;
+    private Counter lotesComFalha;
+    private Counter tarefasRecusadas;
+    private DistributionSummary destinatariosPorEvento;
+    private DistributionSummary destinatariosPorPost;
+    private DistributionSummary destinatariosPorLembrete;
+
+    public DistribuicaoNotificacoesService(NotificacaoService notificacaoService, MeterRegistry meterRegistry) {
+        this.notificacaoService = notificacaoService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        fila = new LinkedBlockingQueue<>(capacidadeFila);
+
+        Gauge.builder("mao_amiga.notificacoes.distribuicao.fila", fila, BlockingQueue::size)
+                .description("Tarefas de fan-out aguardando processamento")
+                .register(meterRegistry);
+        Gauge.builder("mao_amiga.notificacoes.distribuicao.lotes_em_processamento", lotesEmProcessamento, AtomicInteger::get)
+                .register(meterRegistry);
+        notificacoesGravadas = meterRegistry.counter("mao_amiga.notificacoes.distribuicao.gravadas");
+        lotesComFalha = meterRegistry.counter("mao_amiga.notificacoes.distribuicao.lotes_com_falha");
+        tarefasRecusadas = meterRegistry.counter("mao_amiga.notificacoes.distribuicao.recusadas");
+        destinatariosPorEvento = tamanhoDistribuicao(TipoNotificacao.EVENTO_CRIADO);
+        destinatariosPorPost = tamanhoDistribuicao(TipoNotificacao.NOVO_POST);
+        destinatariosPorLembrete = tamanhoDistribuicao(TipoNotificacao.LEMBRETE_EVENTO);
+
+        ativo = true;
+        workers = Executors.newFixedThreadPool(quantidadeWorkers, Thread.ofPlatform()
+                .name("distribuicao-notificacoes-", 1)
+                .daemon(true)
+                .factory());
+        for (int i = 0; i < quantidadeWorkers; i++) {
+            workers.execute(this::consumirFila);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        ativo = false;
+        workers.shutdown();
+        workers.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    // Enfileira as notificações de novo evento para os seguidores da ONG
+    public TarefaDistribuicao agendarNotificacoesNovoEvento(UUID eventoId, UUID ongId, List<UUID> seguidoresIds) {
+        validarParametros(eventoId, ongId);
+        return agendar(new TarefaDistribuicao(TipoNotificacao.EVENTO_CRIADO, ongId, eventoId, seguidoresIds));
+    }
+
+    // Enfileira as notificações de novo post para os seguidores do autor
+    public TarefaDistribuicao agendarNotificacoesNovoPost(UUID postId, UUID autorId, List<UUID> seguidoresIds) {
+        validarParametros(postId, autorId);
+        return agendar(new TarefaDistribuicao(TipoNotificacao.NOVO_POST, autorId, postId, seguidoresIds));
+    }
+
+    // Enfileira o lembrete aos inscritos; chamado pelo tick do ciclo de vida,
+    // que assim não fica parado gravando as notificações
+    public TarefaDistribuicao agendarNotificacoesLembreteEvento(UUID eventoId, UUID ongId, List<UUID> inscritosIds) {
+        validarParametros(eventoId, ongId);
+        return agendar(new TarefaDistribuicao(TipoNotificacao.LEMBRETE_EVENTO, ongId, eventoId, inscritosIds));
+    }
+
+    public Map<String, Object> obterEstatisticas() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("tarefasNaFila", fila.size());
+        stats.put("capacidadeFila", capacidadeFila);
+        stats.put("lotesEmProcessamento", lotesEmProcessamento.get());
+        stats.put("notificacoesGravadas", (long) notificacoesGravadas.count());
+        stats.put("lotesComFalha", (long) lotesComFalha.count());
+        stats.put("tarefasRecusadas", (long) tarefasRecusadas.count());
+        return stats;
+    }
+
+    // Métodos auxiliares privados
+
+    private TarefaDistribuicao agendar(TarefaDistribuicao tarefa) {
+        try {
+            if (!fila.offer(tarefa, esperaEnfileirarMs, TimeUnit.MILLISECONDS)) {
+                tarefasRecusadas.increment();
+                throw new IllegalStateException("Fila de notificações cheia, tente novamente mais tarde");
+            }
+            DistributionSummary tamanho = switch (tarefa.tipo()) {
+                case EVENTO_CRIADO -> destinatariosPorEvento;
+                case LEMBRETE_EVENTO -> destinatariosPorLembrete;
+                default -> destinatariosPorPost;
+            };
+            tamanho.record(tarefa.destinatarios().size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Enfileiramento de notificações interrompido", e);
+        }
+        return tarefa;
+    }
+
+    // Quantos seguidores cada fan-out atinge: a cauda mostra as ONGs que pesam na fila
+    private DistributionSummary tamanhoDistribuicao(TipoNotificacao tipo) {
+        return DistributionSummary.builder("mao_amiga.notificacoes.distribuicao.destinatarios")
+                .description("Destinatários por tarefa de fan-out")
+                .tag("tipo", tipo.name().toLowerCase(Locale.ROOT))
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private void consumirFila() {
+        while (ativo || !fila.isEmpty()) {
+            try {
+                TarefaDistribuicao tarefa = fila.poll(1, TimeUnit.SECONDS);
+                if (tarefa != null) {
+                    processar(tarefa);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Erro inesperado na distribuição de notificações", e);
+            }
+        }
+    }
+
+    private void processar(TarefaDistribuicao tarefa) throws InterruptedException {
+        List<UUID> destinatarios = tarefa.destinatarios();
+        for (int inicio = 0; inicio < destinatarios.size(); inicio += tamanhoLote) {
+            List<UUID> lote = destinatarios.subList(inicio, Math.min(inicio + tamanhoLote, destinatarios.size()));
+            gravarLoteComTentativas(tarefa, lote);
+        }
+    }
+
+    private void gravarLoteComTentativas(TarefaDistribuicao tarefa, List<UUID> destinatarios) throws InterruptedException {
+        lotesEmProcessamento.incrementAndGet();
+        try {
+            // Montado uma vez só: as novas tentativas regravam as mesmas notificações
+            List<Notificacao> lote = montarLote(tarefa, destinatarios);
+            for (int tentativa = 1; tentativa <= maxTentativas; tentativa++) {
+                try {
+                    notificacoesGravadas.increment(notificacaoService.gravarLote(lote).size());
+                    return;
+                } catch (RuntimeException e) {
+                    if (tentativa == maxTentativas) {
+                        lotesComFalha.increment();
+                        log.error("Lote da tarefa {} descartado após {} tentativas", tarefa.id(), tentativa, e);
+                        return;
+                    }
+                    // Backoff exponencial simples: 100ms, 200ms, 400ms...
+                    Thread.sleep(100L << (tentativa - 1));
+                }
+            }
+        } finally {
+            lotesEmProcessamento.decrementAndGet();
+        }
+    }
+
+    private List<Notificacao> montarLote(TarefaDistribuicao tarefa, List<UUID> destinatarios) {
+        return switch (tarefa.tipo()) {
+            case EVENTO_CRIADO -> notificacaoService
+                    .montarNotificacoesNovoEvento(tarefa.referenciaId(), tarefa.origemId(), destinatarios);
+            case NOVO_POST -> notificacaoService
+                    .montarNotificacoesNovoPost(tarefa.referenciaId(), tarefa.origemId(), destinatarios);
+            case LEMBRETE_EVENTO -> notificacaoService
+                    .montarNotificacoesLembreteEvento(tarefa.referenciaId(), tarefa.origemId(), destinatarios);
+            default -> throw new IllegalArgumentException("Tipo de distribuição não suportado: " + tarefa.tipo());
+        };
+    }
+
+    private void validarParametros(UUID... ids) {
+        for (UUID id : ids) {
+            if (id == null) {
+                throw new IllegalArgumentException("ID não pode ser nulo");
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.backend.mao_amiga.services;
+
+import com.backend.mao_amiga.models.Avaliacao;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores globais das avaliações, atualizados a cada criação ou remoção.
+ *
+ * A leitura soma os contadores em O(1) em vez de percorrer todas as
+ * avaliações. Cada contador é exato, mas a leitura não é atômica entre eles:
+ * com escritas simultâneas, um snapshot pode refletir uma avaliação em um
+ * contador e ainda não em outro.
+ */
+class EstatisticasAvaliacoes {
+
+    private final LongAdder total = new LongAdder();
+    private final LongAdder ativas = new LongAdder();
+    private final LongAdder comComentario = new LongAdder();
+    private final LongAdder voluntarioParaOng = new LongAdder();
+    private final LongAdder ongParaVoluntario = new LongAdder();
+    private final DoubleAdder somaNotas = new DoubleAdder();
+
+    void registrarCriacao(Avaliacao avaliacao) {
+        total.increment();
+        contar(avaliacao, 1);
+    }
+
+    // Chamado uma única vez por avaliação, quando ela deixa de estar ativa
+    void registrarRemocao(Avaliacao avaliacao) {
+        contar(avaliacao, -1);
+    }
+
+    Map<String, Object> obterEstatisticas() {
+        long quantidadeAtivas = ativas.sum();
+        double notaMediaGeral = quantidadeAtivas > 0 ? somaNotas.sum() / quantidadeAtivas : 0.0;
+
+        Map<String, Object> estatisticas = new HashMap<>();
+        estatisticas.put("totalAvaliacoes", total.sum());
+        estatisticas.put("avaliacoesAtivas", quantidadeAtivas);
+        estatisticas.put("notaMediaGeral", Math.round(notaMediaGeral * 10.0) / 10.0);
+        estatisticas.put("avaliacoesComComentario", comComentario.sum());
+        estatisticas.put("avaliacoesVoluntarioParaOng", voluntarioParaOng.sum());
+        estatisticas.put("avaliacoesOngParaVoluntario", ongParaVoluntario.sum());
+        return estatisticas;
+    }
+
+    // Métodos auxiliares privados
+
+    private void contar(Avaliacao avaliacao, int delta) {
+        ativas.add(delta);
+        somaNotas.add(delta * avaliacao.getNota());
+        if (avaliacao.temComentario()) {
+            comComentario.add(delta);
+        }
+        if (avaliacao.isVoluntarioAvaliandoOng()) {
+            voluntarioParaOng.add(delta);
+        } else if (avaliacao.isOngAvaliandoVoluntario()) {
+            ongParaVoluntario.add(delta);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.backend.mao_amiga.services;
+
+import com.backend.mao_amiga.models.Evento;
+import com.backend.mao_amiga.models.Post;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Feed inicial do voluntário com os posts e eventos das ONGs que ele segue.
+ *
+ * Estratégia híbrida de fan-out:
+ * - ONGs pequenas (até o limiar de seguidores) têm cada publicação empurrada
+ *   na escrita para as timelines materializadas dos seguidores ativos;
+ * - ONGs grandes não fazem fan-out: na leitura, a timeline delas é
+ *   intercalada (k-way merge) com a timeline materializada do voluntário.
+ *
+ * As timelines materializadas ficam em um cache LRU limitado, então só os
+ * voluntários ativos ocupam memória; as demais são reconstruídas na primeira
+ * leitura a partir das timelines por autor.
+ */
+@Service
+public class FeedService {
+
+    @Value("${mao-amiga.feed.limiar-fan-out:1000}")
+    private int limiarFanOut = 1000;
+
+    @Value("${mao-amiga.feed.tamanho-timeline:200}")
+    private int tamanhoTimeline = 200;
+
+    @Value("${mao-amiga.feed.max-usuarios-cache:10000}")
+    private int maxUsuariosCache = 10_000;
+
+    // Grafo de seguidores espelhado a partir do VoluntarioController
+    private final Map<UUID, Set<UUID>> ongsSeguidas = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<UUID>> seguidores = new ConcurrentHashMap<>();
+
+    // Publicações recentes de cada ONG
+    private final Map<UUID, TimelineMaterializada> timelinesPorAutor = new ConcurrentHashMap<>();
+    private final Map<UUID, ItemFeed> itensAtivos = new ConcurrentHashMap<>();
+
+    // ONGs que já publicaram sem fan-out; sempre entram no merge da leitura,
+    // mesmo que depois voltem a ficar abaixo do limiar
+    private final Set<UUID> ongsLidasNaLeitura = ConcurrentHashMap.newKeySet();
+
+    private final CacheTimelines timelinesUsuarios = new CacheTimelines(() -> maxUsuariosCache);
+
+    public void registrarSeguimento(UUID voluntarioId, UUID ongId) {
+        validarParametros(voluntarioId, ongId);
+        ongsSeguidas.computeIfAbsent(voluntarioId, id -> ConcurrentHashMap.newKeySet()).add(ongId);
+        seguidores.computeIfAbsent(ongId, id -> ConcurrentHashMap.newKeySet()).add(voluntarioId);
+        // A timeline materializada não tem os itens antigos da nova ONG
+        timelinesUsuarios.remove(voluntarioId);
+    }
+
+    public void removerSeguimento(UUID voluntarioId, UUID ongId) {
+        validarParametros(voluntarioId, ongId);
+        Set<UUID> ongs = ongsSeguidas.get(voluntarioId);
+        if (ongs != null) {
+            ongs.remove(ongId);
+        }
+        Set<UUID> seguidoresDaOng = seguidores.get(ongId);
+        if (seguidoresDaOng != null) {
+            seguidoresDaOng.remove(voluntarioId);
+        }
+        timelinesUsuarios.remove(voluntarioId);
+    }
+
+    public void publicarPost(Post post) {
+        if (post.isAutorOng()) {
+            publicar(new ItemFeed(ItemFeed.Tipo.POST, post.getId(), post.getAutorId(), post.getCriadoEm(), post));
+        }
+    }
+
+    public void publicarEvento(Evento evento) {
+        publicar(new ItemFeed(ItemFeed.Tipo.EVENTO, evento.getId(), evento.getOngResponsavelId(), evento.getCriadoEm(), evento));
+    }
+
+    // Post desativado ou evento cancelado. Nas timelines dos seguidores o item
+    // é descartado na leitura, já que não está mais entre os ativos
+    public void removerPublicacao(UUID publicacaoId) {
+        ItemFeed item = itensAtivos.remove(publicacaoId);
+        if (item != null) {
+            TimelineMaterializada timelineAutor = timelinesPorAutor.get(item.autorId());
+            if (timelineAutor != null) {
+                timelineAutor.remover(item);
+            }
+        }
+    }
+
+    public List<ItemFeed> montarFeed(UUID voluntarioId, int limite) {
+        validarParametros(voluntarioId);
+        if (limite <= 0) {
+            throw new IllegalArgumentException("Limite deve ser maior que zero");
+        }
+
+        TimelineMaterializada materializada = timelinesUsuarios.get(voluntarioId);
+        if (materializada == null) {
+            // A timeline entra vazia no cache antes de ler as ONGs seguidas e
+            // as timelines dos autores: uma publicação simultânea ou já está na
+            // timeline do autor, ou encontra esta no cache e recebe o fan-out.
+            // Um seguimento registrado depois daqui a descarta do cache
+            TimelineMaterializada nova = new TimelineMaterializada(tamanhoTimeline);
+            materializada = timelinesUsuarios.putIfAbsent(voluntarioId, nova);
+            if (materializada == null) {
+                reconstruir(nova, ongsSeguidas.getOrDefault(voluntarioId, Set.of()));
+                materializada = nova;
+            }
+        }
+
+        Set<UUID> ongs = ongsSeguidas.getOrDefault(voluntarioId, Set.of());
+
+        List<Iterator<ItemFeed>> fontes = new ArrayList<>();
+        fontes.add(materializada.iterator());
+        for (UUID ongId : ongs) {
+            TimelineMaterializada timelineAutor = timelinesPorAutor.get(ongId);
+            if (timelineAutor != null && ongsLidasNaLeitura.contains(ongId)) {
+                fontes.add(timelineAutor.iterator());
+            }
+        }
+
+        return intercalar(fontes, limite, ongs);
+    }
+
+    public Map<String, Object> obterEstatisticas() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("timelinesEmCache", timelinesUsuarios.size());
+        stats.put("ongsComFanOutNaLeitura", ongsLidasNaLeitura.size());
+        stats.put("publicacoesAtivas", itensAtivos.size());
+        return stats;
+    }
+
+    // Métodos auxiliares privados
+
+    private void publicar(ItemFeed item) {
+        itensAtivos.put(item.id(), item);
+        timelinesPorAutor.computeIfAbsent(item.autorId(), id -> new TimelineMaterializada(tamanhoTimeline)).adicionar(item);
+
+        Set<UUID> seguidoresDaOng = seguidores.getOrDefault(item.autorId(), Set.of());
+        if (seguidoresDaOng.size() > limiarFanOut) {
+            ongsLidasNaLeitura.add(item.autorId());
+            return;
+        }
+
+        // Fan-out na escrita só para quem tem timeline em cache; os demais
+        // recebem o item quando a timeline for reconstruída
+        for (UUID seguidorId : seguidoresDaOng) {
+            TimelineMaterializada timeline = timelinesUsuarios.get(seguidorId);
+            if (timeline != null) {
+                timeline.adicionar(item);
+            }
+        }
+    }
+
+    private void reconstruir(TimelineMaterializada timeline, Set<UUID> ongs) {
+        List<Iterator<ItemFeed>> fontes = new ArrayList<>();
+        for (UUID ongId : ongs) {
+            TimelineMaterializada timelineAutor = timelinesPorAutor.get(ongId);
+            if (timelineAutor != null && !ongsLidasNaLeitura.contains(ongId)) {
+                fontes.add(timelineAutor.iterator());
+            }
+        }
+
+        intercalar(fontes, tamanhoTimeline, ongs).forEach(timeline::adicionar);
+    }
+
+    // K-way merge das timelines (todas em ordem decrescente) com um heap
+    // das cabeças de cada fonte; custa O(limite * log k)
+    private List<ItemFeed> intercalar(List<Iterator<ItemFeed>> fontes, int limite, Set<UUID> ongsPermitidas) {
+        PriorityQueue<CabecaFonte> cabecas = new PriorityQueue<>(
+                Math.max(fontes.size(), 1),
+                (a, b) -> ItemFeed.MAIS_RECENTES_PRIMEIRO.compare(a.item(), b.item()));
+        for (Iterator<ItemFeed> fonte : fontes) {
+            avancar(fonte, cabecas);
+        }
+
+        List<ItemFeed> resultado = new ArrayList<>(Math.min(limite, 64));
+        Set<UUID> vistos = new HashSet<>();
+        while (resultado.size() < limite && !cabecas.isEmpty()) {
+            CabecaFonte cabeca = cabecas.poll();
+            ItemFeed item = cabeca.item();
+            // Descarta publicações removidas, de ONGs deixadas de seguir e
+            // itens repetidos entre a timeline materializada e a da ONG
+            if (itensAtivos.containsKey(item.id()) && ongsPermitidas.contains(item.autorId()) && vistos.add(item.id())) {
+                resultado.add(item);
+            }
+            avancar(cabeca.fonte(), cabecas);
+        }
+        return resultado;
+    }
+
+    private void avancar(Iterator<ItemFeed> fonte, PriorityQueue<CabecaFonte> cabecas) {
+        if (fonte.hasNext()) {
+            cabecas.add(new CabecaFonte(fonte.next(), fonte));
+        }
+    }
+
+    private void validarParametros(UUID... ids) {
+        for (UUID id : ids) {
+            if (id == null) {
+                throw new IllegalArgumentException("ID não pode ser nulo");
+            }
+        }
+    }
+
+    private record CabecaFonte(ItemFeed item, Iterator<ItemFeed> fonte) {
+    }
+}
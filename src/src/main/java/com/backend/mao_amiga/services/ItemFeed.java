@@ -0,0 +1,38 @@
+package com.backend.mao_amiga.services;
+
+import com.backend.mao_amiga.dto.EventoResposta;
+import com.backend.mao_amiga.dto.PostResposta;
+import com.backend.mao_amiga.models.Evento;
+import com.backend.mao_amiga.models.Post;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Entrada do feed de um voluntário: um post ou um evento publicado por uma ONG.
+ *
+ * @param conteudo o próprio Post ou Evento; vai ao cliente como resposta compacta
+ */
+public record ItemFeed(Tipo tipo, UUID id, UUID autorId, LocalDateTime publicadoEm, Object conteudo) {
+
+    public enum Tipo {
+        POST,
+        EVENTO
+    }
+
+    static final Comparator<ItemFeed> MAIS_RECENTES_PRIMEIRO = Comparator
+            .comparing(ItemFeed::publicadoEm, Comparator.reverseOrder())
+            .thenComparing(ItemFeed::id);
+
+    // A timeline guarda a entidade, para refletir curtidas e vagas atuais;
+    // a conversão acontece só na hora de devolver o feed
+    public ItemFeed comConteudoResumido() {
+        Object resumo = switch (conteudo) {
+            case Post post -> PostResposta.de(post);
+            case Evento evento -> EventoResposta.de(evento);
+            default -> conteudo;
+        };
+        return new ItemFeed(tipo, id, autorId, publicadoEm, resumo);
+    }
+}
@@ -0,0 +1,63 @@
+package com.backend.mao_amiga.services;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Contagem de ocorrências no último minuto, em 60 baldes de um segundo.
+ *
+ * Cada balde guarda o segundo a que pertence; ao registrar em um balde de
+ * uma volta anterior do anel, ele é trocado por um novo. A leitura soma só
+ * os baldes dos últimos 60 segundos, então custa sempre 60 passos.
+ */
+class JanelaPorMinuto {
+
+    private static final int SEGUNDOS = 60;
+
+    private final AtomicReferenceArray<Balde> baldes = new AtomicReferenceArray<>(SEGUNDOS);
+    private final LongSupplier relogioMillis;
+
+    JanelaPorMinuto() {
+        this(System::currentTimeMillis);
+    }
+
+    JanelaPorMinuto(LongSupplier relogioMillis) {
+        this.relogioMillis = relogioMillis;
+    }
+
+    void registrar() {
+        long segundo = segundoAtual();
+        int posicao = (int) (segundo % SEGUNDOS);
+        Balde balde = baldes.get(posicao);
+        while (balde == null || balde.segundo() < segundo) {
+            // Só uma thread troca o balde; as demais usam o que ela instalou
+            Balde novo = new Balde(segundo, new LongAdder());
+            balde = baldes.compareAndSet(posicao, balde, novo) ? novo : baldes.get(posicao);
+        }
+        // Se o anel já passou para um segundo mais novo, a ocorrência ficou
+        // velha demais para a janela e é descartada
+        if (balde.segundo() == segundo) {
+            balde.contador().increment();
+        }
+    }
+
+    long contarUltimoMinuto() {
+        long agora = segundoAtual();
+        long total = 0;
+        for (int i = 0; i < SEGUNDOS; i++) {
+            Balde balde = baldes.get(i);
+            if (balde != null && agora - balde.segundo() < SEGUNDOS) {
+                total += balde.contador().sum();
+            }
+        }
+        return total;
+    }
+
+    private long segundoAtual() {
+        return relogioMillis.getAsLong() / 1000;
+    }
+
+    private record Balde(long segundo, LongAdder contador) {
+    }
+}
@@ -0,0 +1,177 @@
+package com.backend.mao_amiga.services;
+
+import com.backend.mao_amiga.models.enums.ResultadoInscricao;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores da plataforma inteira, alimentados pelos stores de cada módulo.
+ *
+ * Cada store avisa quando grava ou remove um registro, então o dashboard lê
+ * quantidades e taxas em O(1) em vez de consultar cada módulo. Como
+ * {@link MeterBinder}, os mesmos números são publicados no Micrometer
+ * (e em /actuator/prometheus) com o prefixo mao_amiga, junto com os
+ * contadores das operações de domínio mais frequentes (inscrições,
+ * curtidas, avaliações) e o tamanho dos mapas mantidos em memória.
+ */
+@Service
+public class MetricasPlataforma implements MeterBinder {
+
+    public enum Entidade {
+        VOLUNTARIO, ONG, EVENTO, POST, COMENTARIO, AVALIACAO, NOTIFICACAO
+    }
+
+    public enum Taxa {
+        EVENTOS_CRIADOS, CADASTROS, INSCRICOES
+    }
+
+    // Os EnumMaps são preenchidos no construtor e nunca mais alterados
+    private final Map<Entidade, LongAdder> criados = new EnumMap<>(Entidade.class);
+    private final Map<Entidade, LongAdder> removidos = new EnumMap<>(Entidade.class);
+    private final Map<Taxa, JanelaPorMinuto> taxas = new EnumMap<>(Taxa.class);
+    private final Map<ResultadoInscricao, LongAdder> inscricoes = new EnumMap<>(ResultadoInscricao.class);
+    private final Map<Entidade, AtomicReference<Map<?, ?>>> storesEmMemoria = new EnumMap<>(Entidade.class);
+    private final LongAdder curtidas = new LongAdder();
+    private final LongAdder descurtidas = new LongAdder();
+    private final LongAdder avaliacoesAceitas = new LongAdder();
+    private final LongAdder avaliacoesRecusadas = new LongAdder();
+
+    public MetricasPlataforma() {
+        for (Entidade entidade : Entidade.values()) {
+            criados.put(entidade, new LongAdder());
+            removidos.put(entidade, new LongAdder());
+            storesEmMemoria.put(entidade, new AtomicReference<>());
+        }
+        for (ResultadoInscricao resultado : ResultadoInscricao.values()) {
+            inscricoes.put(resultado, new LongAdder());
+        }
+        for (Taxa taxa : Taxa.values()) {
+            taxas.put(taxa, new JanelaPorMinuto());
+        }
+    }
+
+    public void registrarCriacao(Entidade entidade) {
+        criados.get(entidade).increment();
+        switch (entidade) {
+            case VOLUNTARIO, ONG -> taxas.get(Taxa.CADASTROS).registrar();
+            case EVENTO -> taxas.get(Taxa.EVENTOS_CRIADOS).registrar();
+            default -> { }
+        }
+    }
+
+    // Registros lidos do armazenamento ao subir a aplicação: entram nas quantidades,
+    // mas não nas taxas por minuto
+    public void registrarExistentes(Entidade entidade, long quantidade) {
+        criados.get(entidade).add(quantidade);
+    }
+
+    // Só para registros que de fato saem do store; desativações não contam
+    public void registrarRemocao(Entidade entidade) {
+        removidos.get(entidade).increment();
+    }
+
+    // Inscrições recusadas entram no contador por resultado, mas não na taxa
+    public void registrarInscricao(ResultadoInscricao resultado) {
+        inscricoes.get(resultado).increment();
+        if (resultado != ResultadoInscricao.RECUSADO) {
+            taxas.get(Taxa.INSCRICOES).registrar();
+        }
+    }
+
+    // Só curtidas que mudaram o post; repetidas não contam
+    public void registrarCurtida(boolean curtiu) {
+        (curtiu ? curtidas : descurtidas).increment();
+    }
+
+    public void registrarAvaliacao(boolean aceita) {
+        (aceita ? avaliacoesAceitas : avaliacoesRecusadas).increment();
+    }
+
+    // Mapa principal do store em memória da entidade, lido pelo gauge a cada coleta
+    public void monitorarStore(Entidade entidade, Map<?, ?> store) {
+        storesEmMemoria.get(entidade).set(store);
+    }
+
+    public int tamanhoEmMemoria(Entidade entidade) {
+        Map<?, ?> store = storesEmMemoria.get(entidade).get();
+        return store != null ? store.size() : 0;
+    }
+
+    public long quantidade(Entidade entidade) {
+        return criados.get(entidade).sum() - removidos.get(entidade).sum();
+    }
+
+    public long porMinuto(Taxa taxa) {
+        return taxas.get(taxa).contarUltimoMinuto();
+    }
+
+    public Map<String, Object> obterDashboard() {
+        long voluntarios = quantidade(Entidade.VOLUNTARIO);
+        long ongs = quantidade(Entidade.ONG);
+
+        Map<String, Object> dashboard = new HashMap<>();
+        dashboard.put("totalUsuarios", voluntarios + ongs);
+        dashboard.put("totalVoluntarios", voluntarios);
+        dashboard.put("totalOngs", ongs);
+        dashboard.put("totalEventos", quantidade(Entidade.EVENTO));
+        dashboard.put("totalPosts", quantidade(Entidade.POST));
+        dashboard.put("totalComentarios", quantidade(Entidade.COMENTARIO));
+        dashboard.put("totalAvaliacoes", quantidade(Entidade.AVALIACAO));
+        dashboard.put("totalNotificacoes", quantidade(Entidade.NOTIFICACAO));
+        dashboard.put("eventosCriadosPorMinuto", porMinuto(Taxa.EVENTOS_CRIADOS));
+        dashboard.put("cadastrosPorMinuto", porMinuto(Taxa.CADASTROS));
+        dashboard.put("inscricoesPorMinuto", porMinuto(Taxa.INSCRICOES));
+        return dashboard;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Entidade entidade : Entidade.values()) {
+            String tipo = entidade.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("mao_amiga.entidades", this, metricas -> metricas.quantidade(entidade))
+                    .description("Registros atualmente nos stores")
+                    .tag("tipo", tipo)
+                    .register(registry);
+            FunctionCounter.builder("mao_amiga.entidades.criadas", criados.get(entidade), LongAdder::sum)
+                    .tag("tipo", tipo)
+                    .register(registry);
+            Gauge.builder("mao_amiga.memoria.registros", this, metricas -> metricas.tamanhoEmMemoria(entidade))
+                    .description("Registros no mapa em memória do store")
+                    .tag("tipo", tipo)
+                    .register(registry);
+        }
+        for (ResultadoInscricao resultado : ResultadoInscricao.values()) {
+            FunctionCounter.builder("mao_amiga.inscricoes", inscricoes.get(resultado), LongAdder::sum)
+                    .tag("resultado", resultado.name().toLowerCase(Locale.ROOT))
+                    .register(registry);
+        }
+        FunctionCounter.builder("mao_amiga.curtidas", curtidas, LongAdder::sum)
+                .tag("acao", "curtir")
+                .register(registry);
+        FunctionCounter.builder("mao_amiga.curtidas", descurtidas, LongAdder::sum)
+                .tag("acao", "descurtir")
+                .register(registry);
+        FunctionCounter.builder("mao_amiga.avaliacoes.enviadas", avaliacoesAceitas, LongAdder::sum)
+                .tag("resultado", "aceita")
+                .register(registry);
+        FunctionCounter.builder("mao_amiga.avaliacoes.enviadas", avaliacoesRecusadas, LongAdder::sum)
+                .tag("resultado", "recusada")
+                .register(registry);
+        for (Taxa taxa : Taxa.values()) {
+            Gauge.builder("mao_amiga.taxa.por_minuto", this, metricas -> metricas.porMinuto(taxa))
+                    .description("Ocorrências nos últimos 60 segundos")
+                    .tag("tipo", taxa.name().toLowerCase(Locale.ROOT))
+                    .register(registry);
+        }
+    }
+}
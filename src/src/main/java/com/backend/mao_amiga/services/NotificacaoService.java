@@ -2,6 +2,8 @@ package com.backend.mao_amiga.services;
 
 import com.backend.mao_amiga.models.Notificacao;
 import com.backend.mao_amiga.models.enums.TipoNotificacao;
+import com.backend.mao_amiga.repositories.Armazenamento;
+import jakarta.annotation.PostConstruct;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -13,6 +15,30 @@ import java.util.stream.Collectors;
 public class NotificacaoService {
     
     private final Map<UUID, Notificacao> notificacoes = new ConcurrentHashMap<>();
+    // Índice por destinatário, evita varrer todas as notificações a cada consulta
+    private final Map<UUID, CaixaEntradaNotificacoes> caixasEntrada = new ConcurrentHashMap<>();
+
+    private final NotificacaoTempoRealService notificacaoTempoReal;
+    private final MetricasPlataforma metricas;
+
+    // Motor escolhido pelo perfil ativo (ver ArmazenamentoConfig)
+    private final Armazenamento<Notificacao> armazenamento;
+
+    public NotificacaoService(NotificacaoTempoRealService notificacaoTempoReal, MetricasPlataforma metricas,
+                              Armazenamento<Notificacao> armazenamento) {
+        this.notificacaoTempoReal = notificacaoTempoReal;
+        this.metricas = metricas;
+        this.armazenamento = armazenamento;
+    }
+
+    // Remonta as caixas de entrada a partir do armazenamento, sem republicar em tempo real
+    @PostConstruct
+    public void carregarSalvos() {
+        List<Notificacao> salvas = armazenamento.listarTodos();
+        salvas.forEach(this::indexar);
+        metricas.registrarExistentes(MetricasPlataforma.Entidade.NOTIFICACAO, salvas.size());
+        metricas.monitorarStore(MetricasPlataforma.Entidade.NOTIFICACAO, notificacoes);
+    }
 
     // Cria notificação de avaliação recebida
     public Notificacao criarNotificacaoAvaliacao(UUID usuarioDestinoId, String tipoDestino, UUID avaliadorId) {
@@ -32,6 +58,13 @@ public class NotificacaoService {
 
     // Cria notificações para novo evento
     public List<Notificacao> criarNotificacoesNovoEvento(UUID eventoId, UUID ongId, List<UUID> seguidoresIds) {
+        return salvarNotificacoes(montarNotificacoesNovoEvento(eventoId, ongId, seguidoresIds));
+    }
+
+    // Os métodos montar* só criam as notificações, sem gravar: a distribuição em
+    // lotes monta cada lote uma vez e repete as mesmas instâncias (e IDs) ao
+    // tentar de novo, em vez de duplicar as que já tinham sido gravadas
+    List<Notificacao> montarNotificacoesNovoEvento(UUID eventoId, UUID ongId, List<UUID> seguidoresIds) {
         validarParametros(eventoId, ongId);
         if (seguidoresIds == null || seguidoresIds.isEmpty()) {
             return new ArrayList<>();
@@ -50,7 +83,7 @@ public class NotificacaoService {
                 notificacao.setUsuarioOrigemId(ongId);
                 notificacao.setEventoRelacionadoId(eventoId);
                 
-                notificacoesCriadas.add(salvarNotificacao(notificacao));
+                notificacoesCriadas.add(notificacao);
             }
         }
         
@@ -72,6 +105,21 @@ public class NotificacaoService {
         return salvarNotificacao(notificacao);
     }
 
+    // Avisa o voluntário que saiu da lista de espera e ganhou a vaga
+    public Notificacao criarNotificacaoPromocaoListaEspera(UUID voluntarioId, UUID ongId, UUID eventoId) {
+        validarParametros(voluntarioId, ongId, eventoId);
+        
+        Notificacao notificacao = new Notificacao(
+            TipoNotificacao.INSCRICAO_EVENTO,
+            "Uma vaga foi liberada e sua inscrição no evento foi confirmada!",
+            voluntarioId
+        );
+        notificacao.setUsuarioOrigemId(ongId);
+        notificacao.setEventoRelacionadoId(eventoId);
+        
+        return salvarNotificacao(notificacao);
+    }
+
     // Cria notificações para cancelamento de evento
     public List<Notificacao> criarNotificacoesCancelamentoEvento(UUID eventoId, List<UUID> voluntariosInscritos) {
         validarParametros(eventoId);
@@ -91,10 +139,41 @@ public class NotificacaoService {
                 );
                 notificacao.setEventoRelacionadoId(eventoId);
                 
-                notificacoesCriadas.add(salvarNotificacao(notificacao));
+                notificacoesCriadas.add(notificacao);
             }
         }
         
+        return salvarNotificacoes(notificacoesCriadas);
+    }
+
+    // Lembrete do evento para os inscritos, disparado pelo CicloVidaEventos
+    public List<Notificacao> criarNotificacoesLembreteEvento(UUID eventoId, UUID ongId, List<UUID> voluntariosInscritos) {
+        return salvarNotificacoes(montarNotificacoesLembreteEvento(eventoId, ongId, voluntariosInscritos));
+    }
+
+    List<Notificacao> montarNotificacoesLembreteEvento(UUID eventoId, UUID ongId, List<UUID> voluntariosInscritos) {
+        validarParametros(eventoId, ongId);
+        if (voluntariosInscritos == null || voluntariosInscritos.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String mensagem = "Lembrete: um evento em que você está inscrito começa em breve.";
+        List<Notificacao> notificacoesCriadas = new ArrayList<>();
+
+        for (UUID voluntarioId : voluntariosInscritos) {
+            if (voluntarioId != null) {
+                Notificacao notificacao = new Notificacao(
+                    TipoNotificacao.LEMBRETE_EVENTO,
+                    mensagem,
+                    voluntarioId
+                );
+                notificacao.setUsuarioOrigemId(ongId);
+                notificacao.setEventoRelacionadoId(eventoId);
+
+                notificacoesCriadas.add(notificacao);
+            }
+        }
+
         return notificacoesCriadas;
     }
 
@@ -114,6 +193,10 @@ public class NotificacaoService {
 
     // Cria notificações para novo post
     public List<Notificacao> criarNotificacoesNovoPost(UUID postId, UUID autorId, List<UUID> seguidoresIds) {
+        return salvarNotificacoes(montarNotificacoesNovoPost(postId, autorId, seguidoresIds));
+    }
+
+    List<Notificacao> montarNotificacoesNovoPost(UUID postId, UUID autorId, List<UUID> seguidoresIds) {
         validarParametros(postId, autorId);
         if (seguidoresIds == null || seguidoresIds.isEmpty()) {
             return new ArrayList<>();
@@ -131,43 +214,46 @@ public class NotificacaoService {
                 );
                 notificacao.setUsuarioOrigemId(autorId);
                 
-                notificacoesCriadas.add(salvarNotificacao(notificacao));
+                notificacoesCriadas.add(notificacao);
             }
         }
         
         return notificacoesCriadas;
     }
 
+    // Grava um lote já montado. Gravar de novo as mesmas instâncias não duplica:
+    // o ID é o mesmo, então a linha e a entrada na caixa também são
+    List<Notificacao> gravarLote(List<Notificacao> lote) {
+        return salvarNotificacoes(lote);
+    }
+
     // Lista notificações não lidas de um usuário
     public List<Notificacao> buscarNotificacoesNaoLidas(UUID usuarioId) {
         validarParametros(usuarioId);
         
-        return notificacoes.values().stream()
-            .filter(notificacao -> notificacao.getUsuarioDestinoId().equals(usuarioId))
-            .filter(notificacao -> !notificacao.isLida())
-            .sorted((n1, n2) -> n2.getCriadaEm().compareTo(n1.getCriadaEm()))
-            .collect(Collectors.toList());
+        CaixaEntradaNotificacoes caixa = caixasEntrada.get(usuarioId);
+        return caixa != null ? caixa.listarNaoLidas() : new ArrayList<>();
     }
 
     // Lista todas as notificações de um usuário
     public List<Notificacao> buscarTodasNotificacoes(UUID usuarioId, int limite) {
         validarParametros(usuarioId);
         
-        return notificacoes.values().stream()
-            .filter(notificacao -> notificacao.getUsuarioDestinoId().equals(usuarioId))
-            .sorted((n1, n2) -> n2.getCriadaEm().compareTo(n1.getCriadaEm()))
-            .limit(Math.max(1, limite))
-            .collect(Collectors.toList());
+        CaixaEntradaNotificacoes caixa = caixasEntrada.get(usuarioId);
+        return caixa != null ? caixa.listar(Math.max(1, limite)) : new ArrayList<>();
     }
 
     // Marca todas as notificações como lidas para um usuário
     public int marcarTodasComoLidas(UUID usuarioId) {
         validarParametros(usuarioId);
         
-        List<Notificacao> notificacoesNaoLidas = buscarNotificacoesNaoLidas(usuarioId);
-        notificacoesNaoLidas.forEach(Notificacao::marcarComoLida);
-        
-        return notificacoesNaoLidas.size();
+        CaixaEntradaNotificacoes caixa = caixasEntrada.get(usuarioId);
+        if (caixa == null) {
+            return 0;
+        }
+        List<Notificacao> marcadas = caixa.marcarTodasComoLidas();
+        armazenamento.salvarTodos(marcadas);
+        return marcadas.size();
     }
 
     // Marca uma notificação específica como lida
@@ -183,7 +269,13 @@ public class NotificacaoService {
             throw new IllegalArgumentException("Usuário não autorizado");
         }
         
-        notificacao.marcarComoLida();
+        CaixaEntradaNotificacoes caixa = caixasEntrada.get(usuarioId);
+        if (caixa != null) {
+            caixa.marcarComoLida(notificacao);
+        } else {
+            notificacao.marcarComoLida();
+        }
+        armazenamento.salvar(notificacao);
         return true;
     }
 
@@ -191,24 +283,28 @@ public class NotificacaoService {
     public int limparNotificacoesAntigas() {
         LocalDateTime dataLimite = LocalDateTime.now().minusDays(30);
         
-        List<UUID> idsParaRemover = notificacoes.values().stream()
-            .filter(notificacao -> notificacao.isLida())
-            .filter(notificacao -> notificacao.getCriadaEm().isBefore(dataLimite))
-            .map(Notificacao::getId)
-            .collect(Collectors.toList());
-        
-        idsParaRemover.forEach(notificacoes::remove);
-        return idsParaRemover.size();
+        List<UUID> removidas = new ArrayList<>();
+        for (UUID usuarioId : caixasEntrada.keySet()) {
+            CaixaEntradaNotificacoes caixa = caixasEntrada.get(usuarioId);
+            if (caixa == null) {
+                continue;
+            }
+            caixa.removerLidasAnterioresA(dataLimite, id -> {
+                removerDoStore(id);
+                removidas.add(id);
+            });
+            caixasEntrada.computeIfPresent(usuarioId, (id, atual) -> atual.estaVazia() ? null : atual);
+        }
+        armazenamento.removerTodos(removidas);
+        return removidas.size();
     }
 
     // Conta notificações não lidas de um usuário
     public long contarNotificacoesNaoLidas(UUID usuarioId) {
         validarParametros(usuarioId);
         
-        return notificacoes.values().stream()
-            .filter(notificacao -> notificacao.getUsuarioDestinoId().equals(usuarioId))
-            .filter(notificacao -> !notificacao.isLida())
-            .count();
+        CaixaEntradaNotificacoes caixa = caixasEntrada.get(usuarioId);
+        return caixa != null ? caixa.contarNaoLidas() : 0L;
     }
 
     // Busca uma notificação específica
@@ -230,7 +326,12 @@ public class NotificacaoService {
             throw new IllegalArgumentException("Usuário não autorizado");
         }
         
-        notificacoes.remove(notificacaoId);
+        removerDoStore(notificacaoId);
+        armazenamento.remover(notificacaoId);
+        CaixaEntradaNotificacoes caixa = caixasEntrada.get(usuarioId);
+        if (caixa != null) {
+            caixa.remover(notificacao);
+        }
         return true;
     }
 
@@ -260,10 +361,42 @@ public class NotificacaoService {
     // Métodos auxiliares privados
     
     private Notificacao salvarNotificacao(Notificacao notificacao) {
-        notificacoes.put(notificacao.getId(), notificacao);
+        armazenamento.salvar(notificacao);
+        registrar(notificacao);
         return notificacao;
     }
 
+    // Fan-out: a lista inteira é gravada de uma vez (saveAll em lotes JDBC no motor JPA)
+    private List<Notificacao> salvarNotificacoes(List<Notificacao> novas) {
+        armazenamento.salvarTodos(novas);
+        novas.forEach(this::registrar);
+        return novas;
+    }
+
+    private void registrar(Notificacao notificacao) {
+        if (indexar(notificacao)) {
+            metricas.registrarCriacao(MetricasPlataforma.Entidade.NOTIFICACAO);
+        }
+        notificacaoTempoReal.publicar(notificacao);
+    }
+
+    private boolean indexar(Notificacao notificacao) {
+        boolean nova = notificacoes.put(notificacao.getId(), notificacao) == null;
+        // compute mantém a inserção atômica em relação à limpeza de caixas vazias
+        caixasEntrada.compute(notificacao.getUsuarioDestinoId(), (usuarioId, caixa) -> {
+            CaixaEntradaNotificacoes destino = caixa != null ? caixa : new CaixaEntradaNotificacoes();
+            destino.adicionar(notificacao);
+            return destino;
+        });
+        return nova;
+    }
+
+    private void removerDoStore(UUID notificacaoId) {
+        if (notificacoes.remove(notificacaoId) != null) {
+            metricas.registrarRemocao(MetricasPlataforma.Entidade.NOTIFICACAO);
+        }
+    }
+
     private String construirMensagemAvaliacao(String tipoDestino) {
         return "ONG".equalsIgnoreCase(tipoDestino) ? 
             "Você recebeu uma nova avaliação de um voluntário!" :
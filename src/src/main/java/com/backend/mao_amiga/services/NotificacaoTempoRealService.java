@@ -0,0 +1,154 @@
+package com.backend.mao_amiga.services;
+
+import com.backend.mao_amiga.models.Notificacao;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Canal de push (Server-Sent Events) das notificações por usuário.
+ *
+ * Cada conexão aberta é só um SseEmitter assíncrono: a thread do Tomcat
+ * é liberada assim que o endpoint retorna, e os envios rodam em virtual
+ * threads, então milhares de clientes conectados não ocupam o pool de
+ * workers nem travam quem cria a notificação. Os envios de um mesmo
+ * usuário passam por uma fila consumida por uma tarefa de cada vez, então
+ * chegam na ordem em que foram publicados.
+ */
+@Service
+public class NotificacaoTempoRealService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificacaoTempoRealService.class);
+
+    private final Map<UUID, ConexoesUsuario> conexoes = new ConcurrentHashMap<>();
+    private final ExecutorService envios = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${mao-amiga.notificacoes.sse.timeout-ms:1800000}")
+    private long timeoutMs = 1_800_000L;
+
+    // Abre uma conexão para o usuário e já envia o contador atual de não lidas
+    public SseEmitter conectar(UUID usuarioId, long quantidadeNaoLidas) {
+        if (usuarioId == null) {
+            throw new IllegalArgumentException("ID não pode ser nulo");
+        }
+
+        SseEmitter emissor = new SseEmitter(timeoutMs);
+        emissor.onCompletion(() -> desconectar(usuarioId, emissor));
+        emissor.onTimeout(() -> desconectar(usuarioId, emissor));
+        emissor.onError(erro -> desconectar(usuarioId, emissor));
+
+        conexoes.compute(usuarioId, (id, atual) -> {
+            ConexoesUsuario destino = atual != null ? atual : new ConexoesUsuario();
+            // O contador entra na fila antes de a conexão ficar visível para publicar()
+            destino.enfileirar(() -> enviar(usuarioId, emissor, SseEmitter.event()
+                    .name("contador")
+                    .data(Map.of("naoLidas", quantidadeNaoLidas))));
+            destino.emissores.add(emissor);
+            return destino;
+        });
+        return emissor;
+    }
+
+    // Publica a notificação para todas as conexões abertas do destinatário
+    public void publicar(Notificacao notificacao) {
+        UUID usuarioId = notificacao.getUsuarioDestinoId();
+        ConexoesUsuario conexoesUsuario = conexoes.get(usuarioId);
+        if (conexoesUsuario == null) {
+            return;
+        }
+
+        for (SseEmitter emissor : conexoesUsuario.emissores) {
+            conexoesUsuario.enfileirar(() -> enviar(usuarioId, emissor, SseEmitter.event()
+                    .id(notificacao.getId().toString())
+                    .name("notificacao")
+                    .data(notificacao)));
+        }
+    }
+
+    // Comentário periódico para manter proxies abertos e descobrir conexões mortas
+    @Scheduled(fixedRateString = "${mao-amiga.notificacoes.sse.heartbeat-ms:25000}")
+    public void enviarHeartbeat() {
+        conexoes.forEach((usuarioId, conexoesUsuario) -> {
+            for (SseEmitter emissor : conexoesUsuario.emissores) {
+                conexoesUsuario.enfileirar(() -> enviar(usuarioId, emissor, SseEmitter.event().comment("heartbeat")));
+            }
+        });
+    }
+
+    public int contarConexoesAbertas() {
+        return conexoes.values().stream().mapToInt(conexoesUsuario -> conexoesUsuario.emissores.size()).sum();
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        conexoes.values().forEach(conexoesUsuario -> conexoesUsuario.emissores.forEach(SseEmitter::complete));
+        conexoes.clear();
+        envios.shutdown();
+    }
+
+    // Métodos auxiliares privados
+
+    private void enviar(UUID usuarioId, SseEmitter emissor, SseEmitter.SseEventBuilder evento) {
+        try {
+            emissor.send(evento);
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectou; o Spring também chama onError, mas removemos já
+            desconectar(usuarioId, emissor);
+            emissor.completeWithError(e);
+        }
+    }
+
+    private void desconectar(UUID usuarioId, SseEmitter emissor) {
+        conexoes.computeIfPresent(usuarioId, (id, conexoesUsuario) -> {
+            conexoesUsuario.emissores.remove(emissor);
+            return conexoesUsuario.emissores.isEmpty() ? null : conexoesUsuario;
+        });
+    }
+
+    // Conexões abertas de um usuário e a fila de envios para elas. Só uma
+    // tarefa consome a fila por vez; a próxima é agendada quando chega um
+    // envio e ninguém está consumindo
+    private final class ConexoesUsuario {
+
+        private final Set<SseEmitter> emissores = ConcurrentHashMap.newKeySet();
+        private final Queue<Runnable> pendentes = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean consumindo = new AtomicBoolean();
+
+        void enfileirar(Runnable envio) {
+            pendentes.add(envio);
+            if (consumindo.compareAndSet(false, true)) {
+                envios.execute(this::consumir);
+            }
+        }
+
+        private void consumir() {
+            do {
+                Runnable envio;
+                while ((envio = pendentes.poll()) != null) {
+                    try {
+                        envio.run();
+                    } catch (RuntimeException e) {
+                        log.error("Falha inesperada ao enviar evento SSE", e);
+                    }
+                }
+                consumindo.set(false);
+                // Um envio pode ter entrado entre o último poll e a liberação
+            } while (!pendentes.isEmpty() && consumindo.compareAndSet(false, true));
+        }
+    }
+}
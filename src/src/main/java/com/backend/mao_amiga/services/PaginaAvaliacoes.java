@@ -0,0 +1,13 @@
+package com.backend.mao_amiga.services;
+
+import com.backend.mao_amiga.models.Avaliacao;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Página de avaliações e o cursor da próxima página: o ID da última
+ * avaliação entregue, ou null quando não há mais avaliações.
+ */
+public record PaginaAvaliacoes(List<Avaliacao> avaliacoes, UUID proximoCursor) {
+}
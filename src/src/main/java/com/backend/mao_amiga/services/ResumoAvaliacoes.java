@@ -0,0 +1,42 @@
+package com.backend.mao_amiga.services;
+
+/**
+ * Agregado das avaliações ativas recebidas por um usuário.
+ *
+ * Imutável: cada nova avaliação ou remoção gera um novo resumo, então a
+ * leitura da média não precisa de lock.
+ *
+ * @param histograma quantidade de avaliações por nota arredondada (índice 0 = nota 1)
+ */
+public record ResumoAvaliacoes(long quantidade, double soma, long[] histograma) {
+
+    public static final ResumoAvaliacoes VAZIO = new ResumoAvaliacoes(0, 0.0, new long[5]);
+
+    public ResumoAvaliacoes {
+        histograma = histograma.clone();
+    }
+
+    public float media() {
+        return quantidade == 0 ? 0.0f : (float) (soma / quantidade);
+    }
+
+    @Override
+    public long[] histograma() {
+        return histograma.clone();
+    }
+
+    ResumoAvaliacoes comNota(float nota) {
+        return ajustar(nota, 1);
+    }
+
+    ResumoAvaliacoes semNota(float nota) {
+        return ajustar(nota, -1);
+    }
+
+    private ResumoAvaliacoes ajustar(float nota, int delta) {
+        long[] novoHistograma = histograma.clone();
+        int faixa = Math.min(Math.max(Math.round(nota), 1), 5) - 1;
+        novoHistograma[faixa] += delta;
+        return new ResumoAvaliacoes(quantidade + delta, soma + delta * (double) nota, novoHistograma);
+    }
+}
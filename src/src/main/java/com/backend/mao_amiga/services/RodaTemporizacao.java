@@ -0,0 +1,114 @@
+package com.backend.mao_amiga.services;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Roda de temporização hierárquica (Varghese e Lauck): 6 níveis de 64
+ * posições, com 1 tick por posição no primeiro nível, 64 ticks no segundo,
+ * 4096 no terceiro e assim por diante, cobrindo 64^6 ticks à frente.
+ *
+ * Agendar é O(1): o item vai para o nível cuja faixa contém a distância até
+ * o vencimento. A cada volta completa de um nível, a posição seguinte do
+ * nível de cima é redistribuída nos níveis de baixo. Avançar um tick toca
+ * só nos itens que vencem nele ou que descem de nível, nunca na roda
+ * inteira.
+ *
+ * Não é thread-safe; quem usa serializa o acesso.
+ */
+class RodaTemporizacao<T> {
+
+    private static final int BITS_POR_NIVEL = 6;
+    private static final int POSICOES = 1 << BITS_POR_NIVEL;
+    private static final int MASCARA = POSICOES - 1;
+    private static final int NIVEIS = 6;
+    private static final long ALCANCE = 1L << (BITS_POR_NIVEL * NIVEIS);
+
+    private record Entrada<T>(long vencimento, T item) {
+    }
+
+    private final ArrayDeque<Entrada<T>>[][] niveis;
+    private long tickAtual;
+    private int tamanho;
+
+    @SuppressWarnings("unchecked")
+    RodaTemporizacao(long tickInicial) {
+        this.tickAtual = tickInicial;
+        this.niveis = new ArrayDeque[NIVEIS][POSICOES];
+        for (ArrayDeque<Entrada<T>>[] nivel : niveis) {
+            for (int i = 0; i < POSICOES; i++) {
+                nivel[i] = new ArrayDeque<>();
+            }
+        }
+    }
+
+    // Vencimentos no passado ou no tick atual saem no próximo avanço
+    void agendar(long vencimento, T item) {
+        tamanho++;
+        inserir(new Entrada<>(Math.max(vencimento, tickAtual + 1), item));
+    }
+
+    // Devolve os itens vencidos até o tick informado, em ordem de vencimento
+    List<T> avancarAte(long tick) {
+        List<T> vencidos = new ArrayList<>();
+        while (tickAtual < tick) {
+            tickAtual++;
+            // Do nível mais alto para o mais baixo: o que desce de um nível
+            // pode cair justamente na posição que o nível de baixo redistribui agora
+            for (int nivel = NIVEIS - 1; nivel > 0; nivel--) {
+                if ((tickAtual & ((1L << (BITS_POR_NIVEL * nivel)) - 1)) == 0) {
+                    redistribuir(niveis[nivel][posicao(tickAtual, nivel)]);
+                }
+            }
+
+            ArrayDeque<Entrada<T>> posicaoAtual = niveis[0][posicao(tickAtual, 0)];
+            Entrada<T> entrada;
+            while ((entrada = posicaoAtual.pollFirst()) != null) {
+                vencidos.add(entrada.item());
+                tamanho--;
+            }
+        }
+        return vencidos;
+    }
+
+    long tickAtual() {
+        return tickAtual;
+    }
+
+    int tamanho() {
+        return tamanho;
+    }
+
+    private void inserir(Entrada<T> entrada) {
+        long distancia = entrada.vencimento() - tickAtual;
+        if (distancia >= ALCANCE) {
+            // Além do alcance: estaciona no último nível e é reavaliado ao descer
+            niveis[NIVEIS - 1][posicao(tickAtual + ALCANCE - 1, NIVEIS - 1)].add(entrada);
+            return;
+        }
+
+        int nivel = 0;
+        while (distancia >= (1L << (BITS_POR_NIVEL * (nivel + 1)))) {
+            nivel++;
+        }
+        niveis[nivel][posicao(entrada.vencimento(), nivel)].add(entrada);
+    }
+
+    private void redistribuir(ArrayDeque<Entrada<T>> posicao) {
+        List<Entrada<T>> descendo = new ArrayList<>(posicao);
+        posicao.clear();
+        for (Entrada<T> entrada : descendo) {
+            if (entrada.vencimento() <= tickAtual) {
+                // Vence exatamente neste tick: vai para a posição atual do primeiro nível
+                niveis[0][posicao(tickAtual, 0)].add(entrada);
+            } else {
+                inserir(entrada);
+            }
+        }
+    }
+
+    private static int posicao(long tick, int nivel) {
+        return (int) ((tick >>> (BITS_POR_NIVEL * nivel)) & MASCARA);
+    }
+}
@@ -0,0 +1,27 @@
+package com.backend.mao_amiga.services;
+
+import com.backend.mao_amiga.models.enums.TipoNotificacao;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Pedido de distribuição de uma notificação para vários destinatários
+ * (ex.: seguidores de uma ONG), processado em segundo plano.
+ *
+ * @param referenciaId evento ou post que originou a notificação
+ */
+public record TarefaDistribuicao(
+        UUID id,
+        TipoNotificacao tipo,
+        UUID origemId,
+        UUID referenciaId,
+        List<UUID> destinatarios,
+        LocalDateTime criadaEm) {
+
+    public TarefaDistribuicao(TipoNotificacao tipo, UUID origemId, UUID referenciaId, List<UUID> destinatarios) {
+        this(UUID.randomUUID(), tipo, origemId, referenciaId, destinatarios.stream().filter(Objects::nonNull).toList(), LocalDateTime.now());
+    }
+}
@@ -0,0 +1,54 @@
+package com.backend.mao_amiga.services;
+
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lista limitada de itens do feed, do mais recente para o mais antigo.
+ *
+ * Quando passa da capacidade, descarta os itens mais antigos. As leituras
+ * percorrem o skip list sem lock; só as escritas são serializadas.
+ */
+class TimelineMaterializada {
+
+    private final int capacidade;
+    private final NavigableSet<ItemFeed> itens = new ConcurrentSkipListSet<>(ItemFeed.MAIS_RECENTES_PRIMEIRO);
+    private final ReentrantLock travaEscrita = new ReentrantLock();
+    private int tamanho;
+
+    TimelineMaterializada(int capacidade) {
+        this.capacidade = capacidade;
+    }
+
+    void adicionar(ItemFeed item) {
+        travaEscrita.lock();
+        try {
+            if (!itens.add(item)) {
+                return;
+            }
+            tamanho++;
+            while (tamanho > capacidade && itens.pollLast() != null) {
+                tamanho--;
+            }
+        } finally {
+            travaEscrita.unlock();
+        }
+    }
+
+    void remover(ItemFeed item) {
+        travaEscrita.lock();
+        try {
+            if (itens.remove(item)) {
+                tamanho--;
+            }
+        } finally {
+            travaEscrita.unlock();
+        }
+    }
+
+    Iterator<ItemFeed> iterator() {
+        return itens.iterator();
+    }
+}
@@ -4,7 +4,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
-// Testes usando PostgreSQL
+// Contexto completo com o perfil de testes: armazenamento em memória, sem PostgreSQL
 @SpringBootTest
 @ActiveProfiles("test")
 class MaoAmigaApplicationTests {
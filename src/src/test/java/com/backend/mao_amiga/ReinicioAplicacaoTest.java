@@ -0,0 +1,185 @@
+package com.backend.mao_amiga;
+
+import com.backend.mao_amiga.controllers.AvaliacaoController;
+import com.backend.mao_amiga.controllers.ComentarioController;
+import com.backend.mao_amiga.controllers.EventoController;
+import com.backend.mao_amiga.controllers.OngController;
+import com.backend.mao_amiga.controllers.PostController;
+import com.backend.mao_amiga.dto.EventoResposta;
+import com.backend.mao_amiga.dto.OngResposta;
+import com.backend.mao_amiga.dto.PostResposta;
+import com.backend.mao_amiga.models.Avaliacao;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Sobe a aplicação duas vezes sobre o mesmo banco H2, como um reinício do run.sh
+class ReinicioAplicacaoTest {
+
+    // Argumentos de linha de comando têm precedência sobre o -Dspring.profiles.active=test do test.sh
+    private static final String[] ARGUMENTOS = {
+        "--spring.profiles.active=jpa",
+        "--spring.datasource.url=jdbc:h2:mem:reinicio;DB_CLOSE_DELAY=-1",
+        "--spring.datasource.driverClassName=org.h2.Driver",
+        "--spring.datasource.username=sa",
+        "--spring.datasource.password=",
+        "--spring.jpa.show-sql=false"
+    };
+
+    @Test
+    @DisplayName("Deve manter ONGs, eventos e inscrições após reiniciar a aplicação")
+    void deveManterDadosAposReinicio() {
+        UUID ongId;
+        UUID eventoId;
+        UUID voluntarioId = UUID.randomUUID();
+
+        try (ConfigurableApplicationContext contexto = iniciar()) {
+            OngController ongController = contexto.getBean(OngController.class);
+            EventoController eventoController = contexto.getBean(EventoController.class);
+
+            ongId = ongController.criarOng(Map.of(
+                "email", "reinicio@ong.com",
+                "senha", "senha123",
+                "nomeCompleto", "ONG Reinício",
+                "cnpj", "12.345.678/0001-90"
+            )).getBody().id();
+
+            eventoId = criarEventoAberto(eventoController, ongId);
+            assertEquals(HttpStatus.OK, eventoController.inscreverVoluntario(eventoId, voluntarioId).getStatusCode());
+        }
+
+        try (ConfigurableApplicationContext contexto = iniciar()) {
+            OngResposta ong = contexto.getBean(OngController.class).buscarOng(ongId, null).getBody();
+            EventoResposta evento = contexto.getBean(EventoController.class)
+                    .buscarEvento(eventoId, "inscritos").getBody();
+
+            assertNotNull(ong);
+            assertEquals("ONG Reinício", ong.nomeCompleto());
+            assertNotNull(evento);
+            assertEquals(ongId, evento.ongResponsavelId());
+            assertEquals(1, evento.vagasOcupadas());
+            assertTrue(evento.inscritos().contains(voluntarioId));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve manter comentários, curtidas e edição do post gravados por controllers diferentes")
+    void deveManterContadoresDoPostAposReinicio() {
+        UUID postId;
+        UUID primeiroCurtidorId = UUID.randomUUID();
+
+        try (ConfigurableApplicationContext contexto = iniciar()) {
+            PostController postController = contexto.getBean(PostController.class);
+            ComentarioController comentarioController = contexto.getBean(ComentarioController.class);
+
+            postId = postController.criarPost(Map.of(
+                "autorId", UUID.randomUUID().toString(),
+                "tipoAutor", "ONG",
+                "conteudo", "Obrigado pela ajuda!"
+            )).getBody().id();
+
+            // Comentários, curtidas e edição intercalados: o ComentarioController
+            // tem a sua própria cópia do post
+            comentar(comentarioController, postId);
+            postController.curtirPost(postId, primeiroCurtidorId);
+            comentar(comentarioController, postId);
+            postController.editarPost(postId, Map.of("conteudo", "Obrigado a todos!"));
+            comentar(comentarioController, postId);
+            postController.curtirPost(postId, UUID.randomUUID());
+            postController.curtirPost(postId, primeiroCurtidorId);
+        }
+
+        try (ConfigurableApplicationContext contexto = iniciar()) {
+            PostResposta post = contexto.getBean(PostController.class).buscarPost(postId, "curtidas").getBody();
+
+            assertNotNull(post);
+            assertEquals("Obrigado a todos!", post.conteudo());
+            assertEquals(3, post.quantidadeComentarios());
+            assertEquals(2, post.quantidadeCurtidas());
+            assertEquals(2, post.curtidas().size());
+            assertTrue(post.curtidas().contains(primeiroCurtidorId));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve aceitar a avaliação de quem teve a participação confirmada depois da primeira avaliação do evento")
+    void deveAvaliarComParticipacaoConfirmadaDepois() {
+        UUID ongId = UUID.randomUUID();
+        UUID primeiroVoluntarioId = UUID.randomUUID();
+        UUID segundoVoluntarioId = UUID.randomUUID();
+
+        try (ConfigurableApplicationContext contexto = iniciar()) {
+            EventoController eventoController = contexto.getBean(EventoController.class);
+            AvaliacaoController avaliacaoController = contexto.getBean(AvaliacaoController.class);
+
+            UUID eventoId = criarEventoAberto(eventoController, ongId);
+            eventoController.inscreverVoluntario(eventoId, primeiroVoluntarioId);
+            eventoController.inscreverVoluntario(eventoId, segundoVoluntarioId);
+            eventoController.confirmarParticipacao(eventoId, primeiroVoluntarioId);
+
+            assertEquals(HttpStatus.OK, avaliar(avaliacaoController, primeiroVoluntarioId, ongId, eventoId));
+            // Ainda sem participação confirmada
+            assertEquals(HttpStatus.BAD_REQUEST, avaliar(avaliacaoController, segundoVoluntarioId, ongId, eventoId));
+
+            eventoController.confirmarParticipacao(eventoId, segundoVoluntarioId);
+            assertEquals(HttpStatus.OK, avaliar(avaliacaoController, segundoVoluntarioId, ongId, eventoId));
+        }
+
+        try (ConfigurableApplicationContext contexto = iniciar()) {
+            List<Avaliacao> recebidas = contexto.getBean(AvaliacaoController.class)
+                    .listarAvaliacoesRecebidas(ongId, "ONG").getBody();
+
+            assertNotNull(recebidas);
+            assertEquals(2, recebidas.size());
+        }
+    }
+
+    private UUID criarEventoAberto(EventoController eventoController, UUID ongId) {
+        Map<String, Object> dados = new HashMap<>();
+        dados.put("titulo", "Mutirão");
+        dados.put("descricao", "Limpeza da praia");
+        dados.put("dataHoraInicio", LocalDateTime.now().plusDays(5).withNano(0).toString());
+        dados.put("dataHoraFim", LocalDateTime.now().plusDays(5).plusHours(3).withNano(0).toString());
+        dados.put("ongResponsavelId", ongId.toString());
+        dados.put("local", "Praia");
+        dados.put("vagasDisponiveis", 10);
+        UUID eventoId = eventoController.criarEvento(dados).getBody().id();
+        eventoController.abrirInscricoes(eventoId);
+        return eventoId;
+    }
+
+    private HttpStatus avaliar(AvaliacaoController avaliacaoController, UUID voluntarioId, UUID ongId, UUID eventoId) {
+        return HttpStatus.valueOf(avaliacaoController.voluntarioAvaliarOng(Map.of(
+            "voluntarioId", voluntarioId.toString(),
+            "ongId", ongId.toString(),
+            "eventoId", eventoId.toString(),
+            "nota", 5.0
+        )).getStatusCode().value());
+    }
+
+    private void comentar(ComentarioController comentarioController, UUID postId) {
+        HttpStatus status = HttpStatus.valueOf(comentarioController.criarComentario(Map.of(
+            "autorId", UUID.randomUUID().toString(),
+            "tipoAutor", "VOLUNTARIO",
+            "conteudo", "Conte comigo!",
+            "postId", postId.toString()
+        )).getStatusCode().value());
+        assertEquals(HttpStatus.OK, status);
+    }
+
+    private ConfigurableApplicationContext iniciar() {
+        return new SpringApplicationBuilder(MaoAmigaApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(ARGUMENTOS);
+    }
+}
@@ -0,0 +1,165 @@
+package com.backend.mao_amiga.carga;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Carga mista sobre os dados semeados: navegação nos feeds, consulta de
+ * notificações, inscrições, curtidas e comentários, sorteados pelos pesos
+ * abaixo. Cada thread tem o próprio gerador com semente derivada da
+ * semente da execução, então a sequência de operações é reproduzível.
+ */
+class CargaMista {
+
+    enum Operacao {
+        FEED_VOLUNTARIO(20, "GET /api/feed/{voluntarioId}"),
+        FEED_POPULARES(10, "GET /api/posts/feed/populares"),
+        FEED_RECENTES(10, "GET /api/posts/feed/recentes"),
+        CONTADOR_NAO_LIDAS(15, "GET /api/notificacoes/usuario/{usuarioId}/contador-nao-lidas"),
+        POLLING_NOTIFICACOES(10, "GET /api/notificacoes/usuario/{usuarioId}/polling"),
+        BUSCAR_EVENTO(10, "GET /api/eventos/{id}"),
+        INSCREVER_EM_EVENTO(10, "POST /api/eventos/{eventoId}/inscrever-voluntario/{voluntarioId}"),
+        CURTIR_POST(10, "POST /api/posts/{postId}/curtir/{usuarioId}"),
+        COMENTAR_POST(5, "POST /api/comentarios");
+
+        private final int peso;
+        private final String endpoint;
+
+        Operacao(int peso, String endpoint) {
+            this.peso = peso;
+            this.endpoint = endpoint;
+        }
+
+        String endpoint() {
+            return endpoint;
+        }
+    }
+
+    private static final Operacao[] OPERACOES = Operacao.values();
+    private static final int PESO_TOTAL = Arrays.stream(OPERACOES).mapToInt(o -> o.peso).sum();
+
+    private final ClienteCarga cliente;
+    private final GeradorDadosSinteticos.DadosSemeados dados;
+    private final long semente;
+
+    CargaMista(ClienteCarga cliente, GeradorDadosSinteticos.DadosSemeados dados, long semente) {
+        this.cliente = cliente;
+        this.dados = dados;
+        this.semente = semente;
+    }
+
+    // Para no que vier primeiro: o fim da duração ou operacoesPorThread em cada thread.
+    // O aquecimento roda a mesma carga e é descartado do relatório.
+    ResultadoCarga executar(int threads, Duration aquecimento, Duration duracao, long operacoesPorThread) {
+        if (!aquecimento.isZero()) {
+            rodar(threads, aquecimento, Long.MAX_VALUE, new RelatorioCarga(), semente - 1);
+        }
+
+        RelatorioCarga relatorio = new RelatorioCarga();
+        OptionalLong servidorAntes = cliente.bytesAlocadosNoServidor();
+        long inicio = System.nanoTime();
+        long bytesAlocados = rodar(threads, duracao, operacoesPorThread, relatorio, semente);
+        Duration decorrido = Duration.ofNanos(System.nanoTime() - inicio);
+        OptionalLong servidorDepois = cliente.bytesAlocadosNoServidor();
+
+        Long bytesServidor = servidorAntes.isPresent() && servidorDepois.isPresent()
+                ? servidorDepois.getAsLong() - servidorAntes.getAsLong()
+                : null;
+        return relatorio.finalizar(decorrido, threads, bytesAlocados, bytesServidor);
+    }
+
+    // Threads de plataforma: a alocação por thread só é medida nelas
+    private long rodar(int threads, Duration duracao, long limite, RelatorioCarga relatorio, long sementeFase) {
+        long prazo = System.nanoTime() + duracao.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Long>> trabalhadores = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                SplittableRandom aleatorio = new SplittableRandom(sementeFase * 31 + i);
+                trabalhadores.add(executor.submit(() -> trabalhar(aleatorio, prazo, limite, relatorio)));
+            }
+
+            long bytesAlocados = 0;
+            for (Future<Long> trabalhador : trabalhadores) {
+                bytesAlocados += trabalhador.get();
+            }
+            return bytesAlocados;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha na execução da carga", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Carga interrompida", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long trabalhar(SplittableRandom aleatorio, long prazo, long limite, RelatorioCarga relatorio) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long alocadosAntes = threads.getCurrentThreadAllocatedBytes();
+
+        for (long feitas = 0; feitas < limite && System.nanoTime() < prazo; feitas++) {
+            Operacao operacao = sortearOperacao(aleatorio);
+            long inicio = System.nanoTime();
+            int status;
+            try {
+                status = executar(operacao, aleatorio).status();
+            } catch (RuntimeException e) {
+                status = -1;
+            }
+            relatorio.registrar(operacao.endpoint(), System.nanoTime() - inicio, status);
+        }
+
+        return threads.getCurrentThreadAllocatedBytes() - alocadosAntes;
+    }
+
+    private ClienteCarga.Resposta executar(Operacao operacao, SplittableRandom aleatorio) {
+        return switch (operacao) {
+            case FEED_VOLUNTARIO -> get("/api/feed/" + sortear(dados.voluntarios(), aleatorio));
+            case FEED_POPULARES -> get("/api/posts/feed/populares?criterio="
+                    + (aleatorio.nextBoolean() ? "curtidas" : "relevancia"));
+            case FEED_RECENTES -> get("/api/posts/feed/recentes");
+            case CONTADOR_NAO_LIDAS -> get("/api/notificacoes/usuario/"
+                    + sortear(dados.voluntarios(), aleatorio) + "/contador-nao-lidas");
+            case POLLING_NOTIFICACOES -> get("/api/notificacoes/usuario/"
+                    + sortear(dados.voluntarios(), aleatorio) + "/polling");
+            case BUSCAR_EVENTO -> get("/api/eventos/" + sortear(dados.eventos(), aleatorio));
+            case INSCREVER_EM_EVENTO -> cliente.executar("POST", "/api/eventos/" + sortear(dados.eventos(), aleatorio)
+                    + "/inscrever-voluntario/" + sortear(dados.voluntarios(), aleatorio), null);
+            case CURTIR_POST -> cliente.executar("POST", "/api/posts/" + sortear(dados.posts(), aleatorio)
+                    + "/curtir/" + sortear(dados.voluntarios(), aleatorio), null);
+            case COMENTAR_POST -> cliente.executar("POST", "/api/comentarios", """
+                    {"autorId":"%s","tipoAutor":"VOLUNTARIO","conteudo":"Comentário da carga mista","postId":"%s"}"""
+                    .formatted(sortear(dados.voluntarios(), aleatorio), sortear(dados.posts(), aleatorio)));
+        };
+    }
+
+    private ClienteCarga.Resposta get(String uri) {
+        return cliente.executar("GET", uri, null);
+    }
+
+    private static Operacao sortearOperacao(SplittableRandom aleatorio) {
+        int sorteio = aleatorio.nextInt(PESO_TOTAL);
+        for (Operacao operacao : OPERACOES) {
+            sorteio -= operacao.peso;
+            if (sorteio < 0) {
+                return operacao;
+            }
+        }
+        throw new IllegalStateException("Pesos inconsistentes");
+    }
+
+    private static UUID sortear(List<UUID> ids, SplittableRandom aleatorio) {
+        return ids.get(aleatorio.nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,46 @@
+package com.backend.mao_amiga.carga;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Roda o gerador e a carga mista em volume mínimo, para que o harness
+ * continue funcionando a cada mudança nos endpoints.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CargaMistaTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Deve semear os dados e executar a carga mista sem erros de servidor")
+    void deveExecutarCargaMistaSemErros() {
+        ClienteCarga cliente = new ClienteMockMvc(mockMvc);
+        VolumesCarga volumes = new VolumesCarga(4, 30, 2, 2, 20, 3, 2, 10);
+
+        GeradorDadosSinteticos.DadosSemeados dados = new GeradorDadosSinteticos(cliente, 42).semear(volumes);
+        ResultadoCarga resultado = new CargaMista(cliente, dados, 42)
+                .executar(2, Duration.ZERO, Duration.ofMinutes(1), 150);
+
+        assertEquals(30, dados.voluntarios().size());
+        assertEquals(8, dados.eventos().size());
+        assertEquals(12, dados.posts().size());
+        assertEquals(300, resultado.operacoes());
+        assertEquals(0, resultado.erros(), resultado::comoTabela);
+        assertEquals(CargaMista.Operacao.values().length, resultado.endpoints().size());
+        assertTrue(resultado.endpoints().stream().allMatch(e -> e.p50() > 0 && e.p999() >= e.p50()));
+        assertTrue(resultado.bytesAlocadosPorSegundo() > 0);
+    }
+}
@@ -0,0 +1,21 @@
+package com.backend.mao_amiga.carga;
+
+import java.util.OptionalLong;
+
+/**
+ * Envia as requisições da carga, seja pelo MockMvc no mesmo processo ou
+ * por HTTP para uma aplicação já rodando.
+ */
+interface ClienteCarga {
+
+    record Resposta(int status, String corpo) {
+    }
+
+    // corpoJson pode ser nulo nas requisições sem corpo
+    Resposta executar(String metodo, String uri, String corpoJson);
+
+    // Bytes alocados pelo servidor até agora, quando ele roda em outro processo
+    default OptionalLong bytesAlocadosNoServidor() {
+        return OptionalLong.empty();
+    }
+}
@@ -0,0 +1,58 @@
+package com.backend.mao_amiga.carga;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.OptionalLong;
+
+/**
+ * Executa as requisições contra uma aplicação já rodando, por exemplo em
+ * http://localhost:8080.
+ */
+class ClienteHttp implements ClienteCarga {
+
+    private static final String ALOCACAO_SERVIDOR = "jvm_gc_memory_allocated_bytes_total";
+
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final String urlBase;
+
+    ClienteHttp(String urlBase) {
+        this.urlBase = urlBase.endsWith("/") ? urlBase.substring(0, urlBase.length() - 1) : urlBase;
+    }
+
+    @Override
+    public Resposta executar(String metodo, String uri, String corpoJson) {
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create(urlBase + uri))
+                .header("Content-Type", "application/json")
+                .method(metodo, corpoJson != null
+                        ? HttpRequest.BodyPublishers.ofString(corpoJson)
+                        : HttpRequest.BodyPublishers.noBody())
+                .build();
+
+        try {
+            HttpResponse<String> resposta = http.send(requisicao, HttpResponse.BodyHandlers.ofString());
+            return new Resposta(resposta.statusCode(), resposta.body());
+        } catch (IOException e) {
+            throw new IllegalStateException("Falha em " + metodo + " " + uri, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido em " + metodo + " " + uri, e);
+        }
+    }
+
+    // Lido do /actuator/prometheus; o valor só avança a cada coleta do GC,
+    // então serve para execuções longas, não para medir uma requisição
+    @Override
+    public OptionalLong bytesAlocadosNoServidor() {
+        Resposta resposta = executar("GET", "/actuator/prometheus", null);
+        if (resposta.status() != 200) {
+            return OptionalLong.empty();
+        }
+        return resposta.corpo().lines()
+                .filter(linha -> linha.startsWith(ALOCACAO_SERVIDOR))
+                .mapToLong(linha -> (long) Double.parseDouble(linha.substring(linha.lastIndexOf(' ') + 1)))
+                .findFirst();
+    }
+}
@@ -0,0 +1,38 @@
+package com.backend.mao_amiga.carga;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Executa as requisições na própria thread que chama, então a alocação
+ * medida por thread inclui o trabalho dos controllers.
+ */
+class ClienteMockMvc implements ClienteCarga {
+
+    private final MockMvc mockMvc;
+
+    ClienteMockMvc(MockMvc mockMvc) {
+        this.mockMvc = mockMvc;
+    }
+
+    @Override
+    public Resposta executar(String metodo, String uri, String corpoJson) {
+        MockHttpServletRequestBuilder requisicao = MockMvcRequestBuilders.request(HttpMethod.valueOf(metodo), uri);
+        if (corpoJson != null) {
+            requisicao.contentType(MediaType.APPLICATION_JSON).content(corpoJson);
+        }
+
+        try {
+            MockHttpServletResponse resposta = mockMvc.perform(requisicao).andReturn().getResponse();
+            return new Resposta(resposta.getStatus(), resposta.getContentAsString(StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            throw new IllegalStateException("Falha em " + metodo + " " + uri, e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.backend.mao_amiga.carga;
+
+import com.backend.mao_amiga.MaoAmigaApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.File;
+import java.time.Duration;
+
+/**
+ * Execução completa da carga, com o relatório impresso e gravado em JSON.
+ *
+ * Sem carga.url, sobe a aplicação neste processo com os perfis de carga.perfis
+ * (memoria) e envia as requisições pelo MockMvc, ou por HTTP ao servidor local
+ * com carga.cliente=http. Só por HTTP as requisições passam pelas threads do
+ * Tomcat, então é o modo para comparar com o perfil virtual. Com carga.url,
+ * usa HTTP contra a aplicação já rodando.
+ * Pelo Maven: mvn -Pcarga -DskipTests verify [-Dcarga.url=http://localhost:8080]
+ *
+ * Propriedades: carga.escala (1), carga.threads (8), carga.aquecimento (PT10S),
+ * carga.duracao (PT60S), carga.semente (42), carga.perfis (memoria),
+ * carga.cliente (mockmvc ou http) e carga.resultado (arquivo JSON).
+ */
+public class ExecutarCarga {
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("carga.url", "");
+        double escala = Double.parseDouble(System.getProperty("carga.escala", "1"));
+        int threads = Integer.parseInt(System.getProperty("carga.threads", "8"));
+        Duration aquecimento = Duration.parse(System.getProperty("carga.aquecimento", "PT10S"));
+        Duration duracao = Duration.parse(System.getProperty("carga.duracao", "PT60S"));
+        long semente = Long.parseLong(System.getProperty("carga.semente", "42"));
+        String[] perfis = System.getProperty("carga.perfis", "memoria").split(",");
+        boolean porHttp = "http".equals(System.getProperty("carga.cliente", "mockmvc"));
+        File arquivo = new File(System.getProperty("carga.resultado", "target/carga-resultado.json"));
+
+        ConfigurableApplicationContext contexto = null;
+        ClienteCarga cliente;
+        if (url.isBlank()) {
+            contexto = new SpringApplicationBuilder(MaoAmigaApplication.class)
+                    .profiles(perfis)
+                    .properties("server.port=0", "logging.level.root=WARN")
+                    .run(args);
+            cliente = porHttp
+                    ? new ClienteHttp("http://localhost:" + contexto.getEnvironment().getProperty("local.server.port"))
+                    : new ClienteMockMvc(MockMvcBuilders.webAppContextSetup((WebApplicationContext) contexto).build());
+        } else {
+            cliente = new ClienteHttp(url);
+        }
+
+        try {
+            VolumesCarga volumes = VolumesCarga.escala(escala);
+            System.out.println("Semeando " + volumes);
+            GeradorDadosSinteticos.DadosSemeados dados = new GeradorDadosSinteticos(cliente, semente).semear(volumes);
+
+            ResultadoCarga resultado = new CargaMista(cliente, dados, semente)
+                    .executar(threads, aquecimento, duracao, Long.MAX_VALUE);
+            System.out.print(resultado.comoTabela());
+
+            arquivo.getAbsoluteFile().getParentFile().mkdirs();
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(arquivo, resultado);
+            System.out.println("Resultado gravado em " + arquivo.getAbsolutePath());
+        } finally {
+            if (contexto != null) {
+                contexto.close();
+            }
+        }
+    }
+}
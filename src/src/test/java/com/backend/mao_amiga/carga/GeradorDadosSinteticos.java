@@ -0,0 +1,175 @@
+package com.backend.mao_amiga.carga;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Popula a aplicação pelos próprios endpoints, na ordem em que os dados
+ * surgem em produção: ONGs e voluntários, seguimentos, eventos com
+ * inscrições abertas, posts com notificações e comentários, e avaliações
+ * de eventos com participação confirmada. A semente fixa torna a massa
+ * reproduzível entre execuções.
+ */
+class GeradorDadosSinteticos {
+
+    private static final DateTimeFormatter FORMATO = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    record DadosSemeados(List<UUID> ongs, List<UUID> voluntarios, List<UUID> eventos, List<UUID> posts) {
+    }
+
+    private final ClienteCarga cliente;
+    private final Random aleatorio;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    GeradorDadosSinteticos(ClienteCarga cliente, long semente) {
+        this.cliente = cliente;
+        this.aleatorio = new Random(semente);
+    }
+
+    DadosSemeados semear(VolumesCarga volumes) {
+        List<UUID> ongs = new ArrayList<>();
+        for (int i = 0; i < volumes.ongs(); i++) {
+            ongs.add(criar("/api/ongs", Map.of(
+                    "email", "ong" + i + "@carga.org",
+                    "senha", "senha123",
+                    "nomeCompleto", "ONG Carga " + i,
+                    "cnpj", String.format("%08d/0001-%02d", i, i % 100))));
+        }
+
+        List<UUID> voluntarios = new ArrayList<>();
+        for (int i = 0; i < volumes.voluntarios(); i++) {
+            voluntarios.add(criar("/api/voluntarios", Map.of(
+                    "email", "voluntario" + i + "@carga.org",
+                    "senha", "senha123",
+                    "nomeCompleto", "Voluntário Carga " + i)));
+        }
+
+        // Os seguimentos definem o feed de cada voluntário e quem é notificado dos posts
+        Map<UUID, List<UUID>> seguidoresPorOng = new HashMap<>();
+        for (UUID voluntarioId : voluntarios) {
+            Set<UUID> seguidas = new HashSet<>();
+            while (seguidas.size() < Math.min(volumes.ongsSeguidasPorVoluntario(), ongs.size())) {
+                seguidas.add(sortear(ongs));
+            }
+            for (UUID ongId : seguidas) {
+                enviar("POST", "/api/voluntarios/" + voluntarioId + "/seguir-ong/" + ongId, null);
+                seguidoresPorOng.computeIfAbsent(ongId, id -> new ArrayList<>()).add(voluntarioId);
+            }
+        }
+
+        List<UUID> eventos = new ArrayList<>();
+        Map<UUID, UUID> ongDoEvento = new HashMap<>();
+        for (UUID ongId : ongs) {
+            for (int i = 0; i < volumes.eventosPorOng(); i++) {
+                LocalDateTime inicio = LocalDateTime.now().plusDays(1 + aleatorio.nextInt(60)).withNano(0);
+                Map<String, Object> dados = new HashMap<>();
+                dados.put("titulo", "Mutirão " + i);
+                dados.put("descricao", "Evento gerado para teste de carga");
+                dados.put("dataHoraInicio", inicio.format(FORMATO));
+                dados.put("dataHoraFim", inicio.plusHours(3).format(FORMATO));
+                dados.put("ongResponsavelId", ongId.toString());
+                dados.put("local", "Centro");
+                dados.put("vagasDisponiveis", volumes.vagasPorEvento());
+                UUID eventoId = criar("/api/eventos", dados);
+                enviar("POST", "/api/eventos/" + eventoId + "/abrir-inscricoes", null);
+                eventos.add(eventoId);
+                ongDoEvento.put(eventoId, ongId);
+            }
+        }
+
+        List<UUID> posts = new ArrayList<>();
+        for (UUID ongId : ongs) {
+            for (int i = 0; i < volumes.postsPorOng(); i++) {
+                UUID postId = criar("/api/posts", Map.of(
+                        "autorId", ongId.toString(),
+                        "tipoAutor", "ONG",
+                        "conteudo", "Post " + i + " da ONG"));
+                posts.add(postId);
+
+                List<UUID> seguidores = seguidoresPorOng.getOrDefault(ongId, List.of());
+                if (!seguidores.isEmpty()) {
+                    enviar("POST", "/api/notificacoes/novo-post", Map.of(
+                            "postId", postId.toString(),
+                            "autorId", ongId.toString(),
+                            "seguidores", seguidores.stream().map(UUID::toString).toList()));
+                }
+                for (int j = 0; j < volumes.comentariosPorPost(); j++) {
+                    comentar(postId, sortear(voluntarios));
+                }
+            }
+        }
+
+        // Só avalia quem conseguiu a vaga e teve a participação confirmada
+        Set<String> paresAvaliados = new HashSet<>();
+        for (int tentativa = 0; paresAvaliados.size() < volumes.avaliacoes() && tentativa < volumes.avaliacoes() * 3; tentativa++) {
+            UUID eventoId = sortear(eventos);
+            UUID voluntarioId = sortear(voluntarios);
+            if (!paresAvaliados.add(eventoId + ":" + voluntarioId)) {
+                continue;
+            }
+            ClienteCarga.Resposta inscricao = cliente.executar(
+                    "POST", "/api/eventos/" + eventoId + "/inscrever-voluntario/" + voluntarioId, null);
+            if (inscricao.status() != 200) {
+                paresAvaliados.remove(eventoId + ":" + voluntarioId);
+                continue;
+            }
+            enviar("POST", "/api/eventos/" + eventoId + "/confirmar-participacao/" + voluntarioId, null);
+            enviar("POST", "/api/avaliacoes/voluntario-avaliar-ong", Map.of(
+                    "voluntarioId", voluntarioId.toString(),
+                    "ongId", ongDoEvento.get(eventoId).toString(),
+                    "eventoId", eventoId.toString(),
+                    "nota", 1 + aleatorio.nextInt(5),
+                    "comentario", "Avaliação gerada para teste de carga"));
+        }
+
+        return new DadosSemeados(List.copyOf(ongs), List.copyOf(voluntarios), List.copyOf(eventos), List.copyOf(posts));
+    }
+
+    private UUID comentar(UUID postId, UUID voluntarioId) {
+        return criar("/api/comentarios", Map.of(
+                "autorId", voluntarioId.toString(),
+                "tipoAutor", "VOLUNTARIO",
+                "conteudo", "Comentário gerado para teste de carga",
+                "postId", postId.toString()));
+    }
+
+    private UUID criar(String uri, Map<String, ?> dados) {
+        ClienteCarga.Resposta resposta = enviar("POST", uri, dados);
+        try {
+            return UUID.fromString(mapper.readTree(resposta.corpo()).get("id").asText());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Resposta inválida de " + uri, e);
+        }
+    }
+
+    private ClienteCarga.Resposta enviar(String metodo, String uri, Map<String, ?> dados) {
+        ClienteCarga.Resposta resposta = cliente.executar(metodo, uri, dados != null ? json(dados) : null);
+        if (resposta.status() >= 300) {
+            throw new IllegalStateException("Falha ao semear " + metodo + " " + uri + ": " + resposta.status());
+        }
+        return resposta;
+    }
+
+    private String json(Map<String, ?> dados) {
+        try {
+            return mapper.writeValueAsString(dados);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private <T> T sortear(List<T> itens) {
+        return itens.get(aleatorio.nextInt(itens.size()));
+    }
+}
@@ -0,0 +1,86 @@
+package com.backend.mao_amiga.carga;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Acumula os tempos de cada endpoint em Timers do Micrometer, os mesmos
+ * usados pela aplicação, com percentis calculados no cliente.
+ */
+class RelatorioCarga {
+
+    private static final double[] PERCENTIS = {0.5, 0.99, 0.999};
+
+    private final SimpleMeterRegistry registro = new SimpleMeterRegistry();
+    private final Map<String, Timer> tempos = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> recusadas = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> erros = new ConcurrentHashMap<>();
+
+    void registrar(String endpoint, long nanos, int status) {
+        tempos.computeIfAbsent(endpoint, this::criarTimer).record(nanos, TimeUnit.NANOSECONDS);
+        if (status < 0 || status >= 500) {
+            erros.computeIfAbsent(endpoint, e -> new LongAdder()).increment();
+        } else if (status >= 400) {
+            recusadas.computeIfAbsent(endpoint, e -> new LongAdder()).increment();
+        }
+    }
+
+    ResultadoCarga finalizar(Duration duracao, int threads, long bytesAlocados, Long bytesAlocadosServidor) {
+        double segundos = duracao.toNanos() / 1e9;
+        List<ResultadoCarga.Endpoint> endpoints = new ArrayList<>();
+        long total = 0;
+        for (Map.Entry<String, Timer> entrada : tempos.entrySet()) {
+            HistogramSnapshot snapshot = entrada.getValue().takeSnapshot();
+            double[] valores = new double[PERCENTIS.length];
+            for (ValueAtPercentile percentil : snapshot.percentileValues()) {
+                for (int i = 0; i < PERCENTIS.length; i++) {
+                    if (percentil.percentile() == PERCENTIS[i]) {
+                        valores[i] = percentil.value(TimeUnit.MILLISECONDS);
+                    }
+                }
+            }
+            endpoints.add(new ResultadoCarga.Endpoint(
+                    entrada.getKey(),
+                    snapshot.count(),
+                    snapshot.count() / segundos,
+                    contar(recusadas, entrada.getKey()),
+                    contar(erros, entrada.getKey()),
+                    valores[0],
+                    valores[1],
+                    valores[2],
+                    snapshot.max(TimeUnit.MILLISECONDS)));
+            total += snapshot.count();
+        }
+        endpoints.sort(Comparator.comparing(ResultadoCarga.Endpoint::endpoint));
+
+        return new ResultadoCarga(segundos, threads, total, total / segundos, bytesAlocados / segundos,
+                bytesAlocadosServidor != null ? bytesAlocadosServidor / segundos : null, endpoints);
+    }
+
+    // Janela única do tamanho da execução: os percentis cobrem todas as amostras
+    private Timer criarTimer(String endpoint) {
+        return Timer.builder("carga.requisicoes")
+                .tag("endpoint", endpoint)
+                .publishPercentiles(PERCENTIS)
+                .percentilePrecision(2)
+                .distributionStatisticExpiry(Duration.ofDays(1))
+                .distributionStatisticBufferLength(1)
+                .register(registro);
+    }
+
+    private static long contar(Map<String, LongAdder> contadores, String endpoint) {
+        LongAdder contador = contadores.get(endpoint);
+        return contador != null ? contador.sum() : 0;
+    }
+}
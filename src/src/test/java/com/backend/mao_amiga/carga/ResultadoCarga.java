@@ -0,0 +1,51 @@
+package com.backend.mao_amiga.carga;
+
+import java.util.List;
+
+/**
+ * Resultado de uma execução da carga mista, no formato gravado em JSON
+ * para comparar versões. Tempos em milissegundos.
+ */
+record ResultadoCarga(
+        double duracaoSegundos,
+        int threads,
+        long operacoes,
+        double operacoesPorSegundo,
+        double bytesAlocadosPorSegundo,
+        Double bytesAlocadosServidorPorSegundo,
+        List<Endpoint> endpoints) {
+
+    // recusadas são respostas 4xx (como inscrição repetida); erros são 5xx ou falhas de envio
+    record Endpoint(
+            String endpoint,
+            long operacoes,
+            double operacoesPorSegundo,
+            long recusadas,
+            long erros,
+            double p50,
+            double p99,
+            double p999,
+            double maximo) {
+    }
+
+    long erros() {
+        return endpoints.stream().mapToLong(Endpoint::erros).sum();
+    }
+
+    String comoTabela() {
+        StringBuilder tabela = new StringBuilder();
+        tabela.append(String.format("%-66s %9s %9s %7s %6s %9s %9s %9s%n",
+                "endpoint", "ops", "ops/s", "4xx", "erros", "p50 ms", "p99 ms", "p999 ms"));
+        for (Endpoint endpoint : endpoints) {
+            tabela.append(String.format("%-66s %9d %9.1f %7d %6d %9.3f %9.3f %9.3f%n",
+                    endpoint.endpoint(), endpoint.operacoes(), endpoint.operacoesPorSegundo(),
+                    endpoint.recusadas(), endpoint.erros(), endpoint.p50(), endpoint.p99(), endpoint.p999()));
+        }
+        tabela.append(String.format("total: %d operações em %.1f s com %d threads, %.1f ops/s, %.1f MB/s alocados%n",
+                operacoes, duracaoSegundos, threads, operacoesPorSegundo, bytesAlocadosPorSegundo / (1024 * 1024)));
+        if (bytesAlocadosServidorPorSegundo != null) {
+            tabela.append(String.format("servidor: %.1f MB/s alocados%n", bytesAlocadosServidorPorSegundo / (1024 * 1024)));
+        }
+        return tabela.toString();
+    }
+}
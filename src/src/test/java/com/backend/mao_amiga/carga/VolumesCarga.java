@@ -0,0 +1,28 @@
+package com.backend.mao_amiga.carga;
+
+/**
+ * Quantidades da massa sintética. A escala 1 corresponde a uma instância
+ * pequena em produção; as demais multiplicam ONGs, voluntários e avaliações.
+ */
+record VolumesCarga(
+        int ongs,
+        int voluntarios,
+        int ongsSeguidasPorVoluntario,
+        int eventosPorOng,
+        int vagasPorEvento,
+        int postsPorOng,
+        int comentariosPorPost,
+        int avaliacoes) {
+
+    static VolumesCarga escala(double escala) {
+        return new VolumesCarga(
+                Math.max(1, (int) (100 * escala)),
+                Math.max(1, (int) (2_000 * escala)),
+                5,
+                5,
+                50,
+                10,
+                3,
+                (int) (1_000 * escala));
+    }
+}
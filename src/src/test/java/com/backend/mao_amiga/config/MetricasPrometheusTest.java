@@ -0,0 +1,39 @@
+package com.backend.mao_amiga.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica o que o Prometheus coleta: tempos por endpoint com histograma
+ * e as métricas de domínio da plataforma.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class MetricasPrometheusTest {
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Test
+    @DisplayName("Deve expor o histograma de tempo por endpoint e as métricas de domínio")
+    void deveExporHistogramasEMetricasDeDominio() {
+        rest.getForEntity("/api/eventos", String.class);
+
+        String metricas = rest.getForObject("/actuator/prometheus", String.class);
+
+        assertThat(metricas)
+                .contains("http_server_requests_seconds_bucket{")
+                .containsPattern("http_server_requests_seconds_bucket\\{.*uri=\"/api/eventos\"")
+                .contains("mao_amiga_inscricoes_total{")
+                .contains("mao_amiga_memoria_registros{")
+                .contains("mao_amiga_notificacoes_distribuicao_destinatarios_bucket{");
+    }
+}
@@ -0,0 +1,52 @@
+package com.backend.mao_amiga.config;
+
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica que o perfil "virtual" leva requisições, tarefas assíncronas e
+ * jobs agendados para threads virtuais.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "virtual"})
+class ThreadsVirtuaisTest {
+
+    @Autowired
+    private ServletWebServerApplicationContext contexto;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor executor;
+
+    @Autowired
+    private TaskScheduler agendador;
+
+    @Test
+    @DisplayName("Deve atender requisições, tarefas assíncronas e agendadas em threads virtuais")
+    void deveUsarThreadsVirtuais() throws Exception {
+        TomcatWebServer servidor = (TomcatWebServer) contexto.getWebServer();
+        assertInstanceOf(VirtualThreadExecutor.class,
+                servidor.getTomcat().getConnector().getProtocolHandler().getExecutor());
+
+        assertTrue(executor.submit(() -> Thread.currentThread().isVirtual()).get(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Boolean> agendada = new CompletableFuture<>();
+        agendador.schedule(() -> agendada.complete(Thread.currentThread().isVirtual()), Instant.now());
+        assertTrue(agendada.get(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,180 @@
+package com.backend.mao_amiga.controllers;
+
+import com.backend.mao_amiga.dto.EventoResposta;
+import com.backend.mao_amiga.repositories.ArmazenamentoEventosMemoria;
+import com.backend.mao_amiga.repositories.ArmazenamentoMemoria;
+import com.backend.mao_amiga.services.CicloVidaEventos;
+import com.backend.mao_amiga.services.DistribuicaoNotificacoesService;
+import com.backend.mao_amiga.services.FeedService;
+import com.backend.mao_amiga.services.MetricasPlataforma;
+import com.backend.mao_amiga.services.NotificacaoService;
+import com.backend.mao_amiga.services.NotificacaoTempoRealService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Testes de estresse das inscrições simultâneas em um mesmo evento
+ */
+class EventoControllerConcorrenciaTest {
+
+    private static final int THREADS = 64;
+    private static final int TENTATIVAS_INSCRICAO = 5_000;
+    private static final int VAGAS = 500;
+
+    private final NotificacaoService notificacaoService = new NotificacaoService(
+            new NotificacaoTempoRealService(), new MetricasPlataforma(), new ArmazenamentoMemoria<>());
+    // Sem iniciar: as inscrições não passam pela fila de distribuição
+    private final EventoController controller = new EventoController(
+            notificacaoService, new DistribuicaoNotificacoesService(notificacaoService, new SimpleMeterRegistry()),
+            new FeedService(), new MetricasPlataforma(), new CicloVidaEventos(), new ArmazenamentoEventosMemoria());
+
+    @Test
+    @DisplayName("Não deve vender mais vagas que o disponível sob inscrições simultâneas")
+    void naoDeveExcederVagasComInscricoesSimultaneas() throws Exception {
+        UUID idEvento = criarEventoAberto(VAGAS);
+        AtomicInteger inscritos = new AtomicInteger();
+        AtomicInteger emEspera = new AtomicInteger();
+
+        executarEmParalelo(TENTATIVAS_INSCRICAO, i -> {
+            ResponseEntity<EventoResposta> response = controller.inscreverVoluntario(idEvento, UUID.randomUUID());
+            if (response.getStatusCode().value() == 200) {
+                inscritos.incrementAndGet();
+            } else if (response.getStatusCode().value() == 202) {
+                emEspera.incrementAndGet();
+            }
+        });
+
+        EventoResposta evento = controller.buscarEvento(idEvento, "inscritos,lista-espera").getBody();
+        assertEquals(VAGAS, inscritos.get());
+        assertEquals(TENTATIVAS_INSCRICAO - VAGAS, emEspera.get());
+        assertEquals(VAGAS, evento.vagasOcupadas());
+        assertEquals(VAGAS, evento.inscritos().size());
+        assertEquals(TENTATIVAS_INSCRICAO - VAGAS, evento.listaEspera().size());
+        assertEquals(0, evento.vagasRestantes());
+    }
+
+    @Test
+    @DisplayName("Deve aceitar apenas uma inscrição do mesmo voluntário em requisições simultâneas")
+    void deveAceitarUmaInscricaoPorVoluntario() throws Exception {
+        UUID idEvento = criarEventoAberto(VAGAS);
+        UUID idVoluntario = UUID.randomUUID();
+        AtomicInteger sucessos = new AtomicInteger();
+
+        executarEmParalelo(1_000, i -> {
+            if (controller.inscreverVoluntario(idEvento, idVoluntario).getStatusCode().value() == 200) {
+                sucessos.incrementAndGet();
+            }
+        });
+
+        EventoResposta evento = controller.buscarEvento(idEvento, "inscritos,lista-espera").getBody();
+        assertEquals(1, sucessos.get());
+        assertEquals(1, evento.vagasOcupadas());
+        assertEquals(1, evento.inscritos().size());
+    }
+
+    @Test
+    @DisplayName("Deve manter contador e inscritos consistentes com inscrições e cancelamentos simultâneos")
+    void deveManterConsistenciaComInscricoesECancelamentos() throws Exception {
+        UUID idEvento = criarEventoAberto(50);
+        List<UUID> voluntarios = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            voluntarios.add(UUID.randomUUID());
+        }
+
+        executarEmParalelo(TENTATIVAS_INSCRICAO, i -> {
+            UUID idVoluntario = voluntarios.get(i % voluntarios.size());
+            if (i % 3 == 0) {
+                controller.cancelarInscricao(idEvento, idVoluntario);
+            } else {
+                controller.inscreverVoluntario(idEvento, idVoluntario);
+            }
+        });
+
+        EventoResposta evento = controller.buscarEvento(idEvento, "inscritos,lista-espera").getBody();
+        assertTrue(evento.vagasOcupadas() <= 50);
+        assertEquals(evento.inscritos().size(), evento.vagasOcupadas());
+        evento.listaEspera().forEach(id -> assertFalse(evento.inscritos().contains(id)));
+    }
+
+    @Test
+    @DisplayName("Deve promover toda a lista de espera quando inscrições são canceladas em paralelo")
+    void devePromoverListaEsperaComCancelamentosSimultaneos() throws Exception {
+        UUID idEvento = criarEventoAberto(VAGAS);
+        List<UUID> inscritos = new ArrayList<>();
+        for (int i = 0; i < VAGAS; i++) {
+            UUID idVoluntario = UUID.randomUUID();
+            controller.inscreverVoluntario(idEvento, idVoluntario);
+            inscritos.add(idVoluntario);
+        }
+        List<UUID> espera = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            UUID idVoluntario = UUID.randomUUID();
+            controller.inscreverVoluntario(idEvento, idVoluntario);
+            espera.add(idVoluntario);
+        }
+
+        executarEmParalelo(100, i -> controller.cancelarInscricao(idEvento, inscritos.get(i)));
+
+        EventoResposta evento = controller.buscarEvento(idEvento, "inscritos,lista-espera").getBody();
+        assertEquals(VAGAS, evento.vagasOcupadas());
+        assertTrue(evento.listaEspera().isEmpty());
+        espera.forEach(id -> assertTrue(evento.inscritos().contains(id)));
+    }
+
+    private UUID criarEventoAberto(int vagas) {
+        Map<String, Object> dados = new HashMap<>();
+        dados.put("titulo", "Mutirão de Inverno");
+        dados.put("descricao", "Distribuição de agasalhos");
+        dados.put("dataHoraInicio", LocalDateTime.now().plusDays(7).toString());
+        dados.put("dataHoraFim", LocalDateTime.now().plusDays(7).plusHours(4).toString());
+        dados.put("ongResponsavelId", UUID.randomUUID().toString());
+        dados.put("local", "Centro Comunitário");
+        dados.put("vagasDisponiveis", vagas);
+
+        UUID idEvento = controller.criarEvento(dados).getBody().id();
+        controller.abrirInscricoes(idEvento);
+        return idEvento;
+    }
+
+    private void executarEmParalelo(int quantidade, TarefaIndexada tarefa) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> futuros = new ArrayList<>();
+
+        for (int i = 0; i < quantidade; i++) {
+            int indice = i;
+            futuros.add(executor.submit(() -> {
+                largada.await();
+                tarefa.executar(indice);
+                return null;
+            }));
+        }
+
+        largada.countDown();
+        for (Future<?> futuro : futuros) {
+            futuro.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+    }
+
+    @FunctionalInterface
+    private interface TarefaIndexada {
+        void executar(int indice);
+    }
+}
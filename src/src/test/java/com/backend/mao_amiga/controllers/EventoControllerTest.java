@@ -1,6 +1,19 @@
 package com.backend.mao_amiga.controllers;
 
-import com.backend.mao_amiga.models.Evento;
+import com.backend.mao_amiga.dto.EventoResposta;
+import com.backend.mao_amiga.models.Notificacao;
+import com.backend.mao_amiga.models.enums.TipoNotificacao;
+import com.backend.mao_amiga.repositories.ArmazenamentoEventosMemoria;
+import com.backend.mao_amiga.repositories.ArmazenamentoMemoria;
+import com.backend.mao_amiga.services.CicloVidaEventos;
+import com.backend.mao_amiga.services.DistribuicaoNotificacoesService;
+import com.backend.mao_amiga.services.FeedService;
+import com.backend.mao_amiga.services.MetricasPlataforma;
+import com.backend.mao_amiga.services.NotificacaoService;
+import com.backend.mao_amiga.services.NotificacaoTempoRealService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -10,27 +23,46 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @SpringBootTest
 @ActiveProfiles("test")
 class EventoControllerTest {
 
-    private final EventoController controller = new EventoController();
+    private final NotificacaoService notificacaoService = new NotificacaoService(
+            new NotificacaoTempoRealService(), new MetricasPlataforma(), new ArmazenamentoMemoria<>());
+    private final DistribuicaoNotificacoesService distribuicaoNotificacoes =
+            new DistribuicaoNotificacoesService(notificacaoService, new SimpleMeterRegistry());
+    private final FeedService feedService = new FeedService();
+    private final EventoController controller = new EventoController(
+            notificacaoService, distribuicaoNotificacoes, feedService, new MetricasPlataforma(),
+            new CicloVidaEventos(), new ArmazenamentoEventosMemoria());
+
+    @BeforeEach
+    void iniciarDistribuicao() {
+        distribuicaoNotificacoes.iniciar();
+    }
+
+    @AfterEach
+    void encerrarDistribuicao() throws InterruptedException {
+        distribuicaoNotificacoes.encerrar();
+    }
 
     @Test
     @DisplayName("Deve criar evento com dados válidos")
     void deveCriarEventoComDadosValidos() {
         Map<String, Object> dados = criarDadosEventoValidos();
         
-        ResponseEntity<Evento> response = controller.criarEvento(dados);
+        ResponseEntity<EventoResposta> response = controller.criarEvento(dados);
         
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody());
-        assertEquals("Limpeza do Parque", response.getBody().getTitulo());
-        assertEquals("Atividade de preservação ambiental", response.getBody().getDescricao());
-        assertEquals(20, response.getBody().getVagasDisponiveis());
+        assertEquals("Limpeza do Parque", response.getBody().titulo());
+        assertEquals("Atividade de preservação ambiental", response.getBody().descricao());
+        assertEquals(20, response.getBody().vagasDisponiveis());
     }
 
     @Test
@@ -38,14 +70,14 @@ class EventoControllerTest {
     void deveBuscarEventoPorIdExistente() {
         // Cria evento
         Map<String, Object> dados = criarDadosEventoValidos();
-        ResponseEntity<Evento> eventoCriado = controller.criarEvento(dados);
-        UUID id = eventoCriado.getBody().getId();
+        ResponseEntity<EventoResposta> eventoCriado = controller.criarEvento(dados);
+        UUID id = eventoCriado.getBody().id();
         
-        ResponseEntity<Evento> response = controller.buscarEvento(id);
+        ResponseEntity<EventoResposta> response = controller.buscarEvento(id, null);
         
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody());
-        assertEquals(id, response.getBody().getId());
+        assertEquals(id, response.getBody().id());
     }
 
     @Test
@@ -53,7 +85,7 @@ class EventoControllerTest {
     void deveRetornar404AoBuscarEventoInexistente() {
         UUID idInexistente = UUID.randomUUID();
         
-        ResponseEntity<Evento> response = controller.buscarEvento(idInexistente);
+        ResponseEntity<EventoResposta> response = controller.buscarEvento(idInexistente, null);
         
         assertEquals(404, response.getStatusCodeValue());
         assertNull(response.getBody());
@@ -64,8 +96,8 @@ class EventoControllerTest {
     void deveInscreverVoluntarioNoEvento() {
         // Cria evento
         Map<String, Object> dados = criarDadosEventoValidos();
-        ResponseEntity<Evento> eventoCriado = controller.criarEvento(dados);
-        UUID idEvento = eventoCriado.getBody().getId();
+        ResponseEntity<EventoResposta> eventoCriado = controller.criarEvento(dados);
+        UUID idEvento = eventoCriado.getBody().id();
         UUID idVoluntario = UUID.randomUUID();
         
         ResponseEntity<?> response = controller.inscreverVoluntario(idEvento, idVoluntario);
@@ -78,8 +110,8 @@ class EventoControllerTest {
     void deveCancelarInscricaoVoluntario() {
         // Cria evento e inscreve voluntário
         Map<String, Object> dados = criarDadosEventoValidos();
-        ResponseEntity<Evento> eventoCriado = controller.criarEvento(dados);
-        UUID idEvento = eventoCriado.getBody().getId();
+        ResponseEntity<EventoResposta> eventoCriado = controller.criarEvento(dados);
+        UUID idEvento = eventoCriado.getBody().id();
         UUID idVoluntario = UUID.randomUUID();
         controller.inscreverVoluntario(idEvento, idVoluntario);
         
@@ -93,8 +125,8 @@ class EventoControllerTest {
     void deveMarcarPresencaVoluntario() {
         // Cria evento e inscreve voluntário
         Map<String, Object> dados = criarDadosEventoValidos();
-        ResponseEntity<Evento> eventoCriado = controller.criarEvento(dados);
-        UUID idEvento = eventoCriado.getBody().getId();
+        ResponseEntity<EventoResposta> eventoCriado = controller.criarEvento(dados);
+        UUID idEvento = eventoCriado.getBody().id();
         UUID idVoluntario = UUID.randomUUID();
         controller.inscreverVoluntario(idEvento, idVoluntario);
         
@@ -121,8 +153,8 @@ class EventoControllerTest {
     void deveBuscarEventosPorAreaInteresse() {
         // Cria evento e adiciona área
         Map<String, Object> dados = criarDadosEventoValidos();
-        ResponseEntity<Evento> eventoCriado = controller.criarEvento(dados);
-        UUID id = eventoCriado.getBody().getId();
+        ResponseEntity<EventoResposta> eventoCriado = controller.criarEvento(dados);
+        UUID id = eventoCriado.getBody().id();
         controller.adicionarAreaInteresse(id, "MEIO_AMBIENTE");
         
         ResponseEntity<?> response = controller.buscarEventosPorArea("MEIO_AMBIENTE");
@@ -152,15 +184,15 @@ class EventoControllerTest {
     void deveAtualizarEvento() {
         // Cria evento
         Map<String, Object> dados = criarDadosEventoValidos();
-        ResponseEntity<Evento> eventoCriado = controller.criarEvento(dados);
-        UUID id = eventoCriado.getBody().getId();
+        ResponseEntity<EventoResposta> eventoCriado = controller.criarEvento(dados);
+        UUID id = eventoCriado.getBody().id();
         
         // Dados para atualização
         Map<String, Object> dadosAtualizacao = new HashMap<>();
         dadosAtualizacao.put("titulo", "Limpeza do Parque - Atualizado");
         dadosAtualizacao.put("vagasDisponiveis", 30);
         
-        ResponseEntity<Evento> response = controller.atualizarEvento(id, dadosAtualizacao);
+        ResponseEntity<EventoResposta> response = controller.atualizarEvento(id, dadosAtualizacao);
         
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody());
@@ -171,8 +203,8 @@ class EventoControllerTest {
     void deveObterVoluntariosInscritos() {
         // Cria evento
         Map<String, Object> dados = criarDadosEventoValidos();
-        ResponseEntity<Evento> eventoCriado = controller.criarEvento(dados);
-        UUID id = eventoCriado.getBody().getId();
+        ResponseEntity<EventoResposta> eventoCriado = controller.criarEvento(dados);
+        UUID id = eventoCriado.getBody().id();
         
         ResponseEntity<?> response = controller.obterVoluntariosInscritos(id);
         
@@ -185,8 +217,8 @@ class EventoControllerTest {
     void deveObterEstatisticasEvento() {
         // Cria evento
         Map<String, Object> dados = criarDadosEventoValidos();
-        ResponseEntity<Evento> eventoCriado = controller.criarEvento(dados);
-        UUID id = eventoCriado.getBody().getId();
+        ResponseEntity<EventoResposta> eventoCriado = controller.criarEvento(dados);
+        UUID id = eventoCriado.getBody().id();
         
         ResponseEntity<?> response = controller.obterEstatisticas(id);
         
@@ -199,21 +231,36 @@ class EventoControllerTest {
     void deveCancelarEvento() {
         // Cria evento
         Map<String, Object> dados = criarDadosEventoValidos();
-        ResponseEntity<Evento> eventoCriado = controller.criarEvento(dados);
-        UUID id = eventoCriado.getBody().getId();
+        ResponseEntity<EventoResposta> eventoCriado = controller.criarEvento(dados);
+        UUID id = eventoCriado.getBody().id();
         
         ResponseEntity<?> response = controller.cancelarEvento(id);
         
         assertEquals(200, response.getStatusCodeValue());
     }
 
+    @Test
+    @DisplayName("Não deve trazer de volta ao feed um evento cancelado ao adicionar uma área")
+    void naoDeveRepublicarEventoCanceladoAoAdicionarArea() {
+        Map<String, Object> dados = criarDadosEventoValidos();
+        UUID idVoluntario = UUID.randomUUID();
+        feedService.registrarSeguimento(idVoluntario, UUID.fromString((String) dados.get("ongResponsavelId")));
+        UUID id = controller.criarEvento(dados).getBody().id();
+        assertEquals(1, feedService.montarFeed(idVoluntario, 20).size());
+
+        controller.cancelarEvento(id);
+        controller.adicionarAreaRelacionada(id, Map.of("area", "EDUCACAO"));
+
+        assertTrue(feedService.montarFeed(idVoluntario, 20).isEmpty());
+    }
+
     @Test
     @DisplayName("Deve finalizar evento")
     void deveFinalizarEvento() {
         // Cria evento
         Map<String, Object> dados = criarDadosEventoValidos();
-        ResponseEntity<Evento> eventoCriado = controller.criarEvento(dados);
-        UUID id = eventoCriado.getBody().getId();
+        ResponseEntity<EventoResposta> eventoCriado = controller.criarEvento(dados);
+        UUID id = eventoCriado.getBody().id();
         
         ResponseEntity<?> response = controller.finalizarEvento(id);
         
@@ -227,7 +274,7 @@ class EventoControllerTest {
         dadosInvalidos.put("titulo", ""); // Título vazio
         // Falta dados obrigatórios
         
-        ResponseEntity<Evento> response = controller.criarEvento(dadosInvalidos);
+        ResponseEntity<EventoResposta> response = controller.criarEvento(dadosInvalidos);
         
         assertEquals(400, response.getStatusCodeValue());
         assertNull(response.getBody());
@@ -239,8 +286,8 @@ class EventoControllerTest {
         // Cria evento com 1 vaga só
         Map<String, Object> dados = criarDadosEventoValidos();
         dados.put("vagasDisponiveis", 1);
-        ResponseEntity<Evento> eventoCriado = controller.criarEvento(dados);
-        UUID idEvento = eventoCriado.getBody().getId();
+        ResponseEntity<EventoResposta> eventoCriado = controller.criarEvento(dados);
+        UUID idEvento = eventoCriado.getBody().id();
         
         // Inscreve primeiro voluntário (ocupa a única vaga)
         controller.inscreverVoluntario(idEvento, UUID.randomUUID());
@@ -251,6 +298,64 @@ class EventoControllerTest {
         assertEquals(400, response.getStatusCodeValue());
     }
 
+    @Test
+    @DisplayName("Deve incluir os inscritos apenas quando pedidos em expand")
+    void deveIncluirInscritosApenasComExpand() {
+        UUID id = controller.criarEvento(criarDadosEventoValidos()).getBody().id();
+        controller.abrirInscricoes(id);
+        UUID idVoluntario = UUID.randomUUID();
+        controller.inscreverVoluntario(id, idVoluntario);
+
+        EventoResposta compacto = controller.buscarEvento(id, null).getBody();
+        EventoResposta expandido = controller.buscarEvento(id, "inscritos").getBody();
+
+        assertEquals(1, compacto.vagasOcupadas());
+        assertNull(compacto.inscritos());
+        assertNull(compacto.listaEspera());
+        assertEquals(Set.of(idVoluntario), expandido.inscritos());
+        assertNull(expandido.participantes());
+        assertEquals(400, controller.buscarEvento(id, "inscritos,senhas").getStatusCode().value());
+    }
+
+    @Test
+    @DisplayName("Deve lembrar os inscritos e mover o evento entre os status nos disparos do ciclo de vida")
+    void deveAplicarDisparosDoCicloDeVida() throws InterruptedException {
+        UUID id = controller.criarEvento(criarDadosEventoValidos()).getBody().id();
+        UUID idVoluntario = UUID.randomUUID();
+        controller.abrirInscricoes(id);
+        controller.inscreverVoluntario(id, idVoluntario);
+
+        controller.aplicarDisparo(new CicloVidaEventos.Disparo(id, CicloVidaEventos.Momento.LEMBRETE));
+        // O lembrete vai para a fila de distribuição; encerrar espera a fila esvaziar
+        distribuicaoNotificacoes.encerrar();
+        List<Notificacao> lembretes = notificacaoService.buscarNotificacoesNaoLidas(idVoluntario);
+        assertEquals(1, lembretes.size());
+        assertEquals(TipoNotificacao.LEMBRETE_EVENTO, lembretes.get(0).getTipo());
+        assertEquals(id, lembretes.get(0).getEventoRelacionadoId());
+
+        controller.aplicarDisparo(new CicloVidaEventos.Disparo(id, CicloVidaEventos.Momento.INICIO));
+        assertEquals(List.of(id), idsPorStatus("EM_ANDAMENTO"));
+        assertTrue(idsPorStatus("ABERTO_INSCRICOES").isEmpty());
+
+        controller.aplicarDisparo(new CicloVidaEventos.Disparo(id, CicloVidaEventos.Momento.FIM));
+        assertEquals(List.of(id), idsPorStatus("FINALIZADO"));
+        assertTrue(idsPorStatus("EM_ANDAMENTO").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Não deve iniciar pelo ciclo de vida um evento ainda planejado")
+    void naoDeveIniciarEventoPlanejadoPeloCicloDeVida() {
+        UUID id = controller.criarEvento(criarDadosEventoValidos()).getBody().id();
+
+        controller.aplicarDisparo(new CicloVidaEventos.Disparo(id, CicloVidaEventos.Momento.INICIO));
+
+        assertEquals(List.of(id), idsPorStatus("PLANEJADO"));
+    }
+
+    private List<UUID> idsPorStatus(String status) {
+        return controller.listarEventosPorStatus(status).getBody().stream().map(EventoResposta::id).toList();
+    }
+
     private Map<String, Object> criarDadosEventoValidos() {
         Map<String, Object> dados = new HashMap<>();
         dados.put("titulo", "Limpeza do Parque");
@@ -0,0 +1,105 @@
+package com.backend.mao_amiga.controllers;
+
+import com.backend.mao_amiga.models.Comentario;
+import com.backend.mao_amiga.models.Post;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+class IndiceComentariosTest {
+
+    private final EstatisticasComentarios estatisticas = new EstatisticasComentarios();
+    private final IndiceComentarios indice = new IndiceComentarios(estatisticas);
+    private final Post post = Post.criarPostOng(UUID.randomUUID(), "Obrigado a todos!");
+
+    @Test
+    @DisplayName("Deve paginar os comentários do post por cursor, dos mais antigos para os mais recentes")
+    void devePaginarComentariosDoPost() {
+        List<UUID> criados = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            criados.add(comentar(UUID.randomUUID()).getId());
+        }
+
+        PaginaIds primeira = indice.listarDoPost(post.getId(), null, 5);
+        PaginaIds segunda = indice.listarDoPost(post.getId(), primeira.proximoCursor(), 5);
+
+        assertEquals(5, primeira.ids().size());
+        assertEquals(2, segunda.ids().size());
+        assertNull(segunda.proximoCursor());
+        List<UUID> todos = new ArrayList<>(primeira.ids());
+        todos.addAll(segunda.ids());
+        assertEquals(criados.stream().sorted().toList(), todos.stream().sorted().toList());
+    }
+
+    @Test
+    @DisplayName("Deve manter a contagem de comentários ativos ao desativar e reativar")
+    void deveManterContagemDeAtivos() {
+        Comentario comentario = comentar(UUID.randomUUID());
+        comentar(UUID.randomUUID());
+        assertEquals(2, indice.contarAtivosDoPost(post.getId()));
+
+        comentario.desativarComentario();
+        indice.atualizar(comentario, null);
+        indice.atualizar(comentario, null);
+        assertEquals(1, indice.contarAtivosDoPost(post.getId()));
+        assertFalse(indice.listarDoPost(post.getId(), null, 10).ids().contains(comentario.getId()));
+
+        comentario.reativarComentario();
+        indice.atualizar(comentario, null);
+        assertEquals(2, indice.contarAtivosDoPost(post.getId()));
+        assertEquals(post.getId(), indice.buscarPostId(comentario.getId()));
+    }
+
+    @Test
+    @DisplayName("Deve listar os comentários do autor, dos mais recentes para os mais antigos")
+    void deveListarComentariosDoAutor() {
+        UUID autorId = UUID.randomUUID();
+        Comentario primeiro = comentar(autorId);
+        Comentario segundo = comentar(autorId);
+        comentar(UUID.randomUUID());
+
+        List<UUID> doAutor = indice.listarDoAutor(autorId, null, 10).ids();
+
+        assertEquals(2, doAutor.size());
+        assertTrue(doAutor.containsAll(List.of(primeiro.getId(), segundo.getId())));
+        assertEquals(0, indice.contarAtivosDoPost(UUID.randomUUID()));
+    }
+    @Test
+    @DisplayName("Deve manter as estatísticas gerais a cada criação, desativação e reativação")
+    void deveManterEstatisticasGerais() {
+        Comentario voluntario = comentar(UUID.randomUUID());
+        comentar(UUID.randomUUID());
+        Comentario daOng = Comentario.criarComentarioOng(UUID.randomUUID(), "Obrigado!", post);
+        indice.atualizar(daOng, post.getId());
+
+        voluntario.desativarComentario();
+        indice.atualizar(voluntario, null);
+        indice.atualizar(voluntario, null);
+
+        Map<String, Object> resultado = estatisticas.obterEstatisticas();
+        assertEquals(3L, resultado.get("totalComentarios"));
+        assertEquals(2L, resultado.get("comentariosAtivos"));
+        assertEquals(2L, resultado.get("comentariosRecentes"));
+        assertEquals(1L, resultado.get("comentariosVoluntarios"));
+        assertEquals(1L, resultado.get("comentariosOngs"));
+
+        voluntario.reativarComentario();
+        indice.atualizar(voluntario, null);
+
+        resultado = estatisticas.obterEstatisticas();
+        assertEquals(3L, resultado.get("totalComentarios"));
+        assertEquals(3L, resultado.get("comentariosAtivos"));
+        assertEquals(2L, resultado.get("comentariosVoluntarios"));
+    }
+
+    private Comentario comentar(UUID autorId) {
+        Comentario comentario = Comentario.criarComentarioVoluntario(autorId, "Muito bom!", post);
+        indice.atualizar(comentario, post.getId());
+        return comentario;
+    }
+}
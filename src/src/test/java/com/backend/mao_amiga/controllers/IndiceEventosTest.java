@@ -0,0 +1,87 @@
+package com.backend.mao_amiga.controllers;
+
+import com.backend.mao_amiga.models.Evento;
+import com.backend.mao_amiga.models.enums.AreaInteresse;
+import com.backend.mao_amiga.models.enums.StatusEvento;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+class IndiceEventosTest {
+
+    private final UUID ONG_ID = UUID.randomUUID();
+    private IndiceEventos indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceEventos();
+    }
+
+    @Test
+    @DisplayName("Deve mover o evento de status ao reindexar")
+    void deveMoverEventoDeStatus() {
+        Evento evento = criarEvento(LocalDateTime.now().plusDays(1));
+        indice.atualizar(evento);
+
+        evento.abrirInscricoes();
+        indice.atualizar(evento);
+
+        assertFalse(indice.buscarPorStatus(StatusEvento.PLANEJADO).contains(evento.getId()));
+        assertTrue(indice.buscarPorStatus(StatusEvento.ABERTO_INSCRICOES).contains(evento.getId()));
+    }
+
+    @Test
+    @DisplayName("Deve indexar eventos por área e por ONG")
+    void deveIndexarPorAreaEOng() {
+        Evento evento = criarEvento(LocalDateTime.now().plusDays(1));
+        evento.adicionarAreaRelacionada(AreaInteresse.MEIO_AMBIENTE);
+        indice.atualizar(evento);
+
+        assertTrue(indice.buscarPorArea(AreaInteresse.MEIO_AMBIENTE).contains(evento.getId()));
+        assertTrue(indice.buscarPorOng(ONG_ID).contains(evento.getId()));
+        assertTrue(indice.buscarPorOng(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve listar eventos futuros em ordem de início e acompanhar mudança de data")
+    void deveListarFuturosEmOrdem() {
+        LocalDateTime agora = LocalDateTime.now();
+        Evento passado = criarEvento(agora.minusDays(1));
+        Evento depois = criarEvento(agora.plusDays(5));
+        Evento antes = criarEvento(agora.plusDays(2));
+        indice.atualizar(passado);
+        indice.atualizar(depois);
+        indice.atualizar(antes);
+
+        assertEquals(List.of(antes.getId(), depois.getId()), indice.buscarComInicioApos(agora));
+
+        depois.alterarDataHora(agora.plusHours(1), agora.plusHours(3));
+        indice.atualizar(depois);
+
+        assertEquals(List.of(depois.getId(), antes.getId()), indice.buscarComInicioApos(agora));
+    }
+
+    @Test
+    @DisplayName("Deve remover o evento de todos os índices")
+    void deveRemoverEventoDosIndices() {
+        Evento evento = criarEvento(LocalDateTime.now().plusDays(1));
+        evento.adicionarAreaRelacionada(AreaInteresse.EDUCACAO);
+        indice.atualizar(evento);
+
+        indice.remover(evento.getId());
+
+        assertTrue(indice.buscarPorStatus(StatusEvento.PLANEJADO).isEmpty());
+        assertTrue(indice.buscarPorArea(AreaInteresse.EDUCACAO).isEmpty());
+        assertTrue(indice.buscarPorOng(ONG_ID).isEmpty());
+        assertTrue(indice.buscarComInicioApos(LocalDateTime.now().minusYears(1)).isEmpty());
+    }
+
+    private Evento criarEvento(LocalDateTime inicio) {
+        return new Evento("Mutirão", "Mutirão no bairro", inicio, inicio.plusHours(4), ONG_ID, "Praça", 10);
+    }
+}
@@ -0,0 +1,81 @@
+package com.backend.mao_amiga.controllers;
+
+import com.backend.mao_amiga.models.Post;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.UUID;
+
+class RankingPostsTest {
+
+    private final RankingPosts ranking = RankingPosts.porCurtidas();
+
+    @Test
+    @DisplayName("Deve manter os posts ordenados pela quantidade de curtidas")
+    void deveOrdenarPorCurtidas() {
+        Post poucoCurtido = criarPostComCurtidas(1);
+        Post maisCurtido = criarPostComCurtidas(5);
+        Post medio = criarPostComCurtidas(3);
+
+        assertEquals(List.of(maisCurtido.getId(), medio.getId()), ranking.listarPrimeiros(2));
+        assertEquals(3, ranking.listarPrimeiros(10).size());
+        assertTrue(ranking.listarPrimeiros(10).contains(poucoCurtido.getId()));
+    }
+
+    @Test
+    @DisplayName("Deve reposicionar o post quando recebe novas curtidas")
+    void deveReposicionarAoCurtir() {
+        Post primeiro = criarPostComCurtidas(2);
+        Post segundo = criarPostComCurtidas(1);
+
+        segundo.adicionarCurtida(UUID.randomUUID());
+        segundo.adicionarCurtida(UUID.randomUUID());
+        ranking.atualizar(segundo);
+
+        assertEquals(List.of(segundo.getId(), primeiro.getId()), ranking.listarPrimeiros(2));
+    }
+
+    @Test
+    @DisplayName("Deve retirar do ranking o post desativado")
+    void deveRetirarPostDesativado() {
+        Post post = criarPostComCurtidas(4);
+
+        post.desativarPost();
+        ranking.atualizar(post);
+
+        assertTrue(ranking.listarPrimeiros(10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve recusar limite menor ou igual a zero")
+    void deveRecusarLimiteInvalido() {
+        criarPostComCurtidas(1);
+
+        assertThrows(IllegalArgumentException.class, () -> ranking.listarPrimeiros(0));
+        assertThrows(IllegalArgumentException.class, () -> ranking.listarPrimeiros(-1));
+    }
+
+    @Test
+    @DisplayName("Deve somar uma ordem de grandeza a cada 10x mais curtidas na relevância")
+    void deveCalcularPontuacaoRelevancia() {
+        Post post = criarPostComCurtidas(1);
+        double comUmaCurtida = RankingPosts.pontuacaoRelevancia(post);
+
+        for (int i = 0; i < 9; i++) {
+            post.adicionarCurtida(UUID.randomUUID());
+        }
+
+        assertEquals(comUmaCurtida + 1.0, RankingPosts.pontuacaoRelevancia(post), 1e-9);
+    }
+
+    private Post criarPostComCurtidas(int curtidas) {
+        Post post = Post.criarPostVoluntario(UUID.randomUUID(), "Participei do mutirão!");
+        for (int i = 0; i < curtidas; i++) {
+            post.adicionarCurtida(UUID.randomUUID());
+        }
+        ranking.atualizar(post);
+        return post;
+    }
+}
@@ -0,0 +1,101 @@
+package com.backend.mao_amiga.controllers;
+
+import com.backend.mao_amiga.models.Post;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+class TimelinePostsTest {
+
+    private final TimelinePosts timeline = new TimelinePosts();
+
+    @Test
+    @DisplayName("Deve percorrer todos os posts por cursor sem repetir nem pular")
+    void devePaginarPorCursor() {
+        // Posts de dois em dois com o mesmo horário, publicados fora de ordem:
+        // a ordem esperada é do mais recente ao mais antigo e, no empate, pelo id
+        LocalDateTime inicio = LocalDateTime.of(2026, 3, 1, 8, 0);
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            Post post = Post.criarPostVoluntario(UUID.randomUUID(), "Post " + i);
+            ReflectionTestUtils.setField(post, "criadoEm", inicio.plusMinutes(i / 2));
+            posts.add(post);
+        }
+        List<UUID> esperados = new ArrayList<>();
+        for (int minuto = 12; minuto >= 0; minuto--) {
+            LocalDateTime horario = inicio.plusMinutes(minuto);
+            posts.stream()
+                .filter(post -> post.getCriadoEm().equals(horario))
+                .map(Post::getId)
+                .sorted()
+                .forEach(esperados::add);
+        }
+        Collections.shuffle(posts, new Random(42));
+        posts.forEach(this::publicar);
+
+        List<List<UUID>> paginas = new ArrayList<>();
+        String cursor = null;
+        do {
+            PaginaIds pagina = timeline.listar(cursor, 10);
+            paginas.add(pagina.ids());
+            cursor = pagina.proximoCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of(
+            esperados.subList(0, 10),
+            esperados.subList(10, 20),
+            esperados.subList(20, 25)), paginas);
+    }
+
+    @Test
+    @DisplayName("Não deve deslocar a página seguinte quando novos posts são publicados")
+    void naoDeveDeslocarPaginaComPostsNovos() {
+        for (int i = 0; i < 4; i++) {
+            publicar(Post.criarPostVoluntario(UUID.randomUUID(), "Post " + i));
+        }
+        PaginaIds primeira = timeline.listar(null, 2);
+
+        publicar(Post.criarPostOng(UUID.randomUUID(), "Post novo"));
+        PaginaIds segunda = timeline.listar(primeira.proximoCursor(), 2);
+
+        assertEquals(2, segunda.ids().size());
+        segunda.ids().forEach(id -> assertFalse(primeira.ids().contains(id)));
+        assertNull(segunda.proximoCursor());
+    }
+
+    @Test
+    @DisplayName("Deve filtrar por autor e por tipo de autor e ignorar posts desativados")
+    void deveFiltrarPorAutorETipo() {
+        UUID ongId = UUID.randomUUID();
+        Post daOng = publicar(Post.criarPostOng(ongId, "Evento no sábado"));
+        Post desativado = publicar(Post.criarPostOng(ongId, "Post removido"));
+        publicar(Post.criarPostVoluntario(UUID.randomUUID(), "Fui voluntário"));
+
+        desativado.desativarPost();
+        timeline.atualizar(desativado);
+
+        assertEquals(List.of(daOng.getId()), timeline.listarDoAutor(ongId, null, 10).ids());
+        assertEquals(List.of(daOng.getId()), timeline.listarPorTipoAutor("ONG", null, 10).ids());
+        assertEquals(1, timeline.listarPorTipoAutor("VOLUNTARIO", null, 10).ids().size());
+        assertTrue(timeline.listarDoAutor(UUID.randomUUID(), null, 10).ids().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve recusar cursor inválido")
+    void deveRecusarCursorInvalido() {
+        assertThrows(IllegalArgumentException.class, () -> timeline.listar("nao-e-um-cursor", 10));
+    }
+
+    private Post publicar(Post post) {
+        timeline.atualizar(post);
+        return post;
+    }
+}
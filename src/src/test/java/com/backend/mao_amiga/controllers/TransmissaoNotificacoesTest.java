@@ -0,0 +1,111 @@
+package com.backend.mao_amiga.controllers;
+
+import com.backend.mao_amiga.services.NotificacaoService;
+import com.backend.mao_amiga.services.NotificacaoTempoRealService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TransmissaoNotificacoesTest {
+
+    private static final String STREAM = "/api/notificacoes/usuario/{usuarioId}/stream";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private NotificacaoService notificacaoService;
+
+    @Autowired
+    private NotificacaoTempoRealService notificacaoTempoReal;
+
+    @Test
+    @DisplayName("Deve enviar o contador e depois as notificações na ordem em que foram criadas")
+    void deveEnviarNotificacoesEmOrdem() throws Exception {
+        UUID usuarioId = UUID.randomUUID();
+        notificacaoService.criarNotificacaoNovoSeguidor(usuarioId, UUID.randomUUID());
+
+        MockHttpServletResponse resposta = conectar(usuarioId);
+        aguardar(resposta, conteudo -> conteudo.contains("event:contador"));
+        assertTrue(resposta.getContentType().startsWith(MediaType.TEXT_EVENT_STREAM_VALUE));
+        assertTrue(conteudo(resposta).contains("\"naoLidas\":1"));
+
+        // Uma rajada publicada de uma vez, como num fan-out grande
+        List<String> criadas = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            notificacaoService.criarNotificacoesNovoPost(UUID.randomUUID(), UUID.randomUUID(),
+                    Collections.nCopies(200, usuarioId))
+                .forEach(notificacao -> criadas.add(notificacao.getId().toString()));
+        }
+
+        aguardar(resposta, conteudo -> idsRecebidos(conteudo).size() == criadas.size());
+        assertEquals(criadas, idsRecebidos(conteudo(resposta)));
+        String conteudo = conteudo(resposta);
+        assertTrue(conteudo.indexOf("event:contador") < conteudo.indexOf("event:notificacao"));
+    }
+
+    @Test
+    @DisplayName("Deve enviar o heartbeat às conexões abertas")
+    void deveEnviarHeartbeat() throws Exception {
+        UUID usuarioId = UUID.randomUUID();
+        int abertasAntes = notificacaoTempoReal.contarConexoesAbertas();
+
+        MockHttpServletResponse resposta = conectar(usuarioId);
+        aguardar(resposta, conteudo -> conteudo.contains("event:contador"));
+        assertEquals(abertasAntes + 1, notificacaoTempoReal.contarConexoesAbertas());
+
+        notificacaoTempoReal.enviarHeartbeat();
+
+        aguardar(resposta, conteudo -> conteudo.contains(":heartbeat"));
+    }
+
+    private MockHttpServletResponse conectar(UUID usuarioId) throws Exception {
+        return mockMvc.perform(get(STREAM, usuarioId).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+
+    private List<String> idsRecebidos(String conteudo) {
+        List<String> ids = new ArrayList<>();
+        for (String linha : conteudo.split("\n")) {
+            if (linha.startsWith("id:")) {
+                ids.add(linha.substring("id:".length()));
+            }
+        }
+        return ids;
+    }
+
+    private String conteudo(MockHttpServletResponse resposta) throws Exception {
+        return resposta.getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    private void aguardar(MockHttpServletResponse resposta, Predicate<String> condicao) throws Exception {
+        long limite = System.nanoTime() + 5_000_000_000L;
+        while (!condicao.test(conteudo(resposta))) {
+            if (System.nanoTime() > limite) {
+                fail("Evento não recebido a tempo: " + conteudo(resposta));
+            }
+            Thread.sleep(10);
+        }
+    }
+}
@@ -1,6 +1,12 @@
 package com.backend.mao_amiga.controllers;
 
-import com.backend.mao_amiga.models.Voluntario;
+import com.backend.mao_amiga.dto.VoluntarioResposta;
+import com.backend.mao_amiga.repositories.ArmazenamentoEventosMemoria;
+import com.backend.mao_amiga.repositories.ArmazenamentoMemoria;
+import com.backend.mao_amiga.repositories.ArmazenamentoVoluntariosMemoria;
+import com.backend.mao_amiga.services.AvaliacaoService;
+import com.backend.mao_amiga.services.FeedService;
+import com.backend.mao_amiga.services.MetricasPlataforma;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -16,19 +22,22 @@ import java.util.UUID;
 @ActiveProfiles("test")
 class VoluntarioControllerTest {
 
-    private final VoluntarioController controller = new VoluntarioController();
+    private final VoluntarioController controller = new VoluntarioController(
+            new FeedService(), new MetricasPlataforma(),
+            new AvaliacaoService(new MetricasPlataforma(), new ArmazenamentoMemoria<>(), new ArmazenamentoEventosMemoria()),
+            new ArmazenamentoVoluntariosMemoria());
 
     @Test
     @DisplayName("Deve criar voluntário com dados válidos")
     void deveCriarVoluntarioComDadosValidos() {
         Map<String, String> dados = criarDadosVoluntarioValidos();
         
-        ResponseEntity<Voluntario> response = controller.criarVoluntario(dados);
+        ResponseEntity<VoluntarioResposta> response = controller.criarVoluntario(dados);
         
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody());
-        assertEquals("voluntario@teste.com", response.getBody().getEmail());
-        assertEquals("João Silva", response.getBody().getNomeCompleto());
+        assertEquals("voluntario@teste.com", response.getBody().email());
+        assertEquals("João Silva", response.getBody().nomeCompleto());
     }
 
     @Test
@@ -36,14 +45,14 @@ class VoluntarioControllerTest {
     void deveBuscarVoluntarioPorIdExistente() {
         // Cria voluntário
         Map<String, String> dados = criarDadosVoluntarioValidos();
-        ResponseEntity<Voluntario> voluntarioCriado = controller.criarVoluntario(dados);
-        UUID id = voluntarioCriado.getBody().getId();
+        ResponseEntity<VoluntarioResposta> voluntarioCriado = controller.criarVoluntario(dados);
+        UUID id = voluntarioCriado.getBody().id();
         
-        ResponseEntity<Voluntario> response = controller.buscarVoluntario(id);
+        ResponseEntity<VoluntarioResposta> response = controller.buscarVoluntario(id, null);
         
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody());
-        assertEquals(id, response.getBody().getId());
+        assertEquals(id, response.getBody().id());
     }
 
     @Test
@@ -51,7 +60,7 @@ class VoluntarioControllerTest {
     void deveRetornar404AoBuscarVoluntarioInexistente() {
         UUID idInexistente = UUID.randomUUID();
         
-        ResponseEntity<Voluntario> response = controller.buscarVoluntario(idInexistente);
+        ResponseEntity<VoluntarioResposta> response = controller.buscarVoluntario(idInexistente, null);
         
         assertEquals(404, response.getStatusCodeValue());
         assertNull(response.getBody());
@@ -62,8 +71,8 @@ class VoluntarioControllerTest {
     void deveAdicionarAreaInteresse() {
         // Cria voluntário
         Map<String, String> dados = criarDadosVoluntarioValidos();
-        ResponseEntity<Voluntario> voluntarioCriado = controller.criarVoluntario(dados);
-        UUID id = voluntarioCriado.getBody().getId();
+        ResponseEntity<VoluntarioResposta> voluntarioCriado = controller.criarVoluntario(dados);
+        UUID id = voluntarioCriado.getBody().id();
         
         // Cria mapa com a área de interesse
         Map<String, String> areaData = new HashMap<>();
@@ -79,8 +88,8 @@ class VoluntarioControllerTest {
     void deveRemoverAreaInteresse() {
         // Cria voluntário e adiciona área
         Map<String, String> dados = criarDadosVoluntarioValidos();
-        ResponseEntity<Voluntario> voluntarioCriado = controller.criarVoluntario(dados);
-        UUID id = voluntarioCriado.getBody().getId();
+        ResponseEntity<VoluntarioResposta> voluntarioCriado = controller.criarVoluntario(dados);
+        UUID id = voluntarioCriado.getBody().id();
         
         // Cria mapa com a área de interesse
         Map<String, String> areaData = new HashMap<>();
@@ -97,8 +106,8 @@ class VoluntarioControllerTest {
     void deveSeguirOng() {
         // Cria voluntário
         Map<String, String> dados = criarDadosVoluntarioValidos();
-        ResponseEntity<Voluntario> voluntarioCriado = controller.criarVoluntario(dados);
-        UUID idVoluntario = voluntarioCriado.getBody().getId();
+        ResponseEntity<VoluntarioResposta> voluntarioCriado = controller.criarVoluntario(dados);
+        UUID idVoluntario = voluntarioCriado.getBody().id();
         UUID idOng = UUID.randomUUID();
         
         ResponseEntity<?> response = controller.seguirOng(idVoluntario, idOng);
@@ -111,8 +120,8 @@ class VoluntarioControllerTest {
     void deveDeixarDeSeguirOng() {
         // Cria voluntário e faz seguir ONG
         Map<String, String> dados = criarDadosVoluntarioValidos();
-        ResponseEntity<Voluntario> voluntarioCriado = controller.criarVoluntario(dados);
-        UUID idVoluntario = voluntarioCriado.getBody().getId();
+        ResponseEntity<VoluntarioResposta> voluntarioCriado = controller.criarVoluntario(dados);
+        UUID idVoluntario = voluntarioCriado.getBody().id();
         UUID idOng = UUID.randomUUID();
         controller.seguirOng(idVoluntario, idOng);
         
@@ -126,8 +135,8 @@ class VoluntarioControllerTest {
     void deveFavoritarEvento() {
         // Cria voluntário
         Map<String, String> dados = criarDadosVoluntarioValidos();
-        ResponseEntity<Voluntario> voluntarioCriado = controller.criarVoluntario(dados);
-        UUID idVoluntario = voluntarioCriado.getBody().getId();
+        ResponseEntity<VoluntarioResposta> voluntarioCriado = controller.criarVoluntario(dados);
+        UUID idVoluntario = voluntarioCriado.getBody().id();
         UUID idEvento = UUID.randomUUID();
         
         ResponseEntity<?> response = controller.favoritarEvento(idVoluntario, idEvento);
@@ -140,8 +149,8 @@ class VoluntarioControllerTest {
     void deveDesfavoritarEvento() {
         // Cria voluntário e favorita evento
         Map<String, String> dados = criarDadosVoluntarioValidos();
-        ResponseEntity<Voluntario> voluntarioCriado = controller.criarVoluntario(dados);
-        UUID idVoluntario = voluntarioCriado.getBody().getId();
+        ResponseEntity<VoluntarioResposta> voluntarioCriado = controller.criarVoluntario(dados);
+        UUID idVoluntario = voluntarioCriado.getBody().id();
         UUID idEvento = UUID.randomUUID();
         controller.favoritarEvento(idVoluntario, idEvento);
         
@@ -155,8 +164,8 @@ class VoluntarioControllerTest {
     void deveObterHistoricoEventos() {
         // Cria voluntário
         Map<String, String> dados = criarDadosVoluntarioValidos();
-        ResponseEntity<Voluntario> voluntarioCriado = controller.criarVoluntario(dados);
-        UUID id = voluntarioCriado.getBody().getId();
+        ResponseEntity<VoluntarioResposta> voluntarioCriado = controller.criarVoluntario(dados);
+        UUID id = voluntarioCriado.getBody().id();
         
         ResponseEntity<?> response = controller.obterHistoricoEventos(id);
         
@@ -169,8 +178,8 @@ class VoluntarioControllerTest {
     void deveObterOngsSeguidas() {
         // Cria voluntário
         Map<String, String> dados = criarDadosVoluntarioValidos();
-        ResponseEntity<Voluntario> voluntarioCriado = controller.criarVoluntario(dados);
-        UUID id = voluntarioCriado.getBody().getId();
+        ResponseEntity<VoluntarioResposta> voluntarioCriado = controller.criarVoluntario(dados);
+        UUID id = voluntarioCriado.getBody().id();
         
         ResponseEntity<?> response = controller.obterOngsSeguidas(id);
         
@@ -183,14 +192,14 @@ class VoluntarioControllerTest {
     void deveAtualizarPerfilVoluntario() {
         // Cria voluntário
         Map<String, String> dados = criarDadosVoluntarioValidos();
-        ResponseEntity<Voluntario> voluntarioCriado = controller.criarVoluntario(dados);
-        UUID id = voluntarioCriado.getBody().getId();
+        ResponseEntity<VoluntarioResposta> voluntarioCriado = controller.criarVoluntario(dados);
+        UUID id = voluntarioCriado.getBody().id();
         
         // Dados para atualização
         Map<String, String> dadosAtualizacao = new HashMap<>();
         dadosAtualizacao.put("maisSobre", "Voluntário dedicado e experiente");
         
-        ResponseEntity<Voluntario> response = controller.atualizarVoluntario(id, dadosAtualizacao);
+        ResponseEntity<VoluntarioResposta> response = controller.atualizarVoluntario(id, dadosAtualizacao);
         
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody());
@@ -201,8 +210,8 @@ class VoluntarioControllerTest {
     void deveBuscarVoluntariosPorAreaInteresse() {
         // Cria voluntário e adiciona área
         Map<String, String> dados = criarDadosVoluntarioValidos();
-        ResponseEntity<Voluntario> voluntarioCriado = controller.criarVoluntario(dados);
-        UUID id = voluntarioCriado.getBody().getId();
+        ResponseEntity<VoluntarioResposta> voluntarioCriado = controller.criarVoluntario(dados);
+        UUID id = voluntarioCriado.getBody().id();
         
         // Cria mapa com a área de interesse
         Map<String, String> areaData = new HashMap<>();
@@ -220,8 +229,8 @@ class VoluntarioControllerTest {
     void deveObterEstatisticasVoluntario() {
         // Cria voluntário
         Map<String, String> dados = criarDadosVoluntarioValidos();
-        ResponseEntity<Voluntario> voluntarioCriado = controller.criarVoluntario(dados);
-        UUID id = voluntarioCriado.getBody().getId();
+        ResponseEntity<VoluntarioResposta> voluntarioCriado = controller.criarVoluntario(dados);
+        UUID id = voluntarioCriado.getBody().id();
         
         ResponseEntity<?> response = controller.obterEstatisticas(id);
         
@@ -236,7 +245,7 @@ class VoluntarioControllerTest {
         dadosInvalidos.put("email", "email-invalido");
         // Falta dados obrigatórios
         
-        ResponseEntity<Voluntario> response = controller.criarVoluntario(dadosInvalidos);
+        ResponseEntity<VoluntarioResposta> response = controller.criarVoluntario(dadosInvalidos);
         
         assertEquals(400, response.getStatusCodeValue());
         assertNull(response.getBody());
@@ -0,0 +1,67 @@
+package com.backend.mao_amiga.dto;
+
+import com.backend.mao_amiga.models.Comentario;
+import com.backend.mao_amiga.models.Ong;
+import com.backend.mao_amiga.models.Post;
+import com.backend.mao_amiga.repositories.ContadoresOng;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Set;
+import java.util.UUID;
+
+class RespostasJsonTest {
+
+    private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    @DisplayName("Deve serializar a ONG só com contadores quando não há expansão")
+    void deveSerializarOngCompacta() throws Exception {
+        Ong ong = new Ong("ong@teste.com", "senha123", "ONG Teste", "12.345.678/0001-90");
+        for (int i = 0; i < 1_000; i++) {
+            ong.adicionarSeguidor(UUID.randomUUID());
+        }
+
+        JsonNode compacta = mapper.valueToTree(OngResposta.de(ong));
+        JsonNode expandida = mapper.valueToTree(OngResposta.de(ong, ContadoresOng.de(ong), Set.of("seguidores"),
+                ong.getSeguidores()));
+
+        assertEquals(1_000, compacta.get("quantidadeSeguidores").asInt());
+        assertFalse(compacta.has("seguidores"));
+        assertFalse(compacta.has("senha"));
+        assertEquals(1_000, expandida.get("seguidores").size());
+        assertTrue(mapper.writeValueAsBytes(OngResposta.de(ong)).length < 1_000);
+    }
+
+    @Test
+    @DisplayName("Deve serializar comentário e post sem o ciclo entre eles")
+    void deveSerializarComentarioSemCiclo() throws Exception {
+        Post post = Post.criarPostOng(UUID.randomUUID(), "Obrigado a todos!");
+        Comentario comentario = Comentario.criarComentarioVoluntario(UUID.randomUUID(), "Conte comigo!", post);
+        post.adicionarComentario(comentario);
+        post.adicionarCurtida(UUID.randomUUID());
+
+        JsonNode jsonComentario = mapper.valueToTree(ComentarioResposta.de(comentario));
+        JsonNode jsonPost = mapper.valueToTree(PostResposta.de(post));
+
+        assertEquals(post.getId().toString(), jsonComentario.get("postId").asText());
+        assertFalse(jsonComentario.has("post"));
+        assertEquals(1, jsonPost.get("quantidadeComentarios").asInt());
+        assertEquals(1, jsonPost.get("quantidadeCurtidas").asInt());
+        assertFalse(jsonPost.has("comentarios"));
+        assertFalse(jsonPost.has("curtidas"));
+    }
+
+    @Test
+    @DisplayName("Deve recusar expansão desconhecida")
+    void deveRecusarExpansaoDesconhecida() {
+        assertEquals(Set.of("inscritos", "lista-espera"),
+                Expansoes.ler("inscritos, lista-espera", EventoResposta.EXPANSOES));
+        assertTrue(Expansoes.ler(" ", EventoResposta.EXPANSOES).isEmpty());
+        assertThrows(IllegalArgumentException.class,
+                () -> Expansoes.ler("inscritos,seguidores", EventoResposta.EXPANSOES));
+    }
+}
@@ -6,8 +6,11 @@ import org.junit.jupiter.api.DisplayName;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.backend.mao_amiga.models.enums.AreaInteresse;
+import com.backend.mao_amiga.models.enums.ResultadoInscricao;
 import com.backend.mao_amiga.models.enums.StatusEvento;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 class EventoTest {
@@ -218,4 +221,92 @@ class EventoTest {
             );
         });
     }
+
+    @Test
+    @DisplayName("Deve colocar voluntário na lista de espera quando o evento está lotado")
+    void deveColocarNaListaEsperaQuandoLotado() {
+        evento.abrirInscricoes();
+        for (int i = 0; i < VAGAS_TOTAIS; i++) {
+            assertEquals(ResultadoInscricao.INSCRITO, evento.solicitarInscricao(UUID.randomUUID()));
+        }
+        
+        UUID idVoluntario = UUID.randomUUID();
+        
+        assertEquals(ResultadoInscricao.LISTA_ESPERA, evento.solicitarInscricao(idVoluntario));
+        assertEquals(1, evento.getPosicaoListaEspera(idVoluntario));
+        assertFalse(evento.voluntarioEstaInscrito(idVoluntario));
+        assertEquals(VAGAS_TOTAIS, evento.getVagasOcupadas());
+    }
+
+    @Test
+    @DisplayName("Deve promover o primeiro da lista de espera ao cancelar inscrição")
+    void devePromoverListaEsperaEmOrdemAoCancelar() {
+        evento.abrirInscricoes();
+        List<UUID> inscritos = new ArrayList<>();
+        for (int i = 0; i < VAGAS_TOTAIS; i++) {
+            UUID id = UUID.randomUUID();
+            evento.solicitarInscricao(id);
+            inscritos.add(id);
+        }
+        UUID primeiroDaFila = UUID.randomUUID();
+        UUID segundoDaFila = UUID.randomUUID();
+        evento.solicitarInscricao(primeiroDaFila);
+        evento.solicitarInscricao(segundoDaFila);
+        
+        List<UUID> promovidos = new ArrayList<>();
+        boolean sucesso = evento.cancelarInscricaoVoluntario(inscritos.get(0), promovidos::add);
+        
+        assertTrue(sucesso);
+        assertEquals(List.of(primeiroDaFila), promovidos);
+        assertTrue(evento.voluntarioEstaInscrito(primeiroDaFila));
+        assertEquals(1, evento.getPosicaoListaEspera(segundoDaFila));
+        assertEquals(VAGAS_TOTAIS, evento.getVagasOcupadas());
+    }
+
+    @Test
+    @DisplayName("Deve manter a ordem e ignorar pedidos repetidos numa rajada para a lista de espera")
+    void deveManterOrdemDaListaEsperaEmRajada() {
+        evento.abrirInscricoes();
+        List<UUID> inscritos = new ArrayList<>();
+        for (int i = 0; i < VAGAS_TOTAIS; i++) {
+            UUID id = UUID.randomUUID();
+            evento.solicitarInscricao(id);
+            inscritos.add(id);
+        }
+        List<UUID> fila = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            UUID id = UUID.randomUUID();
+            assertEquals(ResultadoInscricao.LISTA_ESPERA, evento.solicitarInscricao(id));
+            assertEquals(ResultadoInscricao.LISTA_ESPERA, evento.solicitarInscricao(id));
+            fila.add(id);
+        }
+
+        assertTrue(evento.sairDaListaEspera(fila.remove(1)));
+        assertFalse(evento.sairDaListaEspera(UUID.randomUUID()));
+
+        assertEquals(fila, evento.getListaEspera());
+        assertEquals(2, evento.getPosicaoListaEspera(fila.get(1)));
+        List<UUID> promovidos = new ArrayList<>();
+        evento.cancelarInscricaoVoluntario(inscritos.get(0), promovidos::add);
+        evento.cancelarInscricaoVoluntario(inscritos.get(1), promovidos::add);
+        assertEquals(fila.subList(0, 2), promovidos);
+        assertEquals(0, evento.getPosicaoListaEspera(fila.get(0)));
+        assertEquals(1, evento.getPosicaoListaEspera(fila.get(2)));
+        // Quem foi promovido pode voltar à fila depois de cancelar
+        evento.cancelarInscricao(fila.get(0));
+        assertEquals(ResultadoInscricao.LISTA_ESPERA, evento.solicitarInscricao(fila.get(0)));
+        assertEquals(fila.size() - 2, evento.getPosicaoListaEspera(fila.get(0)));
+    }
+
+    @Test
+    @DisplayName("Deve liberar a vaga quando a lista de espera está vazia")
+    void deveLiberarVagaSemListaEspera() {
+        evento.abrirInscricoes();
+        UUID idVoluntario = UUID.randomUUID();
+        evento.solicitarInscricao(idVoluntario);
+        
+        assertTrue(evento.cancelarInscricao(idVoluntario));
+        assertEquals(0, evento.getVagasOcupadas());
+        assertEquals(VAGAS_TOTAIS, evento.getVagasRestantes());
+    }
 }
@@ -6,7 +6,12 @@ import org.junit.jupiter.api.DisplayName;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.backend.mao_amiga.models.enums.AreaInteresse;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 class OngTest {
 
@@ -77,6 +82,57 @@ class OngTest {
         assertEquals(0, ong.getQuantidadeSeguidores());
     }
 
+    @Test
+    @DisplayName("Deve manter os contadores ao repetir ou desfazer operações")
+    void deveManterContadoresAoRepetirOperacoes() {
+        UUID idVoluntario = UUID.randomUUID();
+        UUID idEvento = UUID.randomUUID();
+
+        ong.adicionarSeguidor(idVoluntario);
+        ong.adicionarSeguidor(idVoluntario);
+        ong.removerSeguidor(UUID.randomUUID());
+        ong.adicionarEventoOrganizado(idEvento);
+        ong.adicionarEventoOrganizado(idEvento);
+
+        assertEquals(1, ong.getQuantidadeSeguidores());
+        assertEquals(1, ong.getQuantidadeEventosOrganizados());
+
+        ong.removerSeguidor(idVoluntario);
+        ong.removerSeguidor(idVoluntario);
+        assertEquals(0, ong.getQuantidadeSeguidores());
+    }
+
+    @Test
+    @DisplayName("Não deve perder seguidores nem eventos com operações simultâneas")
+    void naoDevePerderContadoresSobConcorrencia() throws Exception {
+        List<UUID> voluntarios = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            voluntarios.add(UUID.randomUUID());
+        }
+        UUID idEvento = UUID.randomUUID();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (UUID idVoluntario : voluntarios) {
+                // Cada voluntário segue duas vezes: a segunda não pode contar
+                tarefas.add(executor.submit(() -> ong.adicionarSeguidor(idVoluntario)));
+                tarefas.add(executor.submit(() -> ong.adicionarSeguidor(idVoluntario)));
+                tarefas.add(executor.submit(() -> ong.adicionarEventoOrganizado(idEvento)));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(voluntarios.size(), ong.getSeguidores().size());
+        assertEquals(voluntarios.size(), ong.getQuantidadeSeguidores());
+        assertEquals(List.of(idEvento), ong.getEventosOrganizados());
+        assertEquals(1, ong.getQuantidadeEventosOrganizados());
+    }
+
     @Test
     @DisplayName("Deve adicionar evento organizado")
     void deveAdicionarEventoOrganizado() {
@@ -0,0 +1,128 @@
+package com.backend.mao_amiga.repositories;
+
+import com.backend.mao_amiga.models.Notificacao;
+import com.backend.mao_amiga.models.Post;
+import com.backend.mao_amiga.models.enums.TipoNotificacao;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Contrato comum aos motores de armazenamento: cada motor estende esta
+ * classe e roda exatamente os mesmos testes.
+ */
+abstract class ArmazenamentoContratoTest {
+
+    protected abstract ArmazenamentoPosts armazenamentoPosts();
+
+    protected abstract Armazenamento<Notificacao> armazenamentoNotificacoes();
+
+    @Test
+    @DisplayName("Deve salvar e buscar a entidade pelo ID, com suas coleções")
+    void deveSalvarEBuscarPorId() {
+        Post post = Post.criarPostOng(UUID.randomUUID(), "Mutirão no sábado!");
+        UUID usuarioId = UUID.randomUUID();
+        post.adicionarCurtida(usuarioId);
+
+        armazenamentoPosts().salvar(post);
+
+        Post salvo = armazenamentoPosts().buscar(post.getId()).orElseThrow();
+        assertEquals("Mutirão no sábado!", salvo.getConteudo());
+        assertTrue(armazenamentoPosts().usuarioCurtiu(salvo, usuarioId));
+        assertEquals(1, armazenamentoPosts().contar());
+    }
+
+    @Test
+    @DisplayName("Deve devolver vazio ao buscar um ID inexistente")
+    void deveDevolverVazioParaIdInexistente() {
+        assertTrue(armazenamentoPosts().buscar(UUID.randomUUID()).isEmpty());
+        assertEquals(0, armazenamentoPosts().contar());
+    }
+
+    @Test
+    @DisplayName("Deve atualizar a entidade ao salvar de novo, sem duplicá-la")
+    void deveAtualizarAoSalvarDeNovo() {
+        Post post = Post.criarPostVoluntario(UUID.randomUUID(), "Primeira versão");
+        armazenamentoPosts().salvar(post);
+
+        Post salvo = armazenamentoPosts().buscar(post.getId()).orElseThrow();
+        salvo.editarConteudo("Segunda versão");
+        armazenamentoPosts().curtir(salvo, UUID.randomUUID());
+        armazenamentoPosts().salvar(salvo);
+
+        Post atualizado = armazenamentoPosts().buscar(post.getId()).orElseThrow();
+        assertEquals("Segunda versão", atualizado.getConteudo());
+        assertEquals(1, atualizado.getQuantidadeCurtidas());
+        assertEquals(1, armazenamentoPosts().contar());
+    }
+
+    @Test
+    @DisplayName("Deve salvar em lote e listar todas as entidades")
+    void deveSalvarEmLoteEListarTodas() {
+        List<Notificacao> notificacoes = criarNotificacoes(25);
+
+        armazenamentoNotificacoes().salvarTodos(notificacoes);
+
+        List<UUID> ids = armazenamentoNotificacoes().listarTodos().stream().map(Notificacao::getId).sorted().toList();
+        assertEquals(notificacoes.stream().map(Notificacao::getId).sorted().toList(), ids);
+        assertEquals(25, armazenamentoNotificacoes().contar());
+    }
+
+    @Test
+    @DisplayName("Deve remover uma entidade e ignorar IDs inexistentes")
+    void deveRemoverEntidade() {
+        Post post = Post.criarPostOng(UUID.randomUUID(), "Post removido");
+        post.adicionarCurtida(UUID.randomUUID());
+        armazenamentoPosts().salvar(post);
+
+        armazenamentoPosts().remover(post.getId());
+        armazenamentoPosts().remover(UUID.randomUUID());
+
+        assertTrue(armazenamentoPosts().buscar(post.getId()).isEmpty());
+        assertEquals(0, armazenamentoPosts().contar());
+    }
+
+    @Test
+    @DisplayName("Deve remover várias entidades de uma vez, mantendo as demais")
+    void deveRemoverVariasDeUmaVez() {
+        List<Notificacao> notificacoes = criarNotificacoes(10);
+        armazenamentoNotificacoes().salvarTodos(notificacoes);
+        Post post = Post.criarPostOng(UUID.randomUUID(), "Post com curtidas");
+        post.adicionarCurtida(UUID.randomUUID());
+        armazenamentoPosts().salvar(post);
+
+        List<UUID> removidas = notificacoes.subList(0, 4).stream().map(Notificacao::getId).toList();
+        armazenamentoNotificacoes().removerTodos(removidas);
+        armazenamentoPosts().removerTodos(List.of(post.getId()));
+
+        assertEquals(6, armazenamentoNotificacoes().contar());
+        assertTrue(armazenamentoNotificacoes().buscar(removidas.get(0)).isEmpty());
+        assertTrue(armazenamentoNotificacoes().buscar(notificacoes.get(9).getId()).isPresent());
+        assertEquals(0, armazenamentoPosts().contar());
+    }
+
+    @Test
+    @DisplayName("Deve gravar a alteração de estado das entidades salvas em lote")
+    void deveGravarAlteracaoDeEstadoEmLote() {
+        List<Notificacao> notificacoes = criarNotificacoes(3);
+        armazenamentoNotificacoes().salvarTodos(notificacoes);
+
+        List<Notificacao> salvas = armazenamentoNotificacoes().listarTodos();
+        salvas.forEach(Notificacao::marcarComoLida);
+        armazenamentoNotificacoes().salvarTodos(salvas);
+
+        assertTrue(armazenamentoNotificacoes().listarTodos().stream().allMatch(Notificacao::isLida));
+    }
+
+    protected List<Notificacao> criarNotificacoes(int quantidade) {
+        List<Notificacao> notificacoes = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            notificacoes.add(new Notificacao(TipoNotificacao.NOVO_POST, "Nova publicação", UUID.randomUUID()));
+        }
+        return notificacoes;
+    }
+}
@@ -0,0 +1,217 @@
+package com.backend.mao_amiga.repositories;
+
+import com.backend.mao_amiga.config.ArmazenamentoConfig;
+import com.backend.mao_amiga.models.Evento;
+import com.backend.mao_amiga.models.Notificacao;
+import com.backend.mao_amiga.models.Ong;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Motor JPA sobre um H2 em memória no lugar do PostgreSQL (perfil "jpa"). Sem
+// transação por teste: cada chamada ao armazenamento abre a sua, como nos
+// controllers, e as leituras voltam do banco já destacadas
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(ArmazenamentoConfig.class)
+@ActiveProfiles("jpa")
+class ArmazenamentoJpaTest extends ArmazenamentoContratoTest {
+
+    @Autowired
+    private ArmazenamentoPosts posts;
+
+    @Autowired
+    private Armazenamento<Notificacao> notificacoes;
+
+    @Autowired
+    private ArmazenamentoEventos eventos;
+
+    @Autowired
+    private Armazenamento<Ong> ongs;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private OngRepository ongRepository;
+
+    @Autowired
+    private EventoRepository eventoRepository;
+
+    @Autowired
+    private NotificacaoRepository notificacaoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void limparBanco() {
+        postRepository.deleteAll();
+        notificacaoRepository.deleteAll();
+        eventoRepository.deleteAll();
+        ongRepository.deleteAll();
+    }
+
+    @Override
+    protected ArmazenamentoPosts armazenamentoPosts() {
+        return posts;
+    }
+
+    @Override
+    protected Armazenamento<Notificacao> armazenamentoNotificacoes() {
+        return notificacoes;
+    }
+
+    @Test
+    @DisplayName("Deve carregar todas as linhas quando a tabela ocupa várias páginas de carga")
+    void deveListarTodosEmVariasPaginas() {
+        int quantidade = ArmazenamentoJpa.TAMANHO_PAGINA_CARGA * 2 + 1;
+        notificacoes.salvarTodos(criarNotificacoes(quantidade));
+
+        List<Notificacao> carregadas = notificacoes.listarTodos();
+
+        Set<UUID> ids = new HashSet<>();
+        carregadas.forEach(notificacao -> ids.add(notificacao.getId()));
+        assertEquals(quantidade, carregadas.size());
+        assertEquals(quantidade, ids.size());
+    }
+
+    @Test
+    @DisplayName("Deve recusar a carga em memória de uma tabela acima do limite")
+    void deveRecusarCargaAcimaDoLimite() {
+        notificacoes.salvarTodos(criarNotificacoes(11));
+        Armazenamento<Notificacao> limitado = new ArmazenamentoJpa<>(notificacaoRepository, 10);
+
+        IllegalStateException erro = assertThrows(IllegalStateException.class, limitado::listarTodos);
+
+        assertTrue(erro.getMessage().contains("mao-amiga.armazenamento.limite-carga"));
+        assertEquals(11, limitado.contar());
+    }
+
+    @Test
+    @DisplayName("Deve gravar a inscrição quando um merge do evento já gravou o inscrito")
+    void deveGravarInscricaoJaGravadaPeloMerge() {
+        Evento evento = criarEventoAberto(10);
+        eventos.salvar(evento);
+        Evento salvo = eventos.buscar(evento.getId()).orElseThrow();
+
+        UUID voluntarioId = UUID.randomUUID();
+        salvo.solicitarInscricao(voluntarioId);
+        // Um merge completo (lista de espera, cancelamento) roda antes da gravação da inscrição
+        eventos.salvar(salvo);
+        eventos.salvarInscricao(salvo, voluntarioId);
+
+        Evento recarregado = eventos.buscar(evento.getId()).orElseThrow();
+        assertEquals(1, recarregado.getVagasOcupadas());
+        assertEquals(Set.of(voluntarioId), recarregado.getVoluntariosInscritos());
+    }
+
+    @Test
+    @DisplayName("Deve manter inscritos e contador consistentes com merges e inscrições simultâneos")
+    void deveGravarInscricoesConcorrentesComMerges() throws Exception {
+        Evento evento = criarEventoAberto(40);
+        eventos.salvar(evento);
+        Evento salvo = eventos.buscar(evento.getId()).orElseThrow();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int i = 0; i < 60; i++) {
+                UUID voluntarioId = UUID.randomUUID();
+                if (i % 3 == 0) {
+                    // Lotado a partir da 41ª: entra na lista de espera e grava o evento inteiro
+                    tarefas.add(executor.submit(() -> {
+                        salvo.solicitarInscricao(voluntarioId);
+                        eventos.salvar(salvo);
+                    }));
+                } else {
+                    tarefas.add(executor.submit(() -> {
+                        salvo.solicitarInscricao(voluntarioId);
+                        if (salvo.voluntarioEstaInscrito(voluntarioId)) {
+                            eventos.salvarInscricao(salvo, voluntarioId);
+                        }
+                    }));
+                }
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Evento recarregado = eventos.buscar(evento.getId()).orElseThrow();
+        assertEquals(40, recarregado.getVagasOcupadas());
+        assertEquals(salvo.getVoluntariosInscritos(), recarregado.getVoluntariosInscritos());
+    }
+
+    @Test
+    @DisplayName("Deve gravar merges simultâneos da mesma entidade sem repetir linhas da coleção")
+    void deveSerializarMergesDaMesmaEntidade() throws Exception {
+        Ong ong = new Ong("merges@teste.com", "senha123", "ONG Merges", "12.345.678/0001-90");
+        ongs.salvar(ong);
+        Ong salva = ongs.buscar(ong.getId()).orElseThrow();
+
+        // Cada rodada junta oito eventos novos antes dos merges, que então
+        // levam todos ao banco ao mesmo tempo
+        CyclicBarrier largada = new CyclicBarrier(8);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                tarefas.add(executor.submit(() -> {
+                    salva.adicionarEventoOrganizado(UUID.randomUUID());
+                    largada.await();
+                    ongs.salvar(salva);
+                    return null;
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Ong recarregada = ongs.buscar(ong.getId()).orElseThrow();
+        assertEquals(Set.copyOf(salva.getEventosOrganizados()), Set.copyOf(recarregada.getEventosOrganizados()));
+        assertEquals(64, recarregada.getQuantidadeEventosOrganizados());
+        assertEquals(64, contarLinhas("ong_eventos_criados"));
+    }
+
+    private long contarLinhas(String tabela) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return ((Number) entityManager.createNativeQuery("select count(*) from " + tabela).getSingleResult()).longValue();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private Evento criarEventoAberto(int vagas) {
+        Evento evento = new Evento("Mutirão", "Limpeza da praia", LocalDateTime.now().plusDays(3),
+                LocalDateTime.now().plusDays(3).plusHours(4), UUID.randomUUID(), "Praia", vagas);
+        evento.abrirInscricoes();
+        return evento;
+    }
+}
@@ -0,0 +1,19 @@
+package com.backend.mao_amiga.repositories;
+
+import com.backend.mao_amiga.models.Notificacao;
+
+class ArmazenamentoMemoriaTest extends ArmazenamentoContratoTest {
+
+    private final ArmazenamentoPosts posts = new ArmazenamentoPostsMemoria();
+    private final Armazenamento<Notificacao> notificacoes = new ArmazenamentoMemoria<>();
+
+    @Override
+    protected ArmazenamentoPosts armazenamentoPosts() {
+        return posts;
+    }
+
+    @Override
+    protected Armazenamento<Notificacao> armazenamentoNotificacoes() {
+        return notificacoes;
+    }
+}
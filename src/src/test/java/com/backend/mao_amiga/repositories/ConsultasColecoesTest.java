@@ -0,0 +1,374 @@
+package com.backend.mao_amiga.repositories;
+
+import com.backend.mao_amiga.config.ArmazenamentoConfig;
+import com.backend.mao_amiga.models.Evento;
+import com.backend.mao_amiga.models.Comentario;
+import com.backend.mao_amiga.models.Ong;
+import com.backend.mao_amiga.models.Post;
+import com.backend.mao_amiga.models.Voluntario;
+import com.backend.mao_amiga.models.enums.AreaInteresse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Conta as consultas do Hibernate ao carregar e alterar agregados com coleções
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(ArmazenamentoConfig.class)
+@ActiveProfiles("jpa")
+class ConsultasColecoesTest {
+
+    private static final int QUANTIDADE = 100;
+
+    @Autowired
+    private ArmazenamentoEventos eventos;
+
+    @Autowired
+    private ArmazenamentoVoluntarios voluntarios;
+
+    @Autowired
+    private ArmazenamentoOngs ongs;
+
+    @Autowired
+    private EventoRepository eventoRepository;
+
+    @Autowired
+    private VoluntarioRepository voluntarioRepository;
+
+    @Autowired
+    private OngRepository ongRepository;
+
+    @Autowired
+    private ArmazenamentoPosts posts;
+
+    @Autowired
+    private Armazenamento<Comentario> comentarios;
+
+    @Autowired
+    private ComentarioRepository comentarioRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void preparar() {
+        eventoRepository.deleteAll();
+        voluntarioRepository.deleteAll();
+        ongRepository.deleteAll();
+        comentarioRepository.deleteAll();
+        postRepository.deleteAll();
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Deve carregar todos os eventos com uma consulta por coleção, e não por evento")
+    void deveCarregarEventosSemNMaisUm() {
+        List<Evento> novos = new ArrayList<>();
+        for (int i = 0; i < QUANTIDADE; i++) {
+            Evento evento = criarEventoAberto(3);
+            evento.adicionarAreaRelacionada(AreaInteresse.EDUCACAO);
+            for (int j = 0; j < 4; j++) {
+                evento.solicitarInscricao(UUID.randomUUID());
+            }
+            evento.confirmarParticipacao(evento.getVoluntariosInscritos().iterator().next());
+            novos.add(evento);
+        }
+        eventos.salvarTodos(novos);
+
+        estatisticas.clear();
+        List<Evento> carregados = eventos.listarTodos();
+
+        assertEquals(QUANTIDADE, carregados.size());
+        assertTrue(carregados.stream().allMatch(evento -> evento.getListaEspera().size() == 1));
+        // Contagem, página de IDs, eventos + áreas, inscritos, participantes e lista de espera
+        assertEquals(7, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Deve carregar voluntários e ONGs com uma consulta por coleção")
+    void deveCarregarUsuariosSemNMaisUm() {
+        List<Voluntario> novosVoluntarios = new ArrayList<>();
+        List<Ong> novasOngs = new ArrayList<>();
+        for (int i = 0; i < QUANTIDADE; i++) {
+            Voluntario voluntario = new Voluntario("voluntario" + i + "@teste.com", "senha123", "Voluntário " + i);
+            voluntario.adicionarAreaInteresse(AreaInteresse.MEIO_AMBIENTE);
+            voluntario.adicionarEventoAoHistorico(UUID.randomUUID());
+            voluntario.seguirOng(UUID.randomUUID());
+            voluntario.favoritarEvento(UUID.randomUUID());
+            novosVoluntarios.add(voluntario);
+
+            Ong ong = new Ong("ong" + i + "@teste.com", "senha123", "ONG " + i, "12.345.678/0001-" + i);
+            ong.adicionarAreaAtuacao(AreaInteresse.EDUCACAO);
+            ong.adicionarEventoOrganizado(UUID.randomUUID());
+            ong.adicionarSeguidor(UUID.randomUUID());
+            novasOngs.add(ong);
+        }
+        voluntarios.salvarTodos(novosVoluntarios);
+        ongs.salvarTodos(novasOngs);
+
+        estatisticas.clear();
+        assertEquals(QUANTIDADE, voluntarios.listarTodos().size());
+        // Contagem, página de IDs, voluntários + quatro coleções
+        assertEquals(7, estatisticas.getPrepareStatementCount());
+
+        estatisticas.clear();
+        assertEquals(QUANTIDADE, ongs.listarTodos().size());
+        // Contagem, página de IDs, ONGs + áreas e eventos; os seguidores ficam no banco
+        assertEquals(5, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Deve gravar uma inscrição com uma única linha, sem carregar o evento")
+    void deveGravarInscricaoComUmaLinha() {
+        Evento evento = criarEventoAberto(50);
+        for (int i = 0; i < 40; i++) {
+            evento.solicitarInscricao(UUID.randomUUID());
+        }
+        eventos.salvar(evento);
+        Evento salvo = eventos.buscar(evento.getId()).orElseThrow();
+
+        UUID voluntarioId = UUID.randomUUID();
+        salvo.solicitarInscricao(voluntarioId);
+
+        estatisticas.clear();
+        eventos.salvarInscricao(salvo, voluntarioId);
+
+        assertEquals(0, estatisticas.getEntityLoadCount());
+        assertEquals(0, estatisticas.getCollectionLoadCount());
+        assertEquals(0, estatisticas.getCollectionRecreateCount());
+        // INSERT do inscrito e UPDATE do contador de vagas
+        assertEquals(2, estatisticas.getPrepareStatementCount());
+
+        Evento recarregado = eventos.buscar(evento.getId()).orElseThrow();
+        assertTrue(recarregado.voluntarioEstaInscrito(voluntarioId));
+        assertEquals(41, recarregado.getVagasOcupadas());
+        assertEquals(41, recarregado.getVoluntariosInscritos().size());
+    }
+
+    @Test
+    @DisplayName("Deve incluir um item nas listas indexadas sem regravar a coleção")
+    void deveIncluirItemSemRegravarColecao() {
+        Voluntario voluntario = new Voluntario("historico@teste.com", "senha123", "Voluntária");
+        for (int i = 0; i < 20; i++) {
+            voluntario.adicionarEventoAoHistorico(UUID.randomUUID());
+        }
+        voluntarios.salvar(voluntario);
+        Voluntario salvo = voluntarios.buscar(voluntario.getId()).orElseThrow();
+
+        salvo.adicionarEventoAoHistorico(UUID.randomUUID());
+        estatisticas.clear();
+        voluntarios.salvar(salvo);
+
+        assertEquals(0, estatisticas.getCollectionRecreateCount());
+        assertEquals(0, estatisticas.getCollectionRemoveCount());
+        assertEquals(21, voluntarios.buscar(voluntario.getId()).orElseThrow().getHistoricoDeEventos().size());
+    }
+
+    @Test
+    @DisplayName("Deve gravar e recarregar os contadores da ONG junto com as coleções")
+    void deveGravarContadoresDaOng() {
+        Ong ong = new Ong("contadores@teste.com", "senha123", "ONG Contadores", "12.345.678/0001-99");
+        for (int i = 0; i < 200; i++) {
+            ong.adicionarSeguidor(UUID.randomUUID());
+        }
+        ong.adicionarEventoOrganizado(UUID.randomUUID());
+        ongs.salvar(ong);
+
+        // Um merge da ONG inteira não mexe nos seguidores, que não estão em memória
+        Ong salva = ongs.buscar(ong.getId()).orElseThrow();
+        salva.adicionarEventoOrganizado(UUID.randomUUID());
+        ongs.salvar(salva);
+
+        Ong recarregada = ongs.buscar(ong.getId()).orElseThrow();
+
+        assertEquals(200, recarregada.getQuantidadeSeguidores());
+        assertEquals(200, ongs.listarSeguidores(recarregada).size());
+        assertEquals(2, recarregada.getQuantidadeEventosOrganizados());
+    }
+
+    @Test
+    @DisplayName("Deve gravar e recarregar os contadores do post junto com as coleções")
+    void deveGravarContadoresDoPost() {
+        Post post = Post.criarPostOng(UUID.randomUUID(), "Obrigado pela ajuda!");
+        for (int i = 0; i < 30; i++) {
+            post.adicionarCurtida(UUID.randomUUID());
+        }
+        UUID usuarioId = UUID.randomUUID();
+        post.adicionarCurtida(usuarioId);
+        posts.salvar(post);
+
+        Post salvo = posts.buscar(post.getId()).orElseThrow();
+        posts.descurtir(salvo, usuarioId);
+        posts.descurtir(salvo, usuarioId);
+
+        Comentario comentario = Comentario.criarComentarioVoluntario(UUID.randomUUID(), "Conte comigo!", salvo);
+        salvo.adicionarComentario(comentario);
+        comentarios.salvar(comentario);
+        posts.salvarQuantidadeComentarios(salvo, 1);
+
+        Post recarregado = posts.buscar(post.getId()).orElseThrow();
+
+        assertEquals(30, recarregado.getQuantidadeCurtidas());
+        assertEquals(30, posts.listarCurtidas(recarregado).size());
+        assertEquals(1, recarregado.getQuantidadeComentarios());
+    }
+
+    @Test
+    @DisplayName("Deve gravar uma curtida com uma única linha, sem o merge do post")
+    void deveGravarCurtidaComUmaLinha() {
+        Post post = Post.criarPostOng(UUID.randomUUID(), "Obrigado pela ajuda!");
+        for (int i = 0; i < 30; i++) {
+            post.adicionarCurtida(UUID.randomUUID());
+        }
+        posts.salvar(post);
+        Post salvo = posts.buscar(post.getId()).orElseThrow();
+
+        UUID usuarioId = UUID.randomUUID();
+        estatisticas.clear();
+        assertTrue(posts.curtir(salvo, usuarioId));
+
+        assertEquals(0, estatisticas.getEntityLoadCount());
+        assertEquals(0, estatisticas.getCollectionLoadCount());
+        // INSERT da curtida e UPDATE do contador
+        assertEquals(2, estatisticas.getPrepareStatementCount());
+
+        // Repetir não grava de novo nem conta duas vezes
+        assertFalse(posts.curtir(salvo, usuarioId));
+        assertTrue(posts.descurtir(salvo, usuarioId));
+        assertFalse(posts.descurtir(salvo, usuarioId));
+        assertTrue(posts.curtir(salvo, usuarioId));
+
+        Post recarregado = posts.buscar(post.getId()).orElseThrow();
+        assertEquals(31, recarregado.getQuantidadeCurtidas());
+        assertEquals(31, posts.listarCurtidas(recarregado).size());
+        assertEquals(31, salvo.getQuantidadeCurtidas());
+    }
+
+    @Test
+    @DisplayName("Deve gravar um seguidor com uma linha, sem carregar as coleções")
+    void deveGravarSeguimentoComUmaLinha() {
+        Ong ong = new Ong("seguida@teste.com", "senha123", "ONG Seguida", "12.345.678/0001-99");
+        Voluntario voluntario = new Voluntario("seguidor@teste.com", "senha123", "Voluntária");
+        for (int i = 0; i < 30; i++) {
+            ong.adicionarSeguidor(UUID.randomUUID());
+            voluntario.seguirOng(UUID.randomUUID());
+        }
+        ongs.salvar(ong);
+        voluntarios.salvar(voluntario);
+        Ong ongSalva = ongs.buscar(ong.getId()).orElseThrow();
+        Voluntario voluntarioSalvo = voluntarios.buscar(voluntario.getId()).orElseThrow();
+
+        estatisticas.clear();
+        ongs.adicionarSeguidor(ongSalva, voluntario.getId());
+        voluntarios.seguirOng(voluntarioSalvo, ong.getId());
+
+        assertEquals(0, estatisticas.getEntityLoadCount());
+        assertEquals(0, estatisticas.getCollectionLoadCount());
+        // INSERT e UPDATE do contador de cada lado
+        assertEquals(4, estatisticas.getPrepareStatementCount());
+
+        // Repetir não grava de novo nem conta duas vezes
+        ongs.adicionarSeguidor(ongSalva, voluntario.getId());
+        voluntarios.seguirOng(voluntarioSalvo, ong.getId());
+
+        Ong ongRecarregada = ongs.buscar(ong.getId()).orElseThrow();
+        assertEquals(31, ongRecarregada.getQuantidadeSeguidores());
+        assertEquals(31, ongs.listarSeguidores(ongRecarregada).size());
+        assertEquals(31, ongSalva.getQuantidadeSeguidores());
+        Voluntario voluntarioRecarregado = voluntarios.buscar(voluntario.getId()).orElseThrow();
+        assertEquals(31, voluntarioRecarregado.getOngsSeguidas().size());
+        assertEquals(31, voluntarioRecarregado.getQuantidadeOngsSeguidas());
+
+        voluntarios.deixarDeSeguirOng(voluntarioSalvo, ong.getId());
+        assertFalse(voluntarios.buscar(voluntario.getId()).orElseThrow().estaSeguindoOng(ong.getId()));
+        assertFalse(voluntarioSalvo.estaSeguindoOng(ong.getId()));
+        assertEquals(30, voluntarioSalvo.getQuantidadeOngsSeguidas());
+    }
+
+    @Test
+    @DisplayName("Deve manter seguidores e curtidas fora da memória, lendo só os contadores")
+    void deveManterSeguidoresECurtidasNoBanco() {
+        Ong ong = new Ong("popular@teste.com", "senha123", "ONG Popular", "12.345.678/0001-98");
+        Post post = Post.criarPostOng(ong.getId(), "Obrigado a todos!");
+        for (int i = 0; i < 50; i++) {
+            ong.adicionarSeguidor(UUID.randomUUID());
+            post.adicionarCurtida(UUID.randomUUID());
+        }
+        ongs.salvar(ong);
+        posts.salvar(post);
+
+        estatisticas.clear();
+        Ong carregada = ongs.listarTodos().get(0);
+        Post carregado = posts.listarTodos().get(0);
+        ongs.adicionarSeguidor(carregada, UUID.randomUUID());
+        posts.curtir(carregado, UUID.randomUUID());
+        ContadoresOng contadoresOng = ongs.buscarContadores(ong.getId()).orElseThrow();
+        ContadoresPost contadoresPost = posts.buscarContadores(post.getId()).orElseThrow();
+
+        assertFalse(Hibernate.isInitialized(carregada.getSeguidores()));
+        assertFalse(Hibernate.isInitialized(carregado.getCurtidas()));
+        assertEquals(0, estatisticas.getCollectionStatistics(Ong.class.getName() + ".seguidores").getFetchCount());
+        assertEquals(0, estatisticas.getCollectionStatistics(Post.class.getName() + ".curtidas").getFetchCount());
+        assertEquals(51, carregada.getQuantidadeSeguidores());
+        assertEquals(51, carregado.getQuantidadeCurtidas());
+        assertEquals(new ContadoresOng(ong.getId(), 51, 0), contadoresOng);
+        assertEquals(new ContadoresPost(post.getId(), 51, 0), contadoresPost);
+    }
+
+    @Test
+    @DisplayName("Deve gravar a nota do avaliado sem o merge do usuário")
+    void deveGravarNotaComUmUpdate() {
+        Ong ong = new Ong("avaliada@teste.com", "senha123", "ONG Avaliada", "12.345.678/0001-97");
+        Voluntario voluntario = new Voluntario("avaliado@teste.com", "senha123", "Voluntário Avaliado");
+        for (int i = 0; i < 30; i++) {
+            ong.adicionarSeguidor(UUID.randomUUID());
+            voluntario.seguirOng(UUID.randomUUID());
+        }
+        ongs.salvar(ong);
+        voluntarios.salvar(voluntario);
+        Ong ongSalva = ongs.buscar(ong.getId()).orElseThrow();
+        Voluntario voluntarioSalvo = voluntarios.buscar(voluntario.getId()).orElseThrow();
+
+        estatisticas.clear();
+        ongs.salvarNota(ongSalva, 4.5f);
+        voluntarios.salvarNota(voluntarioSalvo, 3.0f);
+
+        assertEquals(0, estatisticas.getEntityLoadCount());
+        assertEquals(2, estatisticas.getPrepareStatementCount());
+        assertEquals(4.5f, ongSalva.getNota(), 0.001f);
+        assertEquals(4.5f, ongs.buscar(ong.getId()).orElseThrow().getNota(), 0.001f);
+        assertEquals(3.0f, voluntarios.buscar(voluntario.getId()).orElseThrow().getNota(), 0.001f);
+
+        // Sem avaliações ativas a nota volta a zero
+        ongs.salvarNota(ongSalva, 0.0f);
+        assertEquals(0.0f, ongs.buscar(ong.getId()).orElseThrow().getNota(), 0.001f);
+    }
+
+    private Evento criarEventoAberto(int vagas) {
+        Evento evento = new Evento("Mutirão", "Limpeza da praia", LocalDateTime.now().plusDays(3),
+                LocalDateTime.now().plusDays(3).plusHours(4), UUID.randomUUID(), "Praia", vagas);
+        evento.abrirInscricoes();
+        return evento;
+    }
+}
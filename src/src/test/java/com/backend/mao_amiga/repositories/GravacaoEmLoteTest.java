@@ -0,0 +1,66 @@
+package com.backend.mao_amiga.repositories;
+
+import com.backend.mao_amiga.config.ArmazenamentoConfig;
+import com.backend.mao_amiga.models.Notificacao;
+import com.backend.mao_amiga.services.MetricasPlataforma;
+import com.backend.mao_amiga.services.NotificacaoService;
+import com.backend.mao_amiga.services.NotificacaoTempoRealService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Confere que o fan-out de notificações vira lotes JDBC (hibernate.jdbc.batch_size=500)
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.properties.hibernate.jdbc.batch_size=500"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(ArmazenamentoConfig.class)
+@ActiveProfiles("jpa")
+class GravacaoEmLoteTest {
+
+    private static final int SEGUIDORES = 1200;
+
+    @Autowired
+    private Armazenamento<Notificacao> notificacoes;
+
+    @Autowired
+    private NotificacaoRepository notificacaoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Deve gravar as notificações de um fan-out em lotes, e não uma instrução por linha")
+    void deveGravarFanOutEmLotes() {
+        NotificacaoService notificacaoService = new NotificacaoService(
+                new NotificacaoTempoRealService(), new MetricasPlataforma(), notificacoes);
+        List<UUID> seguidores = new ArrayList<>();
+        for (int i = 0; i < SEGUIDORES; i++) {
+            seguidores.add(UUID.randomUUID());
+        }
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        estatisticas.clear();
+        notificacaoService.criarNotificacoesNovoEvento(UUID.randomUUID(), UUID.randomUUID(), seguidores);
+
+        assertEquals(SEGUIDORES, estatisticas.getEntityInsertCount());
+        // Três lotes de até 500 inserts, em vez de 1200 instruções
+        assertTrue(estatisticas.getPrepareStatementCount() <= 3,
+                "instruções preparadas: " + estatisticas.getPrepareStatementCount());
+        assertEquals(SEGUIDORES, notificacaoRepository.count());
+    }
+}
@@ -0,0 +1,295 @@
+package com.backend.mao_amiga.services;
+
+import com.backend.mao_amiga.models.Avaliacao;
+import com.backend.mao_amiga.models.Evento;
+import com.backend.mao_amiga.models.Ong;
+import com.backend.mao_amiga.repositories.ArmazenamentoEventosMemoria;
+import com.backend.mao_amiga.repositories.ArmazenamentoMemoria;
+import com.backend.mao_amiga.repositories.ArmazenamentoOngsMemoria;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class AvaliacaoServiceTest {
+
+    private AvaliacaoService avaliacaoService;
+    private Ong ong;
+
+    @BeforeEach
+    void setUp() {
+        avaliacaoService = new AvaliacaoService(new MetricasPlataforma(), new ArmazenamentoMemoria<>(), new ArmazenamentoEventosMemoria());
+        ong = new Ong("contato@ong.org", "senha123", "ONG Amiga", "12.345.678/0001-90");
+        // Como o OngController faz: a média chega ao armazenamento das ONGs
+        ArmazenamentoOngsMemoria ongs = new ArmazenamentoOngsMemoria();
+        ongs.salvar(ong);
+        avaliacaoService.registrarOuvinteNota((usuarioId, media) ->
+            ongs.buscar(usuarioId).ifPresent(ongSalva -> ongs.salvarNota(ongSalva, media)));
+    }
+
+    @Test
+    @DisplayName("Deve manter média, quantidade e histograma ao avaliar e remover avaliações")
+    void deveManterResumoIncremental() {
+        Avaliacao cinco = avaliarOng(5.0f);
+        avaliarOng(3.0f);
+        avaliarOng(4.0f);
+
+        ResumoAvaliacoes resumo = avaliacaoService.obterResumo(ong.getId());
+        assertEquals(3, resumo.quantidade());
+        assertEquals(4.0f, avaliacaoService.calcularNotaMedia(ong.getId(), "ONG"), 0.001f);
+        assertArrayEquals(new long[] {0, 0, 1, 1, 1}, resumo.histograma());
+
+        avaliacaoService.removerAvaliacao(cinco.getId(), cinco.getAvaliadorId());
+        avaliacaoService.removerAvaliacao(cinco.getId(), cinco.getAvaliadorId());
+
+        resumo = avaliacaoService.obterResumo(ong.getId());
+        assertEquals(2, resumo.quantidade());
+        assertEquals(3.5f, resumo.media(), 0.001f);
+        assertArrayEquals(new long[] {0, 0, 1, 1, 0}, resumo.histograma());
+    }
+
+    @Test
+    @DisplayName("Deve listar avaliações recebidas e feitas pelos índices, sem as removidas")
+    void deveListarAvaliacoesPelosIndices() {
+        Avaliacao removida = avaliarOng(2.0f);
+        Avaliacao mantida = avaliarOng(5.0f);
+
+        avaliacaoService.removerAvaliacao(removida.getId(), removida.getAvaliadorId());
+
+        assertEquals(1, avaliacaoService.listarAvaliacoesRecebidas(ong.getId(), "ONG").size());
+        assertEquals(1, avaliacaoService.listarAvaliacoesFeitas(mantida.getAvaliadorId(), "VOLUNTARIO").size());
+        assertTrue(avaliacaoService.listarAvaliacoesFeitas(removida.getAvaliadorId(), "VOLUNTARIO").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve atualizar a nota do usuário em segundo plano")
+    void deveAtualizarNotaDoUsuario() throws InterruptedException {
+        avaliarOng(5.0f);
+        avaliarOng(4.0f);
+
+        long limite = System.currentTimeMillis() + 5_000;
+        while (ong.getNota() != 4.5f && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(4.5f, ong.getNota(), 0.001f);
+    }
+
+    @Test
+    @DisplayName("Deve zerar a nota do usuário quando a última avaliação é removida")
+    void deveZerarNotaAoRemoverUltimaAvaliacao() throws InterruptedException {
+        Avaliacao avaliacao = avaliarOng(4.0f);
+        aguardarNota(4.0f);
+
+        avaliacaoService.removerAvaliacao(avaliacao.getId(), avaliacao.getAvaliadorId());
+        aguardarNota(0.0f);
+
+        assertEquals(0.0f, ong.getNota(), 0.001f);
+        assertEquals(0, avaliacaoService.obterResumo(ong.getId()).quantidade());
+    }
+
+    private void aguardarNota(float nota) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5_000;
+        while (ong.getNota() != nota && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+        }
+        assertEquals(nota, ong.getNota(), 0.001f);
+    }
+
+    @Test
+    @DisplayName("Deve aceitar uma única avaliação por avaliador e evento sob requisições simultâneas")
+    void deveAceitarAvaliacaoUnicaSobConcorrencia() throws Exception {
+        UUID voluntarioId = UUID.randomUUID();
+        Evento evento = criarEventoComParticipante(voluntarioId);
+        AtomicInteger sucessos = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> futuros = new ArrayList<>();
+
+        for (int i = 0; i < 500; i++) {
+            futuros.add(executor.submit(() -> {
+                largada.await();
+                try {
+                    avaliacaoService.voluntarioAvaliarOng(voluntarioId, ong.getId(), evento.getId(), 5.0f, null);
+                    sucessos.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    // Avaliação duplicada recusada
+                }
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> futuro : futuros) {
+            futuro.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(1, sucessos.get());
+        assertEquals(1, avaliacaoService.obterResumo(ong.getId()).quantidade());
+        assertEquals(1, avaliacaoService.listarAvaliacoesFeitas(voluntarioId, "VOLUNTARIO").size());
+    }
+
+    @Test
+    @DisplayName("Deve permitir avaliar de novo depois de remover a avaliação")
+    void devePermitirNovaAvaliacaoAposRemocao() {
+        UUID voluntarioId = UUID.randomUUID();
+        Evento evento = criarEventoComParticipante(voluntarioId);
+        Avaliacao primeira = avaliacaoService.voluntarioAvaliarOng(voluntarioId, ong.getId(), evento.getId(), 2.0f, null);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> avaliacaoService.voluntarioAvaliarOng(voluntarioId, ong.getId(), evento.getId(), 4.0f, null));
+
+        avaliacaoService.removerAvaliacao(primeira.getId(), voluntarioId);
+        Avaliacao segunda = avaliacaoService.voluntarioAvaliarOng(voluntarioId, ong.getId(), evento.getId(), 4.0f, null);
+
+        assertNotEquals(primeira.getId(), segunda.getId());
+        assertEquals(4.0f, avaliacaoService.calcularNotaMedia(ong.getId(), "ONG"), 0.001f);
+    }
+
+    @Test
+    @DisplayName("Deve manter as estatísticas gerais sem percorrer as avaliações")
+    void deveManterEstatisticasGerais() {
+        Avaliacao removida = avaliarOng(2.0f);
+        avaliarOng(4.0f);
+        UUID voluntarioId = UUID.randomUUID();
+        Evento evento = criarEventoComParticipante(voluntarioId);
+        avaliacaoService.voluntarioAvaliarOng(voluntarioId, ong.getId(), evento.getId(), 5.0f, null);
+
+        avaliacaoService.removerAvaliacao(removida.getId(), removida.getAvaliadorId());
+
+        Map<String, Object> estatisticas = avaliacaoService.obterEstatisticasGerais();
+        assertEquals(3L, estatisticas.get("totalAvaliacoes"));
+        assertEquals(2L, estatisticas.get("avaliacoesAtivas"));
+        assertEquals(4.5, estatisticas.get("notaMediaGeral"));
+        assertEquals(1L, estatisticas.get("avaliacoesComComentario"));
+        assertEquals(2L, estatisticas.get("avaliacoesVoluntarioParaOng"));
+        assertEquals(0L, estatisticas.get("avaliacoesOngParaVoluntario"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar resumo vazio para usuário sem avaliações")
+    void deveRetornarResumoVazio() {
+        assertEquals(0, avaliacaoService.obterResumo(UUID.randomUUID()).quantidade());
+        assertEquals(0.0f, avaliacaoService.calcularNotaMedia(UUID.randomUUID(), "ONG"));
+    }
+
+    @Test
+    @DisplayName("Deve paginar as avaliações do evento das mais recentes para as mais antigas")
+    void devePaginarAvaliacoesDoEvento() {
+        UUID voluntario1 = UUID.randomUUID();
+        UUID voluntario2 = UUID.randomUUID();
+        UUID voluntario3 = UUID.randomUUID();
+        Evento evento = criarEventoComParticipante(voluntario1);
+        evento.solicitarInscricao(voluntario2);
+        evento.confirmarParticipacao(voluntario2);
+        evento.solicitarInscricao(voluntario3);
+        evento.confirmarParticipacao(voluntario3);
+        List<UUID> ids = new ArrayList<>();
+        for (UUID voluntarioId : List.of(voluntario1, voluntario2, voluntario3)) {
+            ids.add(avaliacaoService.voluntarioAvaliarOng(voluntarioId, ong.getId(), evento.getId(), 4.0f, null).getId());
+        }
+        avaliarOng(5.0f); // outro evento
+
+        PaginaAvaliacoes primeira = avaliacaoService.listarAvaliacoesDoEvento(evento.getId(), null, 2);
+        PaginaAvaliacoes segunda = avaliacaoService.listarAvaliacoesDoEvento(evento.getId(), primeira.proximoCursor(), 2);
+
+        assertEquals(2, primeira.avaliacoes().size());
+        assertNotNull(primeira.proximoCursor());
+        assertEquals(1, segunda.avaliacoes().size());
+        assertNull(segunda.proximoCursor());
+
+        List<UUID> paginados = new ArrayList<>();
+        primeira.avaliacoes().forEach(avaliacao -> paginados.add(avaliacao.getId()));
+        segunda.avaliacoes().forEach(avaliacao -> paginados.add(avaliacao.getId()));
+        assertEquals(3, paginados.size());
+        assertTrue(paginados.containsAll(ids));
+    }
+
+    @Test
+    @DisplayName("Deve encontrar as avaliações entre dois usuários em qualquer ordem do par")
+    void deveListarAvaliacoesEntreUsuarios() {
+        Avaliacao avaliacao = avaliarOng(4.0f);
+        avaliarOng(3.0f);
+
+        UUID voluntarioId = avaliacao.getAvaliadorId();
+        assertEquals(List.of(avaliacao), avaliacaoService.listarAvaliacoesEntreUsuarios(voluntarioId, ong.getId(), null, 10).avaliacoes());
+        assertEquals(List.of(avaliacao), avaliacaoService.listarAvaliacoesEntreUsuarios(ong.getId(), voluntarioId, null, 10).avaliacoes());
+
+        avaliacaoService.removerAvaliacao(avaliacao.getId(), voluntarioId);
+        assertTrue(avaliacaoService.listarAvaliacoesEntreUsuarios(voluntarioId, ong.getId(), null, 10).avaliacoes().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve paginar as avaliações da faixa de notas em ordem crescente de nota")
+    void devePaginarAvaliacoesPorNota() {
+        avaliarOng(1.0f);
+        avaliarOng(3.0f);
+        avaliarOng(4.0f);
+        avaliarOng(4.0f);
+        avaliarOng(5.0f);
+
+        List<Float> notas = new ArrayList<>();
+        UUID cursor = null;
+        do {
+            PaginaAvaliacoes pagina = avaliacaoService.listarAvaliacoesPorNota(2.0f, 4.5f, cursor, 2);
+            pagina.avaliacoes().forEach(avaliacao -> notas.add(avaliacao.getNota()));
+            cursor = pagina.proximoCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of(3.0f, 4.0f, 4.0f), notas);
+    }
+
+    @Test
+    @DisplayName("Não deve repetir avaliações quando o cursor é removido entre as páginas")
+    void naoDeveRepetirAvaliacoesComCursorRemovido() {
+        for (int i = 0; i < 4; i++) {
+            avaliarOng(4.0f);
+        }
+        avaliarOng(5.0f);
+        List<UUID> ordem = avaliacaoService.listarAvaliacoesPorNota(1.0f, 5.0f, null, 10).avaliacoes()
+                .stream().map(Avaliacao::getId).toList();
+
+        PaginaAvaliacoes primeira = avaliacaoService.listarAvaliacoesPorNota(1.0f, 5.0f, null, 2);
+        Avaliacao cursor = primeira.avaliacoes().get(1);
+        avaliacaoService.removerAvaliacao(cursor.getId(), cursor.getAvaliadorId());
+        PaginaAvaliacoes segunda = avaliacaoService.listarAvaliacoesPorNota(1.0f, 5.0f, primeira.proximoCursor(), 10);
+
+        assertEquals(ordem.subList(0, 2), primeira.avaliacoes().stream().map(Avaliacao::getId).toList());
+        assertEquals(ordem.subList(2, 5), segunda.avaliacoes().stream().map(Avaliacao::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Deve recusar cursor desconhecido")
+    void deveRecusarCursorDesconhecido() {
+        assertThrows(IllegalArgumentException.class,
+            () -> avaliacaoService.listarAvaliacoesDoEvento(UUID.randomUUID(), UUID.randomUUID(), 10));
+    }
+
+    private Avaliacao avaliarOng(float nota) {
+        UUID voluntarioId = UUID.randomUUID();
+        Evento evento = criarEventoComParticipante(voluntarioId);
+        return avaliacaoService.voluntarioAvaliarOng(voluntarioId, ong.getId(), evento.getId(), nota, "Ótima experiência");
+    }
+
+    private Evento criarEventoComParticipante(UUID voluntarioId) {
+        LocalDateTime inicio = LocalDateTime.now().plusDays(1);
+        Evento evento = new Evento("Mutirão", "Mutirão no bairro", inicio, inicio.plusHours(2), ong.getId(), "Praça", 10);
+        evento.abrirInscricoes();
+        evento.solicitarInscricao(voluntarioId);
+        evento.confirmarParticipacao(voluntarioId);
+        avaliacaoService.adicionarEvento(evento);
+        return evento;
+    }
+}
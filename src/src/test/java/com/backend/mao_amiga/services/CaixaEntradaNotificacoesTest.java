@@ -0,0 +1,166 @@
+package com.backend.mao_amiga.services;
+
+import com.backend.mao_amiga.models.Notificacao;
+import com.backend.mao_amiga.models.enums.TipoNotificacao;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+class CaixaEntradaNotificacoesTest {
+
+    private static final LocalDateTime AGORA = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    private final UUID usuarioId = UUID.randomUUID();
+    private final CaixaEntradaNotificacoes caixa = new CaixaEntradaNotificacoes();
+
+    @Test
+    @DisplayName("Deve listar as notificações mais recentes primeiro, respeitando o limite")
+    void deveListarMaisRecentesPrimeiro() {
+        Notificacao antiga = criarNotificacao(AGORA.minusDays(2));
+        Notificacao recente = criarNotificacao(AGORA);
+        Notificacao intermediaria = criarNotificacao(AGORA.minusDays(1));
+        caixa.adicionar(antiga);
+        caixa.adicionar(recente);
+        caixa.adicionar(intermediaria);
+
+        assertEquals(List.of(recente, intermediaria), caixa.listar(2));
+        assertEquals(List.of(recente, intermediaria, antiga), caixa.listarNaoLidas());
+    }
+
+    @Test
+    @DisplayName("Deve manter o contador de não lidas ao adicionar, marcar e remover")
+    void deveManterContadorNaoLidas() {
+        Notificacao primeira = criarNotificacao(AGORA.minusHours(2));
+        Notificacao segunda = criarNotificacao(AGORA.minusHours(1));
+        Notificacao jaLida = criarNotificacao(AGORA);
+        jaLida.marcarComoLida();
+        caixa.adicionar(primeira);
+        caixa.adicionar(segunda);
+        caixa.adicionar(jaLida);
+        caixa.adicionar(primeira);
+
+        assertEquals(2, caixa.contarNaoLidas());
+
+        caixa.marcarComoLida(primeira);
+        caixa.marcarComoLida(primeira);
+        assertEquals(1, caixa.contarNaoLidas());
+        assertTrue(primeira.isLida());
+
+        caixa.remover(segunda);
+        assertEquals(0, caixa.contarNaoLidas());
+        assertEquals(List.of(jaLida, primeira), caixa.listar(10));
+    }
+
+    @Test
+    @DisplayName("Deve marcar todas como lidas e devolver apenas as que mudaram")
+    void deveMarcarTodasComoLidas() {
+        Notificacao lida = criarNotificacao(AGORA.minusHours(1));
+        caixa.adicionar(lida);
+        caixa.marcarComoLida(lida);
+        List<Notificacao> naoLidas = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Notificacao notificacao = criarNotificacao(AGORA.plusMinutes(i));
+            caixa.adicionar(notificacao);
+            naoLidas.add(0, notificacao);
+        }
+
+        assertEquals(naoLidas, caixa.marcarTodasComoLidas());
+        assertEquals(0, caixa.contarNaoLidas());
+        assertTrue(caixa.listarNaoLidas().isEmpty());
+        assertTrue(caixa.marcarTodasComoLidas().isEmpty());
+        assertEquals(4, caixa.listar(10).size());
+    }
+
+    @Test
+    @DisplayName("Deve remover apenas as notificações lidas anteriores à data limite")
+    void deveRemoverLidasAnterioresALimite() {
+        Notificacao antigaLida = criarNotificacao(AGORA.minusDays(40));
+        Notificacao antigaNaoLida = criarNotificacao(AGORA.minusDays(35));
+        Notificacao recenteLida = criarNotificacao(AGORA.minusDays(1));
+        caixa.adicionar(antigaLida);
+        caixa.adicionar(antigaNaoLida);
+        caixa.adicionar(recenteLida);
+        caixa.marcarComoLida(antigaLida);
+        caixa.marcarComoLida(recenteLida);
+
+        List<UUID> removidas = new ArrayList<>();
+        int quantidade = caixa.removerLidasAnterioresA(AGORA.minusDays(30), removidas::add);
+
+        assertEquals(1, quantidade);
+        assertEquals(List.of(antigaLida.getId()), removidas);
+        assertEquals(List.of(recenteLida, antigaNaoLida), caixa.listar(10));
+        assertEquals(1, caixa.contarNaoLidas());
+
+        caixa.marcarComoLida(antigaNaoLida);
+        caixa.removerLidasAnterioresA(AGORA.minusDays(30), removidas::add);
+        caixa.remover(recenteLida);
+        assertTrue(caixa.estaVazia());
+    }
+
+    @Test
+    @DisplayName("Deve manter o contador coerente com adições e marcações concorrentes")
+    void deveManterContadorSobConcorrencia() throws Exception {
+        int threads = 8;
+        int porThread = 2000;
+        CyclicBarrier largada = new CyclicBarrier(threads + 1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                boolean marcaAoAdicionar = t % 2 == 0;
+                tarefas.add(executor.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < porThread; i++) {
+                        Notificacao notificacao = criarNotificacao(AGORA.plusNanos(i));
+                        caixa.adicionar(notificacao);
+                        if (marcaAoAdicionar) {
+                            caixa.marcarComoLida(notificacao);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            // Marca todas em rajadas enquanto as outras threads ainda estão adicionando
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                for (int i = 0; i < 200; i++) {
+                    caixa.marcarTodasComoLidas();
+                    Thread.yield();
+                }
+                return null;
+            }));
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Notificacao> todas = caixa.listar(Integer.MAX_VALUE);
+        long naoLidas = todas.stream().filter(notificacao -> !notificacao.isLida()).count();
+        assertEquals(threads * porThread, todas.size());
+        assertEquals(naoLidas, caixa.contarNaoLidas());
+        assertEquals(naoLidas, caixa.listarNaoLidas().size());
+
+        caixa.marcarTodasComoLidas();
+        assertEquals(0, caixa.contarNaoLidas());
+        assertTrue(todas.stream().allMatch(Notificacao::isLida));
+    }
+
+    private Notificacao criarNotificacao(LocalDateTime criadaEm) {
+        Notificacao notificacao = new Notificacao(TipoNotificacao.NOVO_POST, "Novo post", usuarioId);
+        ReflectionTestUtils.setField(notificacao, "criadaEm", criadaEm);
+        return notificacao;
+    }
+}
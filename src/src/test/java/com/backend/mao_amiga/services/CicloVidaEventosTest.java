@@ -0,0 +1,166 @@
+package com.backend.mao_amiga.services;
+
+import com.backend.mao_amiga.models.Evento;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+class CicloVidaEventosTest {
+
+    private final RelogioAjustavel relogio = new RelogioAjustavel(Instant.parse("2026-03-01T08:00:00Z"));
+    private final List<CicloVidaEventos.Disparo> disparos = new ArrayList<>();
+    private CicloVidaEventos cicloVida;
+
+    @BeforeEach
+    void setUp() {
+        cicloVida = new CicloVidaEventos(relogio);
+        cicloVida.registrarOuvinte(disparos::add);
+    }
+
+    @Test
+    @DisplayName("Deve disparar lembrete, início e fim do evento na ordem e no horário")
+    void deveDispararLembreteInicioEFim() {
+        Evento evento = criarEvento(Duration.ofDays(2), Duration.ofHours(4));
+        cicloVida.agendar(evento);
+
+        avancar(Duration.ofHours(23));
+        assertTrue(disparos.isEmpty());
+
+        avancar(Duration.ofHours(1));
+        assertEquals(List.of(disparo(evento, CicloVidaEventos.Momento.LEMBRETE)), disparos);
+
+        avancar(Duration.ofHours(24).minusSeconds(1));
+        assertEquals(1, disparos.size());
+
+        avancar(Duration.ofSeconds(1));
+        avancar(Duration.ofHours(4));
+        assertEquals(List.of(
+            disparo(evento, CicloVidaEventos.Momento.LEMBRETE),
+            disparo(evento, CicloVidaEventos.Momento.INICIO),
+            disparo(evento, CicloVidaEventos.Momento.FIM)), disparos);
+        assertEquals(0, cicloVida.quantidadeAgendada());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar os horários antigos quando o evento é remarcado")
+    void deveIgnorarHorariosAntigosAoRemarcar() {
+        Evento evento = criarEvento(Duration.ofHours(2), Duration.ofHours(1));
+        cicloVida.agendar(evento);
+
+        LocalDateTime novoInicio = agora().plusDays(3);
+        evento.alterarDataHora(novoInicio, novoInicio.plusHours(1));
+        cicloVida.agendar(evento);
+
+        avancar(Duration.ofDays(1));
+        assertTrue(disparos.isEmpty());
+
+        avancar(Duration.ofDays(2).plusHours(1));
+        assertEquals(List.of(
+            disparo(evento, CicloVidaEventos.Momento.LEMBRETE),
+            disparo(evento, CicloVidaEventos.Momento.INICIO),
+            disparo(evento, CicloVidaEventos.Momento.FIM)), disparos);
+    }
+
+    @Test
+    @DisplayName("Não deve disparar nada para evento cancelado")
+    void naoDeveDispararParaEventoCancelado() {
+        Evento evento = criarEvento(Duration.ofHours(2), Duration.ofHours(1));
+        cicloVida.agendar(evento);
+        cicloVida.cancelar(evento.getId());
+
+        Evento cancelado = criarEvento(Duration.ofHours(2), Duration.ofHours(1));
+        cancelado.cancelarEvento();
+        cicloVida.agendar(cancelado);
+
+        avancar(Duration.ofDays(1));
+        assertTrue(disparos.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve iniciar no próximo tick o evento que já começou, sem lembrete atrasado")
+    void deveIniciarEventoJaComecadoSemLembrete() {
+        Evento evento = criarEvento(Duration.ofMinutes(-30), Duration.ofHours(2));
+        cicloVida.agendar(evento);
+
+        avancar(Duration.ofSeconds(1));
+
+        assertEquals(List.of(disparo(evento, CicloVidaEventos.Momento.INICIO)), disparos);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar os demais disparos do tick quando um deles falha")
+    void deveContinuarQuandoUmDisparoFalha() {
+        Evento comFalha = criarEvento(Duration.ofMinutes(-30), Duration.ofHours(2));
+        Evento outro = criarEvento(Duration.ofMinutes(-30), Duration.ofHours(2));
+        cicloVida.registrarOuvinte(disparo -> {
+            if (disparo.eventoId().equals(comFalha.getId())) {
+                throw new IllegalStateException("Falha ao gravar o evento");
+            }
+            disparos.add(disparo);
+        });
+        cicloVida.agendar(comFalha);
+        cicloVida.agendar(outro);
+
+        avancar(Duration.ofSeconds(1));
+
+        assertEquals(List.of(disparo(outro, CicloVidaEventos.Momento.INICIO)), disparos);
+    }
+
+    private Evento criarEvento(Duration ateInicio, Duration duracao) {
+        LocalDateTime inicio = agora().plus(ateInicio);
+        return new Evento("Mutirão", "Limpeza da praça", inicio, inicio.plus(duracao),
+            UUID.randomUUID(), "Praça Central", 10);
+    }
+
+    private CicloVidaEventos.Disparo disparo(Evento evento, CicloVidaEventos.Momento momento) {
+        return new CicloVidaEventos.Disparo(evento.getId(), momento);
+    }
+
+    private LocalDateTime agora() {
+        return LocalDateTime.now(relogio);
+    }
+
+    private void avancar(Duration duracao) {
+        relogio.avancar(duracao);
+        cicloVida.avancar();
+    }
+
+    private static class RelogioAjustavel extends Clock {
+
+        private Instant instante;
+
+        RelogioAjustavel(Instant instante) {
+            this.instante = instante;
+        }
+
+        void avancar(Duration duracao) {
+            instante = instante.plus(duracao);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zona) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instante;
+        }
+    }
+}
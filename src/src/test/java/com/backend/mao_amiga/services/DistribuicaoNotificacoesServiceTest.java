@@ -0,0 +1,189 @@
+package com.backend.mao_amiga.services;
+
+import com.backend.mao_amiga.models.Notificacao;
+import com.backend.mao_amiga.repositories.ArmazenamentoMemoria;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class DistribuicaoNotificacoesServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final NotificacaoServiceControlado notificacaoService = new NotificacaoServiceControlado();
+    private final DistribuicaoNotificacoesService distribuicao =
+            new DistribuicaoNotificacoesService(notificacaoService, meterRegistry);
+
+    @AfterEach
+    void encerrar() throws InterruptedException {
+        notificacaoService.liberar.countDown();
+        distribuicao.encerrar();
+    }
+
+    @Test
+    @DisplayName("Deve recusar novas tarefas quando a fila está cheia")
+    void deveRecusarQuandoFilaCheia() throws InterruptedException {
+        configurar(2, 500, 1, 3);
+        notificacaoService.bloquear = true;
+        distribuicao.iniciar();
+
+        // O único worker fica preso no primeiro lote, e a fila enche com as duas seguintes
+        distribuicao.agendarNotificacoesNovoEvento(UUID.randomUUID(), UUID.randomUUID(), destinatarios(1));
+        assertTrue(notificacaoService.emGravacao.await(5, TimeUnit.SECONDS));
+        distribuicao.agendarNotificacoesNovoEvento(UUID.randomUUID(), UUID.randomUUID(), destinatarios(1));
+        distribuicao.agendarNotificacoesNovoEvento(UUID.randomUUID(), UUID.randomUUID(), destinatarios(1));
+
+        assertThrows(IllegalStateException.class, () ->
+            distribuicao.agendarNotificacoesNovoEvento(UUID.randomUUID(), UUID.randomUUID(), destinatarios(1)));
+        assertEquals(2.0, gauge("mao_amiga.notificacoes.distribuicao.fila"));
+        assertEquals(1.0, gauge("mao_amiga.notificacoes.distribuicao.lotes_em_processamento"));
+        assertEquals(1L, distribuicao.obterEstatisticas().get("tarefasRecusadas"));
+
+        notificacaoService.liberar.countDown();
+        distribuicao.encerrar();
+
+        assertEquals(3L, distribuicao.obterEstatisticas().get("notificacoesGravadas"));
+        assertEquals(0.0, gauge("mao_amiga.notificacoes.distribuicao.fila"));
+        assertEquals(0.0, gauge("mao_amiga.notificacoes.distribuicao.lotes_em_processamento"));
+    }
+
+    @Test
+    @DisplayName("Deve gravar os destinatários em lotes do tamanho configurado")
+    void deveDividirEmLotes() throws InterruptedException {
+        configurar(10, 500, 1, 3);
+        distribuicao.iniciar();
+
+        distribuicao.agendarNotificacoesNovoEvento(UUID.randomUUID(), UUID.randomUUID(), destinatarios(1200));
+        distribuicao.encerrar();
+
+        assertEquals(List.of(500, 500, 200), notificacaoService.tamanhosLotes);
+        assertEquals(1200L, distribuicao.obterEstatisticas().get("notificacoesGravadas"));
+        assertEquals(1200.0, meterRegistry.get("mao_amiga.notificacoes.distribuicao.destinatarios")
+                .tag("tipo", "evento_criado").summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("Deve tentar de novo o lote que falhou, esperando entre as tentativas")
+    void deveTentarNovamenteLoteComFalha() throws InterruptedException {
+        configurar(10, 500, 1, 3);
+        notificacaoService.falhasRestantes.set(2);
+        distribuicao.iniciar();
+
+        distribuicao.agendarNotificacoesNovoEvento(UUID.randomUUID(), UUID.randomUUID(), destinatarios(10));
+        distribuicao.encerrar();
+
+        assertEquals(List.of(10, 10, 10), notificacaoService.tamanhosLotes);
+        // Backoff de 100ms e depois 200ms
+        List<Long> instantes = notificacaoService.instantesChamadas;
+        assertTrue(instantes.get(1) - instantes.get(0) >= TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(instantes.get(2) - instantes.get(1) >= TimeUnit.MILLISECONDS.toNanos(200));
+        assertEquals(10L, distribuicao.obterEstatisticas().get("notificacoesGravadas"));
+        assertEquals(0L, distribuicao.obterEstatisticas().get("lotesComFalha"));
+    }
+
+    @Test
+    @DisplayName("Deve repetir as mesmas notificações ao tentar de novo, sem duplicar")
+    void deveRepetirMesmasNotificacoesNasTentativas() throws InterruptedException {
+        configurar(10, 500, 1, 3);
+        notificacaoService.falhasRestantes.set(1);
+        notificacaoService.gravarAntesDeFalhar = true;
+        distribuicao.iniciar();
+
+        List<UUID> seguidores = destinatarios(10);
+        distribuicao.agendarNotificacoesNovoPost(UUID.randomUUID(), UUID.randomUUID(), seguidores);
+        distribuicao.encerrar();
+
+        List<List<UUID>> tentativas = notificacaoService.idsPorChamada;
+        assertEquals(2, tentativas.size());
+        assertEquals(tentativas.get(0), tentativas.get(1));
+        for (UUID seguidorId : seguidores) {
+            assertEquals(1, notificacaoService.buscarTodasNotificacoes(seguidorId, 10).size());
+        }
+        assertEquals(10L, notificacaoService.obterEstatisticas().get("totalNotificacoes"));
+    }
+
+    @Test
+    @DisplayName("Deve descartar o lote após esgotar as tentativas e seguir com os próximos")
+    void deveDescartarLoteAposEsgotarTentativas() throws InterruptedException {
+        configurar(10, 5, 1, 2);
+        notificacaoService.falhasRestantes.set(2);
+        distribuicao.iniciar();
+
+        distribuicao.agendarNotificacoesNovoEvento(UUID.randomUUID(), UUID.randomUUID(), destinatarios(8));
+        distribuicao.encerrar();
+
+        assertEquals(List.of(5, 5, 3), notificacaoService.tamanhosLotes);
+        assertEquals(3L, distribuicao.obterEstatisticas().get("notificacoesGravadas"));
+        assertEquals(1L, distribuicao.obterEstatisticas().get("lotesComFalha"));
+    }
+
+    private void configurar(int capacidadeFila, int tamanhoLote, int workers, int maxTentativas) {
+        ReflectionTestUtils.setField(distribuicao, "capacidadeFila", capacidadeFila);
+        ReflectionTestUtils.setField(distribuicao, "tamanhoLote", tamanhoLote);
+        ReflectionTestUtils.setField(distribuicao, "quantidadeWorkers", workers);
+        ReflectionTestUtils.setField(distribuicao, "maxTentativas", maxTentativas);
+        ReflectionTestUtils.setField(distribuicao, "esperaEnfileirarMs", 10L);
+    }
+
+    private double gauge(String nome) {
+        return meterRegistry.get(nome).gauge().value();
+    }
+
+    private List<UUID> destinatarios(int quantidade) {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        return ids;
+    }
+
+    // Registra cada lote recebido e pode falhar ou segurar o worker sob demanda
+    private static class NotificacaoServiceControlado extends NotificacaoService {
+
+        final List<Integer> tamanhosLotes = Collections.synchronizedList(new ArrayList<>());
+        final List<Long> instantesChamadas = Collections.synchronizedList(new ArrayList<>());
+        final List<List<UUID>> idsPorChamada = Collections.synchronizedList(new ArrayList<>());
+        final AtomicInteger falhasRestantes = new AtomicInteger();
+        final CountDownLatch emGravacao = new CountDownLatch(1);
+        final CountDownLatch liberar = new CountDownLatch(1);
+        volatile boolean bloquear;
+        // Simula a falha depois de o lote já ter sido gravado
+        volatile boolean gravarAntesDeFalhar;
+
+        NotificacaoServiceControlado() {
+            super(new NotificacaoTempoRealService(), new MetricasPlataforma(), new ArmazenamentoMemoria<>());
+        }
+
+        @Override
+        List<Notificacao> gravarLote(List<Notificacao> lote) {
+            tamanhosLotes.add(lote.size());
+            instantesChamadas.add(System.nanoTime());
+            idsPorChamada.add(lote.stream().map(Notificacao::getId).toList());
+            if (bloquear) {
+                emGravacao.countDown();
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (gravarAntesDeFalhar) {
+                super.gravarLote(lote);
+            }
+            if (falhasRestantes.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                throw new IllegalStateException("Falha simulada ao gravar o lote");
+            }
+            return super.gravarLote(lote);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.backend.mao_amiga.services;
+
+import com.backend.mao_amiga.models.Evento;
+import com.backend.mao_amiga.models.Post;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.stream.Collectors;
+
+class FeedServiceTest {
+
+    private FeedService feedService;
+    private final UUID VOLUNTARIO_ID = UUID.randomUUID();
+    private final UUID ONG_SEGUIDA = UUID.randomUUID();
+    private final UUID OUTRA_ONG = UUID.randomUUID();
+    private static final int TAMANHO_TIMELINE = 20_000;
+
+    @BeforeEach
+    void setUp() {
+        feedService = new FeedService();
+        feedService.registrarSeguimento(VOLUNTARIO_ID, ONG_SEGUIDA);
+    }
+
+    @Test
+    @DisplayName("Deve montar o feed com posts e eventos apenas das ONGs seguidas, em ordem cronológica")
+    void deveMontarFeedDasOngsSeguidas() {
+        Post post = publicarPost(ONG_SEGUIDA);
+        Evento evento = publicarEvento(ONG_SEGUIDA);
+        publicarPost(OUTRA_ONG);
+        feedService.publicarPost(Post.criarPostVoluntario(UUID.randomUUID(), "Post de voluntário"));
+
+        List<ItemFeed> feed = feedService.montarFeed(VOLUNTARIO_ID, 20);
+
+        assertEquals(Set.of(post.getId(), evento.getId()), ids(feed));
+        assertOrdemCronologica(feed);
+    }
+
+    @Test
+    @DisplayName("Deve entregar na timeline em cache as publicações feitas depois da primeira leitura")
+    void deveDistribuirNaEscritaParaTimelineEmCache() {
+        publicarPost(ONG_SEGUIDA);
+        feedService.montarFeed(VOLUNTARIO_ID, 20);
+
+        Post novo = publicarPost(ONG_SEGUIDA);
+
+        List<ItemFeed> feed = feedService.montarFeed(VOLUNTARIO_ID, 20);
+        assertEquals(2, feed.size());
+        assertTrue(ids(feed).contains(novo.getId()));
+    }
+
+    @Test
+    @DisplayName("Deve intercalar na leitura as publicações de ONGs grandes sem duplicar itens")
+    void deveIntercalarOngsGrandesNaLeitura() {
+        ReflectionTestUtils.setField(feedService, "limiarFanOut", 1);
+        UUID ongGrande = UUID.randomUUID();
+        feedService.registrarSeguimento(VOLUNTARIO_ID, ongGrande);
+        feedService.registrarSeguimento(UUID.randomUUID(), ongGrande);
+
+        Post daPequena = publicarPost(ONG_SEGUIDA);
+        feedService.montarFeed(VOLUNTARIO_ID, 20);
+        Post daGrande = publicarPost(ongGrande);
+        Evento eventoDaGrande = publicarEvento(ongGrande);
+
+        List<ItemFeed> feed = feedService.montarFeed(VOLUNTARIO_ID, 20);
+
+        assertEquals(3, feed.size());
+        assertEquals(Set.of(daPequena.getId(), daGrande.getId(), eventoDaGrande.getId()), ids(feed));
+        assertEquals(1, feedService.obterEstatisticas().get("ongsComFanOutNaLeitura"));
+        assertOrdemCronologica(feed);
+    }
+
+    @Test
+    @DisplayName("Deve retirar do feed publicações removidas e ONGs deixadas de seguir")
+    void deveRetirarPublicacoesRemovidas() {
+        Post removido = publicarPost(ONG_SEGUIDA);
+        Post mantido = publicarPost(ONG_SEGUIDA);
+        feedService.montarFeed(VOLUNTARIO_ID, 20);
+
+        feedService.removerPublicacao(removido.getId());
+        assertEquals(Set.of(mantido.getId()), ids(feedService.montarFeed(VOLUNTARIO_ID, 20)));
+
+        feedService.removerSeguimento(VOLUNTARIO_ID, ONG_SEGUIDA);
+        assertTrue(feedService.montarFeed(VOLUNTARIO_ID, 20).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o limite de itens do feed")
+    void deveRespeitarLimite() {
+        for (int i = 0; i < 10; i++) {
+            publicarPost(ONG_SEGUIDA);
+        }
+
+        assertEquals(3, feedService.montarFeed(VOLUNTARIO_ID, 3).size());
+        assertThrows(IllegalArgumentException.class, () -> feedService.montarFeed(VOLUNTARIO_ID, 0));
+    }
+
+    @Test
+    @DisplayName("Não deve perder uma publicação feita durante a reconstrução da timeline")
+    void naoDevePerderPublicacaoDuranteReconstrucao() {
+        List<UUID> ongsMovimentadas = criarOngsMovimentadas();
+        for (int rodada = 0; rodada < 50; rodada++) {
+            UUID voluntarioId = UUID.randomUUID();
+            UUID ongId = UUID.randomUUID();
+            ongsMovimentadas.forEach(ong -> feedService.registrarSeguimento(voluntarioId, ong));
+            feedService.registrarSeguimento(voluntarioId, ongId);
+            Post post = Post.criarPostOng(ongId, "Publicado durante a leitura");
+
+            emParalelo(() -> feedService.montarFeed(voluntarioId, 1), () -> feedService.publicarPost(post));
+
+            assertTrue(ids(feedService.montarFeed(voluntarioId, TAMANHO_TIMELINE)).contains(post.getId()),
+                    "rodada " + rodada);
+        }
+    }
+
+    @Test
+    @DisplayName("Não deve manter em cache uma timeline reconstruída antes de um novo seguimento")
+    void naoDeveManterTimelineAnteriorAoSeguimento() {
+        List<UUID> ongsMovimentadas = criarOngsMovimentadas();
+        for (int rodada = 0; rodada < 50; rodada++) {
+            UUID voluntarioId = UUID.randomUUID();
+            UUID novaOng = UUID.randomUUID();
+            ongsMovimentadas.forEach(ong -> feedService.registrarSeguimento(voluntarioId, ong));
+            Post post = publicarPost(novaOng);
+
+            emParalelo(() -> feedService.montarFeed(voluntarioId, 1),
+                    () -> feedService.registrarSeguimento(voluntarioId, novaOng));
+
+            assertTrue(ids(feedService.montarFeed(voluntarioId, TAMANHO_TIMELINE)).contains(post.getId()),
+                    "rodada " + rodada);
+        }
+    }
+
+    // ONGs com muitas publicações deixam a reconstrução da timeline longa o
+    // bastante para a outra ação cair no meio dela
+    private List<UUID> criarOngsMovimentadas() {
+        ReflectionTestUtils.setField(feedService, "tamanhoTimeline", TAMANHO_TIMELINE);
+        List<UUID> ongs = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            UUID ongId = UUID.randomUUID();
+            for (int j = 0; j < 100; j++) {
+                publicarPost(ongId);
+            }
+            ongs.add(ongId);
+        }
+        return ongs;
+    }
+
+    // Solta as duas ações ao mesmo tempo, para cair no intervalo entre ler e gravar o cache
+    private void emParalelo(Runnable primeira, Runnable segunda) {
+        CyclicBarrier largada = new CyclicBarrier(2);
+        CompletableFuture<Void> outra = CompletableFuture.runAsync(() -> {
+            aguardar(largada);
+            segunda.run();
+        });
+        aguardar(largada);
+        primeira.run();
+        outra.join();
+    }
+
+    private void aguardar(CyclicBarrier largada) {
+        try {
+            largada.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Post publicarPost(UUID ongId) {
+        Post post = Post.criarPostOng(ongId, "Novidades da ONG");
+        feedService.publicarPost(post);
+        return post;
+    }
+
+    private Evento publicarEvento(UUID ongId) {
+        LocalDateTime inicio = LocalDateTime.now().plusDays(3);
+        Evento evento = new Evento("Mutirão", "Mutirão no bairro", inicio, inicio.plusHours(2), ongId, "Praça", 10);
+        feedService.publicarEvento(evento);
+        return evento;
+    }
+
+    private Set<UUID> ids(List<ItemFeed> feed) {
+        return feed.stream().map(ItemFeed::id).collect(Collectors.toSet());
+    }
+
+    private void assertOrdemCronologica(List<ItemFeed> feed) {
+        for (int i = 1; i < feed.size(); i++) {
+            assertFalse(feed.get(i).publicadoEm().isAfter(feed.get(i - 1).publicadoEm()));
+        }
+    }
+}
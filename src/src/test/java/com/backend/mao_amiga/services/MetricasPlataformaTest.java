@@ -0,0 +1,103 @@
+package com.backend.mao_amiga.services;
+
+import com.backend.mao_amiga.models.enums.ResultadoInscricao;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+class MetricasPlataformaTest {
+
+    private final MetricasPlataforma metricas = new MetricasPlataforma();
+
+    @Test
+    @DisplayName("Deve montar o dashboard com as quantidades registradas pelos stores")
+    void deveMontarDashboard() {
+        metricas.registrarCriacao(MetricasPlataforma.Entidade.VOLUNTARIO);
+        metricas.registrarCriacao(MetricasPlataforma.Entidade.VOLUNTARIO);
+        metricas.registrarCriacao(MetricasPlataforma.Entidade.ONG);
+        metricas.registrarCriacao(MetricasPlataforma.Entidade.EVENTO);
+        metricas.registrarCriacao(MetricasPlataforma.Entidade.NOTIFICACAO);
+        metricas.registrarRemocao(MetricasPlataforma.Entidade.NOTIFICACAO);
+        metricas.registrarInscricao(ResultadoInscricao.INSCRITO);
+        metricas.registrarInscricao(ResultadoInscricao.RECUSADO);
+
+        Map<String, Object> dashboard = metricas.obterDashboard();
+        assertEquals(3L, dashboard.get("totalUsuarios"));
+        assertEquals(2L, dashboard.get("totalVoluntarios"));
+        assertEquals(1L, dashboard.get("totalOngs"));
+        assertEquals(1L, dashboard.get("totalEventos"));
+        assertEquals(0L, dashboard.get("totalNotificacoes"));
+        assertEquals(3L, dashboard.get("cadastrosPorMinuto"));
+        assertEquals(1L, dashboard.get("eventosCriadosPorMinuto"));
+        assertEquals(1L, dashboard.get("inscricoesPorMinuto"));
+    }
+
+    @Test
+    @DisplayName("Deve contar só as ocorrências dos últimos 60 segundos")
+    void deveContarApenasUltimoMinuto() {
+        AtomicLong relogio = new AtomicLong(1_000_000);
+        JanelaPorMinuto janela = new JanelaPorMinuto(relogio::get);
+
+        janela.registrar();
+        janela.registrar();
+        relogio.addAndGet(30_000);
+        janela.registrar();
+        assertEquals(3, janela.contarUltimoMinuto());
+
+        relogio.addAndGet(30_000);
+        assertEquals(1, janela.contarUltimoMinuto());
+
+        // Uma volta completa no anel reaproveita o balde do primeiro segundo
+        relogio.addAndGet(30_000);
+        janela.registrar();
+        assertEquals(1, janela.contarUltimoMinuto());
+    }
+
+    @Test
+    @DisplayName("Deve publicar as quantidades e taxas no Micrometer")
+    void devePublicarNoMicrometer() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        metricas.bindTo(registry);
+
+        metricas.registrarCriacao(MetricasPlataforma.Entidade.POST);
+        metricas.registrarCriacao(MetricasPlataforma.Entidade.EVENTO);
+
+        assertEquals(1.0, registry.get("mao_amiga.entidades").tag("tipo", "post").gauge().value());
+        assertEquals(1.0, registry.get("mao_amiga.entidades.criadas").tag("tipo", "evento").functionCounter().count());
+        assertEquals(1.0, registry.get("mao_amiga.taxa.por_minuto").tag("tipo", "eventos_criados").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Deve publicar as operações de domínio e o tamanho dos stores em memória")
+    void devePublicarOperacoesDeDominio() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        metricas.bindTo(registry);
+        Map<UUID, String> store = new ConcurrentHashMap<>();
+        metricas.monitorarStore(MetricasPlataforma.Entidade.EVENTO, store);
+
+        metricas.registrarInscricao(ResultadoInscricao.INSCRITO);
+        metricas.registrarInscricao(ResultadoInscricao.LISTA_ESPERA);
+        metricas.registrarInscricao(ResultadoInscricao.RECUSADO);
+        metricas.registrarCurtida(true);
+        metricas.registrarCurtida(true);
+        metricas.registrarCurtida(false);
+        metricas.registrarAvaliacao(false);
+        store.put(UUID.randomUUID(), "evento");
+        store.put(UUID.randomUUID(), "evento");
+
+        assertEquals(1.0, registry.get("mao_amiga.inscricoes").tag("resultado", "lista_espera").functionCounter().count());
+        assertEquals(1.0, registry.get("mao_amiga.inscricoes").tag("resultado", "recusado").functionCounter().count());
+        assertEquals(2.0, registry.get("mao_amiga.curtidas").tag("acao", "curtir").functionCounter().count());
+        assertEquals(1.0, registry.get("mao_amiga.curtidas").tag("acao", "descurtir").functionCounter().count());
+        assertEquals(1.0, registry.get("mao_amiga.avaliacoes.enviadas").tag("resultado", "recusada").functionCounter().count());
+        assertEquals(2.0, registry.get("mao_amiga.memoria.registros").tag("tipo", "evento").gauge().value());
+        assertEquals(0.0, registry.get("mao_amiga.memoria.registros").tag("tipo", "post").gauge().value());
+        assertEquals(2L, metricas.porMinuto(MetricasPlataforma.Taxa.INSCRICOES));
+    }
+}
@@ -0,0 +1,59 @@
+package com.backend.mao_amiga.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Random;
+
+class RodaTemporizacaoTest {
+
+    @Test
+    @DisplayName("Deve disparar cada item no seu tick, em qualquer nível da roda, e nunca antes")
+    void deveDispararNoTickCerto() {
+        RodaTemporizacao<Long> roda = new RodaTemporizacao<>(1_000);
+        long[] distancias = {1, 63, 64, 65, 4_095, 4_096, 4_097, 300_000, 20_000_000};
+        for (long distancia : distancias) {
+            roda.agendar(1_000 + distancia, 1_000 + distancia);
+        }
+
+        for (long distancia : distancias) {
+            long vencimento = 1_000 + distancia;
+            assertTrue(roda.avancarAte(vencimento - 1).isEmpty());
+            assertEquals(List.of(vencimento), roda.avancarAte(vencimento));
+        }
+        assertEquals(0, roda.tamanho());
+    }
+
+    @Test
+    @DisplayName("Deve disparar no próximo tick os itens agendados no passado")
+    void deveDispararItensAtrasadosNoProximoTick() {
+        RodaTemporizacao<String> roda = new RodaTemporizacao<>(500);
+        roda.agendar(10, "atrasado");
+        roda.agendar(500, "agora");
+
+        assertEquals(List.of("atrasado", "agora"), roda.avancarAte(501));
+        assertTrue(roda.avancarAte(10_000).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve devolver 100 mil itens em ordem de vencimento sem perder nenhum")
+    void deveManterOrdemComMuitosItens() {
+        RodaTemporizacao<Long> roda = new RodaTemporizacao<>(0);
+        Random aleatorio = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long vencimento = 1 + aleatorio.nextInt(30 * 24 * 3600);
+            roda.agendar(vencimento, vencimento);
+        }
+        assertEquals(100_000, roda.tamanho());
+
+        List<Long> vencidos = roda.avancarAte(30 * 24 * 3600);
+
+        assertEquals(100_000, vencidos.size());
+        for (int i = 1; i < vencidos.size(); i++) {
+            assertTrue(vencidos.get(i - 1) <= vencidos.get(i));
+        }
+        assertEquals(0, roda.tamanho());
+    }
+}